@@ -0,0 +1,38 @@
+package com.bensamir.starter.apidocs.annotation;
+
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Annotation to enable and document sparse fieldsets in OpenAPI documentation.
+ * <p>
+ * Handlers carrying this annotation accept a {@code fields} query parameter that
+ * limits the serialized properties of the response data, or of each element of a
+ * paginated response. Nested properties are selected with dots, e.g.
+ * {@code fields=id,name,address.city}. Requires
+ * {@code starter-kit.response.sparse-fields.enabled=true}.
+ * <p>
+ * Usage example:
+ * <pre>
+ * &#64;GetMapping("/users")
+ * &#64;ApiPageable
+ * &#64;ApiFields
+ * public ResponseEntity&lt;ApiResponse&lt;PageResponse&lt;UserDTO&gt;&gt;&gt; getUsers(Pageable pageable) {
+ *     // Implementation
+ * }
+ * </pre>
+ */
+@Target({ElementType.METHOD, ElementType.ANNOTATION_TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Parameter(in = ParameterIn.QUERY, name = "fields",
+        description = "Comma-separated properties to include, nested with dots (e.g., id,name,address.city)",
+        schema = @Schema(type = "string"))
+public @interface ApiFields {
+    // This is a marker annotation with parameters defined in annotations above
+}
\ No newline at end of file
@@ -1,8 +1,17 @@
 package com.bensamir.starter.config;
 
 import com.bensamir.starter.exception.ErrorMessageResolver;
+import com.bensamir.starter.exception.ExceptionMappingContributor;
+import com.bensamir.starter.exception.ExceptionMappingRegistry;
 import com.bensamir.starter.exception.GlobalExceptionHandler;
+import com.bensamir.starter.exception.aggregation.ErrorAggregationEndpoint;
+import com.bensamir.starter.exception.aggregation.ErrorAggregator;
+import com.bensamir.starter.metrics.StarterMetrics;
 import com.bensamir.starter.properties.StarterKitProperties;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnAvailableEndpoint;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
@@ -19,6 +28,8 @@ import org.springframework.context.support.ResourceBundleMessageSource;
  *   <li>Global exception handling with consistent error responses</li>
  *   <li>Support for internationalized error messages</li>
  *   <li>Mapping of common exceptions to appropriate HTTP status codes</li>
+ *   <li>Table-driven mappings for custom exceptions via properties or {@link ExceptionMappingContributor} beans</li>
+ *   <li>Aggregation of the most frequent errors, exposed through the {@code errors} actuator endpoint</li>
  * </ul>
  * <p>
  * Configuration properties:
@@ -29,6 +40,18 @@ import org.springframework.context.support.ResourceBundleMessageSource;
  *     log-exceptions: true                 # Log exceptions
  *     include-stack-trace: false           # Include stack traces in responses (not for production)
  *     enable-i18n: false                   # Enable internationalization of error messages
+ *     mappings:                            # Custom exception mappings by class name
+ *       "[com.example.PaymentFailedException]":
+ *         status: 402
+ *         error-code: PAYMENT_FAILED
+ *         message-key: payment.failed      # Defaults from the status, e.g. payment.required
+ *         log-level: WARN                  # OFF, DEBUG, INFO, WARN or ERROR
+ *         stack-trace: NEVER               # DEFAULT, ALWAYS or NEVER
+ *     aggregation:
+ *       enabled: false                     # Aggregate errors for the errors endpoint
+ *       windows: 6                         # Number of sliding windows retained
+ *       window-duration: 10m               # Duration of each window
+ *       top-k: 64                          # Heavy hitters tracked per window
  * </pre>
  */
 @Configuration
@@ -69,6 +92,46 @@ public class ExceptionHandlingAutoConfiguration {
         return new ErrorMessageResolver(messageSource, properties);
     }
 
+    /**
+     * Creates an ExceptionMappingRegistry if not already defined.
+     * <p>
+     * The registry combines the default mappings, mappings contributed by
+     * {@link ExceptionMappingContributor} beans and configured mappings.
+     *
+     * @param properties the starter kit properties
+     * @param contributors the mapping contributors
+     * @return the exception mapping registry
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public ExceptionMappingRegistry exceptionMappingRegistry(StarterKitProperties properties,
+                                                             ObjectProvider<ExceptionMappingContributor> contributors) {
+        return ExceptionMappingRegistry.create(properties.getExceptionHandling(),
+                contributors.orderedStream().toList());
+    }
+
+    /**
+     * Creates an ErrorAggregator if not already defined.
+     * <p>
+     * The aggregator keeps fixed-size sketches of handled errors over sliding windows.
+     *
+     * @param properties the starter kit properties
+     * @return the error aggregator
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "starter-kit.exception-handling.aggregation", name = "enabled", havingValue = "true")
+    public ErrorAggregator errorAggregator(StarterKitProperties properties) {
+        StarterKitProperties.ExceptionHandlingProperties.AggregationProperties aggregation =
+                properties.getExceptionHandling().getAggregation();
+        return new ErrorAggregator(
+                aggregation.getWindows(),
+                aggregation.getWindowDuration(),
+                aggregation.getSketchDepth(),
+                aggregation.getSketchWidth(),
+                aggregation.getTopK());
+    }
+
     /**
      * Creates a GlobalExceptionHandler if not already defined.
      * <p>
@@ -76,12 +139,45 @@ public class ExceptionHandlingAutoConfiguration {
      *
      * @param properties the starter kit properties
      * @param messageResolver the error message resolver
+     * @param mappingRegistry the exception mapping registry
+     * @param metrics the starter metrics
+     * @param errorAggregator the error aggregator, if enabled
      * @return the global exception handler
      */
     @Bean
     @ConditionalOnMissingBean
     public GlobalExceptionHandler globalExceptionHandler(StarterKitProperties properties,
-                                                         ErrorMessageResolver messageResolver) {
-        return new GlobalExceptionHandler(properties, messageResolver);
+                                                         ErrorMessageResolver messageResolver,
+                                                         ExceptionMappingRegistry mappingRegistry,
+                                                         ObjectProvider<StarterMetrics> metrics,
+                                                         ObjectProvider<ErrorAggregator> errorAggregator) {
+        return new GlobalExceptionHandler(properties, messageResolver, mappingRegistry,
+                metrics.getIfAvailable(() -> StarterMetrics.NOOP),
+                errorAggregator.getIfAvailable());
+    }
+
+    /**
+     * Actuator integration, only active when Spring Boot Actuator is on the classpath.
+     */
+    @Configuration
+    @ConditionalOnClass(Endpoint.class)
+    @ConditionalOnProperty(prefix = "starter-kit.exception-handling.aggregation", name = "enabled", havingValue = "true")
+    static class ErrorAggregationEndpointConfiguration {
+
+        /**
+         * Creates the errors actuator endpoint.
+         *
+         * @param aggregator the error aggregator
+         * @param properties the starter kit properties
+         * @return the error aggregation endpoint
+         */
+        @Bean
+        @ConditionalOnMissingBean
+        @ConditionalOnAvailableEndpoint
+        public ErrorAggregationEndpoint errorAggregationEndpoint(ErrorAggregator aggregator,
+                                                                 StarterKitProperties properties) {
+            return new ErrorAggregationEndpoint(aggregator,
+                    properties.getExceptionHandling().getAggregation().getTopK());
+        }
     }
 }
\ No newline at end of file
@@ -1,9 +1,12 @@
 package com.bensamir.starter.config;
 
 import com.bensamir.starter.persistence.AuditingConfig;
+import com.bensamir.starter.persistence.EstimatedCountCache;
 import com.bensamir.starter.properties.StarterKitProperties;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -15,6 +18,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
  * <ul>
  *   <li>JPA entity auditing (created/updated timestamps and users)</li>
  *   <li>Base entity classes for common fields</li>
+ *   <li>Estimated count cache for count-free slice pagination</li>
  * </ul>
  * <p>
  * Configuration properties:
@@ -23,6 +27,10 @@ import org.springframework.data.jpa.repository.JpaRepository;
  *   base-entity:
  *     enabled: true                 # Enable/disable persistence support
  *     enable-auditing: true         # Enable/disable entity auditing
+ *     count-cache:
+ *       enabled: true               # Enable/disable the estimated count cache
+ *       ttl: 5m                     # Age after which counts are refreshed in the background
+ *       max-entries: 1000           # Maximum number of cached counts
  * </pre>
  */
 @Configuration
@@ -30,6 +38,21 @@ import org.springframework.data.jpa.repository.JpaRepository;
 @ConditionalOnProperty(prefix = "starter-kit.base-entity", name = "enabled", havingValue = "true", matchIfMissing = true)
 public class PersistenceAutoConfiguration {
 
+    /**
+     * Creates the estimated count cache used to report totals alongside slice responses.
+     *
+     * @param properties The starter kit properties
+     * @return The estimated count cache
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "starter-kit.base-entity.count-cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public EstimatedCountCache estimatedCountCache(StarterKitProperties properties) {
+        StarterKitProperties.BaseEntityProperties.CountCacheProperties countCache =
+                properties.getBaseEntity().getCountCache();
+        return new EstimatedCountCache(countCache.getTtl(), countCache.getMaxEntries());
+    }
+
     /**
      * Configuration for entity auditing.
      */
@@ -1,21 +1,43 @@
 package com.bensamir.starter.config;
 
 import com.bensamir.starter.properties.StarterKitProperties;
+import com.bensamir.starter.response.fields.SparseFieldsModule;
+import com.bensamir.starter.response.fields.SparseFieldsResponseBodyAdvice;
+import com.bensamir.starter.response.json.ObjectMapperTuning;
+import com.bensamir.starter.response.json.StarterKitJacksonModule;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.core.env.Environment;
 
 /**
  * Auto-configuration for standardized API responses.
  * <p>
  * This configuration enables the standardized response format
- * with appropriate JSON serialization settings.
+ * with appropriate JSON serialization settings. The response envelope and
+ * error types are written by hand-written serializers registered through
+ * the {@link StarterKitJacksonModule}.
+ * <p>
+ * The starter does not create an ObjectMapper of its own; it tunes the one
+ * auto-configured by Spring Boot, which is shared by all message converters.
+ * <p>
+ * Configuration properties:
+ * <pre>
+ * starter-kit:
+ *   response:
+ *     json:
+ *       blackbird: true              # Register the Blackbird module if present
+ *       recycler-pool: thread-local  # thread-local, concurrent-deque, bounded or none
+ *       recycler-pool-size: 100      # Size of the bounded recycler pool
+ *       prewarm: true                # Pre-build serializers for the response types
+ *       metrics: true                # Record serialization time and bytes per route
+ *     sparse-fields:
+ *       enabled: false               # Honor ?fields= on @ApiFields handlers
+ *       max-field-sets: 1024         # Maximum number of cached compiled field sets
+ * </pre>
  */
 @Configuration
 @ConditionalOnWebApplication
@@ -23,16 +45,63 @@ import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 public class ResponseAutoConfiguration {
 
     /**
-     * Configures Jackson ObjectMapper with appropriate settings for API responses.
+     * Creates the Jackson module with serializers for the response and error types.
+     * Spring Boot registers module beans with its auto-configured ObjectMapper.
+     *
+     * @return The Jackson module
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public StarterKitJacksonModule starterKitJacksonModule() {
+        return new StarterKitJacksonModule();
+    }
+
+    /**
+     * Tunes Spring Boot's shared ObjectMapper for API responses.
      *
-     * @return The configured ObjectMapper
+     * @param properties The starter kit properties
+     * @param environment The environment, used to detect virtual threads
+     * @return The ObjectMapper builder customizer
      */
     @Bean
-    @ConditionalOnMissingBean(name = "responseObjectMapper")
-    public ObjectMapper responseObjectMapper() {
-        return Jackson2ObjectMapperBuilder.json()
-                .modules(new JavaTimeModule())
-                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
-                .build();
+    @ConditionalOnMissingBean
+    public ObjectMapperTuning objectMapperTuning(StarterKitProperties properties, Environment environment) {
+        return new ObjectMapperTuning(properties.getResponse().getJson(),
+                environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false));
+    }
+
+    /**
+     * Configuration for sparse fieldsets.
+     */
+    @Configuration
+    @ConditionalOnProperty(prefix = "starter-kit.response.sparse-fields", name = "enabled", havingValue = "true")
+    public static class SparseFieldsConfiguration {
+
+        /**
+         * Creates the Jackson module applying sparse fieldsets.
+         * Spring Boot registers module beans with its auto-configured ObjectMapper.
+         *
+         * @return The Jackson module
+         */
+        @Bean
+        @ConditionalOnMissingBean
+        public SparseFieldsModule sparseFieldsModule() {
+            return new SparseFieldsModule();
+        }
+
+        /**
+         * Creates the advice selecting the fieldset of {@code @ApiFields} handlers.
+         *
+         * @param properties The starter kit properties
+         * @param objectMapper The shared ObjectMapper
+         * @return The response body advice
+         */
+        @Bean
+        @ConditionalOnMissingBean
+        public SparseFieldsResponseBodyAdvice sparseFieldsResponseBodyAdvice(StarterKitProperties properties,
+                                                                             ObjectMapper objectMapper) {
+            return new SparseFieldsResponseBodyAdvice(objectMapper,
+                    properties.getResponse().getSparseFields().getMaxFieldSets());
+        }
     }
 }
\ No newline at end of file
@@ -2,7 +2,9 @@ package com.bensamir.starter.config;
 
 import com.bensamir.starter.apidocs.config.ApiDocsAutoConfiguration;
 import com.bensamir.starter.logging.config.LoggingAutoConfiguration;
+import com.bensamir.starter.metrics.config.MetricsAutoConfiguration;
 import com.bensamir.starter.properties.StarterKitProperties;
+import com.bensamir.starter.warmup.config.WarmupAutoConfiguration;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
@@ -20,6 +22,8 @@ import org.springframework.context.annotation.Import;
  *     <li><strong>Web configuration</strong>: CORS and essential web settings</li>
  *     <li><strong>API documentation</strong>: OpenAPI/Swagger configuration</li>
  *     <li><strong>Enterprise logging</strong>: Request tracing and MDC context</li>
+ *     <li><strong>Metrics</strong>: Micrometer instrumentation of starter components</li>
+ *     <li><strong>Startup warmup</strong>: Pre-built validation and serialization metadata before readiness</li>
  * </ul>
  * <p>
  * All components can be selectively enabled or disabled via configuration properties.
@@ -42,12 +46,14 @@ import org.springframework.context.annotation.Import;
 @Configuration
 @EnableConfigurationProperties(StarterKitProperties.class)
 @Import({
+        MetricsAutoConfiguration.class,
         ExceptionHandlingAutoConfiguration.class,
         PersistenceAutoConfiguration.class,
         ResponseAutoConfiguration.class,
         WebConfigAutoConfiguration.class,
         ApiDocsAutoConfiguration.class,
-        LoggingAutoConfiguration.class
+        LoggingAutoConfiguration.class,
+        WarmupAutoConfiguration.class
 })
 public class StarterKitAutoConfiguration {
     // Main entry point for auto-configuration
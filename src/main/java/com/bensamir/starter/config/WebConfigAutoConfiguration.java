@@ -1,20 +1,59 @@
 package com.bensamir.starter.config;
 
+import com.bensamir.starter.metrics.StarterMetrics;
 import com.bensamir.starter.properties.StarterKitProperties;
 import com.bensamir.starter.web.CompressionConfig;
 import com.bensamir.starter.web.CorsConfig;
+import com.bensamir.starter.web.ServerConfig;
 import com.bensamir.starter.web.WebMvcConfig;
+import com.bensamir.starter.web.binary.BinaryFormatConverters;
+import com.bensamir.starter.web.cache.CacheKeyGenerator;
+import com.bensamir.starter.web.cache.CachedResponseBodyAdvice;
+import com.bensamir.starter.web.cache.ResponseCache;
+import com.bensamir.starter.web.cache.ResponseCacheInterceptor;
+import com.bensamir.starter.web.cache.ResponseCacheInvalidator;
+import com.bensamir.starter.web.coalesce.CoalescingFilter;
+import com.bensamir.starter.web.coalesce.CoalescingInterceptor;
+import com.bensamir.starter.web.compression.AdaptiveCompressionPolicy;
+import com.bensamir.starter.web.compression.CompressionFilter;
+import com.bensamir.starter.web.compression.CompressionPolicy;
+import com.bensamir.starter.web.compression.ContentEncoders;
+import com.bensamir.starter.web.compression.PrecompressedCache;
+import com.bensamir.starter.web.compression.PrecompressedCacheWarmer;
+import com.bensamir.starter.web.compression.RequestDecompressionFilter;
+import com.bensamir.starter.web.compression.StaticCompressionPolicy;
+import com.bensamir.starter.web.concurrency.AdaptiveConcurrencyLimiter;
+import com.bensamir.starter.web.concurrency.ConcurrencyLimitFilter;
+import com.bensamir.starter.web.cors.PrecomputedCorsFilter;
+import com.bensamir.starter.web.deadline.RequestDeadlineFilter;
+import com.bensamir.starter.web.ratelimit.RateLimitFilter;
+import com.bensamir.starter.web.etag.ETagFilter;
+import com.bensamir.starter.web.idempotency.IdempotencyFilter;
+import com.bensamir.starter.web.idempotency.IdempotencyStore;
+import com.bensamir.starter.web.idempotency.InMemoryIdempotencyStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
 import org.springframework.boot.web.server.WebServerFactoryCustomizer;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.boot.web.servlet.server.ConfigurableServletWebServerFactory;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.filter.CorsFilter;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.Collections;
+import java.util.List;
 
 /**
  * Auto-configuration for web configuration components.
@@ -22,7 +61,17 @@ import org.springframework.web.servlet.DispatcherServlet;
  * This configuration provides:
  * <ul>
  *   <li>CORS configuration for cross-origin requests</li>
- *   <li>Response compression for improved performance</li>
+ *   <li>Response compression, by the container or with zstd, br and gzip negotiation</li>
+ *   <li>Decompression of gzip, deflate and zstd request bodies</li>
+ *   <li>Tomcat tuning: virtual threads, HTTP/2 and connector limits</li>
+ *   <li>Per-request deadlines with fast 504 responses for expired requests</li>
+ *   <li>Per-client rate limiting with fast 429 responses</li>
+ *   <li>Adaptive concurrency limiting with fast 503 responses under overload</li>
+ *   <li>ETags and 304 Not Modified responses for unchanged GET responses</li>
+ *   <li>In-memory caching of {@code @CachedResponse} handler responses</li>
+ *   <li>Coalescing of identical concurrent requests to {@code @Coalesce} handlers</li>
+ *   <li>Replay of retried writes carrying an {@code Idempotency-Key} header</li>
+ *   <li>Binary content negotiation for service-to-service calls</li>
  *   <li>Common web MVC settings</li>
  * </ul>
  * <p>
@@ -33,11 +82,90 @@ import org.springframework.web.servlet.DispatcherServlet;
  *     enabled: true                     # Enable/disable web configuration
  *     cors:
  *       enabled: true                   # Enable/disable CORS
- *       allowed-origins: ["*"]          # Allowed origins
+ *       allowed-origins: ["*"]          # Allowed origins, e.g. https://*.example.com
  *       allowed-methods: ["GET", ...]   # Allowed methods
+ *       allowed-headers: ["*"]          # Allowed request headers
+ *       exposed-headers: []             # Response headers readable by scripts
+ *       allow-credentials: false        # Allow cookies and authorization headers, not with "*"
  *     compression:
  *       enabled: true                   # Enable/disable compression
  *       min-response-size: 2048         # Minimum size to compress
+ *       mode: container                 # container (Tomcat gzip) or filter (zstd, br, gzip)
+ *       encodings: [zstd, br, gzip]     # Filter mode: codings in order of preference
+ *       pool-size: 64                   # Filter mode: idle encoders retained per coding
+ *       gzip:
+ *         level: 6                      # Default level, 1-9
+ *         mime-levels:                  # Per MIME type levels, e.g. for streamed responses
+ *           "[application/x-ndjson]": 1
+ *       brotli:
+ *         level: 4                      # Default quality, 0-11 (requires brotli4j)
+ *       zstd:
+ *         level: 3                      # Default level, 1-22 (requires zstd-jni)
+ *       adaptive:
+ *         enabled: false                # Adapt levels to compression ratio and CPU load
+ *         max-ratio: 0.9                # Stop compressing MIME type/route pairs compressing worse
+ *         reduce-cpu-load: 0.7          # Use the fastest level above this CPU load
+ *         skip-cpu-load: 0.9            # Do not compress above this CPU load
+ *       precompressed:
+ *         enabled: false                # Cache compressed variants by ETag (requires Caffeine)
+ *         maximum-size: 33554432        # Maximum total size of cached variants in bytes
+ *         paths: ["/v3/api-docs/**"]    # Paths whose responses are cached
+ *         warm-paths: []                # Paths requested once per coding at startup
+ *     request-decompression:
+ *       enabled: false                  # Decompress gzip, deflate and zstd request bodies
+ *       max-size: 10485760              # Maximum decompressed body size in bytes
+ *       pool-size: 32                   # Idle inflaters retained
+ *     server:
+ *       enabled: false                  # Apply the Tomcat settings below
+ *       http2: false                    # Enable HTTP/2, h2c on plain connections
+ *       max-connections: 10000          # Maximum open connections (unset keeps server.tomcat.*)
+ *       accept-count: 200               # Accept queue length once max-connections is reached
+ *       keep-alive-timeout: 20s         # Idle time before a keep-alive connection is closed
+ *     deadline:
+ *       enabled: false                  # Enable/disable request deadlines
+ *       header-name: X-Request-Timeout  # Header carrying the client's timeout
+ *       default-timeout: 10s            # Deadline for requests without the header
+ *       max-timeout: 60s                # Upper bound for requested timeouts
+ *     rate-limit:
+ *       enabled: false                  # Enable/disable rate limiting
+ *       trust-forwarded-headers: false  # Take client IPs from X-Forwarded-For
+ *       trusted-proxies: 1              # Proxies appending to X-Forwarded-For
+ *       rules:
+ *         - path: /api/**               # First matching rule applies
+ *           limit: 100                  # Requests per period
+ *           period: 1s
+ *           key: client-ip              # client-ip, user or api-key
+ *     concurrency-limit:
+ *       enabled: false                  # Enable/disable adaptive load shedding
+ *       initial-limit: 20               # Concurrent requests admitted at startup
+ *       min-limit: 10                   # Lower bound of the adaptive limit
+ *       max-limit: 200                  # Upper bound of the adaptive limit
+ *       priority-paths: ["/actuator/**"] # Paths never rejected
+ *     etag:
+ *       enabled: false                  # Enable/disable body-hash ETags
+ *       max-buffer-size: 1048576        # Largest body hashed, larger bodies are streamed
+ *     binary-formats:
+ *       enabled: false                  # Enable/disable CBOR, Smile and MessagePack negotiation
+ *       cbor: true                      # application/cbor (requires jackson-dataformat-cbor)
+ *       smile: true                     # application/x-jackson-smile (requires jackson-dataformat-smile)
+ *       msgpack: true                   # application/x-msgpack (requires jackson-dataformat-msgpack)
+ *     response-cache:
+ *       enabled: false                  # Enable/disable the @CachedResponse cache (requires Caffeine)
+ *       maximum-size: 67108864          # Maximum total size of cached bodies in bytes
+ *       default-ttl: 60s                # TTL for handlers that do not declare one
+ *       compress: true                  # Also store gzip-compressed bodies
+ *       compress-min-size: 1024         # Minimum body size for compression
+ *     coalescing:
+ *       enabled: false                  # Enable/disable @Coalesce request coalescing
+ *       max-wait: 2s                    # Wait for handlers that do not declare one
+ *       max-body-size: 1048576          # Largest response shared with waiting requests
+ *     idempotency:
+ *       enabled: false                  # Enable/disable Idempotency-Key handling
+ *       methods: [POST, PATCH]          # Methods honoring the header
+ *       ttl: 24h                        # How long responses are replayed
+ *       lock-timeout: 10s               # Wait of concurrent duplicates before a 409
+ *       max-entries: 10000              # Responses kept by the in-memory store
+ *       max-body-size: 65536            # Largest response recorded
  * </pre>
  */
 @Configuration
@@ -47,6 +175,9 @@ public class WebConfigAutoConfiguration {
 
     /**
      * Creates a CORS filter if CORS is enabled.
+     * <p>
+     * The filter runs first, so preflight requests are answered before the MDC
+     * filter and any other filter does work for them.
      *
      * @param properties The starter kit properties
      * @return A filter registration bean for the CORS filter
@@ -54,10 +185,135 @@ public class WebConfigAutoConfiguration {
     @Bean
     @ConditionalOnMissingBean
     @ConditionalOnProperty(prefix = "starter-kit.web-config.cors", name = "enabled", havingValue = "true", matchIfMissing = true)
-    public FilterRegistrationBean<CorsFilter> corsFilter(StarterKitProperties properties) {
-        FilterRegistrationBean<CorsFilter> registration = new FilterRegistrationBean<>();
+    public FilterRegistrationBean<PrecomputedCorsFilter> corsFilter(StarterKitProperties properties) {
+        FilterRegistrationBean<PrecomputedCorsFilter> registration = new FilterRegistrationBean<>();
         registration.setFilter(CorsConfig.corsFilter(properties));
-        registration.setOrder(0);
+        registration.addUrlPatterns("/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    /**
+     * Creates a request deadline filter if deadlines are enabled.
+     * <p>
+     * The filter runs right after the MDC filter so the deadline starts
+     * as early as possible and is visible in the logging context.
+     *
+     * @param properties The starter kit properties
+     * @return A filter registration bean for the deadline filter
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "starter-kit.web-config.deadline", name = "enabled", havingValue = "true")
+    public FilterRegistrationBean<RequestDeadlineFilter> requestDeadlineFilter(StarterKitProperties properties) {
+        FilterRegistrationBean<RequestDeadlineFilter> registration = new FilterRegistrationBean<>();
+        registration.setFilter(new RequestDeadlineFilter(properties));
+        registration.addUrlPatterns("/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    /**
+     * Creates a request decompression filter if request decompression is enabled.
+     * <p>
+     * The filter runs before request logging and the handlers, so both see the
+     * decompressed body.
+     *
+     * @param properties The starter kit properties
+     * @param metrics The metrics facade, if available
+     * @return A filter registration bean for the request decompression filter
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "starter-kit.web-config.request-decompression", name = "enabled", havingValue = "true")
+    public FilterRegistrationBean<RequestDecompressionFilter> requestDecompressionFilter(
+            StarterKitProperties properties, ObjectProvider<StarterMetrics> metrics) {
+        FilterRegistrationBean<RequestDecompressionFilter> registration = new FilterRegistrationBean<>();
+        registration.setFilter(new RequestDecompressionFilter(properties,
+                metrics.getIfAvailable(() -> StarterMetrics.NOOP)));
+        registration.addUrlPatterns("/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 20);
+        return registration;
+    }
+
+    /**
+     * Creates a rate limit filter if rate limiting is enabled.
+     * <p>
+     * The filter runs right after Spring Security, so buckets can be keyed by the
+     * authenticated user and rejected requests are still logged with their MDC context.
+     *
+     * @param properties The starter kit properties
+     * @param metrics The metrics facade, if available
+     * @return A filter registration bean for the rate limit filter
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "starter-kit.web-config.rate-limit", name = "enabled", havingValue = "true")
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(StarterKitProperties properties,
+                                                                   ObjectProvider<StarterMetrics> metrics) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>();
+        registration.setFilter(new RateLimitFilter(properties, metrics.getIfAvailable(() -> StarterMetrics.NOOP)));
+        registration.addUrlPatterns("/*");
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 10);
+        return registration;
+    }
+
+    /**
+     * Configuration for adaptive concurrency limiting.
+     */
+    @Configuration
+    @ConditionalOnProperty(prefix = "starter-kit.web-config.concurrency-limit", name = "enabled", havingValue = "true")
+    public static class ConcurrencyLimitConfiguration {
+
+        /**
+         * Creates the concurrency limiter.
+         *
+         * @param properties The starter kit properties
+         * @return The concurrency limiter
+         */
+        @Bean
+        @ConditionalOnMissingBean
+        public AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter(StarterKitProperties properties) {
+            return new AdaptiveConcurrencyLimiter(properties.getWebConfig().getConcurrencyLimit());
+        }
+
+        /**
+         * Creates the concurrency limit filter.
+         * <p>
+         * The filter runs right after the MDC filter, so rejected requests cost as
+         * little as possible while still being logged with a request ID.
+         *
+         * @param properties The starter kit properties
+         * @param limiter The concurrency limiter
+         * @param metrics The metrics facade, if available
+         * @return A filter registration bean for the concurrency limit filter
+         */
+        @Bean
+        public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(StarterKitProperties properties,
+                                                                                     AdaptiveConcurrencyLimiter limiter,
+                                                                                     ObjectProvider<StarterMetrics> metrics) {
+            FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>();
+            registration.setFilter(new ConcurrencyLimitFilter(properties, limiter,
+                    metrics.getIfAvailable(() -> StarterMetrics.NOOP)));
+            registration.addUrlPatterns("/*");
+            registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 5);
+            return registration;
+        }
+    }
+
+    /**
+     * Creates an ETag filter if ETags are enabled.
+     * <p>
+     * The filter runs close to the servlet so it hashes the final response body,
+     * after outer filters such as request logging have wrapped the response.
+     *
+     * @param properties The starter kit properties
+     * @return A filter registration bean for the ETag filter
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "starter-kit.web-config.etag", name = "enabled", havingValue = "true")
+    public FilterRegistrationBean<ETagFilter> etagFilter(StarterKitProperties properties) {
+        FilterRegistrationBean<ETagFilter> registration = new FilterRegistrationBean<>();
+        registration.setFilter(new ETagFilter(properties.getWebConfig().getEtag().getMaxBufferSize()));
+        registration.addUrlPatterns("/*");
+        registration.setOrder(Ordered.LOWEST_PRECEDENCE - 5);
         return registration;
     }
 
@@ -65,12 +321,21 @@ public class WebConfigAutoConfiguration {
      * Creates a WebMvcConfig bean.
      *
      * @param properties The starter kit properties
+     * @param metrics The metrics facade, if available
+     * @param objectMapperBuilder Spring Boot's ObjectMapper builder, used for binary formats
      * @return The WebMvcConfig bean
      */
     @Bean
     @ConditionalOnMissingBean
-    public WebMvcConfig webMvcConfig(StarterKitProperties properties) {
-        return new WebMvcConfig(properties);
+    public WebMvcConfig webMvcConfig(StarterKitProperties properties, ObjectProvider<StarterMetrics> metrics,
+                                     ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder) {
+        List<HttpMessageConverter<?>> binaryConverters = Collections.emptyList();
+        StarterKitProperties.WebConfigProperties.BinaryFormatsProperties binaryFormats =
+                properties.getWebConfig().getBinaryFormats();
+        if (binaryFormats.isEnabled() && objectMapperBuilder.getIfAvailable() != null) {
+            binaryConverters = BinaryFormatConverters.create(objectMapperBuilder::getObject, binaryFormats);
+        }
+        return new WebMvcConfig(properties, metrics.getIfAvailable(() -> StarterMetrics.NOOP), binaryConverters);
     }
 
     /**
@@ -87,6 +352,128 @@ public class WebConfigAutoConfiguration {
         return new CompressionConfig(properties);
     }
 
+    /**
+     * Creates a ServerConfig bean if server tuning is enabled.
+     *
+     * @param properties The starter kit properties
+     * @param environment The environment, used to detect virtual threads
+     * @return The ServerConfig bean
+     */
+    @Bean
+    @ConditionalOnClass(name = "org.apache.catalina.startup.Tomcat")
+    @ConditionalOnProperty(prefix = "starter-kit.web-config.server", name = "enabled", havingValue = "true")
+    public WebServerFactoryCustomizer<TomcatServletWebServerFactory> serverCustomizer(StarterKitProperties properties,
+                                                                                      Environment environment) {
+        return new ServerConfig(properties, environment);
+    }
+
+    /**
+     * Configuration for the compression filter, used in {@code filter} compression mode.
+     */
+    @Configuration
+    @ConditionalOnProperty(prefix = "starter-kit.web-config.compression", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public static class CompressionFilterConfiguration {
+
+        /**
+         * Creates the policy choosing compression levels.
+         * <p>
+         * The configured levels are used as is, or adapted to compression ratios
+         * and CPU load if the adaptive policy is enabled.
+         *
+         * @param properties The starter kit properties
+         * @param metrics The metrics facade, if available
+         * @return The compression policy
+         */
+        @Bean
+        @ConditionalOnMissingBean
+        @ConditionalOnProperty(prefix = "starter-kit.web-config.compression", name = "mode", havingValue = "filter")
+        public CompressionPolicy compressionPolicy(StarterKitProperties properties,
+                                                   ObjectProvider<StarterMetrics> metrics) {
+            StarterKitProperties.WebConfigProperties.CompressionProperties compression =
+                    properties.getWebConfig().getCompression();
+            CompressionPolicy policy = new StaticCompressionPolicy(compression);
+            if (compression.getAdaptive().isEnabled()) {
+                policy = new AdaptiveCompressionPolicy(policy, compression.getAdaptive(),
+                        metrics.getIfAvailable(() -> StarterMetrics.NOOP));
+            }
+            return policy;
+        }
+
+        /**
+         * Creates the compression filter.
+         * <p>
+         * The filter runs early so that it compresses the final body, after inner
+         * filters such as ETag hashing and request logging have seen it uncompressed.
+         *
+         * @param properties The starter kit properties
+         * @param policy The compression policy
+         * @param metrics The metrics facade, if available
+         * @param precompressedCache The cache of compressed variants, if enabled
+         * @return A filter registration bean for the compression filter
+         */
+        @Bean
+        @ConditionalOnProperty(prefix = "starter-kit.web-config.compression", name = "mode", havingValue = "filter")
+        public FilterRegistrationBean<CompressionFilter> compressionFilter(StarterKitProperties properties,
+                                                                           CompressionPolicy policy,
+                                                                           ObjectProvider<StarterMetrics> metrics,
+                                                                           ObjectProvider<PrecompressedCache> precompressedCache) {
+            StarterKitProperties.WebConfigProperties.CompressionProperties compression =
+                    properties.getWebConfig().getCompression();
+            FilterRegistrationBean<CompressionFilter> registration = new FilterRegistrationBean<>();
+            registration.setFilter(new CompressionFilter(
+                    ContentEncoders.create(compression.getEncodings(), compression.getPoolSize()),
+                    compression.getMimeTypes(), compression.getMinResponseSize(), policy,
+                    metrics.getIfAvailable(() -> StarterMetrics.NOOP), precompressedCache.getIfAvailable()));
+            registration.addUrlPatterns("/*");
+            registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 30);
+            return registration;
+        }
+    }
+
+    /**
+     * Configuration for the pre-compressed response cache, used in {@code filter} compression mode.
+     */
+    @Configuration
+    @ConditionalOnClass(name = "com.github.benmanes.caffeine.cache.Caffeine")
+    @ConditionalOnProperty(prefix = "starter-kit.web-config.compression.precompressed", name = "enabled", havingValue = "true")
+    public static class PrecompressedCacheConfiguration {
+
+        /**
+         * Creates the cache of compressed response variants.
+         *
+         * @param properties The starter kit properties
+         * @param metrics The metrics facade, if available
+         * @return The pre-compressed cache
+         */
+        @Bean
+        @ConditionalOnMissingBean
+        @ConditionalOnProperty(prefix = "starter-kit.web-config.compression", name = "mode", havingValue = "filter")
+        public PrecompressedCache precompressedCache(StarterKitProperties properties,
+                                                     ObjectProvider<StarterMetrics> metrics) {
+            StarterKitProperties.WebConfigProperties.CompressionProperties.PrecompressedProperties precompressed =
+                    properties.getWebConfig().getCompression().getPrecompressed();
+            return new PrecompressedCache(precompressed.getMaximumSize(), precompressed.getMaxEntrySize(),
+                    precompressed.getPaths(), metrics.getIfAvailable(() -> StarterMetrics.NOOP));
+        }
+
+        /**
+         * Warms the cache for the configured paths at startup.
+         *
+         * @param properties The starter kit properties
+         * @param precompressedCache The pre-compressed cache
+         * @return The cache warmer
+         */
+        @Bean
+        @ConditionalOnProperty(prefix = "starter-kit.web-config.compression", name = "mode", havingValue = "filter")
+        public PrecompressedCacheWarmer precompressedCacheWarmer(StarterKitProperties properties,
+                                                                 PrecompressedCache precompressedCache) {
+            StarterKitProperties.WebConfigProperties.CompressionProperties compression =
+                    properties.getWebConfig().getCompression();
+            return new PrecompressedCacheWarmer(compression.getPrecompressed().getWarmPaths(),
+                    compression.getEncodings(), precompressedCache, compression.getPrecompressed().getWarmTimeout());
+        }
+    }
+
     /**
      * Creates a servlet customizer to enable the default servlet.
      *
@@ -97,4 +484,183 @@ public class WebConfigAutoConfiguration {
     public WebServerFactoryCustomizer<ConfigurableServletWebServerFactory> servletCustomizer() {
         return factory -> factory.setRegisterDefaultServlet(true);
     }
+
+    /**
+     * Configuration for the in-memory response cache.
+     */
+    @Configuration
+    @ConditionalOnClass(name = "com.github.benmanes.caffeine.cache.Caffeine")
+    @ConditionalOnProperty(prefix = "starter-kit.web-config.response-cache", name = "enabled", havingValue = "true")
+    public static class ResponseCacheConfiguration {
+
+        /**
+         * Creates the response cache.
+         *
+         * @param properties The starter kit properties
+         * @param metrics The metrics facade, if available
+         * @return The response cache
+         */
+        @Bean
+        @ConditionalOnMissingBean
+        public ResponseCache responseCache(StarterKitProperties properties, ObjectProvider<StarterMetrics> metrics) {
+            StarterKitProperties.WebConfigProperties.ResponseCacheProperties cache =
+                    properties.getWebConfig().getResponseCache();
+            return new ResponseCache(cache.getMaximumSize(), cache.isCompress(), cache.getCompressMinSize(),
+                    metrics.getIfAvailable(() -> StarterMetrics.NOOP));
+        }
+
+        /**
+         * Creates the cache key generator.
+         *
+         * @return The cache key generator
+         */
+        @Bean
+        @ConditionalOnMissingBean
+        public CacheKeyGenerator cacheKeyGenerator() {
+            return new CacheKeyGenerator();
+        }
+
+        /**
+         * Registers the interceptor answering cached responses.
+         *
+         * @param properties The starter kit properties
+         * @param responseCache The response cache
+         * @param cacheKeyGenerator The cache key generator
+         * @return The MVC configurer registering the interceptor
+         */
+        @Bean
+        public WebMvcConfigurer responseCacheConfigurer(StarterKitProperties properties, ResponseCache responseCache,
+                                                        CacheKeyGenerator cacheKeyGenerator) {
+            ResponseCacheInterceptor interceptor = new ResponseCacheInterceptor(responseCache, cacheKeyGenerator,
+                    properties.getWebConfig().getResponseCache().getDefaultTtl());
+            return new WebMvcConfigurer() {
+                @Override
+                public void addInterceptors(InterceptorRegistry registry) {
+                    registry.addInterceptor(interceptor);
+                }
+            };
+        }
+
+        /**
+         * Creates the advice storing responses on cache misses.
+         *
+         * @param responseCache The response cache
+         * @param objectMapper The shared ObjectMapper
+         * @return The response body advice
+         */
+        @Bean
+        public CachedResponseBodyAdvice cachedResponseBodyAdvice(ResponseCache responseCache,
+                                                                 ObjectMapper objectMapper) {
+            return new CachedResponseBodyAdvice(responseCache, objectMapper);
+        }
+
+        /**
+         * Invalidates cached responses when audited entities change.
+         *
+         * @param responseCache The response cache
+         * @return The cache invalidator
+         */
+        @Bean
+        @ConditionalOnClass(name = "jakarta.persistence.EntityManager")
+        public ResponseCacheInvalidator responseCacheInvalidator(ResponseCache responseCache) {
+            return new ResponseCacheInvalidator(responseCache);
+        }
+    }
+
+    /**
+     * Configuration for coalescing identical concurrent requests.
+     */
+    @Configuration
+    @ConditionalOnProperty(prefix = "starter-kit.web-config.coalescing", name = "enabled", havingValue = "true")
+    public static class CoalescingConfiguration {
+
+        /**
+         * Creates the filter installing the capturing response wrapper.
+         * <p>
+         * The filter runs outside the ETag filter, so waiting requests receive the
+         * leader's ETag, and inside compression, so captured bodies are uncompressed
+         * and each waiting request is compressed for its own {@code Accept-Encoding}.
+         *
+         * @return A filter registration bean for the coalescing filter
+         */
+        @Bean
+        public FilterRegistrationBean<CoalescingFilter> coalescingFilter() {
+            FilterRegistrationBean<CoalescingFilter> registration = new FilterRegistrationBean<>();
+            registration.setFilter(new CoalescingFilter());
+            registration.addUrlPatterns("/*");
+            registration.setOrder(Ordered.LOWEST_PRECEDENCE - 8);
+            return registration;
+        }
+
+        /**
+         * Registers the interceptor coalescing requests.
+         * <p>
+         * The interceptor runs after the response cache interceptor, so cache hits are
+         * answered without waiting for a leader.
+         *
+         * @param properties The starter kit properties
+         * @param cacheKeyGenerator The cache key generator, if the response cache defines one
+         * @param metrics The metrics facade, if available
+         * @return The MVC configurer registering the interceptor
+         */
+        @Bean
+        public WebMvcConfigurer coalescingConfigurer(StarterKitProperties properties,
+                                                     ObjectProvider<CacheKeyGenerator> cacheKeyGenerator,
+                                                     ObjectProvider<StarterMetrics> metrics) {
+            StarterKitProperties.WebConfigProperties.CoalescingProperties coalescing =
+                    properties.getWebConfig().getCoalescing();
+            CoalescingInterceptor interceptor = new CoalescingInterceptor(
+                    cacheKeyGenerator.getIfAvailable(CacheKeyGenerator::new), coalescing.getMaxWait(),
+                    coalescing.getMaxBodySize(), metrics.getIfAvailable(() -> StarterMetrics.NOOP));
+            return new WebMvcConfigurer() {
+                @Override
+                public void addInterceptors(InterceptorRegistry registry) {
+                    registry.addInterceptor(interceptor).order(1);
+                }
+            };
+        }
+    }
+
+    /**
+     * Configuration for {@code Idempotency-Key} handling.
+     */
+    @Configuration
+    @ConditionalOnProperty(prefix = "starter-kit.web-config.idempotency", name = "enabled", havingValue = "true")
+    public static class IdempotencyConfiguration {
+
+        /**
+         * Creates the in-memory idempotency store, unless the application defines a shared one.
+         *
+         * @param properties The starter kit properties
+         * @return The idempotency store
+         */
+        @Bean
+        @ConditionalOnMissingBean
+        public IdempotencyStore idempotencyStore(StarterKitProperties properties) {
+            return new InMemoryIdempotencyStore(properties.getWebConfig().getIdempotency().getMaxEntries());
+        }
+
+        /**
+         * Creates the idempotency filter.
+         * <p>
+         * The filter runs after Spring Security and the rate limiter, so keys are scoped
+         * by the authenticated user and throttled retries do not take a key's lock.
+         *
+         * @param properties The starter kit properties
+         * @param store The idempotency store
+         * @param metrics The metrics facade, if available
+         * @return A filter registration bean for the idempotency filter
+         */
+        @Bean
+        public FilterRegistrationBean<IdempotencyFilter> idempotencyFilter(StarterKitProperties properties,
+                                                                           IdempotencyStore store,
+                                                                           ObjectProvider<StarterMetrics> metrics) {
+            FilterRegistrationBean<IdempotencyFilter> registration = new FilterRegistrationBean<>();
+            registration.setFilter(new IdempotencyFilter(properties, store,
+                    metrics.getIfAvailable(() -> StarterMetrics.NOOP)));
+            registration.addUrlPatterns("/*");
+            registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 20);
+            return registration;
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,69 @@
+package com.bensamir.starter.exception;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Detects exceptions caused by the client closing the connection.
+ * <p>
+ * Disconnects surface differently depending on the server and on where the
+ * write failed, so detection walks the whole cause chain and matches:
+ * <ul>
+ *   <li>Server-specific abort exceptions by class name (Tomcat, Jetty, Spring MVC)</li>
+ *   <li>Plain {@link IOException}s carrying a broken pipe or connection reset message</li>
+ * </ul>
+ * Class names are compared as strings so that none of the server libraries
+ * needs to be on the classpath.
+ */
+public final class ClientAbortDetector {
+    private static final int MAX_CAUSE_DEPTH = 16;
+
+    private static final Set<String> ABORT_EXCEPTION_TYPES = Set.of(
+            "org.apache.catalina.connector.ClientAbortException",
+            "org.eclipse.jetty.io.EofException",
+            "org.springframework.web.context.request.async.AsyncRequestNotUsableException"
+    );
+
+    private static final String[] ABORT_MESSAGES = {
+            "Broken pipe",
+            "Connection reset by peer",
+            "An established connection was aborted",
+            "An existing connection was forcibly closed"
+    };
+
+    private ClientAbortDetector() {
+        // Utility class, no instantiation
+    }
+
+    /**
+     * Checks whether the exception, or any of its causes, indicates a client disconnect.
+     *
+     * @param ex the exception to inspect
+     * @return true if the client closed the connection
+     */
+    public static boolean isClientAbort(Throwable ex) {
+        Throwable current = ex;
+        for (int depth = 0; current != null && depth < MAX_CAUSE_DEPTH; depth++) {
+            if (ABORT_EXCEPTION_TYPES.contains(current.getClass().getName())) {
+                return true;
+            }
+            if (current instanceof IOException && hasAbortMessage(current.getMessage())) {
+                return true;
+            }
+            current = current.getCause();
+        }
+        return false;
+    }
+
+    private static boolean hasAbortMessage(String message) {
+        if (message == null) {
+            return false;
+        }
+        for (String abortMessage : ABORT_MESSAGES) {
+            if (message.contains(abortMessage)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
\ No newline at end of file
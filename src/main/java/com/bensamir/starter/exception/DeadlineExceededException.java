@@ -0,0 +1,19 @@
+package com.bensamir.starter.exception;
+
+/**
+ * Exception thrown when a request's deadline has passed before its work completed.
+ * <p>
+ * This typically maps to a 504 Gateway Timeout HTTP response.
+ */
+public class DeadlineExceededException extends BaseException {
+    private static final String DEFAULT_ERROR_CODE = "DEADLINE_EXCEEDED";
+
+    /**
+     * Creates a new DeadlineExceededException with the specified message.
+     *
+     * @param message the exception message
+     */
+    public DeadlineExceededException(String message) {
+        super(message, DEFAULT_ERROR_CODE);
+    }
+}
\ No newline at end of file
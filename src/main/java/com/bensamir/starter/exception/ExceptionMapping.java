@@ -0,0 +1,262 @@
+package com.bensamir.starter.exception;
+
+import org.springframework.http.HttpStatus;
+
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Describes how an exception type is translated into an error response.
+ * <p>
+ * A mapping captures everything the {@link GlobalExceptionHandler} needs to
+ * render an exception without inspecting it further:
+ * <ul>
+ *   <li>HTTP status of the response</li>
+ *   <li>Error code (or {@code null} to use {@link BaseException#getErrorCode()})</li>
+ *   <li>Message key resolved through the {@link ErrorMessageResolver}, derived from
+ *       the status when not set (e.g. {@code not.found}, {@code internal.error} for 500)</li>
+ *   <li>Log level used when the exception is handled</li>
+ *   <li>Stack trace policy for the response body</li>
+ * </ul>
+ * <p>
+ * Mappings are immutable and are looked up through the {@link ExceptionMappingRegistry}.
+ */
+public final class ExceptionMapping {
+    private final HttpStatus status;
+    private final String errorCode;
+    private final String messageKey;
+    private final LogLevel logLevel;
+    private final StackTracePolicy stackTracePolicy;
+
+    private ExceptionMapping(Builder builder) {
+        this.status = builder.status;
+        this.errorCode = builder.errorCode;
+        this.messageKey = builder.messageKey != null ? builder.messageKey : defaultMessageKey(builder.status);
+        this.logLevel = builder.logLevel;
+        this.stackTracePolicy = builder.stackTracePolicy;
+    }
+
+    /**
+     * Creates a mapping with the given status and message key, logged at WARN.
+     *
+     * @param status the HTTP status
+     * @param messageKey the message key
+     * @return the mapping
+     */
+    public static ExceptionMapping of(HttpStatus status, String messageKey) {
+        return builder(status).messageKey(messageKey).build();
+    }
+
+    /**
+     * Creates a builder for a mapping with the given status.
+     *
+     * @param status the HTTP status
+     * @return a mapping builder
+     */
+    public static Builder builder(HttpStatus status) {
+        return new Builder(status);
+    }
+
+    /**
+     * Creates a builder pre-populated with the values of this mapping.
+     *
+     * @return a mapping builder
+     */
+    public Builder toBuilder() {
+        return new Builder(status)
+                .errorCode(errorCode)
+                .messageKey(messageKey)
+                .logLevel(logLevel)
+                .stackTracePolicy(stackTracePolicy);
+    }
+
+    private static String defaultMessageKey(HttpStatus status) {
+        return status == HttpStatus.INTERNAL_SERVER_ERROR
+                ? "internal.error"
+                : status.name().toLowerCase(Locale.ROOT).replace('_', '.');
+    }
+
+    /**
+     * Resolves the error code for the given exception.
+     * <p>
+     * The configured error code wins; otherwise the code carried by a
+     * {@link BaseException} is used, falling back to the status name.
+     *
+     * @param ex the exception being handled
+     * @return the error code
+     */
+    public String resolveErrorCode(Throwable ex) {
+        if (errorCode != null) {
+            return errorCode;
+        }
+        if (ex instanceof BaseException && ((BaseException) ex).getErrorCode() != null) {
+            return ((BaseException) ex).getErrorCode();
+        }
+        return status.name();
+    }
+
+    /**
+     * Determines whether the stack trace should be added to the response.
+     *
+     * @param includeByDefault the globally configured stack trace setting
+     * @return true if the stack trace should be included
+     */
+    public boolean includeStackTrace(boolean includeByDefault) {
+        return switch (stackTracePolicy) {
+            case ALWAYS -> true;
+            case NEVER -> false;
+            case DEFAULT -> includeByDefault;
+        };
+    }
+
+    // Getters
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+    public String getErrorCode() {
+        return errorCode;
+    }
+
+    public String getMessageKey() {
+        return messageKey;
+    }
+
+    public LogLevel getLogLevel() {
+        return logLevel;
+    }
+
+    public StackTracePolicy getStackTracePolicy() {
+        return stackTracePolicy;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ExceptionMapping that = (ExceptionMapping) o;
+        return status == that.status &&
+                Objects.equals(errorCode, that.errorCode) &&
+                Objects.equals(messageKey, that.messageKey) &&
+                logLevel == that.logLevel &&
+                stackTracePolicy == that.stackTracePolicy;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(status, errorCode, messageKey, logLevel, stackTracePolicy);
+    }
+
+    @Override
+    public String toString() {
+        return "ExceptionMapping{" +
+                "status=" + status.value() +
+                ", errorCode='" + errorCode + '\'' +
+                ", messageKey='" + messageKey + '\'' +
+                ", logLevel=" + logLevel +
+                ", stackTracePolicy=" + stackTracePolicy +
+                '}';
+    }
+
+    /**
+     * Log levels for exception logging.
+     */
+    public enum LogLevel {
+        OFF, DEBUG, INFO, WARN, ERROR
+    }
+
+    /**
+     * Controls whether the stack trace is included in the response body.
+     */
+    public enum StackTracePolicy {
+        /** Follow the {@code include-stack-trace} property. */
+        DEFAULT,
+        /** Always include the stack trace. */
+        ALWAYS,
+        /** Never include the stack trace. */
+        NEVER
+    }
+
+    /**
+     * Builder for creating ExceptionMapping objects.
+     */
+    public static final class Builder {
+        private HttpStatus status;
+        private String errorCode;
+        private String messageKey;
+        private LogLevel logLevel = LogLevel.WARN;
+        private StackTracePolicy stackTracePolicy = StackTracePolicy.DEFAULT;
+
+        private Builder(HttpStatus status) {
+            this.status = Objects.requireNonNull(status, "status must not be null");
+        }
+
+        /**
+         * Sets the HTTP status.
+         *
+         * @param status the HTTP status
+         * @return this builder for chaining
+         */
+        public Builder status(HttpStatus status) {
+            this.status = Objects.requireNonNull(status, "status must not be null");
+            return this;
+        }
+
+        /**
+         * Sets a fixed error code, overriding the one carried by the exception.
+         *
+         * @param errorCode the error code
+         * @return this builder for chaining
+         */
+        public Builder errorCode(String errorCode) {
+            this.errorCode = errorCode;
+            return this;
+        }
+
+        /**
+         * Sets the message key resolved through the error message resolver.
+         * <p>
+         * When unset, the key is derived from the status: {@code internal.error} for
+         * 500 and the lower-case status name otherwise, e.g. {@code not.found} for 404.
+         * Keys without a message fall back to the exception message for 4xx statuses.
+         *
+         * @param messageKey the message key, or null to derive it from the status
+         * @return this builder for chaining
+         */
+        public Builder messageKey(String messageKey) {
+            this.messageKey = messageKey;
+            return this;
+        }
+
+        /**
+         * Sets the log level used when the exception is handled.
+         *
+         * @param logLevel the log level
+         * @return this builder for chaining
+         */
+        public Builder logLevel(LogLevel logLevel) {
+            this.logLevel = logLevel;
+            return this;
+        }
+
+        /**
+         * Sets the stack trace policy.
+         *
+         * @param stackTracePolicy the stack trace policy
+         * @return this builder for chaining
+         */
+        public Builder stackTracePolicy(StackTracePolicy stackTracePolicy) {
+            this.stackTracePolicy = stackTracePolicy;
+            return this;
+        }
+
+        /**
+         * Builds the mapping.
+         *
+         * @return the constructed mapping
+         */
+        public ExceptionMapping build() {
+            return new ExceptionMapping(this);
+        }
+    }
+}
\ No newline at end of file
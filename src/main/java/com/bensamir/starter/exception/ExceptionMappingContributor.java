@@ -0,0 +1,30 @@
+package com.bensamir.starter.exception;
+
+/**
+ * Callback interface for contributing exception mappings to the {@link ExceptionMappingRegistry}.
+ * <p>
+ * Any bean implementing this interface is picked up by the exception handling
+ * auto-configuration, which lets applications map their own exceptions without
+ * writing additional {@code @ExceptionHandler} methods.
+ * <p>
+ * Usage example:
+ * <pre>
+ * &#64;Bean
+ * public ExceptionMappingContributor paymentExceptionMappings() {
+ *     return registry -&gt; registry.register(PaymentFailedException.class,
+ *             ExceptionMapping.builder(HttpStatus.PAYMENT_REQUIRED)
+ *                     .messageKey("payment.failed")
+ *                     .build());
+ * }
+ * </pre>
+ */
+@FunctionalInterface
+public interface ExceptionMappingContributor {
+
+    /**
+     * Registers exception mappings.
+     *
+     * @param registry the registry builder to contribute to
+     */
+    void contribute(ExceptionMappingRegistry.Builder registry);
+}
\ No newline at end of file
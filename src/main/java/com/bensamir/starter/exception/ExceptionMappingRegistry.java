@@ -0,0 +1,251 @@
+package com.bensamir.starter.exception;
+
+import com.bensamir.starter.properties.StarterKitProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.ClassUtils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Table-driven registry that maps exception types to {@link ExceptionMapping}s.
+ * <p>
+ * Mappings are registered for concrete types and resolved along the class
+ * hierarchy, so a mapping for {@link BaseException} applies to every subclass
+ * that has no mapping of its own. Resolution results are memoized per class
+ * in a {@link ClassValue}, which makes lookups on the error path a constant-time
+ * operation without any reflection.
+ * <p>
+ * Mappings are collected, in increasing order of precedence, from:
+ * <ul>
+ *   <li>The built-in defaults for the starter's exception types</li>
+ *   <li>{@link ExceptionMappingContributor} beans</li>
+ *   <li>The {@code starter-kit.exception-handling.mappings} properties</li>
+ * </ul>
+ */
+public final class ExceptionMappingRegistry {
+    private static final Logger log = LoggerFactory.getLogger(ExceptionMappingRegistry.class);
+
+    private final Map<Class<?>, ExceptionMapping> mappings;
+
+    private final ClassValue<Optional<ExceptionMapping>> resolved = new ClassValue<>() {
+        @Override
+        protected Optional<ExceptionMapping> computeValue(Class<?> type) {
+            return Optional.ofNullable(lookup(mappings, type));
+        }
+    };
+
+    private ExceptionMappingRegistry(Map<Class<?>, ExceptionMapping> mappings) {
+        this.mappings = Map.copyOf(mappings);
+    }
+
+    /**
+     * Creates a registry from the defaults, the given contributors and the configured properties.
+     *
+     * @param properties the exception handling properties
+     * @param contributors the mapping contributors
+     * @return the registry
+     */
+    public static ExceptionMappingRegistry create(StarterKitProperties.ExceptionHandlingProperties properties,
+                                                  Iterable<ExceptionMappingContributor> contributors) {
+        Builder builder = builder().withDefaults();
+        for (ExceptionMappingContributor contributor : contributors) {
+            contributor.contribute(builder);
+        }
+        builder.withProperties(properties.getMappings());
+        return builder.build();
+    }
+
+    /**
+     * Creates an empty registry builder.
+     *
+     * @return a registry builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Resolves the mapping for an exception type, walking up its class hierarchy.
+     *
+     * @param type the exception type
+     * @return the mapping, or null if neither the type nor any supertype is mapped
+     */
+    public ExceptionMapping resolve(Class<? extends Throwable> type) {
+        return resolved.get(type).orElse(null);
+    }
+
+    /**
+     * Returns the explicitly registered mappings.
+     *
+     * @return an unmodifiable view of the registered mappings
+     */
+    public Map<Class<?>, ExceptionMapping> getMappings() {
+        return mappings;
+    }
+
+    private static ExceptionMapping lookup(Map<Class<?>, ExceptionMapping> mappings, Class<?> type) {
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            ExceptionMapping mapping = mappings.get(current);
+            if (mapping != null) {
+                return mapping;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Builder for creating ExceptionMappingRegistry objects.
+     */
+    public static final class Builder {
+        private final Map<Class<?>, ExceptionMapping> mappings = new LinkedHashMap<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Registers the default mappings for the starter's exception types and
+         * for common timeout exceptions.
+         *
+         * @return this builder for chaining
+         */
+        public Builder withDefaults() {
+            register(BaseException.class, ExceptionMapping.builder(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .messageKey("internal.error")
+                    .logLevel(ExceptionMapping.LogLevel.ERROR)
+                    .build());
+            register(ResourceNotFoundException.class, ExceptionMapping.of(HttpStatus.NOT_FOUND, "resource.notfound"));
+            register(BadRequestException.class, ExceptionMapping.of(HttpStatus.BAD_REQUEST, "bad.request"));
+            register(UnauthorizedException.class, ExceptionMapping.of(HttpStatus.UNAUTHORIZED, "unauthorized"));
+            register(ForbiddenException.class, ExceptionMapping.of(HttpStatus.FORBIDDEN, "forbidden"));
+            register(ConflictException.class, ExceptionMapping.of(HttpStatus.CONFLICT, "conflict"));
+            register(PayloadTooLargeException.class,
+                    ExceptionMapping.of(HttpStatus.PAYLOAD_TOO_LARGE, "payload.too.large"));
+
+            // Timeouts are expected under load: no stack traces, no 500s
+            ExceptionMapping deadlineExceeded = ExceptionMapping.builder(HttpStatus.GATEWAY_TIMEOUT)
+                    .errorCode("DEADLINE_EXCEEDED")
+                    .messageKey("deadline.exceeded")
+                    .stackTracePolicy(ExceptionMapping.StackTracePolicy.NEVER)
+                    .build();
+            register(DeadlineExceededException.class, deadlineExceeded);
+            register(TimeoutException.class, deadlineExceeded);
+            register("org.springframework.dao.QueryTimeoutException", deadlineExceeded);
+            register("jakarta.persistence.QueryTimeoutException", deadlineExceeded);
+            register("org.springframework.web.context.request.async.AsyncRequestTimeoutException",
+                    ExceptionMapping.builder(HttpStatus.SERVICE_UNAVAILABLE)
+                            .errorCode("SERVICE_UNAVAILABLE")
+                            .messageKey("service.unavailable")
+                            .stackTracePolicy(ExceptionMapping.StackTracePolicy.NEVER)
+                            .build());
+            return this;
+        }
+
+        /**
+         * Registers the mappings configured through properties.
+         * <p>
+         * Unset attributes are inherited from the mapping that would otherwise apply
+         * to the type, except the message key of a mapping whose status changes, which
+         * is derived from the new status. Entries naming classes that are not on the
+         * classpath are skipped.
+         *
+         * @param configured the configured mappings keyed by fully qualified class name
+         * @return this builder for chaining
+         */
+        public Builder withProperties(
+                Map<String, StarterKitProperties.ExceptionHandlingProperties.MappingProperties> configured) {
+            configured.forEach((className, props) -> {
+                Class<? extends Throwable> type = loadExceptionType(className);
+                if (type == null) {
+                    return;
+                }
+
+                ExceptionMapping inherited = lookup(mappings, type);
+                ExceptionMapping.Builder builder = inherited != null
+                        ? inherited.toBuilder()
+                        : ExceptionMapping.builder(HttpStatus.INTERNAL_SERVER_ERROR);
+
+                if (props.getStatus() != null) {
+                    HttpStatus status = HttpStatus.valueOf(props.getStatus());
+                    if (inherited == null || inherited.getStatus() != status) {
+                        // The inherited message belongs to another status, derive it from the new one
+                        builder.messageKey(null);
+                    }
+                    builder.status(status);
+                }
+                if (props.getErrorCode() != null) {
+                    builder.errorCode(props.getErrorCode());
+                }
+                if (props.getMessageKey() != null) {
+                    builder.messageKey(props.getMessageKey());
+                }
+                if (props.getLogLevel() != null) {
+                    builder.logLevel(props.getLogLevel());
+                }
+                if (props.getStackTrace() != null) {
+                    builder.stackTracePolicy(props.getStackTrace());
+                }
+                register(type, builder.build());
+            });
+            return this;
+        }
+
+        /**
+         * Registers a mapping for an exception type and its subclasses.
+         *
+         * @param type the exception type
+         * @param mapping the mapping
+         * @return this builder for chaining
+         */
+        public Builder register(Class<? extends Throwable> type, ExceptionMapping mapping) {
+            mappings.put(type, mapping);
+            return this;
+        }
+
+        /**
+         * Registers a mapping for an exception type given by name, if it is on the classpath.
+         * <p>
+         * This allows mapping exceptions from optional dependencies without linking against them.
+         *
+         * @param className the fully qualified exception class name
+         * @param mapping the mapping
+         * @return this builder for chaining
+         */
+        public Builder register(String className, ExceptionMapping mapping) {
+            Class<? extends Throwable> type = loadExceptionType(className);
+            if (type != null) {
+                register(type, mapping);
+            }
+            return this;
+        }
+
+        /**
+         * Builds the registry.
+         *
+         * @return the constructed registry
+         */
+        public ExceptionMappingRegistry build() {
+            return new ExceptionMappingRegistry(mappings);
+        }
+
+        @SuppressWarnings("unchecked")
+        private static Class<? extends Throwable> loadExceptionType(String className) {
+            ClassLoader classLoader = ExceptionMappingRegistry.class.getClassLoader();
+            if (!ClassUtils.isPresent(className, classLoader)) {
+                log.debug("Skipping exception mapping for {}: class not present", className);
+                return null;
+            }
+
+            Class<?> type = ClassUtils.resolveClassName(className, classLoader);
+            if (!Throwable.class.isAssignableFrom(type)) {
+                log.warn("Skipping exception mapping for {}: not a Throwable", className);
+                return null;
+            }
+            return (Class<? extends Throwable>) type;
+        }
+    }
+}
\ No newline at end of file
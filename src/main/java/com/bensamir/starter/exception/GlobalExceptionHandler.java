@@ -1,7 +1,11 @@
 package com.bensamir.starter.exception;
 
 
+import com.bensamir.starter.exception.ExceptionMapping.LogLevel;
+import com.bensamir.starter.exception.aggregation.ErrorAggregator;
+import com.bensamir.starter.metrics.StarterMetrics;
 import com.bensamir.starter.properties.StarterKitProperties;
+import com.bensamir.starter.web.support.RouteResolver;
 import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -16,17 +20,21 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
+import java.util.List;
+
 
 /**
  * Global exception handler that provides standardized error responses for exceptions.
  * <p>
  * This handler:
  * <ul>
- *   <li>Maps exceptions to appropriate HTTP status codes</li>
+ *   <li>Maps exceptions to appropriate HTTP status codes through the {@link ExceptionMappingRegistry}</li>
  *   <li>Formats exceptions into consistent API error responses</li>
  *   <li>Includes validation errors for invalid requests</li>
  *   <li>Optionally includes stack traces for debugging</li>
  *   <li>Logs exceptions at appropriate levels</li>
+ *   <li>Skips rendering and logging when the client has disconnected</li>
+ *   <li>Feeds handled errors to the {@link ErrorAggregator} when configured</li>
  * </ul>
  */
 @RestControllerAdvice
@@ -35,144 +43,128 @@ public class GlobalExceptionHandler {
 
     private final StarterKitProperties properties;
     private final ErrorMessageResolver messageResolver;
+    private final ExceptionMappingRegistry mappingRegistry;
+    private final StarterMetrics metrics;
+    private final ErrorAggregator errorAggregator;
 
     /**
-     * Creates a new GlobalExceptionHandler.
+     * Creates a new GlobalExceptionHandler with the default exception mappings.
      *
      * @param properties the starter kit properties
      * @param messageResolver the error message resolver
      */
     public GlobalExceptionHandler(StarterKitProperties properties, ErrorMessageResolver messageResolver) {
-        this.properties = properties;
-        this.messageResolver = messageResolver;
+        this(properties, messageResolver,
+                ExceptionMappingRegistry.create(properties.getExceptionHandling(), List.of()));
     }
 
     /**
-     * Handles ResourceNotFoundException.
+     * Creates a new GlobalExceptionHandler.
      *
-     * @param ex the exception
-     * @param request the HTTP request
-     * @return a 404 response with error details
+     * @param properties the starter kit properties
+     * @param messageResolver the error message resolver
+     * @param mappingRegistry the exception mapping registry
      */
-    @ExceptionHandler(ResourceNotFoundException.class)
-    public ResponseEntity<ApiError> handleResourceNotFoundException(
-            ResourceNotFoundException ex, HttpServletRequest request) {
-
-        logException(ex, "Resource not found: {}", ex.getMessage(), LogLevel.WARN);
+    public GlobalExceptionHandler(StarterKitProperties properties, ErrorMessageResolver messageResolver,
+                                  ExceptionMappingRegistry mappingRegistry) {
+        this(properties, messageResolver, mappingRegistry, StarterMetrics.NOOP);
+    }
 
-        ApiError apiError = createApiError(
-                HttpStatus.NOT_FOUND,
-                ex.getErrorCode(),
-                messageResolver.resolveMessage("resource.notfound", ex.getMessage()),
-                request
-        );
+    /**
+     * Creates a new GlobalExceptionHandler.
+     *
+     * @param properties the starter kit properties
+     * @param messageResolver the error message resolver
+     * @param mappingRegistry the exception mapping registry
+     * @param metrics the starter metrics
+     */
+    public GlobalExceptionHandler(StarterKitProperties properties, ErrorMessageResolver messageResolver,
+                                  ExceptionMappingRegistry mappingRegistry, StarterMetrics metrics) {
+        this(properties, messageResolver, mappingRegistry, metrics, null);
+    }
 
-        addStackTraceIfEnabled(apiError, ex);
-        return new ResponseEntity<>(apiError, HttpStatus.NOT_FOUND);
+    /**
+     * Creates a new GlobalExceptionHandler.
+     *
+     * @param properties the starter kit properties
+     * @param messageResolver the error message resolver
+     * @param mappingRegistry the exception mapping registry
+     * @param metrics the starter metrics
+     * @param errorAggregator the error aggregator, or null to disable aggregation
+     */
+    public GlobalExceptionHandler(StarterKitProperties properties, ErrorMessageResolver messageResolver,
+                                  ExceptionMappingRegistry mappingRegistry, StarterMetrics metrics,
+                                  ErrorAggregator errorAggregator) {
+        this.properties = properties;
+        this.messageResolver = messageResolver;
+        this.mappingRegistry = mappingRegistry;
+        this.metrics = metrics;
+        this.errorAggregator = errorAggregator;
     }
 
     /**
-     * Handles BadRequestException.
+     * Handles all exceptions extending {@link BaseException}.
+     * <p>
+     * The response is driven by the {@link ExceptionMapping} resolved for the
+     * exception type, so custom exceptions only need a registered mapping.
      *
      * @param ex the exception
      * @param request the HTTP request
-     * @return a 400 response with error details
+     * @return a response with the mapped status and error details
      */
-    @ExceptionHandler(BadRequestException.class)
-    public ResponseEntity<ApiError> handleBadRequestException(
-            BadRequestException ex, HttpServletRequest request) {
+    @ExceptionHandler(BaseException.class)
+    public ResponseEntity<ApiError> handleBaseException(
+            BaseException ex, HttpServletRequest request) {
 
-        logException(ex, "Bad request: {}", ex.getMessage(), LogLevel.WARN);
-
-        ApiError apiError = createApiError(
-                HttpStatus.BAD_REQUEST,
-                ex.getErrorCode(),
-                messageResolver.resolveMessage("bad.request", ex.getMessage()),
-                request
-        );
-
-        addStackTraceIfEnabled(apiError, ex);
-        return new ResponseEntity<>(apiError, HttpStatus.BAD_REQUEST);
+        return handleMappedException(ex, mappingRegistry.resolve(ex.getClass()), request);
     }
 
     /**
-     * Handles UnauthorizedException and Spring Security's AuthenticationException.
+     * Handles Spring Security's AuthenticationException.
      *
      * @param ex the exception
      * @param request the HTTP request
      * @return a 401 response with error details
      */
-    @ExceptionHandler({UnauthorizedException.class, AuthenticationException.class})
-    public ResponseEntity<ApiError> handleUnauthorizedException(
-            Exception ex, HttpServletRequest request) {
-
-        String errorCode = ex instanceof UnauthorizedException
-                ? ((UnauthorizedException) ex).getErrorCode()
-                : "UNAUTHORIZED";
+    @ExceptionHandler(AuthenticationException.class)
+    public ResponseEntity<ApiError> handleAuthenticationException(
+            AuthenticationException ex, HttpServletRequest request) {
 
         logException(ex, "Unauthorized access: {}", ex.getMessage(), LogLevel.WARN);
 
         ApiError apiError = createApiError(
                 HttpStatus.UNAUTHORIZED,
-                errorCode,
+                "UNAUTHORIZED",
                 messageResolver.resolveMessage("unauthorized", ex.getMessage()),
                 request
         );
 
         addStackTraceIfEnabled(apiError, ex);
-        return new ResponseEntity<>(apiError, HttpStatus.UNAUTHORIZED);
+        return respond(apiError, HttpStatus.UNAUTHORIZED, ex, request);
     }
 
     /**
-     * Handles ForbiddenException and Spring Security's AccessDeniedException.
+     * Handles Spring Security's AccessDeniedException.
      *
      * @param ex the exception
      * @param request the HTTP request
      * @return a 403 response with error details
      */
-    @ExceptionHandler({ForbiddenException.class, AccessDeniedException.class})
-    public ResponseEntity<ApiError> handleForbiddenException(
-            Exception ex, HttpServletRequest request) {
-
-        String errorCode = ex instanceof ForbiddenException
-                ? ((ForbiddenException) ex).getErrorCode()
-                : "FORBIDDEN";
+    @ExceptionHandler(AccessDeniedException.class)
+    public ResponseEntity<ApiError> handleAccessDeniedException(
+            AccessDeniedException ex, HttpServletRequest request) {
 
         logException(ex, "Forbidden access: {}", ex.getMessage(), LogLevel.WARN);
 
         ApiError apiError = createApiError(
                 HttpStatus.FORBIDDEN,
-                errorCode,
+                "FORBIDDEN",
                 messageResolver.resolveMessage("forbidden", ex.getMessage()),
                 request
         );
 
         addStackTraceIfEnabled(apiError, ex);
-        return new ResponseEntity<>(apiError, HttpStatus.FORBIDDEN);
-    }
-
-    /**
-     * Handles ConflictException.
-     *
-     * @param ex the exception
-     * @param request the HTTP request
-     * @return a 409 response with error details
-     */
-    @ExceptionHandler(ConflictException.class)
-    public ResponseEntity<ApiError> handleConflictException(
-            ConflictException ex, HttpServletRequest request) {
-
-        logException(ex, "Conflict: {}", ex.getMessage(), LogLevel.WARN);
-
-        ApiError apiError = createApiError(
-                HttpStatus.CONFLICT,
-                ex.getErrorCode(),
-                messageResolver.resolveMessage("conflict", ex.getMessage()),
-                request
-        );
-
-        addStackTraceIfEnabled(apiError, ex);
-        return new ResponseEntity<>(apiError, HttpStatus.CONFLICT);
+        return respond(apiError, HttpStatus.FORBIDDEN, ex, request);
     }
 
     /**
@@ -205,7 +197,7 @@ public class GlobalExceptionHandler {
         });
 
         addStackTraceIfEnabled(apiError, ex);
-        return new ResponseEntity<>(apiError, HttpStatus.BAD_REQUEST);
+        return respond(apiError, HttpStatus.BAD_REQUEST, ex, request);
     }
 
     /**
@@ -231,7 +223,7 @@ public class GlobalExceptionHandler {
         );
 
         addStackTraceIfEnabled(apiError, ex);
-        return new ResponseEntity<>(apiError, HttpStatus.BAD_REQUEST);
+        return respond(apiError, HttpStatus.BAD_REQUEST, ex, request);
     }
 
     /**
@@ -264,21 +256,30 @@ public class GlobalExceptionHandler {
         );
 
         addStackTraceIfEnabled(apiError, ex);
-        return new ResponseEntity<>(apiError, HttpStatus.BAD_REQUEST);
+        return respond(apiError, HttpStatus.BAD_REQUEST, ex, request);
     }
 
     /**
-     * Handles Spring's BadRequestException.
+     * Handles request bodies that cannot be read.
+     * <p>
+     * A {@link BaseException} thrown while the body is read, such as the
+     * {@link PayloadTooLargeException} of a decompressed body over its limit, reaches
+     * this handler wrapped by Jackson and Spring; it is handled with its own mapping.
      *
      * @param ex the exception
      * @param request the HTTP request
-     * @return a 400 response with error details
+     * @return a 400 response with error details, or the mapped response of a wrapped exception
      */
     @ExceptionHandler(org.springframework.http.converter.HttpMessageNotReadableException.class)
     public ResponseEntity<ApiError> handleHttpMessageNotReadable(
             org.springframework.http.converter.HttpMessageNotReadableException ex,
             HttpServletRequest request) {
 
+        BaseException cause = findBaseException(ex);
+        if (cause != null) {
+            return handleMappedException(cause, mappingRegistry.resolve(cause.getClass()), request);
+        }
+
         logException(ex, "Bad request - message not readable: {}", ex.getMessage(), LogLevel.WARN);
 
         ApiError apiError = createApiError(
@@ -290,7 +291,7 @@ public class GlobalExceptionHandler {
         );
 
         addStackTraceIfEnabled(apiError, ex);
-        return new ResponseEntity<>(apiError, HttpStatus.BAD_REQUEST);
+        return respond(apiError, HttpStatus.BAD_REQUEST, ex, request);
     }
 
     /**
@@ -314,20 +315,34 @@ public class GlobalExceptionHandler {
         );
 
         addStackTraceIfEnabled(apiError, ex);
-        return new ResponseEntity<>(apiError, HttpStatus.BAD_REQUEST);
+        return respond(apiError, HttpStatus.BAD_REQUEST, ex, request);
     }
 
     /**
      * Handles all other unhandled exceptions.
+     * <p>
+     * Exceptions caused by a client disconnect are counted and otherwise ignored,
+     * since there is nobody left to receive an error response. Exceptions with a
+     * registered mapping, such as timeouts, are rendered according to it.
      *
      * @param ex the exception
      * @param request the HTTP request
-     * @return a 500 response with error details
+     * @return a 500 response with error details, or null if the client disconnected
      */
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ApiError> handleAllExceptions(
             Exception ex, HttpServletRequest request) {
 
+        if (ClientAbortDetector.isClientAbort(ex)) {
+            handleClientAbort(ex, request);
+            return null;
+        }
+
+        ExceptionMapping mapping = mappingRegistry.resolve(ex.getClass());
+        if (mapping != null) {
+            return handleMappedException(ex, mapping, request);
+        }
+
         logException(ex, "Unhandled exception occurred: {}", ex.getMessage(), LogLevel.ERROR);
 
         ApiError apiError = createApiError(
@@ -338,11 +353,107 @@ public class GlobalExceptionHandler {
         );
 
         addStackTraceIfEnabled(apiError, ex);
-        return new ResponseEntity<>(apiError, HttpStatus.INTERNAL_SERVER_ERROR);
+        return respond(apiError, HttpStatus.INTERNAL_SERVER_ERROR, ex, request);
     }
 
     // Helper methods
 
+    /**
+     * Records a client disconnect without rendering a response.
+     * <p>
+     * Returning no body leaves the response untouched, so nothing is serialized
+     * or written to the closed connection.
+     *
+     * @param ex the exception
+     * @param request the HTTP request
+     */
+    private void handleClientAbort(Exception ex, HttpServletRequest request) {
+        String route = resolveRoute(request);
+
+        metrics.increment("starter.http.client.aborts", "route", route);
+        if (log.isDebugEnabled()) {
+            log.debug("Client disconnected during request to {}: {}", route, ex.toString());
+        }
+    }
+
+    private static BaseException findBaseException(Throwable ex) {
+        Throwable cause = ex.getCause();
+        for (int depth = 0; cause != null && depth < 8; depth++) {
+            if (cause instanceof BaseException) {
+                return (BaseException) cause;
+            }
+            cause = cause.getCause();
+        }
+        return null;
+    }
+
+    /**
+     * Renders an exception according to its mapping.
+     * <p>
+     * Server errors never expose the exception message; the default message for
+     * the mapping's key is used instead.
+     *
+     * @param ex the exception
+     * @param mapping the resolved mapping, or null to treat the exception as an internal error
+     * @param request the HTTP request
+     * @return a response with the mapped status and error details
+     */
+    private ResponseEntity<ApiError> handleMappedException(Exception ex, ExceptionMapping mapping,
+                                                           HttpServletRequest request) {
+        if (mapping == null) {
+            mapping = ExceptionMapping.builder(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .errorCode("INTERNAL_ERROR")
+                    .logLevel(LogLevel.ERROR)
+                    .build();
+        }
+
+        HttpStatus status = mapping.getStatus();
+        logException(ex, "{}: {}", status.getReasonPhrase(), ex.getMessage(), mapping.getLogLevel());
+
+        String defaultMessage = status.is5xxServerError()
+                ? "An unexpected error occurred"
+                : ex.getMessage();
+
+        ApiError apiError = createApiError(
+                status,
+                mapping.resolveErrorCode(ex),
+                messageResolver.resolveMessage(mapping.getMessageKey(), defaultMessage),
+                request
+        );
+
+        if (mapping.includeStackTrace(properties.getExceptionHandling().isIncludeStackTrace())) {
+            apiError.addStackTraceFromException(ex);
+        }
+        return respond(apiError, status, ex, request);
+    }
+
+    /**
+     * Builds the response for a handled exception and records it for aggregation.
+     *
+     * @param apiError the API error
+     * @param status the HTTP status
+     * @param ex the exception
+     * @param request the HTTP request
+     * @return the response entity
+     */
+    private ResponseEntity<ApiError> respond(ApiError apiError, HttpStatus status, Exception ex,
+                                             HttpServletRequest request) {
+        if (errorAggregator != null) {
+            errorAggregator.record(apiError.getErrorCode(), resolveRoute(request), ex);
+        }
+        return new ResponseEntity<>(apiError, status);
+    }
+
+    /**
+     * Resolves the route pattern matched for the request.
+     *
+     * @param request the HTTP request
+     * @return the matched route pattern, or "UNKNOWN" if no handler matched
+     */
+    private String resolveRoute(HttpServletRequest request) {
+        return RouteResolver.resolve(request);
+    }
+
     /**
      * Creates an ApiError with standard fields.
      *
@@ -393,6 +504,9 @@ public class GlobalExceptionHandler {
             case WARN -> log.warn(format, arg);
             case INFO -> log.info(format, arg);
             case DEBUG -> log.debug(format, arg);
+            case OFF -> {
+                // Logging disabled for this exception
+            }
         }
     }
 
@@ -415,13 +529,9 @@ public class GlobalExceptionHandler {
             case WARN -> log.warn(format, arg1, arg2);
             case INFO -> log.info(format, arg1, arg2);
             case DEBUG -> log.debug(format, arg1, arg2);
+            case OFF -> {
+                // Logging disabled for this exception
+            }
         }
     }
-
-    /**
-     * Log levels for exception logging.
-     */
-    private enum LogLevel {
-        ERROR, WARN, INFO, DEBUG
-    }
 }
\ No newline at end of file
@@ -0,0 +1,19 @@
+package com.bensamir.starter.exception;
+
+/**
+ * Exception thrown when a request body exceeds the allowed size.
+ * <p>
+ * This typically maps to a 413 Content Too Large HTTP response.
+ */
+public class PayloadTooLargeException extends BaseException {
+    private static final String DEFAULT_ERROR_CODE = "PAYLOAD_TOO_LARGE";
+
+    /**
+     * Creates a new PayloadTooLargeException with the specified message.
+     *
+     * @param message the exception message
+     */
+    public PayloadTooLargeException(String message) {
+        super(message, DEFAULT_ERROR_CODE);
+    }
+}
\ No newline at end of file
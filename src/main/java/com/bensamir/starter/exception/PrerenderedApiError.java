@@ -0,0 +1,90 @@
+package com.bensamir.starter.exception;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * An {@link ApiError} body rendered once and written directly to the response.
+ * <p>
+ * Used on fast-fail paths (expired deadlines, load shedding) where the request is
+ * rejected before reaching a controller. The static parts of the JSON document are
+ * encoded up front; only the timestamp and request path are written per request,
+ * so no object mapper or exception handler is involved. The output matches the
+ * JSON produced for an equivalent {@link ApiError}.
+ */
+public final class PrerenderedApiError {
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+    private static final byte[] PREFIX = "{\"timestamp\":\"".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] SUFFIX = "\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final HttpStatus status;
+    private final byte[] body;
+
+    private PrerenderedApiError(HttpStatus status, byte[] body) {
+        this.status = status;
+        this.body = body;
+    }
+
+    /**
+     * Renders an error response body.
+     *
+     * @param status the HTTP status
+     * @param errorCode the error code
+     * @param message the error message
+     * @return the pre-rendered error
+     */
+    public static PrerenderedApiError of(HttpStatus status, String errorCode, String message) {
+        JsonStringEncoder encoder = JsonStringEncoder.getInstance();
+        String body = "\",\"status\":" + status.value()
+                + ",\"errorCode\":\"" + new String(encoder.quoteAsString(errorCode))
+                + "\",\"error\":\"" + new String(encoder.quoteAsString(status.getReasonPhrase()))
+                + "\",\"message\":\"" + new String(encoder.quoteAsString(message))
+                + "\",\"path\":\"";
+        return new PrerenderedApiError(status, body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Writes the error to the response, unless the response is already committed.
+     *
+     * @param response the HTTP response
+     * @param path the request path reported in the body
+     * @throws IOException if writing the response fails
+     */
+    public void write(HttpServletResponse response, String path) throws IOException {
+        if (response.isCommitted()) {
+            return;
+        }
+
+        byte[] timestamp = LocalDateTime.now().format(TIMESTAMP_FORMAT).getBytes(StandardCharsets.US_ASCII);
+        byte[] encodedPath = JsonStringEncoder.getInstance().quoteAsUTF8(path != null ? path : "");
+
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(PREFIX.length + timestamp.length + body.length + encodedPath.length + SUFFIX.length);
+
+        ServletOutputStream out = response.getOutputStream();
+        out.write(PREFIX);
+        out.write(timestamp);
+        out.write(body);
+        out.write(encodedPath);
+        out.write(SUFFIX);
+        out.flush();
+    }
+
+    /**
+     * Returns the HTTP status of the error.
+     *
+     * @return the HTTP status
+     */
+    public HttpStatus getStatus() {
+        return status;
+    }
+}
\ No newline at end of file
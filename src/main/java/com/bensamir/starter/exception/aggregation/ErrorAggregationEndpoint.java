@@ -0,0 +1,40 @@
+package com.bensamir.starter.exception.aggregation;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+
+/**
+ * Actuator endpoint exposing the most frequent errors handled by the application.
+ * <p>
+ * Available at {@code /actuator/errors} once exposed through
+ * {@code management.endpoints.web.exposure.include}. The optional {@code limit}
+ * parameter caps the number of reported errors.
+ */
+@Endpoint(id = "errors")
+public class ErrorAggregationEndpoint {
+    private final ErrorAggregator aggregator;
+    private final int defaultLimit;
+
+    /**
+     * Creates a new ErrorAggregationEndpoint.
+     *
+     * @param aggregator the error aggregator
+     * @param defaultLimit the number of errors reported when no limit is given
+     */
+    public ErrorAggregationEndpoint(ErrorAggregator aggregator, int defaultLimit) {
+        this.aggregator = aggregator;
+        this.defaultLimit = defaultLimit;
+    }
+
+    /**
+     * Returns the top errors over the retained time windows.
+     *
+     * @param limit the maximum number of errors to report
+     * @return the aggregated errors
+     */
+    @ReadOperation
+    public ErrorAggregator.Snapshot errors(@Nullable Integer limit) {
+        return aggregator.snapshot(limit != null && limit > 0 ? limit : defaultLimit);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,412 @@
+package com.bensamir.starter.exception.aggregation;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Memory-bounded aggregation of handled errors over sliding time windows.
+ * <p>
+ * Errors are keyed by error code, route and exception type. Each time window holds:
+ * <ul>
+ *   <li>A count-min sketch estimating the number of occurrences of every key</li>
+ *   <li>A fixed-size heavy-hitter table keeping the most frequent keys, Space-Saving style</li>
+ * </ul>
+ * <p>
+ * Recording costs a handful of atomic increments on the sketch plus a bounded
+ * probe of the heavy-hitter table; no locks are taken except when a window is
+ * recycled. The stack trace is only inspected when a key enters the heavy-hitter
+ * table, to report the frame that threw its first occurrence. Memory is fixed by
+ * the number of windows, the sketch dimensions and the table capacity, regardless
+ * of how many distinct errors occur. Counts are estimates and may over-count
+ * slightly under hash collisions.
+ */
+public class ErrorAggregator {
+    private static final int PROBE_LENGTH = 4;
+
+    private final long windowMillis;
+    private final int depth;
+    private final int widthMask;
+    private final int capacityMask;
+    private final Window[] windows;
+
+    /**
+     * Creates a new ErrorAggregator.
+     *
+     * @param windowCount the number of windows retained
+     * @param windowDuration the duration covered by each window
+     * @param sketchDepth the number of count-min sketch rows
+     * @param sketchWidth the number of counters per sketch row, rounded up to a power of two
+     * @param topK the heavy-hitter capacity per window, rounded up to a power of two
+     */
+    public ErrorAggregator(int windowCount, Duration windowDuration, int sketchDepth, int sketchWidth, int topK) {
+        if (windowCount < 1 || sketchDepth < 1 || sketchWidth < 1 || topK < 1) {
+            throw new IllegalArgumentException("Window count, sketch dimensions and top-k must be positive");
+        }
+        if (windowDuration.toMillis() < 1) {
+            throw new IllegalArgumentException("Window duration must be at least one millisecond");
+        }
+
+        this.windowMillis = windowDuration.toMillis();
+        this.depth = sketchDepth;
+
+        int width = powerOfTwo(sketchWidth);
+        int capacity = powerOfTwo(Math.max(topK, PROBE_LENGTH));
+        this.widthMask = width - 1;
+        this.capacityMask = capacity - 1;
+
+        this.windows = new Window[windowCount];
+        for (int i = 0; i < windowCount; i++) {
+            windows[i] = new Window(depth * width, capacity);
+        }
+    }
+
+    /**
+     * Records an occurrence of an error.
+     *
+     * @param errorCode the error code of the response
+     * @param route the matched route pattern
+     * @param ex the exception that was handled
+     */
+    public void record(String errorCode, String route, Throwable ex) {
+        long now = System.currentTimeMillis();
+        ErrorKey key = ErrorKey.of(errorCode, route, ex);
+        Window window = currentWindow(now);
+
+        window.total.increment();
+        long estimate = window.increment(key.hash);
+        window.offer(key, ex, estimate, now);
+    }
+
+    /**
+     * Returns the most frequent errors across all retained windows.
+     *
+     * @param limit the maximum number of entries returned
+     * @return the top errors, most frequent first
+     */
+    public Snapshot snapshot(int limit) {
+        long now = System.currentTimeMillis();
+        long currentEpoch = now / windowMillis;
+        long oldestEpoch = currentEpoch - windows.length + 1;
+
+        Map<ErrorKey, ErrorEntry> merged = new LinkedHashMap<>();
+        long total = 0;
+        for (Window window : windows) {
+            long epoch = window.epoch;
+            if (epoch < oldestEpoch || epoch > currentEpoch) {
+                continue;
+            }
+            total += window.total.sum();
+
+            for (int i = 0; i <= capacityMask; i++) {
+                Candidate candidate = window.candidates.get(i);
+                if (candidate == null) {
+                    continue;
+                }
+                long count = window.estimate(candidate.key.hash);
+                merged.merge(candidate.key,
+                        new ErrorEntry(candidate.key, candidate.location, count, candidate.firstSeen,
+                                candidate.lastSeen.get()),
+                        ErrorEntry::merge);
+            }
+        }
+
+        List<ErrorEntry> top = new ArrayList<>(merged.values());
+        top.sort(Comparator.comparingLong(ErrorEntry::getCount).reversed());
+        if (top.size() > limit) {
+            top = new ArrayList<>(top.subList(0, limit));
+        }
+
+        return new Snapshot(Instant.ofEpochMilli(oldestEpoch * windowMillis), Duration.ofMillis(windowMillis),
+                windows.length, total, top);
+    }
+
+    private Window currentWindow(long now) {
+        long epoch = now / windowMillis;
+        Window window = windows[(int) (epoch % windows.length)];
+        if (window.epoch != epoch) {
+            window.recycle(epoch);
+        }
+        return window;
+    }
+
+    private static int powerOfTwo(int value) {
+        int highest = Integer.highestOneBit(value);
+        return highest == value ? value : highest << 1;
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /**
+     * Counters and heavy hitters for a single time window.
+     */
+    private final class Window {
+        private final AtomicLongArray sketch;
+        private final AtomicReferenceArray<Candidate> candidates;
+        private final LongAdder total = new LongAdder();
+        private volatile long epoch = -1;
+
+        private Window(int sketchSize, int capacity) {
+            this.sketch = new AtomicLongArray(sketchSize);
+            this.candidates = new AtomicReferenceArray<>(capacity);
+        }
+
+        private synchronized void recycle(long newEpoch) {
+            if (epoch == newEpoch) {
+                return;
+            }
+            for (int i = 0; i < sketch.length(); i++) {
+                sketch.set(i, 0);
+            }
+            for (int i = 0; i < candidates.length(); i++) {
+                candidates.set(i, null);
+            }
+            total.reset();
+            epoch = newEpoch;
+        }
+
+        private long increment(long hash) {
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            long min = Long.MAX_VALUE;
+            for (int row = 0; row < depth; row++) {
+                int column = (h1 + row * h2) & widthMask;
+                min = Math.min(min, sketch.incrementAndGet(row * (widthMask + 1) + column));
+            }
+            return min;
+        }
+
+        private long estimate(long hash) {
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            long min = Long.MAX_VALUE;
+            for (int row = 0; row < depth; row++) {
+                int column = (h1 + row * h2) & widthMask;
+                min = Math.min(min, sketch.get(row * (widthMask + 1) + column));
+            }
+            return min;
+        }
+
+        private void offer(ErrorKey key, Throwable ex, long estimate, long now) {
+            int start = (int) mix(key.hash) & capacityMask;
+            int victim = -1;
+            long victimCount = Long.MAX_VALUE;
+
+            for (int probe = 0; probe < PROBE_LENGTH; probe++) {
+                int slot = (start + probe) & capacityMask;
+                Candidate candidate = candidates.get(slot);
+                if (candidate == null) {
+                    if (candidates.compareAndSet(slot, null, new Candidate(key, location(ex), now))) {
+                        return;
+                    }
+                    candidate = candidates.get(slot);
+                    if (candidate == null) {
+                        continue;
+                    }
+                }
+                if (candidate.key.equals(key)) {
+                    candidate.lastSeen.set(now);
+                    return;
+                }
+                long count = estimate(candidate.key.hash);
+                if (count < victimCount) {
+                    victim = slot;
+                    victimCount = count;
+                }
+            }
+
+            // Space-Saving: evict the least frequent neighbour once the new key outweighs it
+            if (victim >= 0 && estimate > victimCount) {
+                Candidate evicted = candidates.get(victim);
+                if (evicted != null && !evicted.key.equals(key)) {
+                    candidates.compareAndSet(victim, evicted, new Candidate(key, location(ex), now));
+                }
+            }
+        }
+    }
+
+    private static String location(Throwable ex) {
+        StackTraceElement[] stackTrace = ex.getStackTrace();
+        return stackTrace.length > 0
+                ? stackTrace[0].getClassName() + "." + stackTrace[0].getMethodName() + ":" + stackTrace[0].getLineNumber()
+                : "unknown";
+    }
+
+    /**
+     * Heavy-hitter table entry.
+     */
+    private static final class Candidate {
+        private final ErrorKey key;
+        private final String location;
+        private final long firstSeen;
+        private final AtomicLong lastSeen;
+
+        private Candidate(ErrorKey key, String location, long now) {
+            this.key = key;
+            this.location = location;
+            this.firstSeen = now;
+            this.lastSeen = new AtomicLong(now);
+        }
+    }
+
+    /**
+     * Identity of an aggregated error.
+     */
+    static final class ErrorKey {
+        private final String errorCode;
+        private final String route;
+        private final String exceptionType;
+        private final long hash;
+
+        private ErrorKey(String errorCode, String route, String exceptionType) {
+            this.errorCode = errorCode;
+            this.route = route;
+            this.exceptionType = exceptionType;
+            this.hash = mix(((long) (31 * errorCode.hashCode() + route.hashCode()) << 32)
+                    ^ (exceptionType.hashCode() & 0xffffffffL));
+        }
+
+        static ErrorKey of(String errorCode, String route, Throwable ex) {
+            return new ErrorKey(
+                    errorCode != null ? errorCode : "UNKNOWN",
+                    route != null ? route : "UNKNOWN",
+                    ex.getClass().getName());
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            ErrorKey that = (ErrorKey) o;
+            return hash == that.hash &&
+                    errorCode.equals(that.errorCode) &&
+                    route.equals(that.route) &&
+                    exceptionType.equals(that.exceptionType);
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(hash);
+        }
+    }
+
+    /**
+     * Aggregated occurrences of a single error.
+     */
+    public static final class ErrorEntry {
+        private final String errorCode;
+        private final String route;
+        private final String exceptionType;
+        private final String location;
+        private final long count;
+        private final Instant firstSeen;
+        private final Instant lastSeen;
+
+        private ErrorEntry(ErrorKey key, String location, long count, long firstSeen, long lastSeen) {
+            this(key.errorCode, key.route, key.exceptionType, location, count,
+                    Instant.ofEpochMilli(firstSeen), Instant.ofEpochMilli(lastSeen));
+        }
+
+        private ErrorEntry(String errorCode, String route, String exceptionType, String location, long count,
+                           Instant firstSeen, Instant lastSeen) {
+            this.errorCode = errorCode;
+            this.route = route;
+            this.exceptionType = exceptionType;
+            this.location = location;
+            this.count = count;
+            this.firstSeen = firstSeen;
+            this.lastSeen = lastSeen;
+        }
+
+        private ErrorEntry merge(ErrorEntry other) {
+            return new ErrorEntry(errorCode, route, exceptionType, location, count + other.count,
+                    firstSeen.isBefore(other.firstSeen) ? firstSeen : other.firstSeen,
+                    lastSeen.isAfter(other.lastSeen) ? lastSeen : other.lastSeen);
+        }
+
+        // Getters
+        public String getErrorCode() {
+            return errorCode;
+        }
+
+        public String getRoute() {
+            return route;
+        }
+
+        public String getExceptionType() {
+            return exceptionType;
+        }
+
+        public String getLocation() {
+            return location;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public Instant getFirstSeen() {
+            return firstSeen;
+        }
+
+        public Instant getLastSeen() {
+            return lastSeen;
+        }
+    }
+
+    /**
+     * Point-in-time view of the aggregated errors.
+     */
+    public static final class Snapshot {
+        private final Instant since;
+        private final Duration windowDuration;
+        private final int windows;
+        private final long totalErrors;
+        private final List<ErrorEntry> topErrors;
+
+        private Snapshot(Instant since, Duration windowDuration, int windows, long totalErrors,
+                         List<ErrorEntry> topErrors) {
+            this.since = since;
+            this.windowDuration = windowDuration;
+            this.windows = windows;
+            this.totalErrors = totalErrors;
+            this.topErrors = List.copyOf(topErrors);
+        }
+
+        // Getters
+        public Instant getSince() {
+            return since;
+        }
+
+        public Duration getWindowDuration() {
+            return windowDuration;
+        }
+
+        public int getWindows() {
+            return windows;
+        }
+
+        public long getTotalErrors() {
+            return totalErrors;
+        }
+
+        public List<ErrorEntry> getTopErrors() {
+            return topErrors;
+        }
+    }
+}
\ No newline at end of file
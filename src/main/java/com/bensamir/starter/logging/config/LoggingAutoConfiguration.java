@@ -47,8 +47,9 @@ public class LoggingAutoConfiguration {
     /**
      * Creates an MDC filter for request context tracking.
      * <p>
-     * This filter is registered with the highest precedence to ensure
-     * MDC context is available for all subsequent filters.
+     * This filter is registered right after the CORS filter to ensure
+     * MDC context is available for all subsequent filters, while preflight
+     * requests answered by the CORS filter skip it.
      *
      * @param properties the starter kit properties
      * @return a filter registration bean
@@ -59,7 +60,7 @@ public class LoggingAutoConfiguration {
         FilterRegistrationBean<MdcFilter> registrationBean = new FilterRegistrationBean<>();
         registrationBean.setFilter(new MdcFilter(properties));
         registrationBean.addUrlPatterns("/*");
-        registrationBean.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        registrationBean.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
         return registrationBean;
     }
 
@@ -1,6 +1,7 @@
 package com.bensamir.starter.logging.filter;
 
 import com.bensamir.starter.properties.StarterKitProperties;
+import com.bensamir.starter.web.support.ClientIdentity;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -135,16 +136,16 @@ public class MdcFilter extends OncePerRequestFilter {
      * Adds authenticated user information to MDC.
      */
     private void addUserContext() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String userId = ClientIdentity.userId();
 
-        if (authentication != null && authentication.isAuthenticated()
-                && !"anonymousUser".equals(authentication.getPrincipal())) {
+        if (userId != null) {
             // Add user ID
             String userIdKey = properties.getLogging().getMdc().getUserIdKey();
-            MDC.put(userIdKey, authentication.getName());
+            MDC.put(userIdKey, userId);
 
             // Add roles/authorities if configured
             if (properties.getLogging().getMdc().isIncludeUserRoles()) {
+                Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
                 String roles = authentication.getAuthorities().stream()
                         .map(Object::toString)
                         .reduce((a, b) -> a + "," + b)
@@ -168,42 +169,11 @@ public class MdcFilter extends OncePerRequestFilter {
      */
     private void addClientIpAddress(HttpServletRequest request) {
         if (properties.getLogging().getMdc().isIncludeClientIp()) {
-            String clientIp = getClientIpAddress(request);
+            String clientIp = ClientIdentity.clientIp(request);
             MDC.put("clientIp", clientIp);
         }
     }
 
-    /**
-     * Extracts the client IP address, respecting X-Forwarded-For.
-     */
-    private String getClientIpAddress(HttpServletRequest request) {
-        String headerName = "X-Forwarded-For";
-        String ip = request.getHeader(headerName);
-
-        if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
-            ip = request.getHeader("Proxy-Client-IP");
-        }
-        if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
-            ip = request.getHeader("WL-Proxy-Client-IP");
-        }
-        if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
-            ip = request.getHeader("HTTP_CLIENT_IP");
-        }
-        if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
-            ip = request.getHeader("HTTP_X_FORWARDED_FOR");
-        }
-        if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
-            ip = request.getRemoteAddr();
-        }
-
-        // If multiple IPs, take the first one (client IP)
-        if (ip != null && ip.contains(",")) {
-            ip = ip.split(",")[0].trim();
-        }
-
-        return ip;
-    }
-
     /**
      * Clears all MDC context entries to prevent leaks.
      */
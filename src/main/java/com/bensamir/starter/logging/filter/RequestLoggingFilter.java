@@ -35,6 +35,8 @@ import java.util.Collections;
  * This implementation carefully balances information with performance:
  * <ul>
  *   <li>Using content caching to avoid input stream consumption</li>
+ *   <li>Caching only the logged prefix of request bodies, which are logged once the
+ *       handler has read them, after any request decompression</li>
  *   <li>Respecting content type for logging decisions</li>
  *   <li>Truncating large bodies to prevent memory issues</li>
  *   <li>Secure handling of sensitive headers</li>
@@ -89,7 +91,9 @@ public class RequestLoggingFilter extends OncePerRequestFilter {
         HttpServletResponse responseToUse = response;
 
         if (includePayload) {
-            requestToUse = new ContentCachingRequestWrapper(request);
+            // Only the logged prefix of the request body is cached
+            requestToUse = new ContentCachingRequestWrapper(request,
+                    properties.getLogging().getRequest().getMaxPayloadLength());
             responseToUse = new ContentCachingResponseWrapper(response);
         }
 
@@ -107,6 +111,11 @@ public class RequestLoggingFilter extends OncePerRequestFilter {
             // Stop timer
             stopWatch.stop();
 
+            // Log request payload, cached while the handler read the body
+            if (includePayload && requestToUse instanceof ContentCachingRequestWrapper) {
+                logPayload((ContentCachingRequestWrapper) requestToUse, "Request");
+            }
+
             // Log response
             logResponse(requestToUse, responseToUse, stopWatch.getTotalTimeMillis());
 
@@ -153,12 +162,6 @@ public class RequestLoggingFilter extends OncePerRequestFilter {
         if (properties.getLogging().getRequest().isIncludeHeaders()) {
             logHeaders(request, "Request");
         }
-
-        // Log payload if enabled and available
-        if (properties.getLogging().getRequest().isIncludePayload() &&
-                request instanceof ContentCachingRequestWrapper) {
-            logPayload((ContentCachingRequestWrapper) request, "Request");
-        }
     }
 
     /**
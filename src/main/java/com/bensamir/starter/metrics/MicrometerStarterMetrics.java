@@ -0,0 +1,158 @@
+package com.bensamir.starter.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link StarterMetrics} implementation backed by Micrometer.
+ * <p>
+ * The {@link MeterRegistry} is resolved lazily on first use, so the starter does
+ * not depend on the order in which the registry is configured. If no registry is
+ * available, measurements are discarded.
+ * <p>
+ * Meters are cached by name and tags once registered, so recording on a hot path
+ * costs a map lookup instead of building a meter ID and querying the registry.
+ */
+public class MicrometerStarterMetrics implements StarterMetrics {
+    private final ObjectProvider<MeterRegistry> registryProvider;
+    private volatile MeterRegistry registry;
+    private final Map<MeterKey, Counter> counters = new ConcurrentHashMap<>();
+    private final Map<MeterKey, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<MeterKey, DistributionSummary> summaries = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new MicrometerStarterMetrics.
+     *
+     * @param registryProvider provider for the meter registry
+     */
+    public MicrometerStarterMetrics(ObjectProvider<MeterRegistry> registryProvider) {
+        this.registryProvider = registryProvider;
+    }
+
+    @Override
+    public void increment(String name, String... tags) {
+        MeterRegistry meterRegistry = registry();
+        if (meterRegistry != null) {
+            MeterKey key = new MeterKey(name, tags);
+            Counter counter = counters.get(key);
+            if (counter == null) {
+                counter = counters.computeIfAbsent(key.copy(),
+                        k -> Counter.builder(name).tags(tags).register(meterRegistry));
+            }
+            counter.increment();
+        }
+    }
+
+    @Override
+    public void recordNanos(String name, long nanos, String... tags) {
+        MeterRegistry meterRegistry = registry();
+        if (meterRegistry != null) {
+            MeterKey key = new MeterKey(name, tags);
+            Timer timer = timers.get(key);
+            if (timer == null) {
+                timer = timers.computeIfAbsent(key.copy(),
+                        k -> Timer.builder(name).tags(tags).register(meterRegistry));
+            }
+            timer.record(nanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public void recordAmount(String name, double amount, String... tags) {
+        MeterRegistry meterRegistry = registry();
+        if (meterRegistry != null) {
+            MeterKey key = new MeterKey(name, tags);
+            DistributionSummary summary = summaries.get(key);
+            if (summary == null) {
+                summary = summaries.computeIfAbsent(key.copy(),
+                        k -> DistributionSummary.builder(name).tags(tags).register(meterRegistry));
+            }
+            summary.record(amount);
+        }
+    }
+
+    @Override
+    public Runnable counter(String name, String... tags) {
+        return new BoundCounter(name, tags);
+    }
+
+    private MeterRegistry registry() {
+        MeterRegistry meterRegistry = registry;
+        if (meterRegistry == null) {
+            meterRegistry = registryProvider.getIfAvailable();
+            registry = meterRegistry;
+        }
+        return meterRegistry;
+    }
+
+    /**
+     * Counter registered on first increment, once the registry is available.
+     */
+    private final class BoundCounter implements Runnable {
+        private final String name;
+        private final String[] tags;
+        private volatile Counter counter;
+
+        private BoundCounter(String name, String[] tags) {
+            this.name = name;
+            this.tags = tags;
+        }
+
+        @Override
+        public void run() {
+            Counter current = counter;
+            if (current == null) {
+                MeterRegistry meterRegistry = registry();
+                if (meterRegistry == null) {
+                    return;
+                }
+                current = Counter.builder(name).tags(tags).register(meterRegistry);
+                counter = current;
+            }
+            current.increment();
+        }
+    }
+
+    /**
+     * Meter name and tags, compared without building a Micrometer meter ID.
+     */
+    private static final class MeterKey {
+        private final String name;
+        private final String[] tags;
+        private final int hash;
+
+        private MeterKey(String name, String[] tags) {
+            this.name = name;
+            this.tags = tags;
+            this.hash = 31 * name.hashCode() + Arrays.hashCode(tags);
+        }
+
+        /**
+         * Returns a key owning a copy of the tags, the caller's array is only borrowed for lookups.
+         */
+        private MeterKey copy() {
+            return new MeterKey(name, tags.clone());
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof MeterKey)) return false;
+            MeterKey that = (MeterKey) o;
+            return hash == that.hash && name.equals(that.name) && Arrays.equals(tags, that.tags);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
\ No newline at end of file
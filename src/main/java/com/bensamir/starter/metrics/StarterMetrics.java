@@ -0,0 +1,72 @@
+package com.bensamir.starter.metrics;
+
+/**
+ * Minimal metrics facade used by the starter's components.
+ * <p>
+ * Components record through this interface so they do not depend on a metrics
+ * library directly. When Micrometer is on the classpath, measurements are
+ * forwarded to the application's {@code MeterRegistry}; otherwise they are
+ * discarded by {@link #NOOP}.
+ * <p>
+ * Tags are passed as alternating key/value pairs, for example
+ * {@code metrics.increment("starter.http.client.aborts", "route", "/api/users")}.
+ */
+public interface StarterMetrics {
+
+    /**
+     * Metrics implementation that discards all measurements.
+     */
+    StarterMetrics NOOP = new StarterMetrics() {
+        @Override
+        public void increment(String name, String... tags) {
+        }
+
+        @Override
+        public void recordNanos(String name, long nanos, String... tags) {
+        }
+
+        @Override
+        public void recordAmount(String name, double amount, String... tags) {
+        }
+    };
+
+    /**
+     * Increments a counter by one.
+     *
+     * @param name the meter name
+     * @param tags the tags as alternating key/value pairs
+     */
+    void increment(String name, String... tags);
+
+    /**
+     * Records a duration on a timer.
+     *
+     * @param name the meter name
+     * @param nanos the duration in nanoseconds
+     * @param tags the tags as alternating key/value pairs
+     */
+    void recordNanos(String name, long nanos, String... tags);
+
+    /**
+     * Records an amount on a distribution summary.
+     *
+     * @param name the meter name
+     * @param amount the amount to record
+     * @param tags the tags as alternating key/value pairs
+     */
+    void recordAmount(String name, double amount, String... tags);
+
+    /**
+     * Returns a counter with a fixed name and tags.
+     * <p>
+     * Components counting on hot paths resolve their counters once, so that
+     * an increment does not look up the meter or build a tag array each time.
+     *
+     * @param name the meter name
+     * @param tags the tags as alternating key/value pairs
+     * @return an action incrementing the counter by one
+     */
+    default Runnable counter(String name, String... tags) {
+        return () -> increment(name, tags);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,63 @@
+package com.bensamir.starter.metrics.config;
+
+import com.bensamir.starter.metrics.MicrometerStarterMetrics;
+import com.bensamir.starter.metrics.StarterMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Auto-configuration for the starter's internal metrics.
+ * <p>
+ * This configuration provides:
+ * <ul>
+ *   <li>A Micrometer-backed {@link StarterMetrics} when Micrometer is on the classpath</li>
+ *   <li>A no-op {@link StarterMetrics} otherwise, or when metrics are disabled</li>
+ * </ul>
+ * <p>
+ * Configuration properties:
+ * <pre>
+ * starter-kit:
+ *   metrics:
+ *     enabled: true                        # Publish starter metrics to the MeterRegistry
+ * </pre>
+ */
+@Configuration
+public class MetricsAutoConfiguration {
+
+    /**
+     * Micrometer integration, only active when Micrometer is on the classpath.
+     */
+    @Configuration
+    @ConditionalOnClass(MeterRegistry.class)
+    @ConditionalOnProperty(prefix = "starter-kit.metrics", name = "enabled", havingValue = "true", matchIfMissing = true)
+    static class MicrometerMetricsConfiguration {
+
+        /**
+         * Creates a Micrometer-backed StarterMetrics if not already defined.
+         *
+         * @param registryProvider provider for the meter registry
+         * @return the starter metrics
+         */
+        @Bean
+        @ConditionalOnMissingBean
+        public StarterMetrics starterMetrics(ObjectProvider<MeterRegistry> registryProvider) {
+            return new MicrometerStarterMetrics(registryProvider);
+        }
+    }
+
+    /**
+     * Creates a no-op StarterMetrics if no other implementation is defined.
+     *
+     * @return the no-op starter metrics
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public StarterMetrics noopStarterMetrics() {
+        return StarterMetrics.NOOP;
+    }
+}
\ No newline at end of file
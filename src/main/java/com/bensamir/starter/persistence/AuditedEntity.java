@@ -25,6 +25,8 @@ import java.time.Instant;
  *   <li>version - optimistic locking version counter</li>
  * </ul>
  * <p>
+ * Changes are published through the {@link EntityChangeListener}, e.g. to invalidate cached responses.
+ * <p>
  * This base class does not include an ID field, allowing entities to define
  * their own ID strategy (auto-increment, UUID, composite keys, etc.).
  * <p>
@@ -61,7 +63,7 @@ import java.time.Instant;
  * </pre>
  */
 @MappedSuperclass
-@EntityListeners(AuditingEntityListener.class)
+@EntityListeners({ AuditingEntityListener.class, EntityChangeListener.class })
 public abstract class AuditedEntity implements Serializable {
     private static final long serialVersionUID = 1L;
 
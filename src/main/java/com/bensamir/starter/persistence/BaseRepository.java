@@ -1,9 +1,93 @@
 package com.bensamir.starter.persistence;
 
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.OffsetScrollPosition;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.repository.NoRepositoryBean;
 
 @NoRepositoryBean
-public interface BaseRepository<T, ID> extends JpaRepository<T, ID> {
-    // Common repository methods can be added here
+public interface BaseRepository<T, ID> extends JpaRepository<T, ID>, JpaSpecificationExecutor<T> {
+
+    /**
+     * Sort for keyset pagination by identifier, for entities extending {@link BaseEntity} or {@link UuidEntity}.
+     */
+    Sort BY_ID = Sort.by(Sort.Direction.ASC, "id");
+
+    /**
+     * Sort for keyset pagination by creation time, newest first, for entities extending {@link AuditedEntity}.
+     */
+    Sort BY_CREATED_AT = Sort.by(Sort.Direction.DESC, "createdAt", "id");
+
+    /**
+     * Returns the window of entities following the given cursor, using keyset pagination.
+     * <p>
+     * Unlike offset pagination, the query seeks directly past the last returned key
+     * and issues no count query, so deep pages cost the same as the first one. The
+     * sort must be stable and unique, e.g. {@link #BY_ID} or {@link #BY_CREATED_AT}.
+     *
+     * @param sort the sort defining the keyset
+     * @param cursor the opaque cursor from the previous window, or null for the first window
+     * @param size the maximum number of entities to return
+     * @return the window of entities
+     * @throws com.bensamir.starter.exception.BadRequestException if the cursor is invalid
+     */
+    default Window<T> findWindow(Sort sort, String cursor, int size) {
+        return findWindow((root, query, cb) -> null, sort, cursor, size);
+    }
+
+    /**
+     * Returns the window of entities matching a specification that follows the given cursor,
+     * using keyset pagination.
+     *
+     * @param spec the specification to filter by
+     * @param sort the sort defining the keyset
+     * @param cursor the opaque cursor from the previous window, or null for the first window
+     * @param size the maximum number of entities to return
+     * @return the window of entities
+     * @throws com.bensamir.starter.exception.BadRequestException if the cursor is invalid
+     */
+    default Window<T> findWindow(Specification<T> spec, Sort sort, String cursor, int size) {
+        KeysetScrollPosition position = KeysetCursor.decode(cursor, sort);
+        return findBy(spec, query -> query.sortBy(sort).limit(size).scroll(position));
+    }
+
+    /**
+     * Returns a slice of entities without issuing a count query.
+     * <p>
+     * Spring Data fetches {@code size + 1} rows to determine whether a next slice
+     * exists. Pair with {@link EstimatedCountCache} when an approximate total is needed.
+     *
+     * @param pageable the page request
+     * @return the slice of entities
+     */
+    Slice<T> findSliceBy(Pageable pageable);
+
+    /**
+     * Returns a slice of entities matching a specification without issuing a count query.
+     *
+     * @param spec the specification to filter by
+     * @param pageable the page request
+     * @return the slice of entities
+     */
+    default Slice<T> findSlice(Specification<T> spec, Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return new SliceImpl<>(findAll(spec, pageable.getSort()));
+        }
+        // Offset positions are exclusive: the scroll starts after the given index
+        OffsetScrollPosition position = pageable.getOffset() == 0
+                ? ScrollPosition.offset()
+                : ScrollPosition.offset(pageable.getOffset() - 1);
+        Window<T> window = findBy(spec, query -> query.sortBy(pageable.getSort())
+                .limit(pageable.getPageSize())
+                .scroll(position));
+        return new SliceImpl<>(window.getContent(), pageable, window.hasNext());
+    }
 }
\ No newline at end of file
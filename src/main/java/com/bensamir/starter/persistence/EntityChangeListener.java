@@ -0,0 +1,70 @@
+package com.bensamir.starter.persistence;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * JPA entity listener that publishes entity changes to in-process subscribers.
+ * <p>
+ * Registered on {@link AuditedEntity} next to the {@code AuditingEntityListener}, so
+ * every audited entity takes part without further configuration:
+ * <ul>
+ *   <li>Inserts, updates and deletes are published with the entity type</li>
+ *   <li>Inside a transaction, subscribers are notified after commit</li>
+ *   <li>Without subscribers, the callbacks return immediately</li>
+ * </ul>
+ * JPA instantiates entity listeners itself, so subscribers are held statically.
+ */
+public class EntityChangeListener {
+    private static final List<Consumer<Class<?>>> SUBSCRIBERS = new CopyOnWriteArrayList<>();
+
+    /**
+     * Subscribes to entity changes.
+     *
+     * @param subscriber the subscriber, called with the type of the changed entity
+     * @return a handle that removes the subscription when run
+     */
+    public static Runnable subscribe(Consumer<Class<?>> subscriber) {
+        SUBSCRIBERS.add(subscriber);
+        return () -> SUBSCRIBERS.remove(subscriber);
+    }
+
+    /**
+     * Publishes a change of the given entity.
+     *
+     * @param entity the inserted, updated or deleted entity
+     */
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void entityChanged(Object entity) {
+        if (SUBSCRIBERS.isEmpty()) {
+            return;
+        }
+
+        Class<?> type = entity.getClass();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish(type);
+                }
+            });
+        } else {
+            publish(type);
+        }
+    }
+
+    private static void publish(Class<?> type) {
+        for (Consumer<Class<?>> subscriber : SUBSCRIBERS) {
+            subscriber.accept(type);
+        }
+    }
+}
\ No newline at end of file
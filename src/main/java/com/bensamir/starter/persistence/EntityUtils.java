@@ -1,7 +1,10 @@
 package com.bensamir.starter.persistence;
 
+import com.bensamir.starter.exception.DeadlineExceededException;
 import com.bensamir.starter.exception.ResourceNotFoundException;
+import com.bensamir.starter.web.deadline.RequestDeadline;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.util.Optional;
@@ -59,4 +62,30 @@ public final class EntityUtils {
 
         return entity.get();
     }
+
+    /**
+     * Bounds a query's execution time by the remaining time of the current request deadline.
+     * <p>
+     * This sets the standard {@code jakarta.persistence.query.timeout} hint, so the
+     * database cancels the statement instead of holding the request thread past its
+     * deadline. Queries outside a request with a deadline are returned unchanged.
+     *
+     * @param query The query
+     * @param <Q> The query type
+     * @return The same query, for chaining
+     * @throws DeadlineExceededException if the deadline has already passed
+     */
+    public static <Q extends Query> Q applyDeadline(Q query) {
+        RequestDeadline deadline = RequestDeadline.current();
+        if (deadline == null) {
+            return query;
+        }
+
+        long remainingMillis = deadline.remainingMillis();
+        if (remainingMillis <= 0) {
+            throw new DeadlineExceededException("Request deadline exceeded before query execution");
+        }
+        query.setHint("jakarta.persistence.query.timeout", remainingMillis);
+        return query;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,219 @@
+package com.bensamir.starter.persistence;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+/**
+ * Cache of row counts used to report estimated totals without counting on every request.
+ * <p>
+ * Counts are cached per entity type and filter signature:
+ * <ul>
+ *   <li>Fresh entries are returned directly</li>
+ *   <li>Entries older than the TTL are returned as-is while a single background
+ *       refresh recomputes them (stale-while-revalidate)</li>
+ *   <li>Missing entries are computed once, concurrent callers for the same key
+ *       wait for the same count query</li>
+ * </ul>
+ * The number of entries is bounded; the least recently refreshed entries are evicted first.
+ * <p>
+ * Usage example:
+ * <pre>
+ * Slice&lt;User&gt; users = userRepository.findSliceBy(pageable);
+ * long total = countCache.estimate(User.class, "status=ACTIVE",
+ *         () -&gt; userRepository.count(activeUsers));
+ * return ResponseEntityBuilder.slice(users, total);
+ * </pre>
+ */
+public class EstimatedCountCache implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(EstimatedCountCache.class);
+
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final ExecutorService refreshExecutor;
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<Key, CompletableFuture<Long>> pending = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new EstimatedCountCache with a dedicated background refresh thread.
+     *
+     * @param ttl the time after which a count is refreshed
+     * @param maxEntries the maximum number of cached counts
+     */
+    public EstimatedCountCache(Duration ttl, int maxEntries) {
+        this.ttlNanos = ttl.toNanos();
+        this.maxEntries = maxEntries;
+        this.refreshExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "estimated-count-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Returns the estimated count for an entity type and filter signature.
+     *
+     * @param entityType the entity type being counted
+     * @param filterSignature a stable description of the filter, e.g. "status=ACTIVE"
+     * @param counter the count query
+     * @return the cached or freshly computed count
+     */
+    public long estimate(Class<?> entityType, String filterSignature, LongSupplier counter) {
+        Key key = new Key(entityType, filterSignature);
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            if (System.nanoTime() - entry.refreshedAt > ttlNanos) {
+                scheduleRefresh(key, entry, counter);
+            }
+            return entry.count;
+        }
+        return load(key, counter);
+    }
+
+    /**
+     * Removes all cached counts for an entity type, e.g. after bulk changes.
+     *
+     * @param entityType the entity type
+     */
+    public void evict(Class<?> entityType) {
+        entries.keySet().removeIf(key -> key.entityType == entityType);
+    }
+
+    /**
+     * Stops the background refresh thread.
+     */
+    @Override
+    public void close() {
+        refreshExecutor.shutdownNow();
+    }
+
+    private long load(Key key, LongSupplier counter) {
+        CompletableFuture<Long> future = new CompletableFuture<>();
+        CompletableFuture<Long> existing = pending.putIfAbsent(key, future);
+        if (existing != null) {
+            return await(existing);
+        }
+
+        try {
+            long count = counter.getAsLong();
+            put(key, new Entry(count, System.nanoTime()));
+            future.complete(count);
+            return count;
+        } catch (RuntimeException ex) {
+            future.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            pending.remove(key, future);
+        }
+    }
+
+    private void scheduleRefresh(Key key, Entry entry, LongSupplier counter) {
+        if (!entry.refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    put(key, new Entry(counter.getAsLong(), System.nanoTime()));
+                } catch (RuntimeException ex) {
+                    log.warn("Failed to refresh estimated count for {}: {}", key, ex.getMessage());
+                    entry.refreshing.set(false);
+                }
+            });
+        } catch (RuntimeException ex) {
+            entry.refreshing.set(false);
+        }
+    }
+
+    private void put(Key key, Entry entry) {
+        entries.put(key, entry);
+        if (entries.size() > maxEntries) {
+            evictOldest();
+        }
+    }
+
+    private void evictOldest() {
+        Key oldestKey = null;
+        long oldest = Long.MAX_VALUE;
+        for (Iterator<Map.Entry<Key, Entry>> it = entries.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<Key, Entry> candidate = it.next();
+            if (candidate.getValue().refreshedAt < oldest) {
+                oldest = candidate.getValue().refreshedAt;
+                oldestKey = candidate.getKey();
+            }
+        }
+        if (oldestKey != null) {
+            entries.remove(oldestKey);
+        }
+    }
+
+    private static long await(CompletableFuture<Long> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for count", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            throw new IllegalStateException("Count query failed", ex.getCause());
+        }
+    }
+
+    /**
+     * Cache key made of entity type and filter signature.
+     */
+    private static final class Key {
+        private final Class<?> entityType;
+        private final String filterSignature;
+
+        private Key(Class<?> entityType, String filterSignature) {
+            this.entityType = Objects.requireNonNull(entityType, "entityType must not be null");
+            this.filterSignature = filterSignature != null ? filterSignature : "";
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key that = (Key) o;
+            return entityType == that.entityType && filterSignature.equals(that.filterSignature);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * entityType.hashCode() + filterSignature.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return entityType.getSimpleName() + "[" + filterSignature + "]";
+        }
+    }
+
+    /**
+     * Cached count with its refresh state.
+     */
+    private static final class Entry {
+        private final long count;
+        private final long refreshedAt;
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+
+        private Entry(long count, long refreshedAt) {
+            this.count = count;
+            this.refreshedAt = refreshedAt;
+        }
+    }
+}
\ No newline at end of file
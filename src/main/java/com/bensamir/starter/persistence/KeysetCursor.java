@@ -0,0 +1,137 @@
+package com.bensamir.starter.persistence;
+
+import com.bensamir.starter.exception.BadRequestException;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Opaque cursor for keyset pagination.
+ * <p>
+ * A cursor captures the sort key values of the last element of a page, such as
+ * {@code id} or {@code (createdAt, id)}. It is encoded as a URL-safe Base64 string
+ * so clients can pass it back without interpreting it. Supported key types are
+ * {@link Long}, {@link Integer}, {@link UUID}, {@link Instant} and {@link String}.
+ * <p>
+ * Cursors are not signed; they only carry values the client could filter on anyway.
+ * Malformed cursors are rejected with a {@link BadRequestException} carrying the
+ * {@code INVALID_CURSOR} error code.
+ */
+public final class KeysetCursor {
+    private static final String VERSION = "v1";
+    private static final String INVALID_CURSOR = "INVALID_CURSOR";
+
+    private KeysetCursor() {
+        // Utility class, no instantiation
+    }
+
+    /**
+     * Encodes a keyset scroll position as an opaque cursor.
+     *
+     * @param position the scroll position
+     * @return the encoded cursor
+     */
+    public static String encode(KeysetScrollPosition position) {
+        StringBuilder builder = new StringBuilder(VERSION);
+        for (Map.Entry<String, Object> key : position.getKeys().entrySet()) {
+            builder.append('|')
+                    .append(URLEncoder.encode(key.getKey(), StandardCharsets.UTF_8))
+                    .append('=')
+                    .append(encodeValue(key.getValue()));
+        }
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(builder.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor into a forward keyset scroll position.
+     *
+     * @param cursor the encoded cursor, or null/blank for the first page
+     * @param sort the sort the cursor must match
+     * @return the scroll position
+     * @throws BadRequestException if the cursor is malformed or does not match the sort
+     */
+    public static KeysetScrollPosition decode(String cursor, Sort sort) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+
+        Map<String, Object> keys = new LinkedHashMap<>();
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = decoded.split("\\|");
+            if (!VERSION.equals(parts[0]) || parts.length < 2) {
+                throw invalidCursor();
+            }
+            for (int i = 1; i < parts.length; i++) {
+                int separator = parts[i].indexOf('=');
+                if (separator <= 0) {
+                    throw invalidCursor();
+                }
+                keys.put(URLDecoder.decode(parts[i].substring(0, separator), StandardCharsets.UTF_8),
+                        decodeValue(parts[i].substring(separator + 1)));
+            }
+        } catch (IllegalArgumentException ex) {
+            throw invalidCursor();
+        }
+
+        for (Sort.Order order : sort) {
+            if (!keys.containsKey(order.getProperty())) {
+                throw invalidCursor();
+            }
+        }
+        return ScrollPosition.forward(keys);
+    }
+
+    private static String encodeValue(Object value) {
+        String type;
+        if (value instanceof Long) {
+            type = "L";
+        } else if (value instanceof Integer) {
+            type = "N";
+        } else if (value instanceof UUID) {
+            type = "U";
+        } else if (value instanceof Instant) {
+            type = "I";
+        } else if (value instanceof String) {
+            type = "S";
+        } else {
+            throw new IllegalArgumentException("Unsupported keyset value type: "
+                    + (value != null ? value.getClass().getName() : "null"));
+        }
+        return type + URLEncoder.encode(value.toString(), StandardCharsets.UTF_8);
+    }
+
+    private static Object decodeValue(String encoded) {
+        if (encoded.isEmpty()) {
+            throw invalidCursor();
+        }
+        String value = URLDecoder.decode(encoded.substring(1), StandardCharsets.UTF_8);
+        try {
+            return switch (encoded.charAt(0)) {
+                case 'L' -> Long.valueOf(value);
+                case 'N' -> Integer.valueOf(value);
+                case 'U' -> UUID.fromString(value);
+                case 'I' -> Instant.parse(value);
+                case 'S' -> value;
+                default -> throw invalidCursor();
+            };
+        } catch (DateTimeParseException ex) {
+            throw invalidCursor();
+        }
+    }
+
+    private static BadRequestException invalidCursor() {
+        return new BadRequestException("Invalid pagination cursor", INVALID_CURSOR);
+    }
+}
\ No newline at end of file
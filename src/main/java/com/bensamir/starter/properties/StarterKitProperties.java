@@ -1,12 +1,15 @@
 package com.bensamir.starter.properties;
 
+import com.bensamir.starter.exception.ExceptionMapping;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.validation.annotation.Validated;
 
 import java.util.ArrayList;
+import java.time.Duration;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -56,6 +59,14 @@ public class StarterKitProperties {
     @NotNull
     private final LoggingProperties logging = new LoggingProperties();
 
+    @Valid
+    @NotNull
+    private final MetricsProperties metrics = new MetricsProperties();
+
+    @Valid
+    @NotNull
+    private final WarmupProperties warmup = new WarmupProperties();
+
     /**
      * Returns the exception handling configuration properties.
      *
@@ -112,6 +123,24 @@ public class StarterKitProperties {
         return logging;
     }
 
+    /**
+     * Returns the metrics configuration properties.
+     *
+     * @return metrics properties
+     */
+    public MetricsProperties getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Returns the startup warmup properties.
+     *
+     * @return warmup properties
+     */
+    public WarmupProperties getWarmup() {
+        return warmup;
+    }
+
     /**
      * Exception handling configuration properties.
      */
@@ -121,6 +150,8 @@ public class StarterKitProperties {
         private boolean includeStackTrace = false;
         private boolean enableI18n = false;
         private Map<String, String> defaultMessages = new HashMap<>();
+        private Map<String, MappingProperties> mappings = new LinkedHashMap<>();
+        private final AggregationProperties aggregation = new AggregationProperties();
 
         /**
          * Initializes default error messages.
@@ -135,6 +166,15 @@ public class StarterKitProperties {
             defaultMessages.put("conflict", "Conflict");
             defaultMessages.put("missing.parameter", "Required parameter '{0}' is missing");
             defaultMessages.put("type.mismatch", "Parameter '{0}' should be of type {1}");
+            defaultMessages.put("deadline.exceeded", "The request could not be completed in time");
+            defaultMessages.put("service.unavailable", "The service is temporarily unavailable");
+            defaultMessages.put("payload.too.large", "The request payload is too large");
+            defaultMessages.put("unsupported.encoding", "The request content encoding is not supported");
+            defaultMessages.put("cors.rejected", "The request origin is not allowed");
+            defaultMessages.put("rate.limit.exceeded", "Too many requests, please retry later");
+            defaultMessages.put("idempotency.key.invalid", "The idempotency key is invalid");
+            defaultMessages.put("idempotency.key.in.use", "A request with the same idempotency key is still being processed");
+            defaultMessages.put("idempotency.key.reused", "The idempotency key was already used with a different request body");
         }
 
         // Getters and setters
@@ -177,6 +217,136 @@ public class StarterKitProperties {
         public void setDefaultMessages(Map<String, String> defaultMessages) {
             this.defaultMessages = defaultMessages;
         }
+
+        public Map<String, MappingProperties> getMappings() {
+            return mappings;
+        }
+
+        public void setMappings(Map<String, MappingProperties> mappings) {
+            this.mappings = mappings;
+        }
+
+        public AggregationProperties getAggregation() {
+            return aggregation;
+        }
+
+        /**
+         * Error aggregation configuration, reported through the {@code errors} actuator endpoint.
+         * <p>
+         * Memory use is fixed at roughly {@code windows * sketch-depth * sketch-width * 8} bytes
+         * plus the heavy-hitter tables.
+         */
+        public static class AggregationProperties {
+            private boolean enabled = false;
+            private int windows = 6;
+            private Duration windowDuration = Duration.ofMinutes(10);
+            private int topK = 64;
+            private int sketchDepth = 4;
+            private int sketchWidth = 1024;
+
+            // Getters and setters
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public int getWindows() {
+                return windows;
+            }
+
+            public void setWindows(int windows) {
+                this.windows = windows;
+            }
+
+            public Duration getWindowDuration() {
+                return windowDuration;
+            }
+
+            public void setWindowDuration(Duration windowDuration) {
+                this.windowDuration = windowDuration;
+            }
+
+            public int getTopK() {
+                return topK;
+            }
+
+            public void setTopK(int topK) {
+                this.topK = topK;
+            }
+
+            public int getSketchDepth() {
+                return sketchDepth;
+            }
+
+            public void setSketchDepth(int sketchDepth) {
+                this.sketchDepth = sketchDepth;
+            }
+
+            public int getSketchWidth() {
+                return sketchWidth;
+            }
+
+            public void setSketchWidth(int sketchWidth) {
+                this.sketchWidth = sketchWidth;
+            }
+        }
+
+        /**
+         * Exception-to-response mapping keyed by fully qualified exception class name.
+         * <p>
+         * Unset attributes are inherited from the mapping of the closest mapped supertype.
+         */
+        public static class MappingProperties {
+            private Integer status;
+            private String errorCode;
+            private String messageKey;
+            private ExceptionMapping.LogLevel logLevel;
+            private ExceptionMapping.StackTracePolicy stackTrace;
+
+            // Getters and setters
+            public Integer getStatus() {
+                return status;
+            }
+
+            public void setStatus(Integer status) {
+                this.status = status;
+            }
+
+            public String getErrorCode() {
+                return errorCode;
+            }
+
+            public void setErrorCode(String errorCode) {
+                this.errorCode = errorCode;
+            }
+
+            public String getMessageKey() {
+                return messageKey;
+            }
+
+            public void setMessageKey(String messageKey) {
+                this.messageKey = messageKey;
+            }
+
+            public ExceptionMapping.LogLevel getLogLevel() {
+                return logLevel;
+            }
+
+            public void setLogLevel(ExceptionMapping.LogLevel logLevel) {
+                this.logLevel = logLevel;
+            }
+
+            public ExceptionMapping.StackTracePolicy getStackTrace() {
+                return stackTrace;
+            }
+
+            public void setStackTrace(ExceptionMapping.StackTracePolicy stackTrace) {
+                this.stackTrace = stackTrace;
+            }
+        }
     }
 
     /**
@@ -185,6 +355,7 @@ public class StarterKitProperties {
     public static class BaseEntityProperties {
         private boolean enabled = true;
         private boolean enableAuditing = true;
+        private final CountCacheProperties countCache = new CountCacheProperties();
 
         // Getters and setters
         public boolean isEnabled() {
@@ -202,6 +373,44 @@ public class StarterKitProperties {
         public void setEnableAuditing(boolean enableAuditing) {
             this.enableAuditing = enableAuditing;
         }
+
+        public CountCacheProperties getCountCache() {
+            return countCache;
+        }
+
+        /**
+         * Estimated count cache configuration properties.
+         */
+        public static class CountCacheProperties {
+            private boolean enabled = true;
+            private Duration ttl = Duration.ofMinutes(5);
+            private int maxEntries = 1000;
+
+            // Getters and setters
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public Duration getTtl() {
+                return ttl;
+            }
+
+            public void setTtl(Duration ttl) {
+                this.ttl = ttl;
+            }
+
+            public int getMaxEntries() {
+                return maxEntries;
+            }
+
+            public void setMaxEntries(int maxEntries) {
+                this.maxEntries = maxEntries;
+            }
+        }
     }
 
     /**
@@ -211,6 +420,16 @@ public class StarterKitProperties {
         private boolean enabled = true;
         private final CorsProperties cors = new CorsProperties();
         private final CompressionProperties compression = new CompressionProperties();
+        private final RequestDecompressionProperties requestDecompression = new RequestDecompressionProperties();
+        private final ServerProperties server = new ServerProperties();
+        private final RateLimitProperties rateLimit = new RateLimitProperties();
+        private final ConcurrencyLimitProperties concurrencyLimit = new ConcurrencyLimitProperties();
+        private final DeadlineProperties deadline = new DeadlineProperties();
+        private final ETagProperties etag = new ETagProperties();
+        private final ResponseCacheProperties responseCache = new ResponseCacheProperties();
+        private final CoalescingProperties coalescing = new CoalescingProperties();
+        private final IdempotencyProperties idempotency = new IdempotencyProperties();
+        private final BinaryFormatsProperties binaryFormats = new BinaryFormatsProperties();
 
         // Getters and setters
         public boolean isEnabled() {
@@ -229,6 +448,89 @@ public class StarterKitProperties {
             return compression;
         }
 
+        public RequestDecompressionProperties getRequestDecompression() {
+            return requestDecompression;
+        }
+
+        public ServerProperties getServer() {
+            return server;
+        }
+
+        public RateLimitProperties getRateLimit() {
+            return rateLimit;
+        }
+
+        public ConcurrencyLimitProperties getConcurrencyLimit() {
+            return concurrencyLimit;
+        }
+
+        public DeadlineProperties getDeadline() {
+            return deadline;
+        }
+
+        public ETagProperties getEtag() {
+            return etag;
+        }
+
+        public ResponseCacheProperties getResponseCache() {
+            return responseCache;
+        }
+
+        public CoalescingProperties getCoalescing() {
+            return coalescing;
+        }
+
+        public IdempotencyProperties getIdempotency() {
+            return idempotency;
+        }
+
+        public BinaryFormatsProperties getBinaryFormats() {
+            return binaryFormats;
+        }
+
+        /**
+         * Request deadline configuration properties.
+         */
+        public static class DeadlineProperties {
+            private boolean enabled = false;
+            private String headerName = "X-Request-Timeout";
+            private Duration defaultTimeout;
+            private Duration maxTimeout = Duration.ofSeconds(60);
+
+            // Getters and setters
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public String getHeaderName() {
+                return headerName;
+            }
+
+            public void setHeaderName(String headerName) {
+                this.headerName = headerName;
+            }
+
+            public Duration getDefaultTimeout() {
+                return defaultTimeout;
+            }
+
+            public void setDefaultTimeout(Duration defaultTimeout) {
+                this.defaultTimeout = defaultTimeout;
+            }
+
+            public Duration getMaxTimeout() {
+                return maxTimeout;
+            }
+
+            public void setMaxTimeout(Duration maxTimeout) {
+                this.maxTimeout = maxTimeout;
+            }
+        }
+
         /**
          * CORS configuration properties.
          */
@@ -237,7 +539,8 @@ public class StarterKitProperties {
             private String[] allowedOrigins = {"*"};
             private String[] allowedMethods = {"GET", "POST", "PUT", "DELETE", "OPTIONS"};
             private String[] allowedHeaders = {"*"};
-            private boolean allowCredentials = true;
+            private String[] exposedHeaders = {};
+            private boolean allowCredentials = false;
             private long maxAge = 3600;
 
             // Getters and setters
@@ -273,6 +576,14 @@ public class StarterKitProperties {
                 this.allowedHeaders = allowedHeaders;
             }
 
+            public String[] getExposedHeaders() {
+                return exposedHeaders;
+            }
+
+            public void setExposedHeaders(String[] exposedHeaders) {
+                this.exposedHeaders = exposedHeaders;
+            }
+
             public boolean isAllowCredentials() {
                 return allowCredentials;
             }
@@ -306,6 +617,14 @@ public class StarterKitProperties {
                     "application/xml"
             };
             private int minResponseSize = 2048; // 2KB
+            private Mode mode = Mode.CONTAINER;
+            private List<String> encodings = new ArrayList<>(List.of("zstd", "br", "gzip"));
+            private int poolSize = 64;
+            private final EncoderProperties gzip = EncoderProperties.of(6, 1);
+            private final EncoderProperties brotli = EncoderProperties.of(4, 1);
+            private final EncoderProperties zstd = EncoderProperties.of(3, 1);
+            private final AdaptiveProperties adaptive = new AdaptiveProperties();
+            private final PrecompressedProperties precompressed = new PrecompressedProperties();
 
             // Getters and setters
             public boolean isEnabled() {
@@ -331,31 +650,950 @@ public class StarterKitProperties {
             public void setMinResponseSize(int minResponseSize) {
                 this.minResponseSize = minResponseSize;
             }
-        }
-    }
 
-    /**
-     * Response configuration properties.
-     */
-    public static class ResponseProperties {
-        private boolean enabled = true;
-        private boolean includeTimestamp = true;
+            public Mode getMode() {
+                return mode;
+            }
 
-        // Getters and setters
-        public boolean isEnabled() {
-            return enabled;
-        }
+            public void setMode(Mode mode) {
+                this.mode = mode;
+            }
 
-        public void setEnabled(boolean enabled) {
-            this.enabled = enabled;
+            public List<String> getEncodings() {
+                return encodings;
+            }
+
+            public void setEncodings(List<String> encodings) {
+                this.encodings = encodings;
+            }
+
+            public int getPoolSize() {
+                return poolSize;
+            }
+
+            public void setPoolSize(int poolSize) {
+                this.poolSize = poolSize;
+            }
+
+            public EncoderProperties getGzip() {
+                return gzip;
+            }
+
+            public EncoderProperties getBrotli() {
+                return brotli;
+            }
+
+            public EncoderProperties getZstd() {
+                return zstd;
+            }
+
+            public AdaptiveProperties getAdaptive() {
+                return adaptive;
+            }
+
+            public PrecompressedProperties getPrecompressed() {
+                return precompressed;
+            }
+
+            /**
+             * Where responses are compressed.
+             */
+            public enum Mode {
+                /** The servlet container's built-in gzip compression. */
+                CONTAINER,
+                /** The starter's compression filter, negotiating zstd, br and gzip. */
+                FILTER
+            }
+
+            /**
+             * Adaptive compression policy configuration properties.
+             */
+            public static class AdaptiveProperties {
+                private boolean enabled = false;
+                private double maxRatio = 0.9;
+                private int minSamples = 20;
+                private int probeInterval = 50;
+                private double reduceCpuLoad = 0.7;
+                private double skipCpuLoad = 0.9;
+                private Duration cpuSampleInterval = Duration.ofSeconds(1);
+
+                // Getters and setters
+                public boolean isEnabled() {
+                    return enabled;
+                }
+
+                public void setEnabled(boolean enabled) {
+                    this.enabled = enabled;
+                }
+
+                public double getMaxRatio() {
+                    return maxRatio;
+                }
+
+                public void setMaxRatio(double maxRatio) {
+                    this.maxRatio = maxRatio;
+                }
+
+                public int getMinSamples() {
+                    return minSamples;
+                }
+
+                public void setMinSamples(int minSamples) {
+                    this.minSamples = minSamples;
+                }
+
+                public int getProbeInterval() {
+                    return probeInterval;
+                }
+
+                public void setProbeInterval(int probeInterval) {
+                    this.probeInterval = probeInterval;
+                }
+
+                public double getReduceCpuLoad() {
+                    return reduceCpuLoad;
+                }
+
+                public void setReduceCpuLoad(double reduceCpuLoad) {
+                    this.reduceCpuLoad = reduceCpuLoad;
+                }
+
+                public double getSkipCpuLoad() {
+                    return skipCpuLoad;
+                }
+
+                public void setSkipCpuLoad(double skipCpuLoad) {
+                    this.skipCpuLoad = skipCpuLoad;
+                }
+
+                public Duration getCpuSampleInterval() {
+                    return cpuSampleInterval;
+                }
+
+                public void setCpuSampleInterval(Duration cpuSampleInterval) {
+                    this.cpuSampleInterval = cpuSampleInterval;
+                }
+            }
+
+            /**
+             * Pre-compressed response cache configuration properties.
+             */
+            public static class PrecompressedProperties {
+                private boolean enabled = false;
+                private long maximumSize = 33554432; // 32MB
+                private int maxEntrySize = 4194304; // 4MB
+                private List<String> paths = new ArrayList<>(List.of("/v3/api-docs/**"));
+                private List<String> warmPaths = new ArrayList<>();
+                private Duration warmTimeout = Duration.ofSeconds(10);
+
+                // Getters and setters
+                public boolean isEnabled() {
+                    return enabled;
+                }
+
+                public void setEnabled(boolean enabled) {
+                    this.enabled = enabled;
+                }
+
+                public long getMaximumSize() {
+                    return maximumSize;
+                }
+
+                public void setMaximumSize(long maximumSize) {
+                    this.maximumSize = maximumSize;
+                }
+
+                public int getMaxEntrySize() {
+                    return maxEntrySize;
+                }
+
+                public void setMaxEntrySize(int maxEntrySize) {
+                    this.maxEntrySize = maxEntrySize;
+                }
+
+                public List<String> getPaths() {
+                    return paths;
+                }
+
+                public void setPaths(List<String> paths) {
+                    this.paths = paths;
+                }
+
+                public List<String> getWarmPaths() {
+                    return warmPaths;
+                }
+
+                public void setWarmPaths(List<String> warmPaths) {
+                    this.warmPaths = warmPaths;
+                }
+
+                public Duration getWarmTimeout() {
+                    return warmTimeout;
+                }
+
+                public void setWarmTimeout(Duration warmTimeout) {
+                    this.warmTimeout = warmTimeout;
+                }
+            }
+
+            /**
+             * Compression level settings for a single content coding.
+             */
+            public static class EncoderProperties {
+                private int level;
+                private Map<String, Integer> mimeLevels = new LinkedHashMap<>();
+
+                private static EncoderProperties of(int level, int streamingLevel) {
+                    EncoderProperties properties = new EncoderProperties();
+                    properties.level = level;
+                    // Streamed bodies are flushed often, so a high level buys little
+                    properties.mimeLevels.put("application/x-ndjson", streamingLevel);
+                    properties.mimeLevels.put("text/event-stream", streamingLevel);
+                    return properties;
+                }
+
+                // Getters and setters
+                public int getLevel() {
+                    return level;
+                }
+
+                public void setLevel(int level) {
+                    this.level = level;
+                }
+
+                public Map<String, Integer> getMimeLevels() {
+                    return mimeLevels;
+                }
+
+                public void setMimeLevels(Map<String, Integer> mimeLevels) {
+                    this.mimeLevels = mimeLevels;
+                }
+            }
         }
 
-        public boolean isIncludeTimestamp() {
-            return includeTimestamp;
+        /**
+         * Request body decompression configuration properties.
+         */
+        public static class RequestDecompressionProperties {
+            private boolean enabled = false;
+            private long maxSize = 10485760; // 10MB of decompressed body
+            private int poolSize = 32;
+
+            // Getters and setters
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public long getMaxSize() {
+                return maxSize;
+            }
+
+            public void setMaxSize(long maxSize) {
+                this.maxSize = maxSize;
+            }
+
+            public int getPoolSize() {
+                return poolSize;
+            }
+
+            public void setPoolSize(int poolSize) {
+                this.poolSize = poolSize;
+            }
         }
 
-        public void setIncludeTimestamp(boolean includeTimestamp) {
-            this.includeTimestamp = includeTimestamp;
+        /**
+         * Embedded server tuning properties.
+         */
+        public static class ServerProperties {
+            private boolean enabled = false;
+            private boolean http2 = false;
+            private Integer maxThreads;
+            private Integer maxConnections;
+            private Integer acceptCount;
+            private Duration keepAliveTimeout;
+            private Integer maxKeepAliveRequests;
+            private Integer maxHttpRequestHeaderSize;
+            private Integer maxHttpResponseHeaderSize;
+
+            // Getters and setters
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public boolean isHttp2() {
+                return http2;
+            }
+
+            public void setHttp2(boolean http2) {
+                this.http2 = http2;
+            }
+
+            public Integer getMaxThreads() {
+                return maxThreads;
+            }
+
+            public void setMaxThreads(Integer maxThreads) {
+                this.maxThreads = maxThreads;
+            }
+
+            public Integer getMaxConnections() {
+                return maxConnections;
+            }
+
+            public void setMaxConnections(Integer maxConnections) {
+                this.maxConnections = maxConnections;
+            }
+
+            public Integer getAcceptCount() {
+                return acceptCount;
+            }
+
+            public void setAcceptCount(Integer acceptCount) {
+                this.acceptCount = acceptCount;
+            }
+
+            public Duration getKeepAliveTimeout() {
+                return keepAliveTimeout;
+            }
+
+            public void setKeepAliveTimeout(Duration keepAliveTimeout) {
+                this.keepAliveTimeout = keepAliveTimeout;
+            }
+
+            public Integer getMaxKeepAliveRequests() {
+                return maxKeepAliveRequests;
+            }
+
+            public void setMaxKeepAliveRequests(Integer maxKeepAliveRequests) {
+                this.maxKeepAliveRequests = maxKeepAliveRequests;
+            }
+
+            public Integer getMaxHttpRequestHeaderSize() {
+                return maxHttpRequestHeaderSize;
+            }
+
+            public void setMaxHttpRequestHeaderSize(Integer maxHttpRequestHeaderSize) {
+                this.maxHttpRequestHeaderSize = maxHttpRequestHeaderSize;
+            }
+
+            public Integer getMaxHttpResponseHeaderSize() {
+                return maxHttpResponseHeaderSize;
+            }
+
+            public void setMaxHttpResponseHeaderSize(Integer maxHttpResponseHeaderSize) {
+                this.maxHttpResponseHeaderSize = maxHttpResponseHeaderSize;
+            }
+        }
+
+        /**
+         * Rate limiting configuration properties.
+         */
+        public static class RateLimitProperties {
+            private boolean enabled = false;
+            private boolean trustForwardedHeaders = false;
+            private int trustedProxies = 1;
+            private String apiKeyHeader = "X-API-Key";
+            private int stripes = 16;
+            private final List<RuleProperties> rules = new ArrayList<>();
+
+            // Getters and setters
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public boolean isTrustForwardedHeaders() {
+                return trustForwardedHeaders;
+            }
+
+            public void setTrustForwardedHeaders(boolean trustForwardedHeaders) {
+                this.trustForwardedHeaders = trustForwardedHeaders;
+            }
+
+            public int getTrustedProxies() {
+                return trustedProxies;
+            }
+
+            public void setTrustedProxies(int trustedProxies) {
+                this.trustedProxies = trustedProxies;
+            }
+
+            public String getApiKeyHeader() {
+                return apiKeyHeader;
+            }
+
+            public void setApiKeyHeader(String apiKeyHeader) {
+                this.apiKeyHeader = apiKeyHeader;
+            }
+
+            public int getStripes() {
+                return stripes;
+            }
+
+            public void setStripes(int stripes) {
+                this.stripes = stripes;
+            }
+
+            public List<RuleProperties> getRules() {
+                return rules;
+            }
+
+            /**
+             * What rate limit buckets are keyed by.
+             */
+            public enum KeyType {
+                /** The client IP address. */
+                CLIENT_IP,
+                /** The authenticated user, falling back to the client IP address. */
+                USER,
+                /**
+                 * The principal authenticated from the API key header, falling back to the
+                 * client IP address for unauthenticated requests.
+                 */
+                API_KEY
+            }
+
+            /**
+             * Rate limit of the requests matching a path pattern.
+             */
+            public static class RuleProperties {
+                private String path = "/**";
+                private int limit = 100;
+                private Duration period = Duration.ofSeconds(1);
+                private int burst = 0; // 0 allows the full limit at once
+                private KeyType key = KeyType.CLIENT_IP;
+
+                // Getters and setters
+                public String getPath() {
+                    return path;
+                }
+
+                public void setPath(String path) {
+                    this.path = path;
+                }
+
+                public int getLimit() {
+                    return limit;
+                }
+
+                public void setLimit(int limit) {
+                    this.limit = limit;
+                }
+
+                public Duration getPeriod() {
+                    return period;
+                }
+
+                public void setPeriod(Duration period) {
+                    this.period = period;
+                }
+
+                public int getBurst() {
+                    return burst;
+                }
+
+                public void setBurst(int burst) {
+                    this.burst = burst;
+                }
+
+                public KeyType getKey() {
+                    return key;
+                }
+
+                public void setKey(KeyType key) {
+                    this.key = key;
+                }
+            }
+        }
+
+        /**
+         * Adaptive concurrency limit configuration properties.
+         */
+        public static class ConcurrencyLimitProperties {
+            private boolean enabled = false;
+            private int initialLimit = 20;
+            private int minLimit = 10;
+            private int maxLimit = 200;
+            private double smoothing = 0.2;
+            private double tolerance = 1.5;
+            private int windowSize = 50;
+            private int longWindowSize = 600;
+            private List<String> priorityPaths = new ArrayList<>(List.of("/actuator/**"));
+
+            // Getters and setters
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public int getInitialLimit() {
+                return initialLimit;
+            }
+
+            public void setInitialLimit(int initialLimit) {
+                this.initialLimit = initialLimit;
+            }
+
+            public int getMinLimit() {
+                return minLimit;
+            }
+
+            public void setMinLimit(int minLimit) {
+                this.minLimit = minLimit;
+            }
+
+            public int getMaxLimit() {
+                return maxLimit;
+            }
+
+            public void setMaxLimit(int maxLimit) {
+                this.maxLimit = maxLimit;
+            }
+
+            public double getSmoothing() {
+                return smoothing;
+            }
+
+            public void setSmoothing(double smoothing) {
+                this.smoothing = smoothing;
+            }
+
+            public double getTolerance() {
+                return tolerance;
+            }
+
+            public void setTolerance(double tolerance) {
+                this.tolerance = tolerance;
+            }
+
+            public int getWindowSize() {
+                return windowSize;
+            }
+
+            public void setWindowSize(int windowSize) {
+                this.windowSize = windowSize;
+            }
+
+            public int getLongWindowSize() {
+                return longWindowSize;
+            }
+
+            public void setLongWindowSize(int longWindowSize) {
+                this.longWindowSize = longWindowSize;
+            }
+
+            public List<String> getPriorityPaths() {
+                return priorityPaths;
+            }
+
+            public void setPriorityPaths(List<String> priorityPaths) {
+                this.priorityPaths = priorityPaths;
+            }
+        }
+
+        /**
+         * ETag configuration properties.
+         */
+        public static class ETagProperties {
+            private boolean enabled = false;
+            private int maxBufferSize = 1048576; // 1MB
+
+            // Getters and setters
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public int getMaxBufferSize() {
+                return maxBufferSize;
+            }
+
+            public void setMaxBufferSize(int maxBufferSize) {
+                this.maxBufferSize = maxBufferSize;
+            }
+        }
+
+        /**
+         * In-memory response cache configuration properties.
+         */
+        public static class ResponseCacheProperties {
+            private boolean enabled = false;
+            private long maximumSize = 67108864; // 64MB
+            private Duration defaultTtl = Duration.ofSeconds(60);
+            private boolean compress = true;
+            private int compressMinSize = 1024;
+
+            // Getters and setters
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public long getMaximumSize() {
+                return maximumSize;
+            }
+
+            public void setMaximumSize(long maximumSize) {
+                this.maximumSize = maximumSize;
+            }
+
+            public Duration getDefaultTtl() {
+                return defaultTtl;
+            }
+
+            public void setDefaultTtl(Duration defaultTtl) {
+                this.defaultTtl = defaultTtl;
+            }
+
+            public boolean isCompress() {
+                return compress;
+            }
+
+            public void setCompress(boolean compress) {
+                this.compress = compress;
+            }
+
+            public int getCompressMinSize() {
+                return compressMinSize;
+            }
+
+            public void setCompressMinSize(int compressMinSize) {
+                this.compressMinSize = compressMinSize;
+            }
+        }
+
+        /**
+         * Request coalescing configuration properties.
+         */
+        public static class CoalescingProperties {
+            private boolean enabled = false;
+            private Duration maxWait = Duration.ofSeconds(2);
+            private int maxBodySize = 1048576; // 1MB
+
+            // Getters and setters
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public Duration getMaxWait() {
+                return maxWait;
+            }
+
+            public void setMaxWait(Duration maxWait) {
+                this.maxWait = maxWait;
+            }
+
+            public int getMaxBodySize() {
+                return maxBodySize;
+            }
+
+            public void setMaxBodySize(int maxBodySize) {
+                this.maxBodySize = maxBodySize;
+            }
+        }
+
+        /**
+         * Idempotency key configuration properties.
+         */
+        public static class IdempotencyProperties {
+            private boolean enabled = false;
+            private String headerName = "Idempotency-Key";
+            private List<String> methods = new ArrayList<>(List.of("POST", "PATCH"));
+            private Duration ttl = Duration.ofHours(24);
+            private Duration lockTimeout = Duration.ofSeconds(10);
+            private int maxEntries = 10000;
+            private int maxBodySize = 65536; // 64KB
+            private int maxKeyLength = 255;
+
+            // Getters and setters
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public String getHeaderName() {
+                return headerName;
+            }
+
+            public void setHeaderName(String headerName) {
+                this.headerName = headerName;
+            }
+
+            public List<String> getMethods() {
+                return methods;
+            }
+
+            public void setMethods(List<String> methods) {
+                this.methods = methods;
+            }
+
+            public Duration getTtl() {
+                return ttl;
+            }
+
+            public void setTtl(Duration ttl) {
+                this.ttl = ttl;
+            }
+
+            public Duration getLockTimeout() {
+                return lockTimeout;
+            }
+
+            public void setLockTimeout(Duration lockTimeout) {
+                this.lockTimeout = lockTimeout;
+            }
+
+            public int getMaxEntries() {
+                return maxEntries;
+            }
+
+            public void setMaxEntries(int maxEntries) {
+                this.maxEntries = maxEntries;
+            }
+
+            public int getMaxBodySize() {
+                return maxBodySize;
+            }
+
+            public void setMaxBodySize(int maxBodySize) {
+                this.maxBodySize = maxBodySize;
+            }
+
+            public int getMaxKeyLength() {
+                return maxKeyLength;
+            }
+
+            public void setMaxKeyLength(int maxKeyLength) {
+                this.maxKeyLength = maxKeyLength;
+            }
+        }
+
+        /**
+         * Binary content negotiation configuration properties.
+         */
+        public static class BinaryFormatsProperties {
+            private boolean enabled = false;
+            private boolean cbor = true;
+            private boolean smile = true;
+            private boolean msgpack = true;
+
+            // Getters and setters
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public boolean isCbor() {
+                return cbor;
+            }
+
+            public void setCbor(boolean cbor) {
+                this.cbor = cbor;
+            }
+
+            public boolean isSmile() {
+                return smile;
+            }
+
+            public void setSmile(boolean smile) {
+                this.smile = smile;
+            }
+
+            public boolean isMsgpack() {
+                return msgpack;
+            }
+
+            public void setMsgpack(boolean msgpack) {
+                this.msgpack = msgpack;
+            }
+        }
+    }
+
+    /**
+     * Response configuration properties.
+     */
+    public static class ResponseProperties {
+        private boolean enabled = true;
+        private boolean includeTimestamp = true;
+        private final JsonProperties json = new JsonProperties();
+        private final SparseFieldsProperties sparseFields = new SparseFieldsProperties();
+
+        // Getters and setters
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public boolean isIncludeTimestamp() {
+            return includeTimestamp;
+        }
+
+        public void setIncludeTimestamp(boolean includeTimestamp) {
+            this.includeTimestamp = includeTimestamp;
+        }
+
+        public JsonProperties getJson() {
+            return json;
+        }
+
+        public SparseFieldsProperties getSparseFields() {
+            return sparseFields;
+        }
+
+        /**
+         * Sparse fieldset configuration properties.
+         */
+        public static class SparseFieldsProperties {
+            private boolean enabled = false;
+            private int maxFieldSets = 1024;
+
+            // Getters and setters
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public int getMaxFieldSets() {
+                return maxFieldSets;
+            }
+
+            public void setMaxFieldSets(int maxFieldSets) {
+                this.maxFieldSets = maxFieldSets;
+            }
+        }
+
+        /**
+         * Shared ObjectMapper tuning properties.
+         */
+        public static class JsonProperties {
+            private boolean blackbird = true;
+            private RecyclerPool recyclerPool;
+            private int recyclerPoolSize = 100;
+            private boolean prewarm = true;
+            private boolean metrics = true;
+
+            // Getters and setters
+            public boolean isBlackbird() {
+                return blackbird;
+            }
+
+            public void setBlackbird(boolean blackbird) {
+                this.blackbird = blackbird;
+            }
+
+            public RecyclerPool getRecyclerPool() {
+                return recyclerPool;
+            }
+
+            public void setRecyclerPool(RecyclerPool recyclerPool) {
+                this.recyclerPool = recyclerPool;
+            }
+
+            public int getRecyclerPoolSize() {
+                return recyclerPoolSize;
+            }
+
+            public void setRecyclerPoolSize(int recyclerPoolSize) {
+                this.recyclerPoolSize = recyclerPoolSize;
+            }
+
+            public boolean isPrewarm() {
+                return prewarm;
+            }
+
+            public void setPrewarm(boolean prewarm) {
+                this.prewarm = prewarm;
+            }
+
+            public boolean isMetrics() {
+                return metrics;
+            }
+
+            public void setMetrics(boolean metrics) {
+                this.metrics = metrics;
+            }
+
+            /**
+             * Buffer recycling strategies for the JSON factory.
+             */
+            public enum RecyclerPool {
+                /** One buffer set per thread; fastest on platform threads. */
+                THREAD_LOCAL,
+                /** Shared lock-free deque; suited to virtual threads. */
+                CONCURRENT_DEQUE,
+                /** Shared pool holding at most {@code recycler-pool-size} buffer sets. */
+                BOUNDED,
+                /** No recycling. */
+                NONE
+            }
+        }
+    }
+
+    /**
+     * Metrics configuration properties.
+     */
+    public static class MetricsProperties {
+        private boolean enabled = true;
+
+        // Getters and setters
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+    }
+
+    /**
+     * Startup warmup configuration properties.
+     */
+    public static class WarmupProperties {
+        private boolean enabled = false;
+
+        // Getters and setters
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
         }
     }
 
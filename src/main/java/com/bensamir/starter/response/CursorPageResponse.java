@@ -0,0 +1,98 @@
+package com.bensamir.starter.response;
+
+import com.bensamir.starter.persistence.KeysetCursor;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Standard response wrapper for cursor (keyset) paginated data.
+ * <p>
+ * This class provides a consistent structure for cursor-based responses, including:
+ * <ul>
+ *   <li>Content for the current window</li>
+ *   <li>Whether more content follows</li>
+ *   <li>An opaque cursor for requesting the next window</li>
+ * </ul>
+ * Unlike {@link PageResponse}, no total counts are reported, since computing
+ * them is what makes offset pagination expensive on large tables.
+ *
+ * @param <T> The type of content items
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CursorPageResponse<T> {
+    private final List<T> content;
+    private final int size;
+    private final boolean hasNext;
+    private final String nextCursor;
+
+    private CursorPageResponse(List<T> content, boolean hasNext, String nextCursor) {
+        this.content = content;
+        this.size = content.size();
+        this.hasNext = hasNext;
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Creates a cursor page response from a Spring Data Window.
+     *
+     * @param window The keyset-scrolled window
+     * @param <T> The type of content items
+     * @return A cursor page response
+     */
+    public static <T> CursorPageResponse<T> of(Window<T> window) {
+        String nextCursor = null;
+        if (window.hasNext() && !window.isEmpty()) {
+            ScrollPosition position = window.positionAt(window.size() - 1);
+            if (position instanceof KeysetScrollPosition) {
+                nextCursor = KeysetCursor.encode((KeysetScrollPosition) position);
+            }
+        }
+        return new CursorPageResponse<>(window.getContent(), window.hasNext(), nextCursor);
+    }
+
+    // Getters
+    public List<T> getContent() {
+        return content;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public boolean isHasNext() {
+        return hasNext;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        CursorPageResponse<?> that = (CursorPageResponse<?>) o;
+        return hasNext == that.hasNext &&
+                Objects.equals(content, that.content) &&
+                Objects.equals(nextCursor, that.nextCursor);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(content, hasNext, nextCursor);
+    }
+
+    @Override
+    public String toString() {
+        return "CursorPageResponse{" +
+                "content.size=" + size +
+                ", hasNext=" + hasNext +
+                ", nextCursor='" + nextCursor + '\'' +
+                '}';
+    }
+}
\ No newline at end of file
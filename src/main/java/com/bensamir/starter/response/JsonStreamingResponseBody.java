@@ -0,0 +1,427 @@
+package com.bensamir.starter.response;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.RequestContextUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Streaming response body that writes a collection as one JSON document per element.
+ * <p>
+ * Elements are pulled from a {@link Stream} and serialized straight to the response
+ * output stream, so memory use does not grow with the size of the result:
+ * <ul>
+ *   <li>NDJSON ({@code application/x-ndjson}) or JSON text sequences
+ *       ({@code application/json-seq}, RFC 7464)</li>
+ *   <li>Output is flushed every {@code flushEvery} elements and whenever
+ *       {@code flushInterval} has elapsed since the last flush</li>
+ *   <li>Writes block while the client is not reading, which in turn stops the
+ *       source from being pulled: the socket provides the backpressure</li>
+ *   <li>The MDC of the request thread is restored on the thread writing the body</li>
+ *   <li>A trailer record is written last, telling clients whether the stream
+ *       completed or failed part way</li>
+ * </ul>
+ * <p>
+ * The trailer is a regular record so that it survives proxies that drop HTTP trailers:
+ * <pre>
+ * {"@trailer":"complete","count":12000}
+ * {"@trailer":"error","count":3500,"code":"STREAM_ERROR","message":"The stream was aborted"}
+ * </pre>
+ * Usage example:
+ * <pre>
+ * &#64;GetMapping(value = "/export", produces = "application/x-ndjson")
+ * &#64;Transactional(readOnly = true)
+ * public ResponseEntity&lt;StreamingResponseBody&gt; export() {
+ *     return ResponseEntityBuilder.stream(JsonStreamingResponseBody.of(() -&gt; userRepository.streamAll().map(mapper::toDto))
+ *             .executeWithin(work -&gt; transactionTemplate.executeWithoutResult(status -&gt; work.run()))
+ *             .onFlush(entityManager::clear));
+ * }
+ * </pre>
+ * The body is written on an MVC async thread after the controller has returned, so stream
+ * sources that need a transaction must be wrapped with {@link #executeWithin(Consumer)}.
+ * The async request timeout ({@code spring.mvc.async.request-timeout}) applies to the
+ * whole export. A streaming body can only be written once.
+ *
+ * @param <T> The type of streamed elements
+ */
+public final class JsonStreamingResponseBody<T> implements StreamingResponseBody {
+    private static final Logger log = LoggerFactory.getLogger(JsonStreamingResponseBody.class);
+
+    /** Media type of JSON text sequences (RFC 7464). */
+    public static final MediaType APPLICATION_JSON_SEQ = new MediaType("application", "json-seq");
+
+    private static final int DEFAULT_FLUSH_EVERY = 100;
+    private static final Duration DEFAULT_FLUSH_INTERVAL = Duration.ofSeconds(1);
+    private static final char RECORD_SEPARATOR = '\u001E';
+
+    private final Supplier<Stream<T>> source;
+    private final Map<String, String> mdc;
+    private final AtomicBoolean consumed = new AtomicBoolean();
+    private ObjectMapper objectMapper;
+    private Format format = Format.NDJSON;
+    private int flushEvery = DEFAULT_FLUSH_EVERY;
+    private long flushIntervalNanos = DEFAULT_FLUSH_INTERVAL.toNanos();
+    private boolean trailer = true;
+    private Runnable flushHook = () -> { };
+    private Consumer<Runnable> executor = Runnable::run;
+
+    private JsonStreamingResponseBody(Supplier<Stream<T>> source) {
+        this.source = source;
+        this.mdc = MDC.getCopyOfContextMap();
+        this.objectMapper = Mappers.current();
+    }
+
+    /**
+     * Creates a streaming body from an already opened stream.
+     * <p>
+     * The stream is closed once written. Streams backed by a database cursor should
+     * be opened through {@link #of(Supplier)} with {@link #executeWithin(Consumer)} instead.
+     *
+     * @param stream The stream of elements
+     * @param <T> The type of streamed elements
+     * @return A streaming response body
+     */
+    public static <T> JsonStreamingResponseBody<T> of(Stream<T> stream) {
+        Objects.requireNonNull(stream, "stream must not be null");
+        AtomicBoolean opened = new AtomicBoolean();
+        return of(() -> {
+            if (!opened.compareAndSet(false, true)) {
+                throw new IllegalStateException("Stream has already been consumed");
+            }
+            return stream;
+        });
+    }
+
+    /**
+     * Creates a streaming body from a stream supplier.
+     * <p>
+     * The stream is opened when the body is written and closed once written.
+     *
+     * @param source Supplier opening the stream of elements
+     * @param <T> The type of streamed elements
+     * @return A streaming response body
+     */
+    public static <T> JsonStreamingResponseBody<T> of(Supplier<Stream<T>> source) {
+        return new JsonStreamingResponseBody<>(Objects.requireNonNull(source, "source must not be null"));
+    }
+
+    /**
+     * Writes the elements as JSON text sequences (RFC 7464) instead of NDJSON.
+     *
+     * @return This body for method chaining
+     */
+    public JsonStreamingResponseBody<T> jsonSeq() {
+        this.format = Format.JSON_SEQ;
+        return this;
+    }
+
+    /**
+     * Sets the number of elements written between two flushes.
+     *
+     * @param flushEvery The number of elements per flush
+     * @return This body for method chaining
+     */
+    public JsonStreamingResponseBody<T> flushEvery(int flushEvery) {
+        if (flushEvery < 1) {
+            throw new IllegalArgumentException("flushEvery must be positive");
+        }
+        this.flushEvery = flushEvery;
+        return this;
+    }
+
+    /**
+     * Sets the maximum time written elements may be held back before they are flushed.
+     * <p>
+     * This keeps slowly produced streams visible to the client and keeps idle
+     * connections from timing out in intermediaries.
+     *
+     * @param flushInterval The maximum time between two flushes
+     * @return This body for method chaining
+     */
+    public JsonStreamingResponseBody<T> flushInterval(Duration flushInterval) {
+        this.flushIntervalNanos = Objects.requireNonNull(flushInterval, "flushInterval must not be null").toNanos();
+        return this;
+    }
+
+    /**
+     * Enables or disables the trailer record written after the last element.
+     *
+     * @param trailer Whether to write the trailer record
+     * @return This body for method chaining
+     */
+    public JsonStreamingResponseBody<T> trailer(boolean trailer) {
+        this.trailer = trailer;
+        return this;
+    }
+
+    /**
+     * Sets the object mapper used to serialize the elements.
+     * <p>
+     * Defaults to the application's {@link ObjectMapper} bean, resolved from the
+     * request the body was created in.
+     *
+     * @param objectMapper The object mapper
+     * @return This body for method chaining
+     */
+    public JsonStreamingResponseBody<T> objectMapper(ObjectMapper objectMapper) {
+        this.objectMapper = Objects.requireNonNull(objectMapper, "objectMapper must not be null");
+        return this;
+    }
+
+    /**
+     * Sets a hook invoked after each flush.
+     * <p>
+     * Typically used to detach written entities, e.g. {@code entityManager::clear}.
+     *
+     * @param flushHook The hook to invoke
+     * @return This body for method chaining
+     */
+    public JsonStreamingResponseBody<T> onFlush(Runnable flushHook) {
+        this.flushHook = Objects.requireNonNull(flushHook, "flushHook must not be null");
+        return this;
+    }
+
+    /**
+     * Sets a wrapper around content production, e.g. to run it inside a transaction.
+     * <p>
+     * Usage example: {@code executeWithin(work -> transactionTemplate.executeWithoutResult(status -> work.run()))}.
+     *
+     * @param executor Consumer that must run the given work exactly once
+     * @return This body for method chaining
+     */
+    public JsonStreamingResponseBody<T> executeWithin(Consumer<Runnable> executor) {
+        this.executor = Objects.requireNonNull(executor, "executor must not be null");
+        return this;
+    }
+
+    /**
+     * Returns the media type matching the configured format.
+     *
+     * @return The content type of the body
+     */
+    public MediaType getContentType() {
+        return format == Format.JSON_SEQ ? APPLICATION_JSON_SEQ : MediaType.APPLICATION_NDJSON;
+    }
+
+    @Override
+    public void writeTo(OutputStream outputStream) throws IOException {
+        if (!consumed.compareAndSet(false, true)) {
+            throw new IllegalStateException("JsonStreamingResponseBody can only be written once");
+        }
+
+        Map<String, String> previous = MDC.getCopyOfContextMap();
+        if (mdc != null) {
+            MDC.setContextMap(mdc);
+        }
+        try {
+            write(outputStream);
+        } finally {
+            if (previous != null) {
+                MDC.setContextMap(previous);
+            } else {
+                MDC.clear();
+            }
+        }
+    }
+
+    private void write(OutputStream outputStream) throws IOException {
+        ObjectMapper mapper = objectMapper;
+        ObjectWriter writer = mapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        Progress progress = new Progress();
+
+        try (JsonGenerator gen = mapper.getFactory().createGenerator(outputStream)) {
+            gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // A failed element leaves the generator inside it; closing must not complete it
+            gen.disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+            gen.setRootValueSeparator(null);
+            gen.setPrettyPrinter(null);
+
+            try {
+                executor.accept(() -> {
+                    try (Stream<T> stream = source.get()) {
+                        writeElements(stream.iterator(), gen, writer, progress);
+                    } catch (JsonProcessingException ex) {
+                        // An element failed to serialize, the client is still there
+                        throw new UncheckedIOException(ex);
+                    } catch (IOException ex) {
+                        throw new WriteFailedException(ex);
+                    }
+                });
+            } catch (WriteFailedException ex) {
+                // The client went away: nothing more can be written
+                log.debug("Streaming response aborted after {} elements: {}", progress.count,
+                        ex.getCause().getMessage());
+                throw ex.getCause();
+            } catch (RuntimeException ex) {
+                // Headers are long gone, so the failure can only be reported in-band
+                log.error("Streaming response failed after {} elements", progress.count, ex);
+                gen.flush();
+                if (trailer) {
+                    writeErrorTrailer(mapper, outputStream, progress);
+                }
+                return;
+            }
+
+            if (trailer) {
+                writeTrailer(gen, "complete", progress.count);
+            }
+            gen.flush();
+        }
+    }
+
+    private void writeElements(Iterator<T> iterator, JsonGenerator gen, ObjectWriter writer, Progress progress)
+            throws IOException {
+        long lastFlush = System.nanoTime();
+        int pending = 0;
+
+        while (iterator.hasNext()) {
+            T element = iterator.next();
+            progress.inRecord = true;
+            startRecord(gen);
+            writer.writeValue(gen, element);
+            gen.writeRaw('\n');
+            progress.inRecord = false;
+            progress.count++;
+
+            if (++pending >= flushEvery || System.nanoTime() - lastFlush >= flushIntervalNanos) {
+                gen.flush();
+                flushHook.run();
+                pending = 0;
+                lastFlush = System.nanoTime();
+            }
+        }
+        if (pending > 0) {
+            flushHook.run();
+        }
+    }
+
+    private void writeErrorTrailer(ObjectMapper mapper, OutputStream outputStream, Progress progress)
+            throws IOException {
+        // The generator of the elements may be stuck inside a half-written one, use a fresh one
+        try (JsonGenerator gen = mapper.getFactory().createGenerator(outputStream)) {
+            gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            gen.setRootValueSeparator(null);
+            gen.setPrettyPrinter(null);
+            if (progress.inRecord) {
+                // Terminate the partial record so the trailer is parsed as a record of its own
+                gen.writeRaw('\n');
+            }
+            writeTrailer(gen, "error", progress.count);
+            gen.flush();
+        }
+    }
+
+    private void writeTrailer(JsonGenerator gen, String state, long count) throws IOException {
+        startRecord(gen);
+        gen.writeStartObject();
+        gen.writeStringField("@trailer", state);
+        gen.writeNumberField("count", count);
+        if ("error".equals(state)) {
+            gen.writeStringField("code", "STREAM_ERROR");
+            gen.writeStringField("message", "The stream was aborted");
+        }
+        gen.writeEndObject();
+        gen.writeRaw('\n');
+    }
+
+    private void startRecord(JsonGenerator gen) throws IOException {
+        if (format == Format.JSON_SEQ) {
+            gen.writeRaw(RECORD_SEPARATOR);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "JsonStreamingResponseBody{" +
+                "format=" + format +
+                ", flushEvery=" + flushEvery +
+                ", trailer=" + trailer +
+                '}';
+    }
+
+    /**
+     * Supported streaming formats.
+     */
+    public enum Format {
+        /** Newline-delimited JSON. */
+        NDJSON,
+        /** JSON text sequences, each record prefixed with a record separator. */
+        JSON_SEQ
+    }
+
+    /**
+     * Signals a failed write to the client, as opposed to a failure of the source.
+     */
+    private static final class WriteFailedException extends UncheckedIOException {
+        private WriteFailedException(IOException cause) {
+            super(cause);
+        }
+    }
+
+    /**
+     * Resolves the application's object mapper from the current request.
+     * <p>
+     * Request attributes are not propagated to the async thread writing the body,
+     * so this must run while the body is created.
+     */
+    private static final class Mappers {
+        private static volatile ObjectMapper fallback;
+
+        private static ObjectMapper current() {
+            RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+            if (attributes instanceof ServletRequestAttributes) {
+                HttpServletRequest request = ((ServletRequestAttributes) attributes).getRequest();
+                ApplicationContext context = RequestContextUtils.findWebApplicationContext(request);
+                if (context != null) {
+                    ObjectMapper mapper = context.getBeanProvider(ObjectMapper.class).getIfAvailable();
+                    if (mapper != null) {
+                        return mapper;
+                    }
+                }
+            }
+            return fallback();
+        }
+
+        private static ObjectMapper fallback() {
+            ObjectMapper mapper = fallback;
+            if (mapper == null) {
+                mapper = Jackson2ObjectMapperBuilder.json().build();
+                fallback = mapper;
+            }
+            return mapper;
+        }
+    }
+
+    /**
+     * Number of elements written, and whether one is being written.
+     */
+    private static final class Progress {
+        private long count;
+        private boolean inRecord;
+    }
+}
\ No newline at end of file
@@ -2,9 +2,12 @@ package com.bensamir.starter.response;
 
 import com.fasterxml.jackson.annotation.JsonAnyGetter;
 import com.fasterxml.jackson.annotation.JsonAnySetter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.springframework.data.domain.Page;
 
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Objects;
 
@@ -19,12 +22,18 @@ import java.util.Objects;
  *   <li>Counts and metrics</li>
  *   <li>Any other context-specific information</li>
  * </ul>
+ * Pagination details are held in a typed {@link Pagination} rather than the
+ * value map, so they are written without boxing. The typed accessors are ignored
+ * by Jackson; mappers without the {@code StarterKitJacksonModule} write the same
+ * flat object through {@link #getData()}.
  */
 public class MetaData {
+    private final Pagination pagination;
     private final Map<String, Object> data;
 
-    private MetaData(Map<String, Object> data) {
-        this.data = new HashMap<>(data);
+    private MetaData(Pagination pagination, Map<String, Object> data) {
+        this.pagination = pagination;
+        this.data = data;
     }
 
     /**
@@ -34,7 +43,7 @@ public class MetaData {
      * @return A metadata object
      */
     public static MetaData of(Map<String, Object> data) {
-        return new MetaData(new HashMap<>(data));
+        return new MetaData(null, new HashMap<>(data));
     }
 
     /**
@@ -43,7 +52,7 @@ public class MetaData {
      * @return An empty metadata object
      */
     public static MetaData empty() {
-        return new MetaData(new HashMap<>());
+        return new MetaData(null, Collections.emptyMap());
     }
 
     /**
@@ -56,12 +65,17 @@ public class MetaData {
      * @return Metadata with pagination information
      */
     public static MetaData pagination(long totalElements, int totalPages, int page, int size) {
-        Map<String, Object> paginationData = new HashMap<>();
-        paginationData.put("totalElements", totalElements);
-        paginationData.put("totalPages", totalPages);
-        paginationData.put("page", page);
-        paginationData.put("size", size);
-        return new MetaData(paginationData);
+        return new MetaData(new Pagination(totalElements, totalPages, page, size), Collections.emptyMap());
+    }
+
+    /**
+     * Creates metadata for pagination from a Spring Data Page.
+     *
+     * @param page The Spring Data Page
+     * @return Metadata with pagination information
+     */
+    public static MetaData pagination(Page<?> page) {
+        return pagination(page.getTotalElements(), page.getTotalPages(), page.getNumber(), page.getSize());
     }
 
     /**
@@ -74,15 +88,44 @@ public class MetaData {
     }
 
     /**
-     * Gets all metadata as a map.
+     * Gets all metadata as a map, including pagination details.
      *
      * @return An unmodifiable view of all metadata
      */
     @JsonAnyGetter
     public Map<String, Object> getData() {
+        if (pagination == null) {
+            return Collections.unmodifiableMap(data);
+        }
+        Map<String, Object> all = new LinkedHashMap<>();
+        all.put("totalElements", pagination.getTotalElements());
+        all.put("totalPages", pagination.getTotalPages());
+        all.put("page", pagination.getPage());
+        all.put("size", pagination.getSize());
+        all.putAll(data);
+        return Collections.unmodifiableMap(all);
+    }
+
+    /**
+     * Gets the custom metadata values, excluding pagination details.
+     *
+     * @return An unmodifiable view of the custom metadata
+     */
+    @JsonIgnore
+    public Map<String, Object> getValues() {
         return Collections.unmodifiableMap(data);
     }
 
+    /**
+     * Gets the pagination details.
+     *
+     * @return The pagination details, or null if this metadata carries none
+     */
+    @JsonIgnore
+    public Pagination getPagination() {
+        return pagination;
+    }
+
     /**
      * Gets a specific metadata value.
      *
@@ -90,6 +133,20 @@ public class MetaData {
      * @return The value, or null if not present
      */
     public Object get(String key) {
+        if (pagination != null) {
+            switch (key) {
+                case "totalElements":
+                    return pagination.getTotalElements();
+                case "totalPages":
+                    return pagination.getTotalPages();
+                case "page":
+                    return pagination.getPage();
+                case "size":
+                    return pagination.getSize();
+                default:
+                    break;
+            }
+        }
         return data.get(key);
     }
 
@@ -98,21 +155,83 @@ public class MetaData {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         MetaData metaData = (MetaData) o;
-        return Objects.equals(data, metaData.data);
+        return Objects.equals(pagination, metaData.pagination) &&
+                Objects.equals(data, metaData.data);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(data);
+        return Objects.hash(pagination, data);
     }
 
     @Override
     public String toString() {
         return "MetaData{" +
-                "data=" + data +
+                "pagination=" + pagination +
+                ", data=" + data +
                 '}';
     }
 
+    /**
+     * Typed pagination details.
+     */
+    public static final class Pagination {
+        private final long totalElements;
+        private final int totalPages;
+        private final int page;
+        private final int size;
+
+        private Pagination(long totalElements, int totalPages, int page, int size) {
+            this.totalElements = totalElements;
+            this.totalPages = totalPages;
+            this.page = page;
+            this.size = size;
+        }
+
+        // Getters
+        public long getTotalElements() {
+            return totalElements;
+        }
+
+        public int getTotalPages() {
+            return totalPages;
+        }
+
+        public int getPage() {
+            return page;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Pagination that = (Pagination) o;
+            return totalElements == that.totalElements &&
+                    totalPages == that.totalPages &&
+                    page == that.page &&
+                    size == that.size;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(totalElements, totalPages, page, size);
+        }
+
+        @Override
+        public String toString() {
+            return "Pagination{" +
+                    "totalElements=" + totalElements +
+                    ", totalPages=" + totalPages +
+                    ", page=" + page +
+                    ", size=" + size +
+                    '}';
+        }
+    }
+
     /**
      * Builder for creating MetaData objects incrementally.
      */
@@ -138,7 +257,7 @@ public class MetaData {
          * @return The constructed metadata
          */
         public MetaData build() {
-            return new MetaData(data);
+            return new MetaData(null, new HashMap<>(data));
         }
     }
 }
\ No newline at end of file
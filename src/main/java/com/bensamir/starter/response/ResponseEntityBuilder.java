@@ -1,11 +1,18 @@
 package com.bensamir.starter.response;
 
+import com.bensamir.starter.persistence.AuditedEntity;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 /**
  * Utility class for building standardized ResponseEntity objects.
@@ -17,7 +24,9 @@ import java.util.Map;
  *   <li>Created responses (201 Created)</li>
  *   <li>No Content responses (204 No Content)</li>
  *   <li>Error responses (4xx, 5xx)</li>
- *   <li>Paginated responses</li>
+ *   <li>Paginated responses, including slices, streamed and cursor-based pages</li>
+ *   <li>Streamed collections written as newline-delimited JSON</li>
+ *   <li>Conditional responses (304 Not Modified) for audited entities</li>
  * </ul>
  */
 public final class ResponseEntityBuilder {
@@ -51,6 +60,40 @@ public final class ResponseEntityBuilder {
         return ResponseEntity.status(status).body(ApiResponse.success(data));
     }
 
+    /**
+     * Creates a conditional success response for an audited entity (HTTP 200 OK or 304 Not Modified).
+     * <p>
+     * The ETag is derived from the entity's {@code version} and {@code updatedAt}, so an
+     * unchanged entity is answered with 304 before it is mapped or serialized. The ETag is
+     * weak because it identifies the entity state, not the exact bytes of the representation.
+     * <p>
+     * Usage example:
+     * <pre>
+     * &#64;GetMapping("/{id}")
+     * public ResponseEntity&lt;ApiResponse&lt;ProductDTO&gt;&gt; getProduct(&#64;PathVariable Long id, WebRequest request) {
+     *     return ResponseEntityBuilder.conditional(request, productService.findById(id), mapper::toDto);
+     * }
+     * </pre>
+     *
+     * @param request The current request, used to evaluate {@code If-None-Match}
+     * @param entity The audited entity
+     * @param mapper The function mapping the entity to the response payload
+     * @param <E> The entity type
+     * @param <T> The type of the payload data
+     * @return A ResponseEntity with the mapped entity, or an empty 304 response
+     */
+    public static <E extends AuditedEntity, T> ResponseEntity<ApiResponse<T>> conditional(
+            WebRequest request, E entity, Function<? super E, T> mapper) {
+        String eTag = entityTag(entity);
+        if (eTag == null) {
+            return success(mapper.apply(entity));
+        }
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        return ResponseEntity.ok().eTag(eTag).body(ApiResponse.success(mapper.apply(entity)));
+    }
+
     /**
      * Creates a paginated response with metadata (HTTP 200 OK).
      *
@@ -59,14 +102,90 @@ public final class ResponseEntityBuilder {
      * @return A ResponseEntity with the wrapped page and pagination metadata
      */
     public static <T> ResponseEntity<ApiResponse<PageResponse<T>>> page(Page<T> page) {
-        PageResponse<T> pageResponse = PageResponse.of(page);
-        MetaData metaData = MetaData.pagination(
-                page.getTotalElements(),
-                page.getTotalPages(),
-                page.getNumber(),
-                page.getSize()
-        );
-        return ResponseEntity.ok(ApiResponse.success(pageResponse, metaData));
+        // Pagination in meta is part of the documented response format; being typed, it costs no boxing
+        return ResponseEntity.ok(ApiResponse.success(PageResponse.of(page), MetaData.pagination(page)));
+    }
+
+    /**
+     * Creates a count-free paginated response (HTTP 200 OK).
+     * <p>
+     * Unlike {@link #page(Page)}, no total count is required, so the underlying
+     * query can skip the {@code COUNT(*)} round trip.
+     *
+     * @param slice The Spring Data Slice, e.g. from {@code BaseRepository.findSliceBy}
+     * @param <T> The type of content items
+     * @return A ResponseEntity with the wrapped slice
+     */
+    public static <T> ResponseEntity<ApiResponse<SliceResponse<T>>> slice(Slice<T> slice) {
+        return ResponseEntity.ok(ApiResponse.success(SliceResponse.of(slice)));
+    }
+
+    /**
+     * Creates a count-free paginated response with an estimated total (HTTP 200 OK).
+     *
+     * @param slice The Spring Data Slice
+     * @param estimatedTotalElements The estimated total, e.g. from {@code EstimatedCountCache}
+     * @param <T> The type of content items
+     * @return A ResponseEntity with the wrapped slice
+     */
+    public static <T> ResponseEntity<ApiResponse<SliceResponse<T>>> slice(Slice<T> slice,
+                                                                          long estimatedTotalElements) {
+        return ResponseEntity.ok(ApiResponse.success(SliceResponse.of(slice, estimatedTotalElements)));
+    }
+
+    /**
+     * Creates a cursor-paginated response (HTTP 200 OK).
+     * <p>
+     * The response carries an opaque {@code nextCursor} to pass back for the following window.
+     *
+     * @param window The keyset-scrolled window, e.g. from {@code BaseRepository.findWindow}
+     * @param <T> The type of content items
+     * @return A ResponseEntity with the wrapped cursor page
+     */
+    public static <T> ResponseEntity<ApiResponse<CursorPageResponse<T>>> cursorPage(Window<T> window) {
+        return ResponseEntity.ok(ApiResponse.success(CursorPageResponse.of(window)));
+    }
+
+    /**
+     * Creates a paginated response whose content is serialized as it is produced (HTTP 200 OK).
+     * <p>
+     * Use this for large pages to avoid holding the full page content in memory.
+     *
+     * @param page The streaming page
+     * @param <T> The type of content items
+     * @return A ResponseEntity with the wrapped streaming page
+     */
+    public static <T> ResponseEntity<ApiResponse<StreamingPageResponse<T>>> streamingPage(
+            StreamingPageResponse<T> page) {
+        return ResponseEntity.ok(ApiResponse.success(page));
+    }
+
+    /**
+     * Creates a streamed collection response written as newline-delimited JSON (HTTP 200 OK).
+     * <p>
+     * Elements are written one per line as they are pulled from the stream, so the
+     * response starts immediately and memory use does not depend on the result size.
+     * The stream is closed once written.
+     *
+     * @param stream The stream of elements
+     * @param <T> The type of streamed elements
+     * @return A ResponseEntity with the streaming body
+     */
+    public static <T> ResponseEntity<StreamingResponseBody> stream(Stream<T> stream) {
+        return stream(JsonStreamingResponseBody.of(stream));
+    }
+
+    /**
+     * Creates a streamed collection response from a configured streaming body (HTTP 200 OK).
+     *
+     * @param body The streaming body
+     * @param <T> The type of streamed elements
+     * @return A ResponseEntity with the streaming body and its content type
+     */
+    public static <T> ResponseEntity<StreamingResponseBody> stream(JsonStreamingResponseBody<T> body) {
+        return ResponseEntity.ok()
+                .contentType(body.getContentType())
+                .body(body);
     }
 
     /**
@@ -225,4 +344,18 @@ public final class ResponseEntityBuilder {
     public static <T> ResponseEntity<ApiResponse<T>> serviceUnavailable(String code, String message) {
         return error(code, message, HttpStatus.SERVICE_UNAVAILABLE);
     }
+
+    private static String entityTag(AuditedEntity entity) {
+        if (entity.getVersion() == null && entity.getUpdatedAt() == null) {
+            return null;
+        }
+        StringBuilder tag = new StringBuilder("W/\"");
+        if (entity.getVersion() != null) {
+            tag.append('v').append(entity.getVersion());
+        }
+        if (entity.getUpdatedAt() != null) {
+            tag.append('-').append(Long.toHexString(entity.getUpdatedAt().toEpochMilli()));
+        }
+        return tag.append('"').toString();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,127 @@
+package com.bensamir.starter.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Standard response wrapper for count-free paginated data.
+ * <p>
+ * This class provides a consistent structure for slice responses, including:
+ * <ul>
+ *   <li>Content for the current page</li>
+ *   <li>Page number and size, and whether more content follows</li>
+ *   <li>An optional estimated total, e.g. from an {@code EstimatedCountCache}</li>
+ * </ul>
+ * A slice is fetched with a single query for {@code size + 1} rows, so no
+ * count query is needed to know whether a next page exists.
+ *
+ * @param <T> The type of content items
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SliceResponse<T> {
+    private final List<T> content;
+    private final int page;
+    private final int size;
+    private final int numberOfElements;
+    private final boolean first;
+    private final boolean hasNext;
+    private final Long estimatedTotalElements;
+
+    private SliceResponse(List<T> content, int page, int size, boolean first, boolean hasNext,
+                          Long estimatedTotalElements) {
+        this.content = content;
+        this.page = page;
+        this.size = size;
+        this.numberOfElements = content.size();
+        this.first = first;
+        this.hasNext = hasNext;
+        this.estimatedTotalElements = estimatedTotalElements;
+    }
+
+    /**
+     * Creates a slice response from a Spring Data Slice.
+     *
+     * @param slice The Spring Data Slice
+     * @param <T> The type of content items
+     * @return A slice response
+     */
+    public static <T> SliceResponse<T> of(Slice<T> slice) {
+        return new SliceResponse<>(slice.getContent(), slice.getNumber(), slice.getSize(),
+                slice.isFirst(), slice.hasNext(), null);
+    }
+
+    /**
+     * Creates a slice response from a Spring Data Slice with an estimated total.
+     *
+     * @param slice The Spring Data Slice
+     * @param estimatedTotalElements The estimated total number of elements
+     * @param <T> The type of content items
+     * @return A slice response
+     */
+    public static <T> SliceResponse<T> of(Slice<T> slice, long estimatedTotalElements) {
+        return new SliceResponse<>(slice.getContent(), slice.getNumber(), slice.getSize(),
+                slice.isFirst(), slice.hasNext(), estimatedTotalElements);
+    }
+
+    // Getters
+    public List<T> getContent() {
+        return content;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getNumberOfElements() {
+        return numberOfElements;
+    }
+
+    public boolean isFirst() {
+        return first;
+    }
+
+    public boolean isHasNext() {
+        return hasNext;
+    }
+
+    public Long getEstimatedTotalElements() {
+        return estimatedTotalElements;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        SliceResponse<?> that = (SliceResponse<?>) o;
+        return page == that.page &&
+                size == that.size &&
+                first == that.first &&
+                hasNext == that.hasNext &&
+                Objects.equals(content, that.content) &&
+                Objects.equals(estimatedTotalElements, that.estimatedTotalElements);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(content, page, size, first, hasNext, estimatedTotalElements);
+    }
+
+    @Override
+    public String toString() {
+        return "SliceResponse{" +
+                "content.size=" + numberOfElements +
+                ", page=" + page +
+                ", size=" + size +
+                ", first=" + first +
+                ", hasNext=" + hasNext +
+                ", estimatedTotalElements=" + estimatedTotalElements +
+                '}';
+    }
+}
\ No newline at end of file
@@ -0,0 +1,284 @@
+package com.bensamir.starter.response;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Paginated response whose content is serialized while it is being produced.
+ * <p>
+ * Unlike {@link PageResponse}, the page content is never materialized as a list.
+ * Elements are pulled from a {@link Stream} or fetched slice by slice and written
+ * one at a time, so only the current chunk of entities is referenced at any point:
+ * <ul>
+ *   <li>Page fields known up front ({@code page}, {@code size}, {@code first}) are written first</li>
+ *   <li>Each element is serialized as soon as it is produced</li>
+ *   <li>After every chunk the output is flushed and the release hook is invoked,
+ *       e.g. to clear the persistence context</li>
+ *   <li>{@code numberOfElements} and {@code last} are written once the content is complete</li>
+ * </ul>
+ * <p>
+ * Usage example:
+ * <pre>
+ * &#64;GetMapping
+ * public ResponseEntity&lt;ApiResponse&lt;StreamingPageResponse&lt;UserDto&gt;&gt;&gt; list(Pageable pageable) {
+ *     return ResponseEntityBuilder.streamingPage(
+ *             StreamingPageResponse.ofSlices(p -&gt; userRepository.findSliceBy(p).map(mapper::toDto), pageable, 500)
+ *                     .onChunk(entityManager::clear));
+ * }
+ * </pre>
+ * The source is consumed during serialization, after the controller has returned.
+ * Stream sources that need a transaction can be wrapped with {@link #executeWithin(Consumer)}.
+ * A streaming response can only be serialized once.
+ *
+ * @param <T> The type of content items
+ */
+@JsonSerialize(using = StreamingPageResponse.StreamingPageSerializer.class)
+public final class StreamingPageResponse<T> {
+    private static final int DEFAULT_CHUNK_SIZE = 100;
+
+    private final Function<Consumer<? super T>, Boolean> producer;
+    private final int page;
+    private final int size;
+    private final int chunkSize;
+    private final AtomicBoolean consumed = new AtomicBoolean();
+    private Long totalElements;
+    private Runnable chunkHook = () -> { };
+    private Consumer<Runnable> executor = Runnable::run;
+
+    private StreamingPageResponse(Function<Consumer<? super T>, Boolean> producer, int page, int size,
+                                  int chunkSize) {
+        this.producer = producer;
+        this.page = page;
+        this.size = size;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Creates a streaming page from a stream supplier.
+     * <p>
+     * The stream must start at the requested page and be limited to one element more
+     * than the page size, e.g. {@code setMaxResults(pageable.getPageSize() + 1)}. The
+     * extra element is not written; it only tells whether a next page exists, so a
+     * stream limited to exactly the page size reports every full page as the last one.
+     * The stream is opened at serialization time and closed once written.
+     * <p>
+     * Usage example:
+     * <pre>
+     * StreamingPageResponse.ofStream(() -&gt; entityManager.createQuery("from User u order by u.id", User.class)
+     *         .setFirstResult((int) pageable.getOffset())
+     *         .setMaxResults(pageable.getPageSize() + 1)
+     *         .getResultStream()
+     *         .map(mapper::toDto), pageable);
+     * </pre>
+     *
+     * @param source Supplier opening the stream of page elements plus one
+     * @param pageable The requested page
+     * @param <T> The type of content items
+     * @return A streaming page response
+     */
+    public static <T> StreamingPageResponse<T> ofStream(Supplier<Stream<T>> source, Pageable pageable) {
+        Objects.requireNonNull(source, "source must not be null");
+        int size = pageable.isPaged() ? pageable.getPageSize() : Integer.MAX_VALUE;
+
+        return new StreamingPageResponse<T>(sink -> {
+            int written = 0;
+            try (Stream<T> stream = source.get()) {
+                Iterator<T> iterator = stream.iterator();
+                while (written < size && iterator.hasNext()) {
+                    sink.accept(iterator.next());
+                    written++;
+                }
+                // The element after the page is only a probe for a next page
+                return written < size || !iterator.hasNext();
+            }
+        }, pageable.isPaged() ? pageable.getPageNumber() : 0, size, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Creates a streaming page that fetches the requested page in slices of {@code chunkSize}.
+     * <p>
+     * Each slice is written and released before the next one is fetched. If the page
+     * size is not a multiple of the chunk size, the page is fetched as a single slice.
+     *
+     * @param fetcher Function fetching a slice for a pageable
+     * @param pageable The requested page
+     * @param chunkSize The number of elements fetched per query
+     * @param <T> The type of content items
+     * @return A streaming page response
+     */
+    public static <T> StreamingPageResponse<T> ofSlices(Function<Pageable, Slice<T>> fetcher, Pageable pageable,
+                                                        int chunkSize) {
+        Objects.requireNonNull(fetcher, "fetcher must not be null");
+        if (pageable.isUnpaged()) {
+            throw new IllegalArgumentException("Slice-based streaming requires a paged request");
+        }
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+
+        int size = pageable.getPageSize();
+        int chunk = size % chunkSize == 0 ? chunkSize : size;
+        int firstChunk = (int) (pageable.getOffset() / chunk);
+
+        return new StreamingPageResponse<T>(sink -> {
+            int written = 0;
+            for (int index = firstChunk; ; index++) {
+                Slice<T> slice = fetcher.apply(PageRequest.of(index, chunk, pageable.getSort()));
+                for (T element : slice) {
+                    sink.accept(element);
+                    written++;
+                }
+                if (!slice.hasNext()) {
+                    return true;
+                }
+                if (written >= size) {
+                    return false;
+                }
+            }
+        }, pageable.getPageNumber(), size, chunk);
+    }
+
+    /**
+     * Sets the total number of elements, if known, so it is included in the response.
+     *
+     * @param totalElements The total number of elements
+     * @return This response for method chaining
+     */
+    public StreamingPageResponse<T> totalElements(long totalElements) {
+        this.totalElements = totalElements;
+        return this;
+    }
+
+    /**
+     * Sets a hook invoked after each chunk of elements has been written.
+     * <p>
+     * Typically used to detach written entities, e.g. {@code entityManager::clear}.
+     *
+     * @param chunkHook The hook to invoke
+     * @return This response for method chaining
+     */
+    public StreamingPageResponse<T> onChunk(Runnable chunkHook) {
+        this.chunkHook = Objects.requireNonNull(chunkHook, "chunkHook must not be null");
+        return this;
+    }
+
+    /**
+     * Sets a wrapper around content production, e.g. to run it inside a transaction.
+     * <p>
+     * Usage example: {@code executeWithin(work -> transactionTemplate.executeWithoutResult(status -> work.run()))}.
+     *
+     * @param executor Consumer that must run the given work exactly once
+     * @return This response for method chaining
+     */
+    public StreamingPageResponse<T> executeWithin(Consumer<Runnable> executor) {
+        this.executor = Objects.requireNonNull(executor, "executor must not be null");
+        return this;
+    }
+
+    // Getters
+    public int getPage() {
+        return page;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public Long getTotalElements() {
+        return totalElements;
+    }
+
+    @Override
+    public String toString() {
+        return "StreamingPageResponse{" +
+                "page=" + page +
+                ", size=" + size +
+                ", chunkSize=" + chunkSize +
+                ", totalElements=" + totalElements +
+                '}';
+    }
+
+    /**
+     * Writes the page content element by element.
+     *
+     * @param gen The JSON generator
+     * @param provider The serializer provider
+     * @throws IOException if writing fails
+     */
+    private void writeContent(JsonGenerator gen, SerializerProvider provider) throws IOException {
+        if (!consumed.compareAndSet(false, true)) {
+            throw new IllegalStateException("StreamingPageResponse can only be serialized once");
+        }
+
+        int[] count = new int[1];
+        boolean[] last = new boolean[1];
+
+        gen.writeFieldName("content");
+        gen.writeStartArray();
+        try {
+            executor.accept(() -> last[0] = producer.apply(element -> {
+                try {
+                    provider.defaultSerializeValue(element, gen);
+                    if (++count[0] % chunkSize == 0) {
+                        gen.flush();
+                        chunkHook.run();
+                    }
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            }));
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+        if (count[0] % chunkSize != 0) {
+            chunkHook.run();
+        }
+        gen.writeEndArray();
+
+        gen.writeNumberField("numberOfElements", count[0]);
+        gen.writeBooleanField("last", last[0]);
+    }
+
+    /**
+     * Jackson serializer writing the page incrementally.
+     */
+    public static class StreamingPageSerializer extends StdSerializer<StreamingPageResponse<?>> {
+
+        /**
+         * Creates a new StreamingPageSerializer.
+         */
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        public StreamingPageSerializer() {
+            super((Class) StreamingPageResponse.class);
+        }
+
+        @Override
+        public void serialize(StreamingPageResponse<?> value, JsonGenerator gen, SerializerProvider provider)
+                throws IOException {
+            gen.writeStartObject(value);
+            gen.writeNumberField("page", value.page);
+            gen.writeNumberField("size", value.size);
+            gen.writeBooleanField("first", value.page == 0);
+            if (value.totalElements != null) {
+                gen.writeNumberField("totalElements", value.totalElements);
+            }
+            value.writeContent(gen, provider);
+            gen.writeEndObject();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,88 @@
+package com.bensamir.starter.response.fields;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Compiled sparse fieldset, as a tree of selected property names.
+ * <p>
+ * A node without children selects the whole property; {@link #ALL} disables
+ * filtering below a selected property.
+ */
+final class FieldTree {
+
+    /**
+     * Tree selecting every property.
+     */
+    static final FieldTree ALL = new FieldTree(Collections.emptyMap());
+
+    private static final int MAX_DEPTH = 8;
+
+    private final Map<String, FieldTree> children;
+
+    private FieldTree(Map<String, FieldTree> children) {
+        this.children = children;
+    }
+
+    /**
+     * Parses a fields expression such as {@code id,name,address.city}.
+     *
+     * @param expression the fields expression
+     * @return the compiled tree, or null if the expression selects nothing
+     */
+    static FieldTree parse(String expression) {
+        Map<String, Object> root = new HashMap<>();
+        for (String path : expression.split(",")) {
+            String trimmed = path.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            String[] segments = trimmed.split("\\.", MAX_DEPTH);
+            Map<String, Object> node = root;
+            for (int i = 0; i < segments.length; i++) {
+                String segment = segments[i].trim();
+                if (segment.isEmpty()) {
+                    break;
+                }
+                if (i == segments.length - 1) {
+                    // A selected leaf wins over narrower selections of the same property
+                    node.put(segment, Boolean.TRUE);
+                } else {
+                    Object child = node.get(segment);
+                    if (child == Boolean.TRUE) {
+                        break;
+                    }
+                    if (child == null) {
+                        child = new HashMap<String, Object>();
+                        node.put(segment, child);
+                    }
+                    node = castNode(child);
+                }
+            }
+        }
+        return root.isEmpty() ? null : compile(root);
+    }
+
+    /**
+     * Returns the subtree selected for a property.
+     *
+     * @param name the property name
+     * @return the subtree, {@link #ALL} for a fully selected property, or null if not selected
+     */
+    FieldTree child(String name) {
+        return children.get(name);
+    }
+
+    private static FieldTree compile(Map<String, Object> node) {
+        Map<String, FieldTree> compiled = new HashMap<>(node.size() * 2);
+        node.forEach((name, child) -> compiled.put(name,
+                child == Boolean.TRUE ? ALL : compile(castNode(child))));
+        return new FieldTree(compiled);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> castNode(Object node) {
+        return (Map<String, Object>) node;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,38 @@
+package com.bensamir.starter.response.fields;
+
+import com.fasterxml.jackson.databind.ser.BeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.PropertyFilter;
+
+/**
+ * Filter provider carrying the sparse fieldset of the current response.
+ * <p>
+ * Jackson passes the filter provider of the writer to every serializer, which makes
+ * it the vehicle for request-scoped selection without thread-locals. Lookups of
+ * regular {@code @JsonFilter} filters are delegated to the mapper's own provider.
+ */
+public class SparseFieldsFilterProvider extends FilterProvider {
+
+    private final FieldTree fields;
+    private final FilterProvider delegate;
+
+    SparseFieldsFilterProvider(FieldTree fields, FilterProvider delegate) {
+        this.fields = fields;
+        this.delegate = delegate;
+    }
+
+    FieldTree getFields() {
+        return fields;
+    }
+
+    @Override
+    @Deprecated
+    public BeanPropertyFilter findFilter(Object filterId) {
+        return delegate != null ? delegate.findFilter(filterId) : null;
+    }
+
+    @Override
+    public PropertyFilter findPropertyFilter(Object filterId, Object valueToFilter) {
+        return delegate != null ? delegate.findPropertyFilter(filterId, valueToFilter) : null;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,148 @@
+package com.bensamir.starter.response.fields;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsonFormatVisitors.JsonObjectFormatVisitor;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.util.NameTransformer;
+
+import java.util.List;
+
+/**
+ * Jackson module applying sparse fieldsets while beans are serialized.
+ * <p>
+ * Every bean property writer is wrapped once, when its serializer is built. At
+ * serialization time the wrapper checks whether a {@link SparseFieldsFilterProvider}
+ * is active and skips unselected properties before their getter is called, so no
+ * intermediate tree or map is built. The position in the field tree is tracked in
+ * a serializer attribute while descending into selected properties.
+ * <p>
+ * Wrappers delegate to the writers they replace rather than copying them, so the
+ * optimized writers installed by Blackbird, whose modifier runs first since it is
+ * registered last, keep serializing the selected properties.
+ * <p>
+ * The starter's own envelope types are not filtered; the selection applies to the
+ * response data, or to each element of a paginated response.
+ */
+public class SparseFieldsModule extends SimpleModule {
+
+    private static final Object CURRENT_ATTRIBUTE = SparseFieldsModule.class.getName() + ".current";
+    private static final String[] ENVELOPE_PACKAGES = {
+            "com.bensamir.starter.response.",
+            "com.bensamir.starter.exception."
+    };
+
+    /**
+     * Creates a new SparseFieldsModule.
+     */
+    public SparseFieldsModule() {
+        super("SparseFieldsModule");
+        setSerializerModifier(new BeanSerializerModifier() {
+            @Override
+            public List<BeanPropertyWriter> changeProperties(SerializationConfig config, BeanDescription beanDesc,
+                                                             List<BeanPropertyWriter> beanProperties) {
+                if (isEnvelope(beanDesc.getBeanClass())) {
+                    return beanProperties;
+                }
+                for (int i = 0; i < beanProperties.size(); i++) {
+                    beanProperties.set(i, new SparseFieldsPropertyWriter(beanProperties.get(i)));
+                }
+                return beanProperties;
+            }
+        });
+    }
+
+    private static boolean isEnvelope(Class<?> type) {
+        String name = type.getName();
+        for (String envelopePackage : ENVELOPE_PACKAGES) {
+            if (name.startsWith(envelopePackage)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Property writer that skips properties outside the active fieldset.
+     */
+    private static final class SparseFieldsPropertyWriter extends BeanPropertyWriter {
+        private static final long serialVersionUID = 1L;
+
+        private final BeanPropertyWriter delegate;
+
+        private SparseFieldsPropertyWriter(BeanPropertyWriter delegate) {
+            super(delegate);
+            this.delegate = delegate;
+        }
+
+        @Override
+        public BeanPropertyWriter rename(NameTransformer transformer) {
+            return new SparseFieldsPropertyWriter(delegate.rename(transformer));
+        }
+
+        @Override
+        public void assignSerializer(JsonSerializer<Object> ser) {
+            delegate.assignSerializer(ser);
+            super.assignSerializer(ser);
+        }
+
+        @Override
+        public void assignNullSerializer(JsonSerializer<Object> nullSer) {
+            delegate.assignNullSerializer(nullSer);
+            super.assignNullSerializer(nullSer);
+        }
+
+        @Override
+        public void serializeAsElement(Object bean, JsonGenerator gen, SerializerProvider prov) throws Exception {
+            delegate.serializeAsElement(bean, gen, prov);
+        }
+
+        @Override
+        public void serializeAsOmittedField(Object bean, JsonGenerator gen, SerializerProvider prov)
+                throws Exception {
+            delegate.serializeAsOmittedField(bean, gen, prov);
+        }
+
+        @Override
+        public void depositSchemaProperty(JsonObjectFormatVisitor visitor, SerializerProvider provider)
+                throws JsonMappingException {
+            delegate.depositSchemaProperty(visitor, provider);
+        }
+
+        @Override
+        public void serializeAsField(Object bean, JsonGenerator gen, SerializerProvider prov) throws Exception {
+            FilterProvider filters = prov.getFilterProvider();
+            if (!(filters instanceof SparseFieldsFilterProvider)) {
+                delegate.serializeAsField(bean, gen, prov);
+                return;
+            }
+
+            FieldTree current = (FieldTree) prov.getAttribute(CURRENT_ATTRIBUTE);
+            if (current == null) {
+                current = ((SparseFieldsFilterProvider) filters).getFields();
+            }
+            if (current == FieldTree.ALL) {
+                delegate.serializeAsField(bean, gen, prov);
+                return;
+            }
+
+            FieldTree selected = current.child(getName());
+            if (selected == null) {
+                return;
+            }
+            prov.setAttribute(CURRENT_ATTRIBUTE, selected);
+            try {
+                delegate.serializeAsField(bean, gen, prov);
+            } finally {
+                prov.setAttribute(CURRENT_ATTRIBUTE, current);
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,137 @@
+package com.bensamir.starter.response.fields;
+
+import com.bensamir.starter.apidocs.annotation.ApiFields;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.AbstractMappingJacksonResponseBodyAdvice;
+
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Response body advice applying the {@code fields} query parameter of {@link ApiFields} handlers.
+ * <p>
+ * Field expressions are compiled once per response type into a {@link FieldTree} and
+ * cached; the tree is handed to the serializer through a {@link SparseFieldsFilterProvider}
+ * on the {@link MappingJacksonValue}, and applied by the {@link SparseFieldsModule}.
+ * Once the cache is full, the oldest field sets are evicted first.
+ * <p>
+ * The advice is ordered before the response cache's advice, which serializes the
+ * filtered body.
+ */
+@ControllerAdvice
+@Order(Ordered.LOWEST_PRECEDENCE - 10)
+public class SparseFieldsResponseBodyAdvice extends AbstractMappingJacksonResponseBodyAdvice {
+
+    /**
+     * Name of the query parameter selecting the fields.
+     */
+    public static final String FIELDS_PARAMETER = "fields";
+
+    private static final int MAX_EXPRESSION_LENGTH = 2048;
+
+    private final ObjectMapper objectMapper;
+    private final int maxFieldSets;
+    private final Map<FieldSetKey, FieldTree> fieldSets = new ConcurrentHashMap<>();
+    private final Queue<FieldSetKey> insertionOrder = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Creates a new SparseFieldsResponseBodyAdvice.
+     *
+     * @param objectMapper the shared ObjectMapper, whose filter provider is preserved
+     * @param maxFieldSets the maximum number of compiled field sets kept in the cache
+     */
+    public SparseFieldsResponseBodyAdvice(ObjectMapper objectMapper, int maxFieldSets) {
+        this.objectMapper = objectMapper;
+        this.maxFieldSets = maxFieldSets;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return super.supports(returnType, converterType) && returnType.hasMethodAnnotation(ApiFields.class);
+    }
+
+    @Override
+    protected void beforeBodyWriteInternal(MappingJacksonValue bodyContainer, MediaType contentType,
+                                           MethodParameter returnType, ServerHttpRequest request,
+                                           ServerHttpResponse response) {
+        if (!(request instanceof ServletServerHttpRequest)) {
+            return;
+        }
+        String expression = ((ServletServerHttpRequest) request).getServletRequest().getParameter(FIELDS_PARAMETER);
+        if (expression == null || expression.isBlank() || expression.length() > MAX_EXPRESSION_LENGTH) {
+            return;
+        }
+
+        FieldTree fields = compile(returnType.getGenericParameterType(), expression);
+        if (fields != null) {
+            bodyContainer.setFilters(new SparseFieldsFilterProvider(fields,
+                    objectMapper.getSerializationConfig().getFilterProvider()));
+        }
+    }
+
+    private FieldTree compile(Type type, String expression) {
+        FieldSetKey key = new FieldSetKey(type, expression);
+        FieldTree fields = fieldSets.get(key);
+        if (fields == null) {
+            fields = FieldTree.parse(expression);
+            if (fields != null && fieldSets.putIfAbsent(key, fields) == null) {
+                insertionOrder.add(key);
+                evict();
+            }
+        }
+        return fields;
+    }
+
+    private void evict() {
+        // Arbitrary expressions must not grow the cache without bound
+        FieldSetKey oldest;
+        while (fieldSets.size() > maxFieldSets && (oldest = insertionOrder.poll()) != null) {
+            fieldSets.remove(oldest);
+        }
+    }
+
+    /**
+     * Cache key of a compiled field set: the declared response type and the expression.
+     */
+    private static final class FieldSetKey {
+        private final Type type;
+        private final String expression;
+        private final int hash;
+
+        private FieldSetKey(Type type, String expression) {
+            this.type = type;
+            this.expression = expression;
+            this.hash = 31 * type.hashCode() + expression.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof FieldSetKey)) {
+                return false;
+            }
+            FieldSetKey key = (FieldSetKey) other;
+            return hash == key.hash && type.equals(key.type) && expression.equals(key.expression);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,73 @@
+package com.bensamir.starter.response.json;
+
+import com.bensamir.starter.exception.ApiError;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Hand-written serializer for {@link ApiError}.
+ * <p>
+ * Matches the annotated mapping of the class: the timestamp is formatted as
+ * {@code yyyy-MM-dd'T'HH:mm:ss} and null or empty fields are omitted, as with
+ * {@code JsonInclude.Include.NON_EMPTY}.
+ */
+public class ApiErrorSerializer extends StdSerializer<ApiError> {
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+
+    /**
+     * Creates a new ApiErrorSerializer.
+     */
+    public ApiErrorSerializer() {
+        super(ApiError.class);
+    }
+
+    @Override
+    public void serialize(ApiError value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(value);
+        if (value.getTimestamp() != null) {
+            gen.writeStringField("timestamp", TIMESTAMP_FORMAT.format(value.getTimestamp()));
+        }
+        gen.writeNumberField("status", value.getStatus());
+        writeNonEmpty(gen, "errorCode", value.getErrorCode());
+        writeNonEmpty(gen, "error", value.getError());
+        writeNonEmpty(gen, "message", value.getMessage());
+        writeNonEmpty(gen, "path", value.getPath());
+
+        List<String> stackTrace = value.getStackTrace();
+        if (stackTrace != null && !stackTrace.isEmpty()) {
+            gen.writeArrayFieldStart("stackTrace");
+            for (String line : stackTrace) {
+                gen.writeString(line);
+            }
+            gen.writeEndArray();
+        }
+
+        List<ApiError.ValidationError> validationErrors = value.getValidationErrors();
+        if (validationErrors != null && !validationErrors.isEmpty()) {
+            gen.writeArrayFieldStart("validationErrors");
+            for (ApiError.ValidationError validationError : validationErrors) {
+                gen.writeStartObject(validationError);
+                if (validationError.getField() != null) {
+                    gen.writeStringField("field", validationError.getField());
+                }
+                if (validationError.getMessage() != null) {
+                    gen.writeStringField("message", validationError.getMessage());
+                }
+                gen.writeEndObject();
+            }
+            gen.writeEndArray();
+        }
+        gen.writeEndObject();
+    }
+
+    private static void writeNonEmpty(JsonGenerator gen, String name, String value) throws IOException {
+        if (value != null && !value.isEmpty()) {
+            gen.writeStringField(name, value);
+        }
+    }
+}
\ No newline at end of file
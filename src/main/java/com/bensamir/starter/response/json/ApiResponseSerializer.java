@@ -0,0 +1,45 @@
+package com.bensamir.starter.response.json;
+
+import com.bensamir.starter.response.ApiResponse;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Hand-written serializer for {@link ApiResponse}.
+ * <p>
+ * Writes the envelope fields directly instead of going through bean introspection.
+ * The payload, error and timestamp are delegated to the serializers configured
+ * on the mapper, so date formats and custom payload serializers still apply.
+ * Null fields are omitted, matching {@code JsonInclude.Include.NON_NULL}.
+ */
+public class ApiResponseSerializer extends StdSerializer<ApiResponse<?>> {
+
+    /**
+     * Creates a new ApiResponseSerializer.
+     */
+    public ApiResponseSerializer() {
+        super(ApiResponse.class, false);
+    }
+
+    @Override
+    public void serialize(ApiResponse<?> value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(value);
+        gen.writeBooleanField("success", value.isSuccess());
+        if (value.getData() != null) {
+            provider.defaultSerializeField("data", value.getData(), gen);
+        }
+        if (value.getError() != null) {
+            provider.defaultSerializeField("error", value.getError(), gen);
+        }
+        if (value.getTimestamp() != null) {
+            provider.defaultSerializeField("timestamp", value.getTimestamp(), gen);
+        }
+        if (value.getMeta() != null) {
+            provider.defaultSerializeField("meta", value.getMeta(), gen);
+        }
+        gen.writeEndObject();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,41 @@
+package com.bensamir.starter.response.json;
+
+import com.bensamir.starter.response.MetaData;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Hand-written serializer for {@link MetaData}.
+ * <p>
+ * Produces the same flat object as the {@code @JsonAnyGetter} mapping: typed
+ * pagination details are written first as primitives, followed by the custom values.
+ */
+public class MetaDataSerializer extends StdSerializer<MetaData> {
+
+    /**
+     * Creates a new MetaDataSerializer.
+     */
+    public MetaDataSerializer() {
+        super(MetaData.class);
+    }
+
+    @Override
+    public void serialize(MetaData value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(value);
+        MetaData.Pagination pagination = value.getPagination();
+        if (pagination != null) {
+            gen.writeNumberField("totalElements", pagination.getTotalElements());
+            gen.writeNumberField("totalPages", pagination.getTotalPages());
+            gen.writeNumberField("page", pagination.getPage());
+            gen.writeNumberField("size", pagination.getSize());
+        }
+        for (Map.Entry<String, Object> entry : value.getValues().entrySet()) {
+            provider.defaultSerializeField(entry.getKey(), entry.getValue(), gen);
+        }
+        gen.writeEndObject();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,103 @@
+package com.bensamir.starter.response.json;
+
+import com.bensamir.starter.metrics.StarterMetrics;
+import com.bensamir.starter.web.support.RouteResolver;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+
+/**
+ * Jackson message converter that records serialization time and response size per route.
+ * <p>
+ * The following metrics are published, tagged with the matched route pattern:
+ * <ul>
+ *   <li>{@code starter.json.serialization} - time spent writing the body</li>
+ *   <li>{@code starter.json.bytes} - number of bytes written</li>
+ * </ul>
+ * The converter uses the same {@link ObjectMapper} as the converter it replaces.
+ */
+public class MeteredJacksonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    private final StarterMetrics metrics;
+
+    /**
+     * Creates a new MeteredJacksonHttpMessageConverter.
+     *
+     * @param objectMapper The shared ObjectMapper
+     * @param metrics The metrics facade
+     */
+    public MeteredJacksonHttpMessageConverter(ObjectMapper objectMapper, StarterMetrics metrics) {
+        super(objectMapper);
+        this.metrics = metrics;
+    }
+
+    @Override
+    protected void writeInternal(Object object, @Nullable Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        CountingOutputMessage counting = new CountingOutputMessage(outputMessage);
+        long start = System.nanoTime();
+        try {
+            super.writeInternal(object, type, counting);
+        } finally {
+            String route = RouteResolver.current();
+            metrics.recordNanos("starter.json.serialization", System.nanoTime() - start, "route", route);
+            metrics.recordAmount("starter.json.bytes", counting.count, "route", route);
+        }
+    }
+
+    /**
+     * Output message that counts the bytes written to its body.
+     */
+    private static final class CountingOutputMessage implements HttpOutputMessage {
+        private final HttpOutputMessage delegate;
+        private OutputStream body;
+        private long count;
+
+        private CountingOutputMessage(HttpOutputMessage delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public OutputStream getBody() throws IOException {
+            if (body == null) {
+                OutputStream target = delegate.getBody();
+                body = new OutputStream() {
+                    @Override
+                    public void write(int b) throws IOException {
+                        target.write(b);
+                        count++;
+                    }
+
+                    @Override
+                    public void write(byte[] b, int off, int len) throws IOException {
+                        target.write(b, off, len);
+                        count += len;
+                    }
+
+                    @Override
+                    public void flush() throws IOException {
+                        target.flush();
+                    }
+
+                    @Override
+                    public void close() throws IOException {
+                        target.close();
+                    }
+                };
+            }
+            return body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,120 @@
+package com.bensamir.starter.response.json;
+
+import com.bensamir.starter.exception.ApiError;
+import com.bensamir.starter.properties.StarterKitProperties;
+import com.bensamir.starter.properties.StarterKitProperties.ResponseProperties.JsonProperties.RecyclerPool;
+import com.bensamir.starter.response.ApiResponse;
+import com.bensamir.starter.response.CursorPageResponse;
+import com.bensamir.starter.response.ErrorResponse;
+import com.bensamir.starter.response.MetaData;
+import com.bensamir.starter.response.PageResponse;
+import com.bensamir.starter.response.SliceResponse;
+import com.fasterxml.jackson.core.util.BufferRecycler;
+import com.fasterxml.jackson.core.util.JsonRecyclerPools;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.ClassUtils;
+
+import java.util.List;
+
+/**
+ * Customizes Spring Boot's shared {@link ObjectMapper} for API responses.
+ * <p>
+ * Instead of building mappers of its own, the starter tunes the single mapper
+ * that Spring Boot auto-configures, so serializer caches are shared and
+ * application customizations apply everywhere. The customizer:
+ * <ul>
+ *   <li>Writes dates as ISO-8601 strings</li>
+ *   <li>Registers the Blackbird module, if on the classpath, to replace reflective
+ *       property access with generated lambdas</li>
+ *   <li>Selects the buffer recycler pool of the JSON factory</li>
+ *   <li>Pre-builds the serializers of the starter's response types</li>
+ * </ul>
+ * When no recycler pool is configured, a thread-local pool is used on platform
+ * threads and a shared concurrent deque when virtual threads are enabled, since
+ * thread-local buffers are not reused across short-lived virtual threads.
+ */
+public class ObjectMapperTuning implements Jackson2ObjectMapperBuilderCustomizer {
+    private static final Logger log = LoggerFactory.getLogger(ObjectMapperTuning.class);
+
+    private static final boolean BLACKBIRD_PRESENT = ClassUtils.isPresent(
+            "com.fasterxml.jackson.module.blackbird.BlackbirdModule", ObjectMapperTuning.class.getClassLoader());
+
+    private static final List<Class<?>> PREWARMED_TYPES = List.of(
+            ApiResponse.class,
+            PageResponse.class,
+            SliceResponse.class,
+            CursorPageResponse.class,
+            MetaData.class,
+            ErrorResponse.class,
+            ApiError.class
+    );
+
+    private final StarterKitProperties.ResponseProperties.JsonProperties properties;
+    private final boolean virtualThreads;
+
+    /**
+     * Creates a new ObjectMapperTuning.
+     *
+     * @param properties The shared ObjectMapper tuning properties
+     * @param virtualThreads Whether the application runs request handling on virtual threads
+     */
+    public ObjectMapperTuning(StarterKitProperties.ResponseProperties.JsonProperties properties,
+                              boolean virtualThreads) {
+        this.properties = properties;
+        this.virtualThreads = virtualThreads;
+    }
+
+    @Override
+    public void customize(Jackson2ObjectMapperBuilder builder) {
+        builder.featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        builder.postConfigurer(this::tune);
+    }
+
+    private void tune(ObjectMapper mapper) {
+        if (properties.isBlackbird() && BLACKBIRD_PRESENT) {
+            mapper.registerModule(Blackbird.module());
+        }
+
+        mapper.getFactory().setRecyclerPool(recyclerPool());
+
+        if (properties.isPrewarm()) {
+            for (Class<?> type : PREWARMED_TYPES) {
+                try {
+                    // Writers prefetch the root serializer into the mapper's shared cache
+                    mapper.writerFor(type);
+                } catch (RuntimeException ex) {
+                    log.debug("Could not prewarm serializer for {}: {}", type.getName(), ex.getMessage());
+                }
+            }
+        }
+    }
+
+    private com.fasterxml.jackson.core.util.RecyclerPool<BufferRecycler> recyclerPool() {
+        RecyclerPool pool = properties.getRecyclerPool();
+        if (pool == null) {
+            pool = virtualThreads ? RecyclerPool.CONCURRENT_DEQUE : RecyclerPool.THREAD_LOCAL;
+        }
+        return switch (pool) {
+            case THREAD_LOCAL -> JsonRecyclerPools.threadLocalPool();
+            case CONCURRENT_DEQUE -> JsonRecyclerPools.sharedConcurrentDequePool();
+            case BOUNDED -> JsonRecyclerPools.newBoundedPool(properties.getRecyclerPoolSize());
+            case NONE -> JsonRecyclerPools.nonRecyclingPool();
+        };
+    }
+
+    /**
+     * Isolates the reference to the optional Blackbird module.
+     */
+    private static final class Blackbird {
+        private static Module module() {
+            return new BlackbirdModule();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,39 @@
+package com.bensamir.starter.response.json;
+
+import com.bensamir.starter.response.PageResponse;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Hand-written serializer for {@link PageResponse}.
+ * <p>
+ * Pagination fields are written as primitives; the content list is delegated
+ * to the serializers configured on the mapper.
+ */
+public class PageResponseSerializer extends StdSerializer<PageResponse<?>> {
+
+    /**
+     * Creates a new PageResponseSerializer.
+     */
+    public PageResponseSerializer() {
+        super(PageResponse.class, false);
+    }
+
+    @Override
+    public void serialize(PageResponse<?> value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(value);
+        if (value.getContent() != null) {
+            provider.defaultSerializeField("content", value.getContent(), gen);
+        }
+        gen.writeNumberField("totalElements", value.getTotalElements());
+        gen.writeNumberField("totalPages", value.getTotalPages());
+        gen.writeNumberField("page", value.getPage());
+        gen.writeNumberField("size", value.getSize());
+        gen.writeBooleanField("first", value.isFirst());
+        gen.writeBooleanField("last", value.isLast());
+        gen.writeEndObject();
+    }
+}
\ No newline at end of file
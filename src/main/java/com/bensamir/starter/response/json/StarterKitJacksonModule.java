@@ -0,0 +1,32 @@
+package com.bensamir.starter.response.json;
+
+import com.fasterxml.jackson.databind.module.SimpleModule;
+
+/**
+ * Jackson module registering the hand-written serializers for the starter's
+ * response and error types.
+ * <p>
+ * The module covers:
+ * <ul>
+ *   <li>{@link com.bensamir.starter.response.ApiResponse}</li>
+ *   <li>{@link com.bensamir.starter.response.PageResponse}</li>
+ *   <li>{@link com.bensamir.starter.response.MetaData}</li>
+ *   <li>{@link com.bensamir.starter.exception.ApiError}</li>
+ * </ul>
+ * It is exposed as a bean by the response auto-configuration, which makes Spring
+ * Boot register it with the application's {@code ObjectMapper}. Mappers built
+ * manually can register it with {@code ObjectMapper.registerModule}.
+ */
+public class StarterKitJacksonModule extends SimpleModule {
+
+    /**
+     * Creates a new StarterKitJacksonModule.
+     */
+    public StarterKitJacksonModule() {
+        super("StarterKitJacksonModule");
+        addSerializer(new ApiResponseSerializer());
+        addSerializer(new PageResponseSerializer());
+        addSerializer(new MetaDataSerializer());
+        addSerializer(new ApiErrorSerializer());
+    }
+}
\ No newline at end of file
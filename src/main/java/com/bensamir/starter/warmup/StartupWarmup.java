@@ -0,0 +1,275 @@
+package com.bensamir.starter.warmup;
+
+import com.bensamir.starter.exception.ApiError;
+import com.bensamir.starter.exception.ErrorMessageResolver;
+import com.bensamir.starter.exception.ExceptionMappingRegistry;
+import com.bensamir.starter.metrics.StarterMetrics;
+import com.bensamir.starter.properties.StarterKitProperties;
+import com.bensamir.starter.response.ApiResponse;
+import com.bensamir.starter.response.ErrorResponse;
+import com.bensamir.starter.response.MetaData;
+import com.bensamir.starter.response.PageResponse;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.lang.annotation.Annotation;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Future;
+
+/**
+ * Warms up cold code paths before the application reports itself ready.
+ * <p>
+ * Runs synchronously on {@link ApplicationStartedEvent}, which Spring Boot publishes
+ * before the readiness state changes to {@code ACCEPTING_TRAFFIC}, so readiness probes
+ * only succeed once warmup has completed. For every controller method it:
+ * <ul>
+ *   <li>Builds Bean Validation metadata for {@code @Valid}/{@code @Validated} arguments</li>
+ *   <li>Creates Jackson deserializers for request bodies and serializers for return types</li>
+ * </ul>
+ * and for the error path it:
+ * <ul>
+ *   <li>Resolves all configured error messages, loading the message bundles</li>
+ *   <li>Resolves the exception mappings of the starter's exception types</li>
+ *   <li>Serializes sample {@link ApiError} and {@link ApiResponse} documents</li>
+ * </ul>
+ * Each phase is timed and recorded as {@code starter.warmup} with a {@code phase} tag.
+ * Failures are logged and never prevent startup.
+ */
+public class StartupWarmup implements ApplicationListener<ApplicationStartedEvent> {
+    private static final Logger log = LoggerFactory.getLogger(StartupWarmup.class);
+
+    private static final boolean VALIDATION_PRESENT =
+            ClassUtils.isPresent("jakarta.validation.Validator", StartupWarmup.class.getClassLoader());
+
+    private final StarterKitProperties properties;
+    private final ObjectProvider<RequestMappingHandlerMapping> handlerMappings;
+    private final ObjectProvider<RequestMappingHandlerAdapter> handlerAdapters;
+    private final ObjectProvider<ErrorMessageResolver> messageResolver;
+    private final ObjectProvider<ExceptionMappingRegistry> mappingRegistry;
+    private final StarterMetrics metrics;
+
+    /**
+     * Creates a new StartupWarmup.
+     *
+     * @param properties the starter kit properties
+     * @param handlerMappings the request mapping handler mappings
+     * @param handlerAdapters the request mapping handler adapters
+     * @param messageResolver the error message resolver, if available
+     * @param mappingRegistry the exception mapping registry, if available
+     * @param metrics the starter metrics
+     */
+    public StartupWarmup(StarterKitProperties properties,
+                         ObjectProvider<RequestMappingHandlerMapping> handlerMappings,
+                         ObjectProvider<RequestMappingHandlerAdapter> handlerAdapters,
+                         ObjectProvider<ErrorMessageResolver> messageResolver,
+                         ObjectProvider<ExceptionMappingRegistry> mappingRegistry,
+                         StarterMetrics metrics) {
+        this.properties = properties;
+        this.handlerMappings = handlerMappings;
+        this.handlerAdapters = handlerAdapters;
+        this.messageResolver = messageResolver;
+        this.mappingRegistry = mappingRegistry;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationStartedEvent event) {
+        long start = System.nanoTime();
+
+        Set<Class<?>> validatedTypes = new LinkedHashSet<>();
+        Set<ResolvableType> bodyTypes = new LinkedHashSet<>();
+        Set<ResolvableType> returnTypes = new LinkedHashSet<>();
+        handlerMappings.orderedStream().forEach(mapping ->
+                collectTypes(mapping.getHandlerMethods().values(), validatedTypes, bodyTypes, returnTypes));
+
+        List<ObjectMapper> mappers = handlerAdapters.orderedStream()
+                .flatMap(adapter -> adapter.getMessageConverters().stream())
+                .filter(MappingJackson2HttpMessageConverter.class::isInstance)
+                .map(converter -> ((MappingJackson2HttpMessageConverter) converter).getObjectMapper())
+                .distinct()
+                .toList();
+
+        timed("validation", () -> warmUpValidation(event.getApplicationContext(), validatedTypes));
+        timed("serializers", () -> mappers.forEach(mapper -> warmUpSerializers(mapper, bodyTypes, returnTypes)));
+        timed("messages", this::warmUpMessages);
+        timed("exception-mappings", this::warmUpExceptionMappings);
+        timed("error-responses", () -> mappers.forEach(this::warmUpErrorResponses));
+
+        long elapsed = System.nanoTime() - start;
+        metrics.recordNanos("starter.warmup", elapsed, "phase", "total");
+        log.info("Startup warmup completed in {} ms ({} validated types, {} request body types, {} response types)",
+                elapsed / 1_000_000, validatedTypes.size(), bodyTypes.size(), returnTypes.size());
+    }
+
+    /**
+     * Collects the argument and return types of the given handler methods.
+     */
+    private void collectTypes(Iterable<HandlerMethod> handlerMethods, Set<Class<?>> validatedTypes,
+                              Set<ResolvableType> bodyTypes, Set<ResolvableType> returnTypes) {
+        for (HandlerMethod handlerMethod : handlerMethods) {
+            for (MethodParameter parameter : handlerMethod.getMethodParameters()) {
+                if (isValidated(parameter)) {
+                    validatedTypes.add(parameter.getParameterType());
+                }
+                if (parameter.hasParameterAnnotation(RequestBody.class)) {
+                    bodyTypes.add(ResolvableType.forMethodParameter(parameter));
+                }
+            }
+
+            ResolvableType returnType = unwrap(ResolvableType.forMethodParameter(handlerMethod.getReturnType()));
+            Class<?> resolved = returnType.resolve();
+            if (resolved != null && resolved != void.class && resolved != Void.class) {
+                returnTypes.add(returnType);
+            }
+        }
+    }
+
+    private boolean isValidated(MethodParameter parameter) {
+        for (Annotation annotation : parameter.getParameterAnnotations()) {
+            String name = annotation.annotationType().getName();
+            if ("jakarta.validation.Valid".equals(name)
+                    || "org.springframework.validation.annotation.Validated".equals(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Unwraps response containers to the type that is actually serialized.
+     */
+    private ResolvableType unwrap(ResolvableType type) {
+        Class<?> resolved = type.resolve();
+        while (resolved != null && (HttpEntity.class.isAssignableFrom(resolved)
+                || Optional.class == resolved
+                || CompletionStage.class.isAssignableFrom(resolved)
+                || Future.class.isAssignableFrom(resolved)
+                || Callable.class.isAssignableFrom(resolved)
+                || DeferredResult.class.isAssignableFrom(resolved))) {
+            type = type.as(resolved).getGeneric(0);
+            resolved = type.resolve();
+        }
+        return type;
+    }
+
+    private void warmUpValidation(ApplicationContext context, Set<Class<?>> validatedTypes) {
+        if (VALIDATION_PRESENT && !validatedTypes.isEmpty()) {
+            ValidationWarmup.warmUp(context, validatedTypes);
+        }
+    }
+
+    private void warmUpSerializers(ObjectMapper mapper, Set<ResolvableType> bodyTypes,
+                                   Set<ResolvableType> returnTypes) {
+        for (ResolvableType bodyType : bodyTypes) {
+            try {
+                mapper.readerFor(mapper.constructType(bodyType.getType()));
+            } catch (RuntimeException ex) {
+                log.debug("Could not warm up deserializer for {}: {}", bodyType, ex.getMessage());
+            }
+        }
+        for (ResolvableType returnType : returnTypes) {
+            try {
+                JavaType javaType = mapper.constructType(returnType.getType());
+                mapper.writerFor(javaType);
+            } catch (RuntimeException ex) {
+                log.debug("Could not warm up serializer for {}: {}", returnType, ex.getMessage());
+            }
+        }
+    }
+
+    private void warmUpMessages() {
+        ErrorMessageResolver resolver = messageResolver.getIfAvailable();
+        if (resolver == null) {
+            return;
+        }
+        for (Map.Entry<String, String> entry : properties.getExceptionHandling().getDefaultMessages().entrySet()) {
+            resolver.resolveMessage(entry.getKey(), entry.getValue(), "warmup", "warmup");
+        }
+    }
+
+    private void warmUpExceptionMappings() {
+        ExceptionMappingRegistry registry = mappingRegistry.getIfAvailable();
+        if (registry == null) {
+            return;
+        }
+        for (Class<?> type : registry.getMappings().keySet()) {
+            registry.resolve(type.asSubclass(Throwable.class));
+        }
+    }
+
+    private void warmUpErrorResponses(ObjectMapper mapper) {
+        try {
+            ApiError apiError = new ApiError(HttpStatus.BAD_REQUEST.value(), "VALIDATION_ERROR",
+                    HttpStatus.BAD_REQUEST.getReasonPhrase(), "Validation error", "/warmup");
+            apiError.addValidationError("field", "must not be blank");
+            apiError.addStackTrace("warmup");
+            mapper.writeValueAsBytes(apiError);
+
+            mapper.writeValueAsBytes(ApiResponse.success(
+                    PageResponse.of(List.of("warmup"), 1, 1, 0, 1),
+                    MetaData.pagination(1, 1, 0, 1)));
+            mapper.writeValueAsBytes(ApiResponse.error(ErrorResponse.of("WARMUP", "warmup", "warmup")));
+        } catch (Exception ex) {
+            log.debug("Could not warm up error response serialization: {}", ex.getMessage());
+        }
+    }
+
+    private void timed(String phase, Runnable task) {
+        long start = System.nanoTime();
+        try {
+            task.run();
+        } catch (RuntimeException ex) {
+            log.warn("Startup warmup phase '{}' failed: {}", phase, ex.getMessage());
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            metrics.recordNanos("starter.warmup", elapsed, "phase", phase);
+            if (log.isDebugEnabled()) {
+                log.debug("Startup warmup phase '{}' took {} ms", phase, elapsed / 1_000_000);
+            }
+        }
+    }
+
+    /**
+     * Bean Validation access, isolated so the API is only loaded when present.
+     */
+    private static final class ValidationWarmup {
+
+        private static void warmUp(ApplicationContext context, Set<Class<?>> validatedTypes) {
+            Validator validator = context.getBeanProvider(Validator.class).getIfUnique();
+            if (validator == null) {
+                return;
+            }
+            for (Class<?> type : validatedTypes) {
+                try {
+                    validator.getConstraintsForClass(type);
+                } catch (RuntimeException ex) {
+                    log.debug("Could not warm up validation metadata for {}: {}", type.getName(), ex.getMessage());
+                }
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,61 @@
+package com.bensamir.starter.warmup.config;
+
+import com.bensamir.starter.exception.ErrorMessageResolver;
+import com.bensamir.starter.exception.ExceptionMappingRegistry;
+import com.bensamir.starter.metrics.StarterMetrics;
+import com.bensamir.starter.properties.StarterKitProperties;
+import com.bensamir.starter.warmup.StartupWarmup;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+/**
+ * Auto-configuration for the startup warmup phase.
+ * <p>
+ * This configuration provides:
+ * <ul>
+ *   <li>Pre-built validation metadata and Jackson (de)serializers for all controller types</li>
+ *   <li>Pre-loaded error messages and exception mappings</li>
+ *   <li>Readiness gated on warmup completion</li>
+ * </ul>
+ * <p>
+ * Warmup is opt-in:
+ * <pre>
+ * starter-kit:
+ *   warmup:
+ *     enabled: true                        # Warm up cold paths before reporting ready
+ * </pre>
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(prefix = "starter-kit.warmup", name = "enabled", havingValue = "true")
+public class WarmupAutoConfiguration {
+
+    /**
+     * Creates the startup warmup listener if not already defined.
+     *
+     * @param properties the starter kit properties
+     * @param handlerMappings the request mapping handler mappings
+     * @param handlerAdapters the request mapping handler adapters
+     * @param messageResolver the error message resolver, if available
+     * @param mappingRegistry the exception mapping registry, if available
+     * @param metrics the starter metrics
+     * @return the startup warmup listener
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public StartupWarmup startupWarmup(StarterKitProperties properties,
+                                       ObjectProvider<RequestMappingHandlerMapping> handlerMappings,
+                                       ObjectProvider<RequestMappingHandlerAdapter> handlerAdapters,
+                                       ObjectProvider<ErrorMessageResolver> messageResolver,
+                                       ObjectProvider<ExceptionMappingRegistry> mappingRegistry,
+                                       ObjectProvider<StarterMetrics> metrics) {
+        return new StartupWarmup(properties, handlerMappings, handlerAdapters, messageResolver, mappingRegistry,
+                metrics.getIfAvailable(() -> StarterMetrics.NOOP));
+    }
+}
\ No newline at end of file
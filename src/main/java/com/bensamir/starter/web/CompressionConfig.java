@@ -15,6 +15,8 @@ import org.springframework.util.unit.DataSize;
  *   <li>Configuring minimum response size for compression</li>
  *   <li>Setting which MIME types should be compressed</li>
  * </ul>
+ * In {@code filter} mode the container's gzip support is left off and responses are
+ * compressed by the {@link com.bensamir.starter.web.compression.CompressionFilter} instead.
  */
 public class CompressionConfig implements WebServerFactoryCustomizer<ConfigurableServletWebServerFactory> {
 
@@ -39,7 +41,8 @@ public class CompressionConfig implements WebServerFactoryCustomizer<Configurabl
         StarterKitProperties.WebConfigProperties.CompressionProperties compressionProps =
                 properties.getWebConfig().getCompression();
 
-        if (compressionProps.isEnabled()) {
+        if (compressionProps.isEnabled()
+                && compressionProps.getMode() == StarterKitProperties.WebConfigProperties.CompressionProperties.Mode.CONTAINER) {
             Compression compression = new Compression();
             compression.setEnabled(true);
             compression.setMinResponseSize(DataSize.ofBytes(compressionProps.getMinResponseSize()));
@@ -1,11 +1,7 @@
 package com.bensamir.starter.web;
 
 import com.bensamir.starter.properties.StarterKitProperties;
-import org.springframework.web.cors.CorsConfiguration;
-import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
-import org.springframework.web.filter.CorsFilter;
-
-import java.util.Arrays;
+import com.bensamir.starter.web.cors.PrecomputedCorsFilter;
 
 /**
  * Configuration for Cross-Origin Resource Sharing (CORS).
@@ -13,13 +9,16 @@ import java.util.Arrays;
  * This class provides CORS configuration based on properties defined in the
  * application configuration. It enables fine-grained control over:
  * <ul>
- *   <li>Allowed origins</li>
+ *   <li>Allowed origins, including subdomain patterns such as {@code https://*.example.com}</li>
  *   <li>Allowed HTTP methods</li>
  *   <li>Allowed headers</li>
  *   <li>Exposed headers</li>
  *   <li>Credentials support</li>
  *   <li>Preflight request caching</li>
  * </ul>
+ * Origins, methods and headers are compiled once, so requests are checked against
+ * precomputed decisions and preflight requests are answered without running the
+ * rest of the filter chain.
  */
 public final class CorsConfig {
 
@@ -32,35 +31,10 @@ public final class CorsConfig {
      *
      * @param properties The starter kit properties
      * @return A configured CORS filter
+     * @throws IllegalArgumentException if an allowed origin pattern is malformed, or if
+     *         credentials are allowed for any origin
      */
-    public static CorsFilter corsFilter(StarterKitProperties properties) {
-        StarterKitProperties.WebConfigProperties.CorsProperties corsProps =
-                properties.getWebConfig().getCors();
-
-        CorsConfiguration config = new CorsConfiguration();
-
-        // Configure allowed origins
-        if (corsProps.getAllowedOrigins() != null) {
-            config.setAllowedOrigins(Arrays.asList(corsProps.getAllowedOrigins()));
-        }
-
-        // Configure allowed methods
-        if (corsProps.getAllowedMethods() != null) {
-            config.setAllowedMethods(Arrays.asList(corsProps.getAllowedMethods()));
-        }
-
-        // Configure allowed headers
-        if (corsProps.getAllowedHeaders() != null) {
-            config.setAllowedHeaders(Arrays.asList(corsProps.getAllowedHeaders()));
-        }
-
-        // Configure credentials and max age
-        config.setAllowCredentials(corsProps.isAllowCredentials());
-        config.setMaxAge(corsProps.getMaxAge());
-
-        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
-        source.registerCorsConfiguration("/**", config);
-
-        return new CorsFilter(source);
+    public static PrecomputedCorsFilter corsFilter(StarterKitProperties properties) {
+        return new PrecomputedCorsFilter(properties);
     }
 }
\ No newline at end of file
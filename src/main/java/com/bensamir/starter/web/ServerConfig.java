@@ -0,0 +1,84 @@
+package com.bensamir.starter.web;
+
+import com.bensamir.starter.properties.StarterKitProperties;
+import org.apache.coyote.ProtocolHandler;
+import org.apache.coyote.http11.AbstractHttp11Protocol;
+import org.springframework.boot.system.JavaVersion;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.Http2;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.core.env.Environment;
+
+/**
+ * Configuration of the embedded Tomcat server for high concurrency.
+ * <p>
+ * This class configures:
+ * <ul>
+ *   <li>HTTP/2, over TLS or as h2c upgrade for plain connections</li>
+ *   <li>Connection limits, accept queue length and keep-alive behavior</li>
+ *   <li>Maximum request and response header sizes</li>
+ * </ul>
+ * Only the settings that are set are applied; they take precedence over the
+ * matching {@code server.tomcat.*} settings, and everything else keeps Spring
+ * Boot's values. Virtual threads are left to Spring Boot's
+ * {@code spring.threads.virtual.enabled}; while they are active the worker thread
+ * limit is not applied.
+ */
+public class ServerConfig implements WebServerFactoryCustomizer<TomcatServletWebServerFactory> {
+    private final StarterKitProperties.WebConfigProperties.ServerProperties properties;
+    private final boolean virtualThreads;
+
+    /**
+     * Creates a new ServerConfig.
+     *
+     * @param properties The starter kit properties
+     * @param environment The environment, used to detect virtual threads
+     */
+    public ServerConfig(StarterKitProperties properties, Environment environment) {
+        this.properties = properties.getWebConfig().getServer();
+        this.virtualThreads = environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false)
+                && JavaVersion.getJavaVersion().isEqualOrNewerThan(JavaVersion.TWENTY_ONE);
+    }
+
+    /**
+     * Customizes the Tomcat factory with the configured threading, protocol and connector settings.
+     *
+     * @param factory The Tomcat web server factory to customize
+     */
+    @Override
+    public void customize(TomcatServletWebServerFactory factory) {
+        if (properties.isHttp2()) {
+            Http2 http2 = new Http2();
+            http2.setEnabled(true);
+            factory.setHttp2(http2);
+        }
+
+        factory.addConnectorCustomizers(connector -> {
+            ProtocolHandler handler = connector.getProtocolHandler();
+            if (handler instanceof AbstractHttp11Protocol) {
+                AbstractHttp11Protocol<?> protocol = (AbstractHttp11Protocol<?>) handler;
+                if (properties.getMaxThreads() != null && !virtualThreads) {
+                    protocol.setMaxThreads(properties.getMaxThreads());
+                }
+                if (properties.getMaxConnections() != null) {
+                    protocol.setMaxConnections(properties.getMaxConnections());
+                }
+                if (properties.getAcceptCount() != null) {
+                    protocol.setAcceptCount(properties.getAcceptCount());
+                }
+                if (properties.getKeepAliveTimeout() != null) {
+                    protocol.setKeepAliveTimeout((int) properties.getKeepAliveTimeout().toMillis());
+                }
+                if (properties.getMaxKeepAliveRequests() != null) {
+                    protocol.setMaxKeepAliveRequests(properties.getMaxKeepAliveRequests());
+                }
+                if (properties.getMaxHttpRequestHeaderSize() != null) {
+                    protocol.setMaxHttpRequestHeaderSize(properties.getMaxHttpRequestHeaderSize());
+                }
+                if (properties.getMaxHttpResponseHeaderSize() != null) {
+                    protocol.setMaxHttpResponseHeaderSize(properties.getMaxHttpResponseHeaderSize());
+                }
+            }
+        });
+    }
+}
\ No newline at end of file
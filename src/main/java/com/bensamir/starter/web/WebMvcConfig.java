@@ -1,14 +1,18 @@
 package com.bensamir.starter.web;
 
+import com.bensamir.starter.exception.PrerenderedApiError;
+import com.bensamir.starter.metrics.StarterMetrics;
 import com.bensamir.starter.properties.StarterKitProperties;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.bensamir.starter.response.json.MeteredJacksonHttpMessageConverter;
+import com.bensamir.starter.web.deadline.DeadlineInterceptor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.converter.HttpMessageConverter;
-import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -16,14 +20,19 @@ import java.util.List;
  * <p>
  * This class provides essential configurations for Spring MVC applications:
  * <ul>
- *   <li>JSON message conversion with appropriate date/time handling</li>
+ *   <li>Serialization metrics on the JSON message converter</li>
+ *   <li>Binary formats (CBOR, Smile, MessagePack) negotiated through the Accept header</li>
  *   <li>Character encoding for requests and responses</li>
+ *   <li>Request deadline enforcement for synchronous and async handlers</li>
  *   <li>Other common web MVC settings</li>
  * </ul>
  */
 public class WebMvcConfig implements WebMvcConfigurer {
 
     private final StarterKitProperties properties;
+    private final StarterMetrics metrics;
+    private final List<HttpMessageConverter<?>> binaryConverters;
+    private final DeadlineInterceptor deadlineInterceptor;
 
     /**
      * Creates a new WebMvcConfig.
@@ -31,26 +40,112 @@ public class WebMvcConfig implements WebMvcConfigurer {
      * @param properties The starter kit properties
      */
     public WebMvcConfig(StarterKitProperties properties) {
+        this(properties, StarterMetrics.NOOP);
+    }
+
+    /**
+     * Creates a new WebMvcConfig that publishes metrics.
+     *
+     * @param properties The starter kit properties
+     * @param metrics The metrics facade
+     */
+    public WebMvcConfig(StarterKitProperties properties, StarterMetrics metrics) {
+        this(properties, metrics, Collections.emptyList());
+    }
+
+    /**
+     * Creates a new WebMvcConfig that publishes metrics and supports binary formats.
+     *
+     * @param properties The starter kit properties
+     * @param metrics The metrics facade
+     * @param binaryConverters The converters for binary formats, registered after JSON
+     */
+    public WebMvcConfig(StarterKitProperties properties, StarterMetrics metrics,
+                        List<HttpMessageConverter<?>> binaryConverters) {
         this.properties = properties;
+        this.metrics = metrics;
+        this.binaryConverters = binaryConverters;
+        this.deadlineInterceptor = properties.getWebConfig().getDeadline().isEnabled()
+                ? new DeadlineInterceptor(PrerenderedApiError.of(
+                        HttpStatus.GATEWAY_TIMEOUT,
+                        "DEADLINE_EXCEEDED",
+                        properties.getExceptionHandling().getDefaultMessages()
+                                .getOrDefault("deadline.exceeded", "The request could not be completed in time")))
+                : null;
+    }
+
+    /**
+     * Registers the deadline interceptor if request deadlines are enabled.
+     *
+     * @param registry The interceptor registry
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (deadlineInterceptor != null) {
+            registry.addInterceptor(deadlineInterceptor);
+        }
+    }
+
+    /**
+     * Registers the deadline interceptor for async requests if request deadlines are enabled.
+     *
+     * @param configurer The async support configurer
+     */
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        if (deadlineInterceptor != null) {
+            configurer.registerCallableInterceptors(deadlineInterceptor);
+            configurer.registerDeferredResultInterceptors(deadlineInterceptor);
+        }
     }
 
     /**
-     * Configures the HTTP message converters.
+     * Replaces the Jackson message converter with a metered one and adds binary converters.
      * <p>
-     * This method adds a Jackson converter with appropriate configuration
-     * for JSON serialization/deserialization.
+     * The replacement uses the ObjectMapper of the converter configured by Spring Boot,
+     * so the shared mapper and its customizations are kept. Binary converters replace
+     * Spring's default CBOR and Smile converters in place, which are built without
+     * Boot's customizers, and are appended otherwise; either way they follow JSON, so
+     * JSON stays the default for clients accepting any media type and binary formats
+     * are only used when requested explicitly.
      *
-     * @param converters The list of converters to add to
+     * @param converters The configured converters
      */
     @Override
-    public void configureMessageConverters(List<HttpMessageConverter<?>> converters) {
-        // Configure Jackson with common settings
-        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
-                .modules(new JavaTimeModule())
-                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
-                .build();
-
-        // Add our converter at index 0 to ensure it takes precedence
-        converters.add(0, new MappingJackson2HttpMessageConverter(objectMapper));
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        if (metrics != StarterMetrics.NOOP && properties.getResponse().getJson().isMetrics()) {
+            replaceJacksonConverter(converters);
+        }
+        addBinaryConverters(converters);
+    }
+
+    private void addBinaryConverters(List<HttpMessageConverter<?>> converters) {
+        for (HttpMessageConverter<?> binary : binaryConverters) {
+            boolean replaced = false;
+            for (int i = 0; i < converters.size(); i++) {
+                if (converters.get(i).getClass() == binary.getClass()) {
+                    converters.set(i, binary);
+                    replaced = true;
+                    break;
+                }
+            }
+            if (!replaced) {
+                converters.add(binary);
+            }
+        }
+    }
+
+    private void replaceJacksonConverter(List<HttpMessageConverter<?>> converters) {
+        for (int i = 0; i < converters.size(); i++) {
+            HttpMessageConverter<?> converter = converters.get(i);
+            if (converter.getClass() == MappingJackson2HttpMessageConverter.class) {
+                MappingJackson2HttpMessageConverter jackson = (MappingJackson2HttpMessageConverter) converter;
+                MeteredJacksonHttpMessageConverter metered =
+                        new MeteredJacksonHttpMessageConverter(jackson.getObjectMapper(), metrics);
+                metered.setSupportedMediaTypes(jackson.getSupportedMediaTypes());
+                metered.setDefaultCharset(jackson.getDefaultCharset());
+                converters.set(i, metered);
+            }
+        }
     }
 }
\ No newline at end of file
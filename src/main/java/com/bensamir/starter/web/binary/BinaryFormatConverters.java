@@ -0,0 +1,91 @@
+package com.bensamir.starter.web.binary;
+
+import com.bensamir.starter.properties.StarterKitProperties;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.msgpack.jackson.dataformat.MessagePackFactory;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.util.ClassUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Creates message converters for binary Jackson formats.
+ * <p>
+ * Each converter gets its own ObjectMapper built from Spring Boot's
+ * {@link Jackson2ObjectMapperBuilder}, so modules, serializers and features
+ * configured for JSON apply to the binary formats as well:
+ * <ul>
+ *   <li>CBOR ({@code application/cbor}), if jackson-dataformat-cbor is present</li>
+ *   <li>Smile ({@code application/x-jackson-smile}), if jackson-dataformat-smile is present</li>
+ *   <li>MessagePack ({@code application/x-msgpack}), if jackson-dataformat-msgpack is present</li>
+ * </ul>
+ */
+public final class BinaryFormatConverters {
+    private static final ClassLoader CLASS_LOADER = BinaryFormatConverters.class.getClassLoader();
+
+    private static final boolean CBOR_PRESENT =
+            ClassUtils.isPresent("com.fasterxml.jackson.dataformat.cbor.CBORFactory", CLASS_LOADER);
+    private static final boolean SMILE_PRESENT =
+            ClassUtils.isPresent("com.fasterxml.jackson.dataformat.smile.SmileFactory", CLASS_LOADER);
+    private static final boolean MSGPACK_PRESENT =
+            ClassUtils.isPresent("org.msgpack.jackson.dataformat.MessagePackFactory", CLASS_LOADER);
+
+    private BinaryFormatConverters() {
+        // Utility class, no instantiation
+    }
+
+    /**
+     * Creates the converters for the enabled binary formats found on the classpath.
+     *
+     * @param builders supplier of pre-configured ObjectMapper builders, one per format
+     * @param properties the binary format properties
+     * @return the converters
+     */
+    public static List<HttpMessageConverter<?>> create(Supplier<Jackson2ObjectMapperBuilder> builders,
+                                                       StarterKitProperties.WebConfigProperties.BinaryFormatsProperties properties) {
+        List<HttpMessageConverter<?>> converters = new ArrayList<>(3);
+        if (properties.isCbor() && CBOR_PRESENT) {
+            converters.add(Cbor.converter(builders.get()));
+        }
+        if (properties.isSmile() && SMILE_PRESENT) {
+            converters.add(Smile.converter(builders.get()));
+        }
+        if (properties.isMsgpack() && MSGPACK_PRESENT) {
+            converters.add(MessagePack.converter(builders.get()));
+        }
+        return converters;
+    }
+
+    /**
+     * Isolates the reference to the optional CBOR format.
+     */
+    private static final class Cbor {
+        private static HttpMessageConverter<?> converter(Jackson2ObjectMapperBuilder builder) {
+            return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+        }
+    }
+
+    /**
+     * Isolates the reference to the optional Smile format.
+     */
+    private static final class Smile {
+        private static HttpMessageConverter<?> converter(Jackson2ObjectMapperBuilder builder) {
+            return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+        }
+    }
+
+    /**
+     * Isolates the reference to the optional MessagePack format.
+     */
+    private static final class MessagePack {
+        private static HttpMessageConverter<?> converter(Jackson2ObjectMapperBuilder builder) {
+            return new MessagePackHttpMessageConverter(builder.factory(new MessagePackFactory()).build());
+        }
+    }
+}
\ No newline at end of file
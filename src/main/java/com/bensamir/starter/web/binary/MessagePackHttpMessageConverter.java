@@ -0,0 +1,35 @@
+package com.bensamir.starter.web.binary;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.msgpack.jackson.dataformat.MessagePackFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.util.Assert;
+
+/**
+ * Jackson message converter reading and writing MessagePack.
+ * <p>
+ * Supports the {@code application/x-msgpack} and {@code application/msgpack} media types.
+ */
+public class MessagePackHttpMessageConverter extends AbstractJackson2HttpMessageConverter {
+
+    /**
+     * The {@code application/x-msgpack} media type.
+     */
+    public static final MediaType APPLICATION_X_MSGPACK = new MediaType("application", "x-msgpack");
+
+    /**
+     * The {@code application/msgpack} media type.
+     */
+    public static final MediaType APPLICATION_MSGPACK = new MediaType("application", "msgpack");
+
+    /**
+     * Creates a new MessagePackHttpMessageConverter.
+     *
+     * @param objectMapper an ObjectMapper using a {@link MessagePackFactory}
+     */
+    public MessagePackHttpMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper, APPLICATION_X_MSGPACK, APPLICATION_MSGPACK);
+        Assert.isInstanceOf(MessagePackFactory.class, objectMapper.getFactory(), "MessagePackFactory required");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,72 @@
+package com.bensamir.starter.web.cache;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
+
+import java.security.Principal;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Generates cache keys for {@link CachedResponse} handlers.
+ * <p>
+ * The same keys identify identical requests for
+ * {@link com.bensamir.starter.web.coalesce.Coalesce} handlers.
+ * <p>
+ * The key is made of the request path, the query parameters in sorted order, the
+ * {@code Accept} header and, for {@link CachedResponse#perPrincipal()} handlers, the
+ * principal name. Parameters include the {@code fields} selection of sparse fieldsets.
+ * Sorting the parameters lets requests that differ only in parameter
+ * order share an entry; the {@code Accept} header keeps JSON and binary renderings of
+ * the same resource apart.
+ * Override {@link #generate} to vary responses by further request attributes.
+ */
+public class CacheKeyGenerator {
+
+    /**
+     * Generates the cache key for a request.
+     *
+     * @param request the HTTP request
+     * @param annotation the handler's cache annotation
+     * @return the cache key
+     */
+    public String generate(HttpServletRequest request, CachedResponse annotation) {
+        return generate(request, annotation.perPrincipal());
+    }
+
+    /**
+     * Generates the key for a request.
+     *
+     * @param request the HTTP request
+     * @param perPrincipal whether to include the principal name in the key
+     * @return the key
+     */
+    public String generate(HttpServletRequest request, boolean perPrincipal) {
+        StringBuilder key = new StringBuilder(request.getRequestURI());
+
+        Map<String, String[]> parameters = request.getParameterMap();
+        if (!parameters.isEmpty()) {
+            char separator = '?';
+            for (Map.Entry<String, String[]> parameter : new TreeMap<>(parameters).entrySet()) {
+                String[] values = parameter.getValue().clone();
+                Arrays.sort(values);
+                for (String value : values) {
+                    key.append(separator).append(parameter.getKey()).append('=').append(value);
+                    separator = '&';
+                }
+            }
+        }
+
+        if (perPrincipal) {
+            Principal principal = request.getUserPrincipal();
+            key.append('#').append(principal != null ? principal.getName() : "anonymous");
+        }
+
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept != null) {
+            key.append(' ').append(accept);
+        }
+        return key.toString();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,53 @@
+package com.bensamir.starter.web.cache;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a GET handler method whose serialized response is cached in memory.
+ * <p>
+ * Cached responses are keyed by request path and query parameters, and optionally
+ * by the authenticated principal. Hits are answered with the stored bytes without
+ * invoking the handler or the message converters. Entries expire after their TTL
+ * or when an entity of one of the {@link #invalidatedBy()} types is changed.
+ * <p>
+ * Usage example:
+ * <pre>
+ * &#64;GetMapping("/{id}")
+ * &#64;CachedResponse(ttl = "5m", invalidatedBy = Product.class)
+ * public ResponseEntity&lt;ApiResponse&lt;ProductDTO&gt;&gt; getProduct(&#64;PathVariable Long id) {
+ *     return ResponseEntityBuilder.success(productService.findById(id));
+ * }
+ * </pre>
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CachedResponse {
+
+    /**
+     * Time to live of cached responses, e.g. "30s" or "5m".
+     * Defaults to {@code starter-kit.web-config.response-cache.default-ttl}.
+     *
+     * @return the time to live
+     */
+    String ttl() default "";
+
+    /**
+     * Whether responses are cached separately per authenticated principal.
+     *
+     * @return true to include the principal in the cache key
+     */
+    boolean perPrincipal() default false;
+
+    /**
+     * Entity types whose changes invalidate the cached responses.
+     * Subtypes are covered as well.
+     *
+     * @return the entity types
+     */
+    Class<?>[] invalidatedBy() default {};
+}
\ No newline at end of file
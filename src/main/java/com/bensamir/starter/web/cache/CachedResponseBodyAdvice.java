@@ -0,0 +1,175 @@
+package com.bensamir.starter.web.cache;
+
+import com.fasterxml.jackson.annotation.JsonView;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Response body advice that stores the responses of {@link CachedResponse} handlers.
+ * <p>
+ * On a cache miss the body is serialized once with the shared ObjectMapper; the
+ * bytes are stored in the {@link ResponseCache} and written to the response, so the
+ * message converter does not serialize the body a second time. Only successful JSON
+ * responses are cached: CBOR, Smile and MessagePack converters are Jackson converters
+ * too, but their bodies are left to the converter and not stored.
+ * <p>
+ * The headers set by the handler, such as {@code ETag}, {@code Cache-Control} or
+ * custom headers, are stored with the body so hits look like misses. Headers already
+ * present before the handler ran are set again by the filters on a hit, and cookies,
+ * dates and framing headers are never stored.
+ * <p>
+ * The advice runs after the other advice beans, so the sparse fieldset of an
+ * {@code @ApiFields} handler is applied to the stored bytes. Spring's own
+ * {@code @JsonView} advice always runs after advice beans, so the view of the handler
+ * is applied here. The {@code fields} parameter is part of the cache key like any
+ * query parameter, and the view is fixed per handler.
+ */
+@ControllerAdvice
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class CachedResponseBodyAdvice implements ResponseBodyAdvice<Object> {
+    private static final Logger log = LoggerFactory.getLogger(CachedResponseBodyAdvice.class);
+
+    // Lower-case names of headers that describe this exchange only or are set on every write
+    private static final Set<String> EXCLUDED_HEADERS = Set.of(
+            "content-type", "content-length", "content-encoding", "transfer-encoding",
+            "set-cookie", "date", "x-cache"
+    );
+
+    private final ResponseCache cache;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Creates a new CachedResponseBodyAdvice.
+     *
+     * @param cache the response cache
+     * @param objectMapper the shared ObjectMapper
+     */
+    public CachedResponseBodyAdvice(ResponseCache cache, ObjectMapper objectMapper) {
+        this.cache = cache;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return returnType.hasMethodAnnotation(CachedResponse.class)
+                && AbstractJackson2HttpMessageConverter.class.isAssignableFrom(converterType);
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (body == null
+                || !(request instanceof ServletServerHttpRequest)
+                || !(response instanceof ServletServerHttpResponse)) {
+            return body;
+        }
+
+        HttpServletRequest servletRequest = ((ServletServerHttpRequest) request).getServletRequest();
+        HttpServletResponse servletResponse = ((ServletServerHttpResponse) response).getServletResponse();
+        ResponseCache.Pending pending = (ResponseCache.Pending) servletRequest.getAttribute(
+                ResponseCacheInterceptor.PENDING_ATTRIBUTE);
+        if (pending == null || servletResponse.getStatus() != HttpServletResponse.SC_OK
+                || !isJson(selectedContentType)) {
+            return body;
+        }
+        servletRequest.removeAttribute(ResponseCacheInterceptor.PENDING_ATTRIBUTE);
+
+        byte[] bytes;
+        try {
+            bytes = writerFor(body, returnType).writeValueAsBytes(unwrap(body));
+        } catch (JsonProcessingException ex) {
+            log.debug("Not caching response of {}: {}", servletRequest.getRequestURI(), ex.getMessage());
+            return body;
+        }
+
+        cache.put(pending, selectedContentType.toString(),
+                handlerHeaders(pending, servletResponse, response.getHeaders()), bytes);
+        response.getHeaders().setContentType(selectedContentType);
+        response.getHeaders().setContentLength(bytes.length);
+        try {
+            response.getBody().write(bytes);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        // The body is written already; a null body makes the converter write nothing
+        return null;
+    }
+
+    private static Map<String, List<String>> handlerHeaders(ResponseCache.Pending pending,
+                                                           HttpServletResponse servletResponse,
+                                                           HttpHeaders entityHeaders) {
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        // Headers written to the servlet response directly, e.g. by an HttpServletResponse argument
+        for (String name : servletResponse.getHeaderNames()) {
+            String lowerCaseName = name.toLowerCase(Locale.ROOT);
+            if (!EXCLUDED_HEADERS.contains(lowerCaseName) && !pending.isPresetHeader(lowerCaseName)) {
+                headers.put(name, new ArrayList<>(servletResponse.getHeaders(name)));
+            }
+        }
+        // Headers of a ResponseEntity, not written to the servlet response yet
+        entityHeaders.forEach((name, values) -> {
+            if (!EXCLUDED_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                headers.computeIfAbsent(name, n -> new ArrayList<>()).addAll(values);
+            }
+        });
+        return headers;
+    }
+
+    private static boolean isJson(MediaType mediaType) {
+        return MediaType.APPLICATION_JSON.isCompatibleWith(mediaType)
+                || (mediaType.getSubtype() != null && mediaType.getSubtype().endsWith("+json"));
+    }
+
+    private ObjectWriter writerFor(Object body, MethodParameter returnType) {
+        ObjectWriter writer = objectMapper.writer();
+        Class<?> view = null;
+        if (body instanceof MappingJacksonValue) {
+            MappingJacksonValue container = (MappingJacksonValue) body;
+            view = container.getSerializationView();
+            if (container.getFilters() != null) {
+                writer = writer.with(container.getFilters());
+            }
+        }
+        if (view == null) {
+            // Same rule as Spring's JsonViewResponseBodyAdvice, which only runs after this advice
+            JsonView jsonView = returnType.getMethodAnnotation(JsonView.class);
+            if (jsonView != null && jsonView.value().length == 1) {
+                view = jsonView.value()[0];
+            }
+        }
+        return view != null ? writer.withView(view) : writer;
+    }
+
+    private static Object unwrap(Object body) {
+        return body instanceof MappingJacksonValue ? ((MappingJacksonValue) body).getValue() : body;
+    }
+}
\ No newline at end of file
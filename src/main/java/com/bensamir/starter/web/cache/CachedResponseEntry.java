@@ -0,0 +1,66 @@
+package com.bensamir.starter.web.cache;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Serialized response held by the {@link ResponseCache}.
+ */
+final class CachedResponseEntry {
+    private final String contentType;
+    private final Map<String, List<String>> headers;
+    private final byte[] body;
+    private final byte[] gzipBody;
+    private final long ttlNanos;
+    private final Class<?>[] dependencies;
+    private final long[] generations;
+
+    CachedResponseEntry(String contentType, Map<String, List<String>> headers, byte[] body, byte[] gzipBody,
+                        long ttlNanos, Class<?>[] dependencies, long[] generations) {
+        this.contentType = contentType;
+        this.headers = headers;
+        this.body = body;
+        this.gzipBody = gzipBody;
+        this.ttlNanos = ttlNanos;
+        this.dependencies = dependencies;
+        this.generations = generations;
+    }
+
+    String getContentType() {
+        return contentType;
+    }
+
+    Map<String, List<String>> getHeaders() {
+        return headers;
+    }
+
+    byte[] getBody() {
+        return body;
+    }
+
+    byte[] getGzipBody() {
+        return gzipBody;
+    }
+
+    long getTtlNanos() {
+        return ttlNanos;
+    }
+
+    Class<?>[] getDependencies() {
+        return dependencies;
+    }
+
+    long[] getGenerations() {
+        return generations;
+    }
+
+    int weight() {
+        int weight = body.length + (gzipBody != null ? gzipBody.length : 0);
+        for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+            for (String value : header.getValue()) {
+                weight += header.getKey().length() + value.length();
+            }
+        }
+        return weight;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,217 @@
+package com.bensamir.starter.web.cache;
+
+import com.bensamir.starter.metrics.StarterMetrics;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Bounded in-memory cache of serialized responses for {@link CachedResponse} handlers.
+ * <p>
+ * The cache is backed by Caffeine, whose W-TinyLFU policy keeps frequently requested
+ * responses when the size bound is reached rather than the most recent ones:
+ * <ul>
+ *   <li>The bound is the total size of the cached bodies in bytes</li>
+ *   <li>Each entry expires after the TTL of its handler</li>
+ *   <li>Bodies above a minimum size are also stored gzip-compressed</li>
+ *   <li>Entries are invalidated when an entity type they depend on changes</li>
+ * </ul>
+ * Invalidation does not scan the cache. Every entity type has a generation counter
+ * that is incremented on change; an entry records the generations of its dependencies
+ * before the handler runs and is discarded on read if any of them moved on.
+ */
+public class ResponseCache {
+
+    private final Cache<String, CachedResponseEntry> cache;
+    private final Map<Class<?>, AtomicLong> generations = new ConcurrentHashMap<>();
+    private final boolean compress;
+    private final int compressMinSize;
+    private final StarterMetrics metrics;
+
+    /**
+     * Creates a new ResponseCache.
+     *
+     * @param maximumSize the maximum total size of cached bodies in bytes
+     * @param compress whether bodies are also stored gzip-compressed
+     * @param compressMinSize the minimum body size for compression in bytes
+     * @param metrics the metrics facade
+     */
+    public ResponseCache(long maximumSize, boolean compress, int compressMinSize, StarterMetrics metrics) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumSize)
+                .weigher((String key, CachedResponseEntry entry) -> key.length() + entry.weight())
+                .expireAfter(new TtlExpiry())
+                .build();
+        this.compress = compress;
+        this.compressMinSize = compressMinSize;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Invalidates all entries depending on the given entity type or one of its supertypes.
+     *
+     * @param entityType the changed entity type
+     */
+    public void invalidate(Class<?> entityType) {
+        for (Class<?> type = entityType; type != null && type != Object.class; type = type.getSuperclass()) {
+            AtomicLong generation = generations.get(type);
+            if (generation != null) {
+                generation.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Removes all entries.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Returns the number of cached entries.
+     *
+     * @return the approximate number of entries
+     */
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    /**
+     * Looks up a cached response.
+     *
+     * @param key the cache key
+     * @return the entry, or null if absent, expired or invalidated
+     */
+    CachedResponseEntry get(String key) {
+        CachedResponseEntry entry = cache.getIfPresent(key);
+        if (entry != null && !isCurrent(entry)) {
+            cache.asMap().remove(key, entry);
+            entry = null;
+        }
+        metrics.increment("starter.response.cache", "result", entry != null ? "hit" : "miss");
+        return entry;
+    }
+
+    /**
+     * Records the state of the dependencies before the handler runs.
+     *
+     * @param key the cache key
+     * @param ttl the time to live of the entry
+     * @param dependencies the entity types invalidating the entry
+     * @param presetHeaders the lower-case names of the headers set before the handler runs
+     * @return the pending entry to complete with the serialized body
+     */
+    Pending begin(String key, Duration ttl, Class<?>[] dependencies, Set<String> presetHeaders) {
+        long[] snapshot = new long[dependencies.length];
+        for (int i = 0; i < dependencies.length; i++) {
+            snapshot[i] = generation(dependencies[i]).get();
+        }
+        return new Pending(key, ttl.toNanos(), dependencies, snapshot, presetHeaders);
+    }
+
+    /**
+     * Stores a serialized response.
+     *
+     * @param pending the pending entry from {@link #begin}
+     * @param contentType the content type of the body
+     * @param headers the headers set by the handler
+     * @param body the serialized body
+     */
+    void put(Pending pending, String contentType, Map<String, List<String>> headers, byte[] body) {
+        byte[] gzipBody = compress && body.length >= compressMinSize ? gzip(body) : null;
+        CachedResponseEntry entry = new CachedResponseEntry(contentType, headers, body, gzipBody,
+                pending.ttlNanos, pending.dependencies, pending.generations);
+        if (isCurrent(entry)) {
+            cache.put(pending.key, entry);
+        }
+    }
+
+    private boolean isCurrent(CachedResponseEntry entry) {
+        Class<?>[] dependencies = entry.getDependencies();
+        long[] recorded = entry.getGenerations();
+        for (int i = 0; i < dependencies.length; i++) {
+            if (generation(dependencies[i]).get() != recorded[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private AtomicLong generation(Class<?> type) {
+        return generations.computeIfAbsent(type, t -> new AtomicLong());
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(body.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(body);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return compressed.toByteArray();
+    }
+
+    /**
+     * Entry whose body is not serialized yet.
+     */
+    static final class Pending {
+        private final String key;
+        private final long ttlNanos;
+        private final Class<?>[] dependencies;
+        private final long[] generations;
+        private final Set<String> presetHeaders;
+
+        private Pending(String key, long ttlNanos, Class<?>[] dependencies, long[] generations,
+                        Set<String> presetHeaders) {
+            this.key = key;
+            this.ttlNanos = ttlNanos;
+            this.dependencies = dependencies;
+            this.generations = generations;
+            this.presetHeaders = presetHeaders;
+        }
+
+        /**
+         * Tells whether a header was set before the handler ran, e.g. by a filter that
+         * sets it again on a hit.
+         *
+         * @param name the lower-case header name
+         * @return true if the header is not the handler's
+         */
+        boolean isPresetHeader(String name) {
+            return presetHeaders.contains(name);
+        }
+    }
+
+    /**
+     * Expires entries after the TTL of their handler.
+     */
+    private static final class TtlExpiry implements Expiry<String, CachedResponseEntry> {
+
+        @Override
+        public long expireAfterCreate(String key, CachedResponseEntry entry, long currentTime) {
+            return entry.getTtlNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, CachedResponseEntry entry, long currentTime, long currentDuration) {
+            return entry.getTtlNanos();
+        }
+
+        @Override
+        public long expireAfterRead(String key, CachedResponseEntry entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,108 @@
+package com.bensamir.starter.web.cache;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Interceptor answering {@link CachedResponse} handlers from the {@link ResponseCache}.
+ * <p>
+ * On a hit, the stored bytes are written directly, gzip-compressed if the client
+ * accepts it, along with the headers the handler set, and the handler is skipped. On a miss, the pending entry is stored as a
+ * request attribute for the {@link CachedResponseBodyAdvice} to complete.
+ */
+public class ResponseCacheInterceptor implements HandlerInterceptor {
+
+    /**
+     * Request attribute holding the pending cache entry of a miss.
+     */
+    static final String PENDING_ATTRIBUTE = ResponseCacheInterceptor.class.getName() + ".pending";
+
+    private final ResponseCache cache;
+    private final CacheKeyGenerator keyGenerator;
+    private final Duration defaultTtl;
+    private final Map<CachedResponse, Duration> ttls = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new ResponseCacheInterceptor.
+     *
+     * @param cache the response cache
+     * @param keyGenerator the cache key generator
+     * @param defaultTtl the TTL for handlers that do not declare one
+     */
+    public ResponseCacheInterceptor(ResponseCache cache, CacheKeyGenerator keyGenerator, Duration defaultTtl) {
+        this.cache = cache;
+        this.keyGenerator = keyGenerator;
+        this.defaultTtl = defaultTtl;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws Exception {
+        if (!(handler instanceof HandlerMethod) || !"GET".equals(request.getMethod())) {
+            return true;
+        }
+        CachedResponse annotation = ((HandlerMethod) handler).getMethodAnnotation(CachedResponse.class);
+        if (annotation == null) {
+            return true;
+        }
+
+        String key = keyGenerator.generate(request, annotation);
+        CachedResponseEntry entry = cache.get(key);
+        if (entry == null) {
+            request.setAttribute(PENDING_ATTRIBUTE, cache.begin(key, ttl(annotation), annotation.invalidatedBy(),
+                    presetHeaders(response)));
+            return true;
+        }
+
+        write(entry, request, response);
+        return false;
+    }
+
+    private void write(CachedResponseEntry entry, HttpServletRequest request, HttpServletResponse response)
+            throws Exception {
+        byte[] body = entry.getBody();
+        if (entry.getGzipBody() != null) {
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            if (acceptsGzip(request)) {
+                response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+                body = entry.getGzipBody();
+            }
+        }
+        response.setStatus(HttpServletResponse.SC_OK);
+        entry.getHeaders().forEach((name, values) -> values.forEach(value -> response.addHeader(name, value)));
+        response.setContentType(entry.getContentType());
+        response.setContentLength(body.length);
+        response.setHeader("X-Cache", "HIT");
+        response.getOutputStream().write(body);
+    }
+
+    private Duration ttl(CachedResponse annotation) {
+        return ttls.computeIfAbsent(annotation, a -> a.ttl().isEmpty()
+                ? defaultTtl
+                : DurationStyle.detectAndParse(a.ttl()));
+    }
+
+    private static Set<String> presetHeaders(HttpServletResponse response) {
+        Set<String> names = new HashSet<>();
+        for (String name : response.getHeaderNames()) {
+            names.add(name.toLowerCase(Locale.ROOT));
+        }
+        return names;
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        return acceptEncoding != null && acceptEncoding.contains("gzip");
+    }
+}
\ No newline at end of file
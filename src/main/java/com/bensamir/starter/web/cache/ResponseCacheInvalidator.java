@@ -0,0 +1,38 @@
+package com.bensamir.starter.web.cache;
+
+import com.bensamir.starter.persistence.EntityChangeListener;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+/**
+ * Invalidates cached responses when audited entities change.
+ * <p>
+ * Subscribes the {@link ResponseCache} to the {@link EntityChangeListener}, which
+ * publishes inserts, updates and deletes after the surrounding transaction commits.
+ */
+public class ResponseCacheInvalidator implements InitializingBean, DisposableBean {
+
+    private final ResponseCache cache;
+    private Runnable subscription;
+
+    /**
+     * Creates a new ResponseCacheInvalidator.
+     *
+     * @param cache the response cache
+     */
+    public ResponseCacheInvalidator(ResponseCache cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        subscription = EntityChangeListener.subscribe(cache::invalidate);
+    }
+
+    @Override
+    public void destroy() {
+        if (subscription != null) {
+            subscription.run();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,53 @@
+package com.bensamir.starter.web.coalesce;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a GET handler method whose identical concurrent requests are coalesced.
+ * <p>
+ * While one request, the leader, is being handled, identical requests arriving in
+ * the meantime do not invoke the handler. They wait for the leader to finish and are
+ * answered with a copy of its serialized response. Requests are identical if they
+ * have the same path, query parameters and {@code Accept} header and, unless
+ * {@link #perPrincipal()} is turned off, the same principal. Nothing is kept once the
+ * leader completes; combine with {@code @CachedResponse} to also cache the response.
+ * <p>
+ * Waiting requests never reach the handler, so method-level authorization such as
+ * {@code @PreAuthorize} or {@code @PostAuthorize} is not evaluated for them; they
+ * get the leader's response as it was authorized for the leader. Only turn off
+ * {@link #perPrincipal()} for responses that every caller may see.
+ * <p>
+ * Usage example:
+ * <pre>
+ * &#64;GetMapping("/popular")
+ * &#64;Coalesce(maxWait = "2s")
+ * public ResponseEntity&lt;ApiResponse&lt;List&lt;ProductDTO&gt;&gt;&gt; getPopularProducts() {
+ *     return ResponseEntityBuilder.success(productService.findPopular());
+ * }
+ * </pre>
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Coalesce {
+
+    /**
+     * How long a follower waits for the leader before invoking the handler itself,
+     * e.g. "500ms" or "2s". Defaults to {@code starter-kit.web-config.coalescing.max-wait}.
+     *
+     * @return the maximum wait
+     */
+    String maxWait() default "";
+
+    /**
+     * Whether only requests of the same authenticated principal are coalesced.
+     * Anonymous requests are coalesced with each other.
+     *
+     * @return false to share responses between principals
+     */
+    boolean perPrincipal() default true;
+}
\ No newline at end of file
@@ -0,0 +1,58 @@
+package com.bensamir.starter.web.coalesce;
+
+import com.bensamir.starter.web.support.CapturingResponseWrapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+
+/**
+ * Filter installing the response wrapper the {@link CoalescingInterceptor} captures
+ * leader responses with.
+ * <p>
+ * Only GET requests are wrapped. The wrapper writes straight through, so responses of
+ * handlers that are not coalesced are neither buffered nor copied. Once the response is
+ * complete, including asynchronous ones, the wrapper is finished and waiting requests
+ * are released; a request failing with an exception releases them without a response
+ * to share.
+ */
+public class CoalescingFilter extends OncePerRequestFilter {
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"GET".equals(request.getMethod());
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        CapturingResponseWrapper wrapper = WebUtils.getNativeResponse(response, CapturingResponseWrapper.class);
+        HttpServletResponse responseToUse = response;
+        if (wrapper == null) {
+            wrapper = new CapturingResponseWrapper(response);
+            responseToUse = wrapper;
+        }
+
+        boolean completed = false;
+        try {
+            filterChain.doFilter(request, responseToUse);
+            completed = true;
+        } finally {
+            if (!isAsyncStarted(request)) {
+                if (!completed) {
+                    wrapper.discardCapture();
+                }
+                wrapper.finish();
+            }
+        }
+    }
+}
\ No newline at end of file
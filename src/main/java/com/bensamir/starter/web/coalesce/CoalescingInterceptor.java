@@ -0,0 +1,174 @@
+package com.bensamir.starter.web.coalesce;
+
+import com.bensamir.starter.metrics.StarterMetrics;
+import com.bensamir.starter.web.cache.CacheKeyGenerator;
+import com.bensamir.starter.web.support.CapturingResponseWrapper;
+import com.bensamir.starter.web.support.RouteResolver;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Interceptor coalescing identical concurrent requests to {@link Coalesce} handlers.
+ * <p>
+ * The first request for a key becomes the leader: it is handled as usual while the
+ * {@link CoalescingFilter}'s wrapper captures its body. Requests arriving with the same
+ * key while the leader is in flight wait for it, up to their maximum wait, and are
+ * answered with the leader's status, body and caching headers without invoking the
+ * handler. If the leader fails, does not answer 200 OK, or its body exceeds the
+ * capture limit, waiting requests invoke the handler themselves. Since waiting requests
+ * skip the handler, method-level authorization is not evaluated for them; keys include
+ * the principal unless the handler opts out with {@link Coalesce#perPrincipal()}.
+ * <p>
+ * Every decision is counted in {@code starter.coalesce.requests}, tagged {@code leader},
+ * {@code coalesced}, {@code timeout} or {@code fallback}; coalesced requests divided by
+ * leaders is the coalescing ratio.
+ */
+public class CoalescingInterceptor implements HandlerInterceptor {
+    private static final String METRIC = "starter.coalesce.requests";
+    private static final String[] SHARED_HEADERS = {
+            HttpHeaders.CACHE_CONTROL, HttpHeaders.CONTENT_LANGUAGE, HttpHeaders.ETAG,
+            HttpHeaders.EXPIRES, HttpHeaders.LAST_MODIFIED, HttpHeaders.VARY
+    };
+
+    private final CacheKeyGenerator keyGenerator;
+    private final Duration defaultMaxWait;
+    private final int maxBodySize;
+    private final StarterMetrics metrics;
+    private final Map<String, CompletableFuture<SharedResponse>> inFlight = new ConcurrentHashMap<>();
+    private final Map<Coalesce, Duration> maxWaits = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new CoalescingInterceptor.
+     *
+     * @param keyGenerator the generator of request keys
+     * @param defaultMaxWait the maximum wait for handlers that do not declare one
+     * @param maxBodySize the largest response body shared with waiting requests, in bytes
+     * @param metrics the metrics facade
+     */
+    public CoalescingInterceptor(CacheKeyGenerator keyGenerator, Duration defaultMaxWait, int maxBodySize,
+                                 StarterMetrics metrics) {
+        this.keyGenerator = keyGenerator;
+        this.defaultMaxWait = defaultMaxWait;
+        this.maxBodySize = maxBodySize;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws Exception {
+        if (!(handler instanceof HandlerMethod) || !"GET".equals(request.getMethod())) {
+            return true;
+        }
+        Coalesce annotation = ((HandlerMethod) handler).getMethodAnnotation(Coalesce.class);
+        if (annotation == null) {
+            return true;
+        }
+        CapturingResponseWrapper wrapper = WebUtils.getNativeResponse(response, CapturingResponseWrapper.class);
+        if (wrapper == null) {
+            return true;
+        }
+
+        String key = keyGenerator.generate(request, annotation.perPrincipal());
+        String route = RouteResolver.resolve(request);
+        CompletableFuture<SharedResponse> leader = new CompletableFuture<>();
+        CompletableFuture<SharedResponse> existing = inFlight.putIfAbsent(key, leader);
+        if (existing == null) {
+            wrapper.startCapture(maxBodySize);
+            wrapper.onFinish(() -> {
+                inFlight.remove(key, leader);
+                leader.complete(SharedResponse.of(wrapper));
+            });
+            metrics.increment(METRIC, "route", route, "result", "leader");
+            return true;
+        }
+
+        SharedResponse shared = await(existing, maxWait(annotation), route);
+        if (shared == null) {
+            return true;
+        }
+        shared.write(response);
+        metrics.increment(METRIC, "route", route, "result", "coalesced");
+        return false;
+    }
+
+    private SharedResponse await(CompletableFuture<SharedResponse> leader, Duration maxWait, String route) {
+        String result = "fallback";
+        try {
+            SharedResponse shared = leader.get(maxWait.toNanos(), TimeUnit.NANOSECONDS);
+            if (shared != null) {
+                return shared;
+            }
+        } catch (TimeoutException ex) {
+            result = "timeout";
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException ex) {
+            // The leader failed, handle the request independently
+        }
+        metrics.increment(METRIC, "route", route, "result", result);
+        return null;
+    }
+
+    private Duration maxWait(Coalesce annotation) {
+        return maxWaits.computeIfAbsent(annotation, a -> a.maxWait().isEmpty()
+                ? defaultMaxWait
+                : DurationStyle.detectAndParse(a.maxWait()));
+    }
+
+    /**
+     * A leader's response, as replayed to the requests waiting for it.
+     */
+    private static final class SharedResponse {
+        private final String contentType;
+        private final Map<String, List<String>> headers;
+        private final byte[] body;
+
+        private SharedResponse(String contentType, Map<String, List<String>> headers, byte[] body) {
+            this.contentType = contentType;
+            this.headers = headers;
+            this.body = body;
+        }
+
+        private static SharedResponse of(CapturingResponseWrapper wrapper) {
+            byte[] body = wrapper.getCapturedBody();
+            if (body == null || wrapper.getStatus() != HttpServletResponse.SC_OK) {
+                return null;
+            }
+            Map<String, List<String>> headers = new LinkedHashMap<>();
+            for (String name : SHARED_HEADERS) {
+                Collection<String> values = wrapper.getHeaders(name);
+                if (!values.isEmpty()) {
+                    headers.put(name, List.copyOf(values));
+                }
+            }
+            return new SharedResponse(wrapper.getContentType(), headers, body);
+        }
+
+        private void write(HttpServletResponse response) throws IOException {
+            response.setStatus(HttpServletResponse.SC_OK);
+            if (contentType != null) {
+                response.setContentType(contentType);
+            }
+            headers.forEach((name, values) -> values.forEach(value -> response.addHeader(name, value)));
+            response.setContentLength(body.length);
+            response.getOutputStream().write(body);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,84 @@
+package com.bensamir.starter.web.compression;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Selects a content encoder from an {@code Accept-Encoding} header.
+ * <p>
+ * The server's order of preference wins over the client's quality values, as long as
+ * the client accepts the coding at all ({@code q > 0}, explicitly or through {@code *}).
+ * Clients send only a handful of distinct headers, so results are memoized in a small
+ * bounded cache and the header is parsed once per distinct value.
+ */
+final class AcceptEncodingNegotiator {
+    private static final int MAX_CACHED_HEADERS = 256;
+
+    private final List<ContentEncoder> encoders;
+    private final Map<String, Optional<ContentEncoder>> cache = new ConcurrentHashMap<>();
+
+    AcceptEncodingNegotiator(List<ContentEncoder> encoders) {
+        this.encoders = List.copyOf(encoders);
+    }
+
+    /**
+     * Returns the preferred encoder accepted by the client.
+     *
+     * @param acceptEncoding the {@code Accept-Encoding} header, may be null
+     * @return the encoder, or null if the client accepts none of them
+     */
+    ContentEncoder negotiate(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isEmpty() || encoders.isEmpty()) {
+            return null;
+        }
+        Optional<ContentEncoder> encoder = cache.get(acceptEncoding);
+        if (encoder == null) {
+            encoder = Optional.ofNullable(select(acceptEncoding));
+            if (cache.size() >= MAX_CACHED_HEADERS) {
+                cache.clear();
+            }
+            cache.put(acceptEncoding, encoder);
+        }
+        return encoder.orElse(null);
+    }
+
+    private ContentEncoder select(String acceptEncoding) {
+        Map<String, Double> qualities = parse(acceptEncoding);
+        Double wildcard = qualities.get("*");
+        for (ContentEncoder encoder : encoders) {
+            Double quality = qualities.getOrDefault(encoder.getCoding(), wildcard);
+            if (quality != null && quality > 0) {
+                return encoder;
+            }
+        }
+        return null;
+    }
+
+    private static Map<String, Double> parse(String acceptEncoding) {
+        Map<String, Double> qualities = new HashMap<>();
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.split(";");
+            String coding = tokens[0].trim().toLowerCase(Locale.ROOT);
+            if (coding.isEmpty()) {
+                continue;
+            }
+            double quality = 1.0;
+            for (int i = 1; i < tokens.length; i++) {
+                String parameter = tokens[i].trim();
+                if (parameter.startsWith("q=") || parameter.startsWith("Q=")) {
+                    try {
+                        quality = Double.parseDouble(parameter.substring(2).trim());
+                    } catch (NumberFormatException ex) {
+                        quality = 0;
+                    }
+                }
+            }
+            qualities.put(coding, quality);
+        }
+        return qualities;
+    }
+}
\ No newline at end of file
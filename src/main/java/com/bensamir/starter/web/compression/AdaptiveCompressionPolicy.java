@@ -0,0 +1,192 @@
+package com.bensamir.starter.web.compression;
+
+import com.bensamir.starter.metrics.StarterMetrics;
+import com.bensamir.starter.properties.StarterKitProperties;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compression policy that adapts the configured levels to payloads and CPU load.
+ * <p>
+ * The policy wraps another policy, usually the {@link StaticCompressionPolicy}, and:
+ * <ul>
+ *   <li>Tracks an exponentially weighted compression ratio per MIME type and route</li>
+ *   <li>Stops compressing a MIME type and route whose ratio stays above {@code max-ratio},
+ *       e.g. already compressed or random payloads, while still compressing one in
+ *       {@code probe-interval} responses to notice when the payload changes</li>
+ *   <li>Drops to the fastest level once CPU load reaches {@code reduce-cpu-load}</li>
+ *   <li>Sends responses uncompressed once CPU load reaches {@code skip-cpu-load}</li>
+ *   <li>Counts every decision in {@code starter.compression.decisions}</li>
+ * </ul>
+ * CPU load is sampled at most once per {@code cpu-sample-interval}, so the policy
+ * adds no system calls on the request path.
+ */
+public class AdaptiveCompressionPolicy implements CompressionPolicy {
+    private static final int FASTEST_LEVEL = 1;
+    private static final int MAX_TRACKED_KEYS = 1024;
+    private static final double SMOOTHING = 0.2;
+
+    private final CompressionPolicy delegate;
+    private final double maxRatio;
+    private final double reduceCpuLoad;
+    private final double skipCpuLoad;
+    private final int minSamples;
+    private final int probeInterval;
+    private final CpuLoad cpuLoad;
+    private final StarterMetrics metrics;
+    private final Map<String, RatioStats> stats = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new AdaptiveCompressionPolicy.
+     *
+     * @param delegate the policy providing the regular levels
+     * @param properties the adaptive compression properties
+     * @param metrics the metrics facade
+     */
+    public AdaptiveCompressionPolicy(CompressionPolicy delegate,
+                                     StarterKitProperties.WebConfigProperties.CompressionProperties.AdaptiveProperties properties,
+                                     StarterMetrics metrics) {
+        this.delegate = delegate;
+        this.maxRatio = properties.getMaxRatio();
+        this.reduceCpuLoad = properties.getReduceCpuLoad();
+        this.skipCpuLoad = properties.getSkipCpuLoad();
+        this.minSamples = properties.getMinSamples();
+        this.probeInterval = Math.max(1, properties.getProbeInterval());
+        this.cpuLoad = new CpuLoad(properties.getCpuSampleInterval().toNanos());
+        this.metrics = metrics;
+    }
+
+    @Override
+    public int level(String coding, String mimeType, String route, long contentLength) {
+        int level = delegate.level(coding, mimeType, route, contentLength);
+        if (level == NO_COMPRESSION) {
+            return NO_COMPRESSION;
+        }
+
+        double load = cpuLoad.get();
+        if (load >= skipCpuLoad) {
+            return decide(NO_COMPRESSION, "skipped_cpu", coding);
+        }
+
+        RatioStats ratio = stats.get(key(mimeType, route));
+        if (ratio != null && ratio.isPoor(maxRatio, minSamples) && !ratio.probe(probeInterval)) {
+            return decide(NO_COMPRESSION, "skipped_ratio", coding);
+        }
+
+        if (load >= reduceCpuLoad && level > FASTEST_LEVEL) {
+            return decide(FASTEST_LEVEL, "reduced", coding);
+        }
+        return decide(level, "compressed", coding);
+    }
+
+    @Override
+    public void record(String coding, String mimeType, String route, long bytesIn, long bytesOut, long nanos) {
+        delegate.record(coding, mimeType, route, bytesIn, bytesOut, nanos);
+        if (bytesIn <= 0) {
+            return;
+        }
+
+        String key = key(mimeType, route);
+        RatioStats ratio = stats.get(key);
+        if (ratio == null) {
+            if (stats.size() >= MAX_TRACKED_KEYS) {
+                stats.clear();
+            }
+            ratio = stats.computeIfAbsent(key, k -> new RatioStats());
+        }
+        ratio.update((double) bytesOut / bytesIn);
+    }
+
+    /**
+     * Returns the smoothed compression ratio observed for a MIME type and route.
+     *
+     * @param mimeType the MIME type
+     * @param route the route template
+     * @return the ratio of compressed to uncompressed size, or -1 if nothing was recorded
+     */
+    public double getRatio(String mimeType, String route) {
+        RatioStats ratio = stats.get(key(mimeType, route));
+        return ratio != null ? ratio.get() : -1;
+    }
+
+    private int decide(int level, String decision, String coding) {
+        metrics.increment("starter.compression.decisions", "decision", decision, "encoding", coding);
+        return level;
+    }
+
+    private static String key(String mimeType, String route) {
+        return mimeType + ' ' + route;
+    }
+
+    /**
+     * Lock-free exponentially weighted compression ratio.
+     */
+    private static final class RatioStats {
+        private final AtomicLong ewma = new AtomicLong(Double.doubleToRawLongBits(-1));
+        private final AtomicLong samples = new AtomicLong();
+        private final AtomicLong skipped = new AtomicLong();
+
+        private void update(double ratio) {
+            long current;
+            long next;
+            do {
+                current = ewma.get();
+                double previous = Double.longBitsToDouble(current);
+                double value = previous < 0 ? ratio : previous + SMOOTHING * (ratio - previous);
+                next = Double.doubleToRawLongBits(value);
+            } while (!ewma.compareAndSet(current, next));
+            samples.incrementAndGet();
+        }
+
+        private double get() {
+            return Double.longBitsToDouble(ewma.get());
+        }
+
+        private boolean isPoor(double maxRatio, int minSamples) {
+            return samples.get() >= minSamples && get() > maxRatio;
+        }
+
+        private boolean probe(int interval) {
+            return skipped.incrementAndGet() % interval == 0;
+        }
+    }
+
+    /**
+     * Periodically sampled CPU load of the machine, between 0 and 1.
+     */
+    private static final class CpuLoad {
+        private final OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+        private final long intervalNanos;
+        private final AtomicLong nextSample = new AtomicLong(System.nanoTime());
+        private volatile double load;
+
+        private CpuLoad(long intervalNanos) {
+            this.intervalNanos = intervalNanos;
+        }
+
+        private double get() {
+            long now = System.nanoTime();
+            long next = nextSample.get();
+            if (now - next >= 0 && nextSample.compareAndSet(next, now + intervalNanos)) {
+                load = sample();
+            }
+            return load;
+        }
+
+        private double sample() {
+            if (os instanceof com.sun.management.OperatingSystemMXBean) {
+                double cpu = ((com.sun.management.OperatingSystemMXBean) os).getCpuLoad();
+                if (cpu >= 0) {
+                    return cpu;
+                }
+            }
+            // Fall back to the load average, normalized by the number of processors
+            double average = os.getSystemLoadAverage();
+            return average >= 0 ? Math.min(1.0, average / os.getAvailableProcessors()) : 0;
+        }
+    }
+}
\ No newline at end of file
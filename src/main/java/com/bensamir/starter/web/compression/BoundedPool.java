@@ -0,0 +1,69 @@
+package com.bensamir.starter.web.compression;
+
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Small non-blocking pool for objects that are expensive to allocate, such as
+ * {@link java.util.zip.Deflater} instances holding native memory.
+ * <p>
+ * Borrowing never waits: if the pool is empty a new instance is created. Instances
+ * released while the pool is full are disposed of instead of being retained, so the
+ * pool never holds more than its capacity however high the concurrency peaks.
+ *
+ * @param <T> The type of pooled objects
+ */
+public final class BoundedPool<T> {
+
+    private final ArrayBlockingQueue<T> idle;
+    private final Supplier<T> factory;
+    private final Consumer<T> disposer;
+
+    /**
+     * Creates a new BoundedPool.
+     *
+     * @param capacity the maximum number of idle instances retained
+     * @param factory creates a new instance when the pool is empty
+     * @param disposer releases an instance that is not returned to the pool
+     */
+    public BoundedPool(int capacity, Supplier<T> factory, Consumer<T> disposer) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Pool capacity must be positive");
+        }
+        this.idle = new ArrayBlockingQueue<>(capacity);
+        this.factory = Objects.requireNonNull(factory, "factory must not be null");
+        this.disposer = Objects.requireNonNull(disposer, "disposer must not be null");
+    }
+
+    /**
+     * Takes an idle instance from the pool, or creates one if none is available.
+     *
+     * @return a pooled or new instance
+     */
+    public T borrow() {
+        T instance = idle.poll();
+        return instance != null ? instance : factory.get();
+    }
+
+    /**
+     * Returns an instance to the pool, disposing of it if the pool is full.
+     *
+     * @param instance the instance to return
+     */
+    public void release(T instance) {
+        if (!idle.offer(instance)) {
+            disposer.accept(instance);
+        }
+    }
+
+    /**
+     * Returns the number of idle instances currently held.
+     *
+     * @return the number of idle instances
+     */
+    public int idleCount() {
+        return idle.size();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,38 @@
+package com.bensamir.starter.web.compression;
+
+import com.aayushatharva.brotli4j.encoder.BrotliOutputStream;
+import com.aayushatharva.brotli4j.encoder.Encoder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Brotli encoder backed by brotli4j.
+ * <p>
+ * brotli4j does not expose its native encoder for reuse: its encoder state can
+ * only be destroyed, not reset, so one is created per response and cannot be
+ * pooled like the gzip and zstd ones. The encoder parameters are built once per
+ * quality level and shared. Where that allocation shows up, prefer {@code zstd}.
+ */
+final class BrotliContentEncoder implements ContentEncoder {
+    private static final int MAX_QUALITY = 11;
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Encoder.Parameters[] parameters = new Encoder.Parameters[MAX_QUALITY + 1];
+
+    BrotliContentEncoder() {
+        for (int quality = 0; quality <= MAX_QUALITY; quality++) {
+            parameters[quality] = new Encoder.Parameters().setQuality(quality).setMode(Encoder.Mode.TEXT);
+        }
+    }
+
+    @Override
+    public String getCoding() {
+        return "br";
+    }
+
+    @Override
+    public OutputStream encode(OutputStream target, int level) throws IOException {
+        return new BrotliOutputStream(target, parameters[Math.max(0, Math.min(level, MAX_QUALITY))], BUFFER_SIZE);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,487 @@
+package com.bensamir.starter.web.compression;
+
+import com.bensamir.starter.web.support.RouteResolver;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.FastByteArrayOutputStream;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * HttpServletResponse wrapper that compresses the body as it is written.
+ * <p>
+ * Whether to compress is decided when the first byte is written or the response is
+ * flushed, because only then are the status, content type and headers final. An
+ * announced {@code Content-Length} is held back until that point: it drives the
+ * minimum size check and is dropped if the body is compressed. Flushes are passed
+ * through the encoder, so streamed responses are delivered as they are produced.
+ * <p>
+ * If a {@link PrecompressedCache} is configured, a cached variant matching the body's
+ * strong ETag is sent instead, and the handler's uncompressed output is discarded.
+ * Otherwise the compressed output is captured on its way out and stored for the next
+ * request.
+ */
+class CompressingResponseWrapper extends HttpServletResponseWrapper {
+
+    private final HttpServletRequest request;
+    private final ContentEncoder encoder;
+    private final CompressionFilter filter;
+    private State state = State.PENDING;
+    private long contentLength = -1;
+    private ServletOutputStream outputStream;
+    private PrintWriter writer;
+    private EncoderTarget target;
+    private OutputStream encoding;
+    private int level;
+    private String mimeType;
+    private String route;
+    private long bytesIn;
+    private long nanos;
+    private String cacheKey;
+    private byte[] cachedBody;
+    private boolean finished;
+
+    CompressingResponseWrapper(HttpServletRequest request, HttpServletResponse response, ContentEncoder encoder,
+                               CompressionFilter filter) {
+        super(response);
+        this.request = request;
+        this.encoder = encoder;
+        this.filter = filter;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (outputStream == null) {
+            outputStream = new CompressingServletOutputStream();
+        }
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), getCharacterEncoding()));
+        }
+        return writer;
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        decide();
+        if (encoding != null) {
+            flushEncoding();
+        }
+        super.flushBuffer();
+    }
+
+    @Override
+    public void setContentLength(int len) {
+        setContentLengthLong(len);
+    }
+
+    @Override
+    public void setContentLengthLong(long len) {
+        if (state == State.PENDING) {
+            contentLength = len;
+        } else if (state == State.IDENTITY) {
+            super.setContentLengthLong(len);
+        }
+    }
+
+    @Override
+    public void setHeader(String name, String value) {
+        if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            setContentLengthLong(value != null ? Long.parseLong(value.trim()) : -1);
+        } else {
+            super.setHeader(name, value);
+        }
+    }
+
+    @Override
+    public void addHeader(String name, String value) {
+        if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            setContentLengthLong(value != null ? Long.parseLong(value.trim()) : -1);
+        } else {
+            super.addHeader(name, value);
+        }
+    }
+
+    @Override
+    public void setIntHeader(String name, int value) {
+        if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            setContentLengthLong(value);
+        } else {
+            super.setIntHeader(name, value);
+        }
+    }
+
+    @Override
+    public void addIntHeader(String name, int value) {
+        if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            setContentLengthLong(value);
+        } else {
+            super.addIntHeader(name, value);
+        }
+    }
+
+    @Override
+    public void resetBuffer() {
+        super.resetBuffer();
+        if (state == State.CACHED) {
+            try {
+                super.getOutputStream().write(cachedBody);
+            } catch (IOException ex) {
+                throw new IllegalStateException("Could not rewrite cached response", ex);
+            }
+        } else if (encoding != null) {
+            // Start a fresh encoding, the headers announcing it are still in place
+            abandon();
+            try {
+                openEncoding();
+            } catch (IOException ex) {
+                throw new IllegalStateException("Could not restart response compression", ex);
+            }
+        }
+    }
+
+    @Override
+    public void reset() {
+        abandon();
+        super.reset();
+        state = State.PENDING;
+        contentLength = -1;
+        cacheKey = null;
+        cachedBody = null;
+    }
+
+    @Override
+    public void sendError(int sc) throws IOException {
+        revertToIdentity();
+        super.sendError(sc);
+    }
+
+    @Override
+    public void sendError(int sc, String msg) throws IOException {
+        revertToIdentity();
+        super.sendError(sc, msg);
+    }
+
+    @Override
+    public void sendRedirect(String location) throws IOException {
+        revertToIdentity();
+        super.sendRedirect(location);
+    }
+
+    /**
+     * Finishes the encoding and records its outcome.
+     */
+    void finish() throws IOException {
+        if (finished) {
+            return;
+        }
+        finished = true;
+        if (writer != null) {
+            writer.flush();
+        }
+
+        if (state == State.PENDING) {
+            // Nothing was written, pass the response through untouched
+            state = State.IDENTITY;
+            if (contentLength >= 0) {
+                super.setContentLengthLong(contentLength);
+            }
+            return;
+        }
+
+        if (encoding != null) {
+            long start = System.nanoTime();
+            encoding.close();
+            nanos += System.nanoTime() - start;
+            encoding = null;
+            filter.record(encoder.getCoding(), mimeType, route, bytesIn, target.count, nanos);
+            if (cacheKey != null && target.capture != null && getStatus() == SC_OK) {
+                filter.getPrecompressedCache().put(cacheKey, target.capture.toByteArrayUnsafe());
+            }
+        }
+    }
+
+    private void decide() throws IOException {
+        if (state != State.PENDING) {
+            return;
+        }
+        state = State.IDENTITY;
+        mimeType = CompressionFilter.mimeType(getContentType());
+
+        if (isEligible()) {
+            addVary();
+            if (encoder != null && (contentLength < 0 || contentLength >= filter.getMinResponseSize())) {
+                route = RouteResolver.resolve(request);
+                if (serveCached()) {
+                    return;
+                }
+                level = filter.getPolicy().level(encoder.getCoding(), mimeType, route, contentLength);
+                if (level != CompressionPolicy.NO_COMPRESSION) {
+                    state = State.COMPRESSING;
+                    super.setHeader(HttpHeaders.CONTENT_ENCODING, encoder.getCoding());
+                    weakenETag();
+                    openEncoding();
+                    return;
+                }
+                cacheKey = null;
+            }
+        }
+
+        if (contentLength >= 0) {
+            super.setContentLengthLong(contentLength);
+        }
+    }
+
+    private boolean serveCached() throws IOException {
+        PrecompressedCache cache = filter.getPrecompressedCache();
+        if (cache == null || getStatus() != SC_OK) {
+            return false;
+        }
+        cacheKey = cache.key(request, getHeader(HttpHeaders.CACHE_CONTROL), getHeader(HttpHeaders.ETAG),
+                mimeType, encoder.getCoding());
+        if (cacheKey == null) {
+            return false;
+        }
+        cachedBody = cache.get(cacheKey);
+        if (cachedBody == null) {
+            return false;
+        }
+
+        // A cached variant is served regardless of the policy, it costs no compression
+        state = State.CACHED;
+        super.setHeader(HttpHeaders.CONTENT_ENCODING, encoder.getCoding());
+        weakenETag();
+        super.setContentLengthLong(cachedBody.length);
+        super.getOutputStream().write(cachedBody);
+        return true;
+    }
+
+    private boolean isEligible() {
+        int status = getStatus();
+        if (mimeType == null || !filter.isCompressible(mimeType)
+                || status < 200 || status == SC_NO_CONTENT || status == SC_PARTIAL_CONTENT || status == SC_NOT_MODIFIED
+                || getHeader(HttpHeaders.CONTENT_ENCODING) != null || getHeader(HttpHeaders.CONTENT_RANGE) != null) {
+            return false;
+        }
+        String cacheControl = getHeader(HttpHeaders.CACHE_CONTROL);
+        return cacheControl == null || !cacheControl.contains("no-transform");
+    }
+
+    private void addVary() {
+        for (String vary : getHeaders(HttpHeaders.VARY)) {
+            for (String token : vary.split(",")) {
+                String trimmed = token.trim();
+                if ("*".equals(trimmed) || HttpHeaders.ACCEPT_ENCODING.equalsIgnoreCase(trimmed)) {
+                    return;
+                }
+            }
+        }
+        super.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+    }
+
+    private void weakenETag() {
+        // The compressed body is no longer byte-identical to the one the ETag describes
+        String eTag = getHeader(HttpHeaders.ETAG);
+        if (eTag != null && eTag.startsWith("\"")) {
+            super.setHeader(HttpHeaders.ETAG, "W/" + eTag);
+        }
+    }
+
+    private void openEncoding() throws IOException {
+        bytesIn = 0;
+        nanos = 0;
+        target = new EncoderTarget(super.getOutputStream());
+        if (cacheKey != null) {
+            target.capture = new FastByteArrayOutputStream();
+            target.captureLimit = filter.getPrecompressedCache().getMaxEntrySize();
+        }
+        encoding = encoder.encode(target, level);
+    }
+
+    private void flushEncoding() throws IOException {
+        long start = System.nanoTime();
+        encoding.flush();
+        nanos += System.nanoTime() - start;
+    }
+
+    private void abandon() {
+        if (encoding != null) {
+            target.discard();
+            try {
+                encoding.close();
+            } catch (IOException ex) {
+                // Discarded output, nothing to report
+            }
+            encoding = null;
+        }
+    }
+
+    private void revertToIdentity() {
+        if (state != State.COMPRESSING && state != State.CACHED) {
+            state = State.IDENTITY;
+            return;
+        }
+        abandon();
+        // Keep the headers set so far, but not the ones describing the encoding
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        for (String name : getHeaderNames()) {
+            if (!HttpHeaders.CONTENT_ENCODING.equalsIgnoreCase(name)) {
+                headers.put(name, new ArrayList<>(getHeaders(name)));
+            }
+        }
+        super.reset();
+        headers.forEach((name, values) -> values.forEach(value -> super.addHeader(name, value)));
+        state = State.IDENTITY;
+    }
+
+    private enum State {
+        PENDING, IDENTITY, COMPRESSING, CACHED
+    }
+
+    /**
+     * Output stream that decides on compression when first written to.
+     */
+    private class CompressingServletOutputStream extends ServletOutputStream {
+
+        @Override
+        public void write(int b) throws IOException {
+            decide();
+            if (state == State.CACHED) {
+                return;
+            }
+            if (encoding != null) {
+                long start = System.nanoTime();
+                encoding.write(b);
+                nanos += System.nanoTime() - start;
+                bytesIn++;
+            } else {
+                getResponse().getOutputStream().write(b);
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            decide();
+            if (state == State.CACHED) {
+                return;
+            }
+            if (encoding != null) {
+                long start = System.nanoTime();
+                encoding.write(b, off, len);
+                nanos += System.nanoTime() - start;
+                bytesIn += len;
+            } else {
+                getResponse().getOutputStream().write(b, off, len);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            decide();
+            if (encoding != null) {
+                flushEncoding();
+            } else {
+                getResponse().getOutputStream().flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            finish();
+            getResponse().getOutputStream().close();
+        }
+
+        @Override
+        public boolean isReady() {
+            try {
+                return getResponse().getOutputStream().isReady();
+            } catch (IOException ex) {
+                return false;
+            }
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            try {
+                getResponse().getOutputStream().setWriteListener(writeListener);
+            } catch (IOException ex) {
+                throw new IllegalStateException("Could not set write listener", ex);
+            }
+        }
+    }
+
+    /**
+     * Target of the encoder, counting and optionally capturing the compressed bytes.
+     * It never closes the response.
+     */
+    private static final class EncoderTarget extends OutputStream {
+        private OutputStream delegate;
+        private long count;
+        private FastByteArrayOutputStream capture;
+        private int captureLimit;
+
+        private EncoderTarget(OutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+            count++;
+            if (capture != null) {
+                capture(new byte[] {(byte) b}, 0, 1);
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+            count += len;
+            if (capture != null) {
+                capture(b, off, len);
+            }
+        }
+
+        private void capture(byte[] b, int off, int len) {
+            if (capture.size() + len > captureLimit) {
+                // Too large to cache, stop holding on to it
+                capture = null;
+            } else {
+                capture.write(b, off, len);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() {
+            // The container closes the response stream
+        }
+
+        private void discard() {
+            delegate = OutputStream.nullOutputStream();
+            capture = null;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,164 @@
+package com.bensamir.starter.web.compression;
+
+import com.bensamir.starter.metrics.StarterMetrics;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Filter that compresses responses with the best content coding the client accepts.
+ * <p>
+ * This filter:
+ * <ul>
+ *   <li>Negotiates {@code zstd}, {@code br} and {@code gzip} from {@code Accept-Encoding},
+ *       in the server's order of preference</li>
+ *   <li>Compresses responses of the configured MIME types at or above the minimum size,
+ *       at the level chosen by the {@link CompressionPolicy}</li>
+ *   <li>Reuses pooled encoder resources instead of allocating them per response</li>
+ *   <li>Passes flushes through the encoder, so NDJSON and server-sent events stream</li>
+ *   <li>Adds {@code Vary: Accept-Encoding} and weakens strong ETags of compressed responses</li>
+ *   <li>Records bytes in, bytes out and compression time per coding and route</li>
+ *   <li>Serves variants from the {@link PrecompressedCache}, if one is configured,
+ *       instead of compressing the same body again</li>
+ * </ul>
+ * Responses that already carry a {@code Content-Encoding}, such as gzip hits of the
+ * response cache, are left alone.
+ */
+public class CompressionFilter extends OncePerRequestFilter {
+
+    private final AcceptEncodingNegotiator negotiator;
+    private final Set<String> mimeTypes = new HashSet<>();
+    private final int minResponseSize;
+    private final CompressionPolicy policy;
+    private final StarterMetrics metrics;
+    private final PrecompressedCache precompressedCache;
+
+    /**
+     * Creates a new CompressionFilter.
+     *
+     * @param encoders the available encoders, in order of preference
+     * @param mimeTypes the MIME types to compress, {@code type/*} matches a whole type
+     * @param minResponseSize the minimum declared body size to compress, in bytes
+     * @param policy the policy choosing the compression level
+     * @param metrics the metrics facade
+     */
+    public CompressionFilter(List<ContentEncoder> encoders, String[] mimeTypes, int minResponseSize,
+                             CompressionPolicy policy, StarterMetrics metrics) {
+        this(encoders, mimeTypes, minResponseSize, policy, metrics, null);
+    }
+
+    /**
+     * Creates a new CompressionFilter serving cached variants.
+     *
+     * @param encoders the available encoders, in order of preference
+     * @param mimeTypes the MIME types to compress, {@code type/*} matches a whole type
+     * @param minResponseSize the minimum declared body size to compress, in bytes
+     * @param policy the policy choosing the compression level
+     * @param metrics the metrics facade
+     * @param precompressedCache the cache of compressed variants, may be null
+     */
+    public CompressionFilter(List<ContentEncoder> encoders, String[] mimeTypes, int minResponseSize,
+                             CompressionPolicy policy, StarterMetrics metrics, PrecompressedCache precompressedCache) {
+        this.negotiator = new AcceptEncodingNegotiator(encoders);
+        for (String mimeType : mimeTypes) {
+            this.mimeTypes.add(mimeType.trim().toLowerCase(Locale.ROOT));
+        }
+        this.minResponseSize = minResponseSize;
+        this.policy = policy;
+        this.metrics = metrics;
+        this.precompressedCache = precompressedCache;
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        if ("HEAD".equals(request.getMethod())) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        HttpServletResponse responseToUse = response;
+        if (WebUtils.getNativeResponse(response, CompressingResponseWrapper.class) == null) {
+            ContentEncoder encoder = negotiator.negotiate(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+            responseToUse = new CompressingResponseWrapper(request, response, encoder, this);
+        }
+
+        try {
+            filterChain.doFilter(request, responseToUse);
+        } finally {
+            if (!isAsyncStarted(request)) {
+                CompressingResponseWrapper wrapper =
+                        WebUtils.getNativeResponse(responseToUse, CompressingResponseWrapper.class);
+                if (wrapper != null) {
+                    wrapper.finish();
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks whether responses of a MIME type should be compressed.
+     *
+     * @param mimeType the MIME type, without parameters
+     * @return true if the type is configured for compression
+     */
+    boolean isCompressible(String mimeType) {
+        if (mimeTypes.contains(mimeType)) {
+            return true;
+        }
+        int slash = mimeType.indexOf('/');
+        return slash > 0 && mimeTypes.contains(mimeType.substring(0, slash) + "/*");
+    }
+
+    int getMinResponseSize() {
+        return minResponseSize;
+    }
+
+    CompressionPolicy getPolicy() {
+        return policy;
+    }
+
+    PrecompressedCache getPrecompressedCache() {
+        return precompressedCache;
+    }
+
+    /**
+     * Records the outcome of a compressed response.
+     */
+    void record(String coding, String mimeType, String route, long bytesIn, long bytesOut, long nanos) {
+        metrics.recordAmount("starter.compression.bytes.in", bytesIn, "encoding", coding, "route", route);
+        metrics.recordAmount("starter.compression.bytes.out", bytesOut, "encoding", coding, "route", route);
+        metrics.recordNanos("starter.compression.time", nanos, "encoding", coding, "route", route);
+        policy.record(coding, mimeType, route, bytesIn, bytesOut, nanos);
+    }
+
+    /**
+     * Extracts the lower-case MIME type from a content type header value.
+     *
+     * @param contentType the content type, may be null
+     * @return the MIME type without parameters, or null
+     */
+    static String mimeType(String contentType) {
+        if (contentType == null) {
+            return null;
+        }
+        int semicolon = contentType.indexOf(';');
+        String mimeType = semicolon >= 0 ? contentType.substring(0, semicolon) : contentType;
+        return mimeType.trim().toLowerCase(Locale.ROOT);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,41 @@
+package com.bensamir.starter.web.compression;
+
+/**
+ * Decides whether, and how hard, an eligible response is compressed.
+ * <p>
+ * The compression filter has already checked the MIME type, the minimum size and
+ * the client's {@code Accept-Encoding} when the policy is consulted. The policy is
+ * told the outcome of every compressed response, so implementations can adapt
+ * their decisions to the observed compression ratios.
+ */
+public interface CompressionPolicy {
+
+    /**
+     * Level returned to send the response uncompressed.
+     */
+    int NO_COMPRESSION = -1;
+
+    /**
+     * Returns the compression level for a response.
+     *
+     * @param coding the negotiated content coding
+     * @param mimeType the response MIME type, without parameters
+     * @param route the route template of the request
+     * @param contentLength the declared body length, or -1 if unknown
+     * @return the compression level, or {@link #NO_COMPRESSION}
+     */
+    int level(String coding, String mimeType, String route, long contentLength);
+
+    /**
+     * Records the outcome of a compressed response.
+     *
+     * @param coding the content coding used
+     * @param mimeType the response MIME type, without parameters
+     * @param route the route template of the request
+     * @param bytesIn the uncompressed body size
+     * @param bytesOut the compressed body size
+     * @param nanos the time spent compressing
+     */
+    default void record(String coding, String mimeType, String route, long bytesIn, long bytesOut, long nanos) {
+    }
+}
\ No newline at end of file
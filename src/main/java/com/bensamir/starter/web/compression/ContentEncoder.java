@@ -0,0 +1,36 @@
+package com.bensamir.starter.web.compression;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Encodes a response body with a single HTTP content coding.
+ * <p>
+ * The stream returned by {@link #encode(OutputStream, int)} must:
+ * <ul>
+ *   <li>Push all data written so far to the target on {@code flush()}, so streamed
+ *       responses such as NDJSON and server-sent events reach the client promptly</li>
+ *   <li>Finish the encoding on {@code close()}, returning pooled resources</li>
+ * </ul>
+ * The target passed by the compression filter ignores {@code close()}, so encoders
+ * are free to close it.
+ */
+public interface ContentEncoder {
+
+    /**
+     * Returns the content coding token, as used in {@code Accept-Encoding}.
+     *
+     * @return the content coding, e.g. {@code gzip}
+     */
+    String getCoding();
+
+    /**
+     * Opens an encoding stream on the given target.
+     *
+     * @param target the stream receiving the encoded bytes
+     * @param level the compression level, in the range of the coding
+     * @return the encoding stream
+     * @throws IOException if the stream cannot be opened
+     */
+    OutputStream encode(OutputStream target, int level) throws IOException;
+}
\ No newline at end of file
@@ -0,0 +1,111 @@
+package com.bensamir.starter.web.compression;
+
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import com.github.luben.zstd.util.Native;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.ClassUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Creates the content encoders for the configured codings.
+ * <p>
+ * Encoders are returned in the configured order of preference and only if they
+ * can actually be used:
+ * <ul>
+ *   <li>{@code gzip} is always available</li>
+ *   <li>{@code br} requires brotli4j and its native library for the platform</li>
+ *   <li>{@code zstd} requires zstd-jni and its native library for the platform</li>
+ * </ul>
+ */
+public final class ContentEncoders {
+    private static final Logger log = LoggerFactory.getLogger(ContentEncoders.class);
+    private static final ClassLoader CLASS_LOADER = ContentEncoders.class.getClassLoader();
+
+    private static final boolean BROTLI_PRESENT =
+            ClassUtils.isPresent("com.aayushatharva.brotli4j.Brotli4jLoader", CLASS_LOADER);
+    private static final boolean ZSTD_PRESENT =
+            ClassUtils.isPresent("com.github.luben.zstd.ZstdCompressCtx", CLASS_LOADER);
+
+    private ContentEncoders() {
+        // Utility class, no instantiation
+    }
+
+    /**
+     * Creates the encoders for the given codings.
+     *
+     * @param codings the content codings in order of preference
+     * @param poolSize the maximum number of idle encoder instances retained per coding
+     * @return the available encoders, in order of preference
+     */
+    public static List<ContentEncoder> create(List<String> codings, int poolSize) {
+        List<ContentEncoder> encoders = new ArrayList<>(codings.size());
+        for (String coding : codings) {
+            ContentEncoder encoder = create(coding.trim().toLowerCase(Locale.ROOT), poolSize);
+            if (encoder != null) {
+                encoders.add(encoder);
+            }
+        }
+        return encoders;
+    }
+
+    private static ContentEncoder create(String coding, int poolSize) {
+        switch (coding) {
+            case "gzip":
+                return new GzipContentEncoder(poolSize);
+            case "br":
+                if (BROTLI_PRESENT && Brotli.isAvailable()) {
+                    return Brotli.encoder();
+                }
+                log.info("Brotli compression disabled: brotli4j or its native library is not available");
+                return null;
+            case "zstd":
+                if (ZSTD_PRESENT && Zstd.isAvailable()) {
+                    return Zstd.encoder(poolSize);
+                }
+                log.info("Zstandard compression disabled: zstd-jni or its native library is not available");
+                return null;
+            default:
+                log.warn("Ignoring unsupported content coding '{}'", coding);
+                return null;
+        }
+    }
+
+    /**
+     * Isolates the reference to the optional brotli4j library.
+     */
+    private static final class Brotli {
+        private static boolean isAvailable() {
+            try {
+                return Brotli4jLoader.isAvailable();
+            } catch (LinkageError ex) {
+                return false;
+            }
+        }
+
+        private static ContentEncoder encoder() {
+            return new BrotliContentEncoder();
+        }
+    }
+
+    /**
+     * Isolates the reference to the optional zstd-jni library.
+     */
+    private static final class Zstd {
+        private static boolean isAvailable() {
+            try {
+                Native.load();
+                return Native.isLoaded();
+            } catch (LinkageError ex) {
+                return false;
+            }
+        }
+
+        private static ContentEncoder encoder(int poolSize) {
+            return new ZstdContentEncoder(poolSize);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,197 @@
+package com.bensamir.starter.web.compression;
+
+import com.bensamir.starter.exception.PayloadTooLargeException;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.WebUtils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+
+/**
+ * Request wrapper exposing the decompressed request body.
+ * <p>
+ * The body is inflated lazily, as the handler reads it, and never buffered in full.
+ * Reading more than the configured maximum number of decompressed bytes fails with
+ * a {@link PayloadTooLargeException}, which guards against decompression bombs.
+ * Since the decoded length is unknown, the {@code Content-Encoding} and
+ * {@code Content-Length} headers of the original request are hidden.
+ */
+final class DecompressingRequestWrapper extends HttpServletRequestWrapper {
+    private final String coding;
+    private final long maxSize;
+    private final RequestDecompressionFilter filter;
+    private DecompressingInputStream inputStream;
+    private BufferedReader reader;
+
+    DecompressingRequestWrapper(HttpServletRequest request, String coding, long maxSize,
+                                RequestDecompressionFilter filter) {
+        super(request);
+        this.coding = coding;
+        this.maxSize = maxSize;
+        this.filter = filter;
+    }
+
+    @Override
+    public ServletInputStream getInputStream() throws IOException {
+        if (reader != null) {
+            throw new IllegalStateException("getReader() has already been called for this request");
+        }
+        if (inputStream == null) {
+            inputStream = new DecompressingInputStream(filter.decode(coding, super.getInputStream()));
+        }
+        return inputStream;
+    }
+
+    @Override
+    public BufferedReader getReader() throws IOException {
+        if (reader == null) {
+            if (inputStream != null) {
+                throw new IllegalStateException("getInputStream() has already been called for this request");
+            }
+            String encoding = getCharacterEncoding();
+            InputStream in = new DecompressingInputStream(filter.decode(coding, super.getInputStream()));
+            reader = new BufferedReader(new InputStreamReader(
+                    in, encoding != null ? encoding : WebUtils.DEFAULT_CHARACTER_ENCODING));
+            inputStream = (DecompressingInputStream) in;
+        }
+        return reader;
+    }
+
+    @Override
+    public int getContentLength() {
+        return -1;
+    }
+
+    @Override
+    public long getContentLengthLong() {
+        return -1;
+    }
+
+    @Override
+    public String getHeader(String name) {
+        return isHidden(name) ? null : super.getHeader(name);
+    }
+
+    @Override
+    public Enumeration<String> getHeaders(String name) {
+        return isHidden(name) ? Collections.emptyEnumeration() : super.getHeaders(name);
+    }
+
+    @Override
+    public Enumeration<String> getHeaderNames() {
+        List<String> names = Collections.list(super.getHeaderNames());
+        names.removeIf(DecompressingRequestWrapper::isHidden);
+        return Collections.enumeration(names);
+    }
+
+    @Override
+    public int getIntHeader(String name) {
+        return isHidden(name) ? -1 : super.getIntHeader(name);
+    }
+
+    /**
+     * Returns the number of decompressed bytes read so far.
+     *
+     * @return the decompressed body size in bytes
+     */
+    long getBytesRead() {
+        return inputStream != null ? inputStream.count : 0;
+    }
+
+    /**
+     * Returns the pooled decompression resources, if the body was not read to the end.
+     */
+    void release() {
+        if (inputStream != null) {
+            inputStream.release();
+        }
+    }
+
+    private static boolean isHidden(String name) {
+        return HttpHeaders.CONTENT_ENCODING.equalsIgnoreCase(name) || HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name);
+    }
+
+    /**
+     * Servlet input stream counting decompressed bytes against the size limit.
+     */
+    private final class DecompressingInputStream extends ServletInputStream {
+        private final InputStream decoded;
+        private long count;
+        private boolean finished;
+        private boolean released;
+
+        private DecompressingInputStream(InputStream decoded) {
+            this.decoded = decoded;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = decoded.read();
+            if (b == -1) {
+                finished = true;
+            } else {
+                count(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = decoded.read(b, off, len);
+            if (read == -1) {
+                finished = true;
+            } else {
+                count(read);
+            }
+            return read;
+        }
+
+        @Override
+        public boolean isFinished() {
+            return finished;
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            throw new UnsupportedOperationException("Non-blocking reads of compressed request bodies are not supported");
+        }
+
+        @Override
+        public void close() throws IOException {
+            release();
+        }
+
+        private void count(int read) {
+            count += read;
+            if (count > maxSize) {
+                release();
+                throw new PayloadTooLargeException("Decompressed request body exceeds " + maxSize + " bytes");
+            }
+        }
+
+        private void release() {
+            if (!released) {
+                released = true;
+                try {
+                    decoded.close();
+                } catch (IOException ex) {
+                    // The request is complete or failed, nothing left to read
+                }
+            }
+        }
+    }
+}
\ No newline at end of file
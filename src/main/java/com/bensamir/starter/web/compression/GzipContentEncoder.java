@@ -0,0 +1,145 @@
+package com.bensamir.starter.web.compression;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Gzip encoder backed by pooled {@link Deflater} instances.
+ * <p>
+ * {@link java.util.zip.GZIPOutputStream} allocates a new deflater, with its native
+ * buffers, for every stream. This encoder writes the gzip framing itself and borrows
+ * the deflater, output buffer and checksum from a {@link BoundedPool}, so a busy
+ * server compresses without allocating per response.
+ */
+final class GzipContentEncoder implements ContentEncoder {
+    private static final byte[] HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+    private static final int BUFFER_SIZE = 8192;
+
+    private final BoundedPool<State> pool;
+
+    GzipContentEncoder(int poolSize) {
+        this.pool = new BoundedPool<>(poolSize, State::new, State::end);
+    }
+
+    @Override
+    public String getCoding() {
+        return "gzip";
+    }
+
+    @Override
+    public OutputStream encode(OutputStream target, int level) throws IOException {
+        State state = pool.borrow();
+        state.reset(level);
+        target.write(HEADER);
+        return new GzipStream(target, state);
+    }
+
+    /**
+     * The reusable resources of one gzip stream.
+     */
+    private static final class State {
+        private final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        private final CRC32 crc = new CRC32();
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+        private final byte[] single = new byte[1];
+
+        private void reset(int level) {
+            deflater.reset();
+            deflater.setLevel(level);
+            crc.reset();
+        }
+
+        private void end() {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Gzip stream writing through a borrowed deflater.
+     */
+    private final class GzipStream extends OutputStream {
+        private final OutputStream target;
+        private final State state;
+        private boolean closed;
+
+        private GzipStream(OutputStream target, State state) {
+            this.target = target;
+            this.state = state;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            state.single[0] = (byte) b;
+            write(state.single, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (closed) {
+                throw new IOException("Stream closed");
+            }
+            if (len == 0) {
+                return;
+            }
+            state.crc.update(b, off, len);
+            state.deflater.setInput(b, off, len);
+            while (!state.deflater.needsInput()) {
+                deflate(Deflater.NO_FLUSH);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (!closed) {
+                // Sync flush emits everything written so far as a complete block
+                int count;
+                do {
+                    count = deflate(Deflater.SYNC_FLUSH);
+                } while (count == state.buffer.length);
+                target.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                state.deflater.finish();
+                while (!state.deflater.finished()) {
+                    deflate(Deflater.NO_FLUSH);
+                }
+                writeTrailer();
+                target.close();
+            } finally {
+                pool.release(state);
+            }
+        }
+
+        private int deflate(int flush) throws IOException {
+            int count = state.deflater.deflate(state.buffer, 0, state.buffer.length, flush);
+            if (count > 0) {
+                target.write(state.buffer, 0, count);
+            }
+            return count;
+        }
+
+        private void writeTrailer() throws IOException {
+            byte[] trailer = state.buffer;
+            writeInt(trailer, 0, (int) state.crc.getValue());
+            writeInt(trailer, 4, (int) state.deflater.getBytesRead());
+            target.write(trailer, 0, 8);
+        }
+
+        private void writeInt(byte[] buffer, int offset, int value) {
+            buffer[offset] = (byte) value;
+            buffer[offset + 1] = (byte) (value >> 8);
+            buffer[offset + 2] = (byte) (value >> 16);
+            buffer[offset + 3] = (byte) (value >> 24);
+        }
+    }
+}
\ No newline at end of file
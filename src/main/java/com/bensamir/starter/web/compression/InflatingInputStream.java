@@ -0,0 +1,245 @@
+package com.bensamir.starter.web.compression;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/**
+ * Input stream inflating gzip or deflate data through a pooled {@link Inflater}.
+ * <p>
+ * Like its counterpart on the response side, this stream parses the gzip and zlib
+ * framing itself so that a raw inflater, its input buffer and checksum can be borrowed
+ * from a {@link BoundedPool} instead of being allocated per request. The resources are
+ * returned once the end of the data is reached or the stream is closed.
+ */
+final class InflatingInputStream extends InputStream {
+    private static final int BUFFER_SIZE = 8192;
+    private static final int GZIP_MAGIC = 0x8b1f;
+    private static final int FHCRC = 2;
+    private static final int FEXTRA = 4;
+    private static final int FNAME = 8;
+    private static final int FCOMMENT = 16;
+
+    private final InputStream in;
+    private final BoundedPool<State> pool;
+    private final boolean gzip;
+    private State state;
+    private int bufferLength;
+    private boolean headerRead;
+    private boolean eof;
+
+    InflatingInputStream(InputStream in, BoundedPool<State> pool, boolean gzip) {
+        this.in = in;
+        this.pool = pool;
+        this.gzip = gzip;
+        this.state = pool.borrow();
+        this.state.reset();
+    }
+
+    /**
+     * Creates a pool of inflater resources.
+     *
+     * @param capacity the maximum number of idle instances retained
+     * @return the pool
+     */
+    static BoundedPool<State> pool(int capacity) {
+        return new BoundedPool<>(capacity, State::new, State::end);
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (state == null) {
+            return read(new byte[1], 0, 1);
+        }
+        byte[] single = state.single;
+        return read(single, 0, 1) == -1 ? -1 : single[0] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (eof) {
+            return -1;
+        }
+        if (state == null) {
+            throw new IOException("Stream closed");
+        }
+        if (len == 0) {
+            return 0;
+        }
+        if (!headerRead) {
+            readHeader();
+            headerRead = true;
+        }
+
+        Inflater inflater = state.inflater;
+        try {
+            while (true) {
+                int count = inflater.inflate(b, off, len);
+                if (count > 0) {
+                    state.crc.update(b, off, count);
+                    return count;
+                }
+                if (inflater.finished()) {
+                    readTrailer();
+                    eof = true;
+                    release();
+                    return -1;
+                }
+                if (inflater.needsDictionary()) {
+                    throw new ZipException("Preset dictionaries are not supported");
+                }
+                if (inflater.needsInput()) {
+                    fill();
+                }
+            }
+        } catch (DataFormatException ex) {
+            throw new ZipException("Invalid compressed data: " + ex.getMessage());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        release();
+        in.close();
+    }
+
+    private void fill() throws IOException {
+        bufferLength = in.read(state.buffer, 0, state.buffer.length);
+        if (bufferLength < 0) {
+            throw new EOFException("Unexpected end of compressed data");
+        }
+        state.inflater.setInput(state.buffer, 0, bufferLength);
+    }
+
+    private void readHeader() throws IOException {
+        if (gzip) {
+            readGzipHeader();
+        } else {
+            readZlibHeader();
+        }
+    }
+
+    private void readGzipHeader() throws IOException {
+        if (readUnsignedShort() != GZIP_MAGIC || readByte() != 8) {
+            throw new ZipException("Not in gzip format");
+        }
+        int flags = readByte();
+        skip(6); // Modification time, extra flags and operating system
+        if ((flags & FEXTRA) != 0) {
+            skip(readUnsignedShort());
+        }
+        if ((flags & FNAME) != 0) {
+            skipString();
+        }
+        if ((flags & FCOMMENT) != 0) {
+            skipString();
+        }
+        if ((flags & FHCRC) != 0) {
+            skip(2);
+        }
+    }
+
+    private void readZlibHeader() throws IOException {
+        int cmf = readByte();
+        int flg = readByte();
+        if ((cmf & 0x0f) == 8 && ((cmf << 8) | flg) % 31 == 0) {
+            if ((flg & 0x20) != 0) {
+                throw new ZipException("Preset dictionaries are not supported");
+            }
+            return;
+        }
+        // Some clients send raw deflate data for "deflate", feed the bytes back to the inflater
+        state.buffer[0] = (byte) cmf;
+        state.buffer[1] = (byte) flg;
+        bufferLength = 2;
+        state.inflater.setInput(state.buffer, 0, bufferLength);
+        state.raw = true;
+    }
+
+    private void readTrailer() throws IOException {
+        if (!gzip) {
+            if (!state.raw) {
+                trailerBytes(4); // Adler-32 checksum
+            }
+            return;
+        }
+        byte[] trailer = trailerBytes(8);
+        long crc = readIntLittleEndian(trailer, 0) & 0xffffffffL;
+        long size = readIntLittleEndian(trailer, 4) & 0xffffffffL;
+        if (crc != state.crc.getValue() || size != (state.inflater.getBytesWritten() & 0xffffffffL)) {
+            throw new ZipException("Corrupt gzip trailer");
+        }
+    }
+
+    private byte[] trailerBytes(int length) throws IOException {
+        byte[] trailer = new byte[length];
+        int remaining = state.inflater.getRemaining();
+        int fromBuffer = Math.min(remaining, length);
+        System.arraycopy(state.buffer, bufferLength - remaining, trailer, 0, fromBuffer);
+        for (int i = fromBuffer; i < length; i++) {
+            trailer[i] = (byte) readByte();
+        }
+        return trailer;
+    }
+
+    private int readByte() throws IOException {
+        int b = in.read();
+        if (b < 0) {
+            throw new EOFException("Unexpected end of compressed data");
+        }
+        return b;
+    }
+
+    private int readUnsignedShort() throws IOException {
+        return readByte() | (readByte() << 8);
+    }
+
+    private void skip(int count) throws IOException {
+        for (int i = 0; i < count; i++) {
+            readByte();
+        }
+    }
+
+    private void skipString() throws IOException {
+        while (readByte() != 0) {
+            // Skip up to and including the terminating zero
+        }
+    }
+
+    private static int readIntLittleEndian(byte[] b, int offset) {
+        return (b[offset] & 0xff) | (b[offset + 1] & 0xff) << 8 | (b[offset + 2] & 0xff) << 16 | (b[offset + 3] & 0xff) << 24;
+    }
+
+    private void release() {
+        if (state != null) {
+            State released = state;
+            state = null;
+            pool.release(released);
+        }
+    }
+
+    /**
+     * The reusable resources of one inflating stream.
+     */
+    static final class State {
+        private final Inflater inflater = new Inflater(true);
+        private final CRC32 crc = new CRC32();
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+        private final byte[] single = new byte[1];
+        private boolean raw;
+
+        private void reset() {
+            inflater.reset();
+            crc.reset();
+            raw = false;
+        }
+
+        private void end() {
+            inflater.end();
+        }
+    }
+}
\ No newline at end of file
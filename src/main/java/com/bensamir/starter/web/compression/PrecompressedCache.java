@@ -0,0 +1,130 @@
+package com.bensamir.starter.web.compression;
+
+import com.bensamir.starter.metrics.StarterMetrics;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.List;
+
+/**
+ * Bounded in-memory cache of compressed response bodies.
+ * <p>
+ * Each entry holds one encoded variant ({@code gzip}, {@code br} or {@code zstd}) of
+ * a response body, keyed by request URI, MIME type, coding and strong ETag. Since a
+ * strong ETag identifies the exact bytes of the uncompressed body, a cached variant
+ * can be sent without compressing the body again:
+ * <ul>
+ *   <li>Responses to requests matching the configured paths, such as the OpenAPI
+ *       document, and responses marked {@code Cache-Control: public} are cached</li>
+ *   <li>Variants are stored lazily, the first time a coding is negotiated for a body</li>
+ *   <li>The cache is bounded by the total size of the stored variants and evicts by
+ *       Caffeine's W-TinyLFU policy</li>
+ * </ul>
+ * A new body gets a new ETag, so stale variants are never served; they simply age out.
+ */
+public class PrecompressedCache {
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    private final Cache<String, byte[]> cache;
+    private final List<String> paths;
+    private final int maxEntrySize;
+    private final StarterMetrics metrics;
+
+    /**
+     * Creates a new PrecompressedCache.
+     *
+     * @param maximumSize the maximum total size of cached variants in bytes
+     * @param maxEntrySize the largest compressed variant stored, in bytes
+     * @param paths the Ant-style path patterns whose responses are cached
+     * @param metrics the metrics facade
+     */
+    public PrecompressedCache(long maximumSize, int maxEntrySize, List<String> paths, StarterMetrics metrics) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumSize)
+                .weigher((String key, byte[] body) -> key.length() + body.length)
+                .build();
+        this.maxEntrySize = maxEntrySize;
+        this.paths = List.copyOf(paths);
+        this.metrics = metrics;
+    }
+
+    /**
+     * Returns the cache key for a response, if its variants may be cached.
+     *
+     * @param request the current request
+     * @param cacheControl the response's {@code Cache-Control} header, may be null
+     * @param eTag the response's {@code ETag} header, may be null
+     * @param mimeType the response MIME type
+     * @param coding the negotiated content coding
+     * @return the cache key, or null if the response is not cacheable
+     */
+    String key(HttpServletRequest request, String cacheControl, String eTag, String mimeType, String coding) {
+        // Weak ETags allow semantically equal but different bodies, which must not share a variant
+        if (eTag == null || !eTag.startsWith("\"") || !"GET".equals(request.getMethod())) {
+            return null;
+        }
+        if (cacheControl != null && (cacheControl.contains("no-store") || cacheControl.contains("private"))) {
+            return null;
+        }
+        String path = request.getRequestURI();
+        boolean cacheable = (cacheControl != null && cacheControl.contains("public"))
+                || paths.stream().anyMatch(pattern -> PATH_MATCHER.match(pattern, path));
+        if (!cacheable) {
+            return null;
+        }
+
+        String query = request.getQueryString();
+        return coding + ' ' + mimeType + ' ' + eTag + ' ' + path + (query != null ? '?' + query : "");
+    }
+
+    /**
+     * Returns a cached variant.
+     *
+     * @param key the cache key
+     * @return the compressed body, or null if not cached
+     */
+    byte[] get(String key) {
+        byte[] body = cache.getIfPresent(key);
+        metrics.increment("starter.compression.precompressed", "result", body != null ? "hit" : "miss");
+        return body;
+    }
+
+    /**
+     * Stores a compressed variant.
+     *
+     * @param key the cache key
+     * @param body the compressed body
+     */
+    void put(String key, byte[] body) {
+        if (body.length <= maxEntrySize) {
+            cache.put(key, body);
+        }
+    }
+
+    /**
+     * Returns the largest compressed variant stored.
+     *
+     * @return the maximum entry size in bytes
+     */
+    int getMaxEntrySize() {
+        return maxEntrySize;
+    }
+
+    /**
+     * Removes all cached variants.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Returns the approximate number of cached variants.
+     *
+     * @return the number of cached variants
+     */
+    public long size() {
+        return cache.estimatedSize();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,90 @@
+package com.bensamir.starter.web.compression;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationListener;
+import org.springframework.http.HttpHeaders;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Populates the {@link PrecompressedCache} before the application reports itself ready.
+ * <p>
+ * On {@link ApplicationStartedEvent} the web server is already listening, but readiness
+ * probes do not succeed yet. The warmer requests each configured path from the local
+ * server once per content coding, so the responses pass through the compression filter
+ * and their variants are cached before the first client asks for them.
+ * <p>
+ * Warm paths must be reachable without authentication over plain HTTP and, like all
+ * cached responses, carry a strong ETag. Failures are logged and never prevent startup.
+ */
+public class PrecompressedCacheWarmer implements ApplicationListener<ApplicationStartedEvent> {
+    private static final Logger log = LoggerFactory.getLogger(PrecompressedCacheWarmer.class);
+
+    private final List<String> paths;
+    private final List<String> codings;
+    private final PrecompressedCache cache;
+    private final Duration timeout;
+
+    /**
+     * Creates a new PrecompressedCacheWarmer.
+     *
+     * @param paths the request paths to warm, including the context path
+     * @param codings the content codings to request
+     * @param cache the cache being populated
+     * @param timeout the timeout of each warmup request
+     */
+    public PrecompressedCacheWarmer(List<String> paths, List<String> codings, PrecompressedCache cache,
+                                    Duration timeout) {
+        this.paths = List.copyOf(paths);
+        this.codings = List.copyOf(codings);
+        this.cache = cache;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationStartedEvent event) {
+        if (paths.isEmpty() || !(event.getApplicationContext() instanceof WebServerApplicationContext)) {
+            return;
+        }
+        int port = ((WebServerApplicationContext) event.getApplicationContext()).getWebServer().getPort();
+        if (port <= 0) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        HttpClient client = HttpClient.newBuilder().connectTimeout(timeout).build();
+        for (String path : paths) {
+            for (String coding : codings) {
+                warm(client, URI.create("http://localhost:" + port + path), coding);
+            }
+        }
+        log.info("Pre-compressed cache warmed in {} ms ({} variants cached)",
+                (System.nanoTime() - start) / 1_000_000, cache.size());
+    }
+
+    private void warm(HttpClient client, URI uri, String coding) {
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(timeout)
+                .header(HttpHeaders.ACCEPT_ENCODING, coding)
+                .GET()
+                .build();
+        try {
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() != 200) {
+                log.warn("Could not warm {} ({}): status {}", uri.getPath(), coding, response.statusCode());
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (Exception ex) {
+            log.warn("Could not warm {} ({}): {}", uri.getPath(), coding, ex.getMessage());
+        }
+    }
+}
\ No newline at end of file
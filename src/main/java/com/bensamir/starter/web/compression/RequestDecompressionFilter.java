@@ -0,0 +1,200 @@
+package com.bensamir.starter.web.compression;
+
+import com.bensamir.starter.exception.PrerenderedApiError;
+import com.bensamir.starter.metrics.StarterMetrics;
+import com.bensamir.starter.properties.StarterKitProperties;
+import com.github.luben.zstd.RecyclingBufferPool;
+import com.github.luben.zstd.ZstdInputStreamNoFinalizer;
+import com.github.luben.zstd.util.Native;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Filter that decompresses request bodies sent with a {@code Content-Encoding}.
+ * <p>
+ * This filter:
+ * <ul>
+ *   <li>Inflates {@code gzip}, {@code deflate} and, with zstd-jni, {@code zstd} bodies
+ *       on the fly as the handler reads them</li>
+ *   <li>Borrows inflaters from a pool instead of allocating them per request</li>
+ *   <li>Rejects bodies that decompress to more than {@code max-size} bytes with
+ *       413 Content Too Large, guarding against decompression bombs</li>
+ *   <li>Rejects unsupported or stacked codings with 415 Unsupported Media Type and
+ *       an {@code Accept-Encoding} header listing the supported codings</li>
+ *   <li>Records the decompressed body size per coding</li>
+ * </ul>
+ * Handlers, and inner filters such as request logging, see the decompressed body.
+ * Form parameters of compressed {@code application/x-www-form-urlencoded} bodies are
+ * parsed by the container from the raw body and are therefore not supported.
+ */
+public class RequestDecompressionFilter extends OncePerRequestFilter {
+    private static final boolean ZSTD_PRESENT = ClassUtils.isPresent(
+            "com.github.luben.zstd.ZstdInputStreamNoFinalizer", RequestDecompressionFilter.class.getClassLoader());
+
+    private final long maxSize;
+    private final BoundedPool<InflatingInputStream.State> inflaters;
+    private final boolean zstdAvailable;
+    private final String supportedCodings;
+    private final PrerenderedApiError unsupportedEncoding;
+    private final PrerenderedApiError payloadTooLarge;
+    private final StarterMetrics metrics;
+
+    /**
+     * Creates a new RequestDecompressionFilter.
+     *
+     * @param properties the starter kit properties
+     * @param metrics the metrics facade
+     */
+    public RequestDecompressionFilter(StarterKitProperties properties, StarterMetrics metrics) {
+        StarterKitProperties.WebConfigProperties.RequestDecompressionProperties decompression =
+                properties.getWebConfig().getRequestDecompression();
+        Map<String, String> messages = properties.getExceptionHandling().getDefaultMessages();
+        this.maxSize = decompression.getMaxSize();
+        this.inflaters = InflatingInputStream.pool(decompression.getPoolSize());
+        this.zstdAvailable = ZSTD_PRESENT && Zstd.isAvailable();
+        this.supportedCodings = zstdAvailable ? "zstd, gzip, deflate" : "gzip, deflate";
+        this.unsupportedEncoding = PrerenderedApiError.of(HttpStatus.UNSUPPORTED_MEDIA_TYPE,
+                "UNSUPPORTED_CONTENT_ENCODING",
+                messages.getOrDefault("unsupported.encoding", "The request content encoding is not supported"));
+        this.payloadTooLarge = PrerenderedApiError.of(HttpStatus.PAYLOAD_TOO_LARGE,
+                "PAYLOAD_TOO_LARGE",
+                messages.getOrDefault("payload.too.large", "The request payload is too large"));
+        this.metrics = metrics;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String contentEncoding = request.getHeader(HttpHeaders.CONTENT_ENCODING);
+        String coding = contentEncoding != null ? contentEncoding.trim().toLowerCase(Locale.ROOT) : "";
+        if (coding.isEmpty() || "identity".equals(coding)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        if (!isSupported(coding)) {
+            response.setHeader(HttpHeaders.ACCEPT_ENCODING, supportedCodings);
+            unsupportedEncoding.write(response, request.getRequestURI());
+            return;
+        }
+        // Compressed bodies rarely shrink when inflated, reject oversized ones before reading them
+        if (request.getContentLengthLong() > maxSize) {
+            payloadTooLarge.write(response, request.getRequestURI());
+            return;
+        }
+
+        DecompressingRequestWrapper wrapper = new DecompressingRequestWrapper(request, coding, maxSize, this);
+        try {
+            filterChain.doFilter(wrapper, response);
+        } finally {
+            if (isAsyncStarted(request)) {
+                request.getAsyncContext().addListener(new ReleaseListener(wrapper, coding));
+            } else {
+                finish(wrapper, coding);
+            }
+        }
+    }
+
+    /**
+     * Wraps the raw request body in a decoding stream.
+     *
+     * @param coding the content coding, as checked by {@link #isSupported(String)}
+     * @param in the raw request body
+     * @return the decoded request body
+     * @throws IOException if the decoder cannot be created
+     */
+    InputStream decode(String coding, InputStream in) throws IOException {
+        switch (coding) {
+            case "gzip":
+            case "x-gzip":
+                return new InflatingInputStream(in, inflaters, true);
+            case "deflate":
+                return new InflatingInputStream(in, inflaters, false);
+            case "zstd":
+                return Zstd.decode(in);
+            default:
+                throw new IllegalArgumentException("Unsupported content coding: " + coding);
+        }
+    }
+
+    private boolean isSupported(String coding) {
+        switch (coding) {
+            case "gzip":
+            case "x-gzip":
+            case "deflate":
+                return true;
+            case "zstd":
+                return zstdAvailable;
+            default:
+                return false;
+        }
+    }
+
+    private void finish(DecompressingRequestWrapper wrapper, String coding) {
+        wrapper.release();
+        metrics.recordAmount("starter.request.decompressed.bytes", wrapper.getBytesRead(), "encoding", coding);
+    }
+
+    /**
+     * Returns the decompression resources once an asynchronous request completes.
+     */
+    private final class ReleaseListener implements AsyncListener {
+        private final DecompressingRequestWrapper wrapper;
+        private final String coding;
+
+        private ReleaseListener(DecompressingRequestWrapper wrapper, String coding) {
+            this.wrapper = wrapper;
+            this.coding = coding;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            finish(wrapper, coding);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            // Completion follows the timeout
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            // Completion follows the error
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+
+    /**
+     * Isolates the reference to the optional zstd-jni library.
+     */
+    private static final class Zstd {
+        private static boolean isAvailable() {
+            try {
+                Native.load();
+                return Native.isLoaded();
+            } catch (LinkageError ex) {
+                return false;
+            }
+        }
+
+        private static InputStream decode(InputStream in) throws IOException {
+            return new ZstdInputStreamNoFinalizer(in, RecyclingBufferPool.INSTANCE);
+        }
+    }
+}
\ No newline at end of file
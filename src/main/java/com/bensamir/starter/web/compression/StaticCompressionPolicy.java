@@ -0,0 +1,53 @@
+package com.bensamir.starter.web.compression;
+
+import com.bensamir.starter.properties.StarterKitProperties;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Compression policy using fixed levels per content coding and MIME type.
+ * <p>
+ * Each coding has a default level that can be overridden per MIME type, typically
+ * to compress streamed NDJSON or server-sent events at a low level.
+ */
+public class StaticCompressionPolicy implements CompressionPolicy {
+
+    private final Map<String, Levels> levels = new HashMap<>();
+
+    /**
+     * Creates a new StaticCompressionPolicy.
+     *
+     * @param properties the compression properties
+     */
+    public StaticCompressionPolicy(StarterKitProperties.WebConfigProperties.CompressionProperties properties) {
+        levels.put("gzip", new Levels(properties.getGzip()));
+        levels.put("br", new Levels(properties.getBrotli()));
+        levels.put("zstd", new Levels(properties.getZstd()));
+    }
+
+    @Override
+    public int level(String coding, String mimeType, String route, long contentLength) {
+        Levels codingLevels = levels.get(coding);
+        return codingLevels != null ? codingLevels.level(mimeType) : NO_COMPRESSION;
+    }
+
+    /**
+     * The levels configured for one content coding.
+     */
+    private static final class Levels {
+        private final int defaultLevel;
+        private final Map<String, Integer> mimeLevels = new HashMap<>();
+
+        private Levels(StarterKitProperties.WebConfigProperties.CompressionProperties.EncoderProperties properties) {
+            this.defaultLevel = properties.getLevel();
+            properties.getMimeLevels().forEach((mimeType, level) ->
+                    mimeLevels.put(mimeType.toLowerCase(Locale.ROOT), level));
+        }
+
+        private int level(String mimeType) {
+            return mimeLevels.getOrDefault(mimeType, defaultLevel);
+        }
+    }
+}
\ No newline at end of file
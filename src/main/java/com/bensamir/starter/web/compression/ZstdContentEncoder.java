@@ -0,0 +1,139 @@
+package com.bensamir.starter.web.compression;
+
+import com.github.luben.zstd.EndDirective;
+import com.github.luben.zstd.ZstdCompressCtx;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Zstandard encoder backed by pooled zstd-jni compression contexts.
+ * <p>
+ * A zstd compression context holds several hundred kilobytes of native memory, more
+ * at high levels. This encoder borrows the context and its direct input and output
+ * buffers from a {@link BoundedPool} and streams through
+ * {@link ZstdCompressCtx#compressDirectByteBufferStream}, so a busy server compresses
+ * without allocating native memory per response.
+ */
+final class ZstdContentEncoder implements ContentEncoder {
+    private static final int BUFFER_SIZE = 16384;
+
+    private final BoundedPool<State> pool;
+
+    ZstdContentEncoder(int poolSize) {
+        this.pool = new BoundedPool<>(poolSize, State::new, State::end);
+    }
+
+    @Override
+    public String getCoding() {
+        return "zstd";
+    }
+
+    @Override
+    public OutputStream encode(OutputStream target, int level) throws IOException {
+        State state = pool.borrow();
+        state.reset(level);
+        return new ZstdStream(target, state);
+    }
+
+    /**
+     * The reusable resources of one zstd stream.
+     */
+    private static final class State {
+        private final ZstdCompressCtx context = new ZstdCompressCtx();
+        private final ByteBuffer input = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        private final ByteBuffer output = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+        private final byte[] single = new byte[1];
+
+        private void reset(int level) {
+            // Discards any frame left unfinished by a stream that was never closed
+            context.reset();
+            context.setLevel(level);
+            input.clear();
+        }
+
+        private void end() {
+            context.close();
+        }
+    }
+
+    /**
+     * Zstd stream writing through a borrowed compression context.
+     */
+    private final class ZstdStream extends OutputStream {
+        private final OutputStream target;
+        private final State state;
+        private boolean closed;
+
+        private ZstdStream(OutputStream target, State state) {
+            this.target = target;
+            this.state = state;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            state.single[0] = (byte) b;
+            write(state.single, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (closed) {
+                throw new IOException("Stream closed");
+            }
+            while (len > 0) {
+                int count = Math.min(len, state.input.remaining());
+                state.input.put(b, off, count);
+                off += count;
+                len -= count;
+                if (!state.input.hasRemaining()) {
+                    compress(EndDirective.CONTINUE);
+                }
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (!closed) {
+                compress(EndDirective.FLUSH);
+                target.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                compress(EndDirective.END);
+                target.close();
+            } finally {
+                pool.release(state);
+            }
+        }
+
+        private void compress(EndDirective directive) throws IOException {
+            ByteBuffer input = state.input;
+            ByteBuffer output = state.output;
+            input.flip();
+            boolean done;
+            do {
+                output.clear();
+                boolean flushed = state.context.compressDirectByteBufferStream(output, input, directive);
+                output.flip();
+                int count = output.remaining();
+                if (count > 0) {
+                    output.get(state.buffer, 0, count);
+                    target.write(state.buffer, 0, count);
+                }
+                // CONTINUE only has to consume the input; FLUSH and END must also drain the context
+                done = directive == EndDirective.CONTINUE ? !input.hasRemaining() : flushed;
+            } while (!done);
+            input.clear();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,139 @@
+package com.bensamir.starter.web.concurrency;
+
+import com.bensamir.starter.properties.StarterKitProperties;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limiter that adapts the number of in-flight requests to observed latency.
+ * <p>
+ * The limit follows a gradient algorithm: it compares the latency of recent requests
+ * with a long-term baseline and:
+ * <ul>
+ *   <li>Grows by roughly the square root of the limit while latency stays within
+ *       {@code tolerance} times the baseline</li>
+ *   <li>Shrinks in proportion to how far latency rose above the baseline, once
+ *       requests start queueing for a slow dependency</li>
+ *   <li>Backs off multiplicatively when requests in a window fail or time out</li>
+ *   <li>Does not grow while less than half of the limit is in use, so an idle
+ *       service does not accumulate a limit it never tested</li>
+ * </ul>
+ * Admission is a single atomic increment; the limit is recomputed once per window
+ * of {@code window-size} samples.
+ */
+public class AdaptiveConcurrencyLimiter {
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+    private final double tolerance;
+    private final int windowSize;
+    private final double longWindowFactor;
+    private volatile double limit;
+
+    // Sample window, guarded by this
+    private int samples;
+    private int rttCount;
+    private long rttSum;
+    private int maxInFlight;
+    private boolean dropped;
+    private double longRtt;
+
+    /**
+     * Creates a new AdaptiveConcurrencyLimiter.
+     *
+     * @param properties the concurrency limit properties
+     */
+    public AdaptiveConcurrencyLimiter(StarterKitProperties.WebConfigProperties.ConcurrencyLimitProperties properties) {
+        this.minLimit = Math.max(1, properties.getMinLimit());
+        this.maxLimit = Math.max(minLimit, properties.getMaxLimit());
+        this.smoothing = properties.getSmoothing();
+        this.tolerance = properties.getTolerance();
+        this.windowSize = Math.max(1, properties.getWindowSize());
+        this.longWindowFactor = 2.0 / (properties.getLongWindowSize() + 1);
+        this.limit = Math.min(maxLimit, Math.max(minLimit, properties.getInitialLimit()));
+    }
+
+    /**
+     * Tries to admit a request.
+     *
+     * @return true if the request may proceed and must be released afterwards
+     */
+    public boolean tryAcquire() {
+        int current = inFlight.incrementAndGet();
+        if (current > (int) limit) {
+            inFlight.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Releases an admitted request and records its outcome.
+     *
+     * @param rttNanos the time the request took
+     * @param failed whether the request failed or timed out, signalling overload
+     */
+    public void release(long rttNanos, boolean failed) {
+        int current = inFlight.getAndDecrement();
+        synchronized (this) {
+            samples++;
+            if (failed) {
+                dropped = true;
+            } else {
+                rttSum += rttNanos;
+                rttCount++;
+                maxInFlight = Math.max(maxInFlight, current);
+            }
+            if (samples >= windowSize) {
+                update();
+            }
+        }
+    }
+
+    /**
+     * Returns the current limit.
+     *
+     * @return the maximum number of requests admitted concurrently
+     */
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    /**
+     * Returns the number of admitted requests not yet released.
+     *
+     * @return the in-flight request count
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private void update() {
+        double estimate = limit;
+        if (dropped) {
+            estimate = estimate * BACKOFF_RATIO;
+        } else {
+            double shortRtt = (double) rttSum / rttCount;
+            longRtt = longRtt == 0 ? shortRtt : longRtt + longWindowFactor * (shortRtt - longRtt);
+            // Let the baseline recover faster once latency has improved for good
+            if (longRtt / shortRtt > 2) {
+                longRtt *= 0.95;
+            }
+            if (maxInFlight >= estimate / 2) {
+                double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRtt / shortRtt));
+                double target = estimate * gradient + Math.sqrt(estimate);
+                estimate = estimate * (1 - smoothing) + target * smoothing;
+            }
+        }
+        limit = Math.min(maxLimit, Math.max(minLimit, estimate));
+
+        samples = 0;
+        rttCount = 0;
+        rttSum = 0;
+        maxInFlight = 0;
+        dropped = false;
+    }
+}
\ No newline at end of file
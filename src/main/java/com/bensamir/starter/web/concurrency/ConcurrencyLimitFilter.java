@@ -0,0 +1,150 @@
+package com.bensamir.starter.web.concurrency;
+
+import com.bensamir.starter.exception.PrerenderedApiError;
+import com.bensamir.starter.metrics.StarterMetrics;
+import com.bensamir.starter.properties.StarterKitProperties;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Filter shedding load once the service cannot keep up.
+ * <p>
+ * Requests are admitted through an {@link AdaptiveConcurrencyLimiter}. Requests above
+ * the current limit are rejected at once with a pre-rendered 503 error and
+ * {@code Retry-After}, instead of waiting in the container's queue until they time out:
+ * <ul>
+ *   <li>Requests to the priority paths, by default the actuator endpoints, are never
+ *       rejected, so health checks keep answering while the service sheds load. They
+ *       are matched against the path within the application, without the context path</li>
+ *   <li>Exceptions and 503 or 504 responses, such as expired deadlines, count as
+ *       overload signals</li>
+ *   <li>Asynchronous requests hold their slot until they complete</li>
+ *   <li>Admitted, rejected and priority requests are counted in
+ *       {@code starter.concurrency.requests}</li>
+ * </ul>
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+    private static final UrlPathHelper PATH_HELPER = new UrlPathHelper();
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final List<String> priorityPaths;
+    private final PrerenderedApiError overloaded;
+    private final Runnable admitted;
+    private final Runnable rejected;
+    private final Runnable priority;
+
+    /**
+     * Creates a new ConcurrencyLimitFilter.
+     *
+     * @param properties the starter kit properties
+     * @param limiter the concurrency limiter
+     * @param metrics the metrics facade
+     */
+    public ConcurrencyLimitFilter(StarterKitProperties properties, AdaptiveConcurrencyLimiter limiter,
+                                  StarterMetrics metrics) {
+        this.limiter = limiter;
+        this.priorityPaths = List.copyOf(properties.getWebConfig().getConcurrencyLimit().getPriorityPaths());
+        this.overloaded = PrerenderedApiError.of(HttpStatus.SERVICE_UNAVAILABLE, "SERVICE_UNAVAILABLE",
+                properties.getExceptionHandling().getDefaultMessages()
+                        .getOrDefault("service.unavailable", "The service is temporarily unavailable"));
+        this.admitted = metrics.counter("starter.concurrency.requests", "result", "admitted");
+        this.rejected = metrics.counter("starter.concurrency.requests", "result", "rejected");
+        this.priority = metrics.counter("starter.concurrency.requests", "result", "priority");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        if (isPriority(PATH_HELPER.getPathWithinApplication(request))) {
+            priority.run();
+            filterChain.doFilter(request, response);
+            return;
+        }
+        if (!limiter.tryAcquire()) {
+            rejected.run();
+            response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+            overloaded.write(response, request.getRequestURI());
+            return;
+        }
+
+        admitted.run();
+        Release release = new Release(response, System.nanoTime());
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = false;
+        } finally {
+            if (isAsyncStarted(request)) {
+                request.getAsyncContext().addListener(release);
+            } else {
+                release.release(failed);
+            }
+        }
+    }
+
+    private boolean isPriority(String path) {
+        for (String pattern : priorityPaths) {
+            if (PATH_MATCHER.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Releases the slot of an admitted request exactly once.
+     */
+    private final class Release implements AsyncListener {
+        private final HttpServletResponse response;
+        private final long start;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Release(HttpServletResponse response, long start) {
+            this.response = response;
+            this.start = start;
+        }
+
+        private void release(boolean failed) {
+            if (released.compareAndSet(false, true)) {
+                boolean overload = failed || response.getStatus() == HttpServletResponse.SC_SERVICE_UNAVAILABLE
+                        || response.getStatus() == HttpServletResponse.SC_GATEWAY_TIMEOUT;
+                limiter.release(System.nanoTime() - start, overload);
+            }
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release(false);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release(true);
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release(true);
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
\ No newline at end of file
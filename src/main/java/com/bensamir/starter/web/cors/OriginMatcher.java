@@ -0,0 +1,195 @@
+package com.bensamir.starter.web.cors;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Matches request origins against allowed origins compiled once at startup.
+ * <p>
+ * Allowed origins are given as:
+ * <ul>
+ *   <li>{@code *}, allowing every origin</li>
+ *   <li>Exact origins such as {@code https://app.example.com}, kept in a hash set</li>
+ *   <li>Subdomain patterns such as {@code https://*.example.com},
+ *       {@code https://*.example.com:8443} or {@code https://*.example.com:[*]},
+ *       kept in a trie of reversed host labels</li>
+ * </ul>
+ * A pattern matches subdomains at any depth but not the domain itself, as with
+ * Spring's {@code allowedOriginPatterns}. Decisions are cached per origin, so
+ * repeated requests from the same origin cost a single map lookup.
+ */
+public final class OriginMatcher {
+    private static final int ANY_PORT = -2;
+    private static final int MAX_CACHED_ORIGINS = 1024;
+
+    private final boolean anyOrigin;
+    private final Set<String> exactOrigins = new HashSet<>();
+    private final Node suffixes = new Node();
+    private final Map<String, Boolean> decisions = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new OriginMatcher.
+     *
+     * @param allowedOrigins the allowed origins and origin patterns
+     * @throws IllegalArgumentException if a pattern is malformed
+     */
+    public OriginMatcher(String[] allowedOrigins) {
+        boolean any = false;
+        for (String allowed : allowedOrigins) {
+            String origin = allowed.trim().toLowerCase(Locale.ROOT);
+            if ("*".equals(origin)) {
+                any = true;
+            } else if (origin.contains("*")) {
+                addPattern(origin);
+            } else {
+                exactOrigins.add(stripTrailingSlash(origin));
+            }
+        }
+        this.anyOrigin = any;
+    }
+
+    /**
+     * Returns whether every origin is allowed.
+     *
+     * @return true if {@code *} is configured
+     */
+    public boolean isAnyOrigin() {
+        return anyOrigin;
+    }
+
+    /**
+     * Checks whether an origin is allowed.
+     *
+     * @param origin the value of the {@code Origin} request header
+     * @return true if the origin is allowed
+     */
+    public boolean matches(String origin) {
+        if (anyOrigin) {
+            return true;
+        }
+        Boolean decision = decisions.get(origin);
+        if (decision == null) {
+            decision = evaluate(origin);
+            // Origins are client controlled, keep the cache bounded
+            if (decisions.size() >= MAX_CACHED_ORIGINS) {
+                decisions.clear();
+            }
+            decisions.put(origin, decision);
+        }
+        return decision;
+    }
+
+    private boolean evaluate(String origin) {
+        String normalized = origin.toLowerCase(Locale.ROOT);
+        if (exactOrigins.contains(normalized)) {
+            return true;
+        }
+
+        ParsedOrigin parsed = ParsedOrigin.parse(normalized);
+        if (parsed == null) {
+            return false;
+        }
+        String[] labels = parsed.host.split("\\.");
+        Node node = suffixes;
+        // The host must keep at least one label in front of the matched suffix
+        for (int i = labels.length - 1; i > 0; i--) {
+            node = node.children.get(labels[i]);
+            if (node == null) {
+                return false;
+            }
+            for (Rule rule : node.rules) {
+                if (rule.matches(parsed)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private void addPattern(String pattern) {
+        ParsedOrigin parsed = ParsedOrigin.parse(pattern.replace(":[*]", ""));
+        if (parsed == null || !parsed.host.startsWith("*.") || parsed.host.indexOf('*', 1) >= 0) {
+            throw new IllegalArgumentException("Unsupported CORS origin pattern '" + pattern
+                    + "', expected e.g. https://*.example.com or https://*.example.com:[*]");
+        }
+        int port = pattern.endsWith(":[*]") ? ANY_PORT : parsed.port;
+
+        String[] labels = parsed.host.substring(2).split("\\.");
+        Node node = suffixes;
+        for (int i = labels.length - 1; i >= 0; i--) {
+            node = node.children.computeIfAbsent(labels[i], label -> new Node());
+        }
+        node.rules.add(new Rule(parsed.scheme, port));
+    }
+
+    private static String stripTrailingSlash(String origin) {
+        return origin.endsWith("/") ? origin.substring(0, origin.length() - 1) : origin;
+    }
+
+    /**
+     * Trie node of reversed host labels.
+     */
+    private static final class Node {
+        private final Map<String, Node> children = new HashMap<>();
+        private final List<Rule> rules = new ArrayList<>(1);
+    }
+
+    /**
+     * Scheme and port accepted for a host suffix.
+     */
+    private static final class Rule {
+        private final String scheme;
+        private final int port;
+
+        private Rule(String scheme, int port) {
+            this.scheme = scheme;
+            this.port = port;
+        }
+
+        private boolean matches(ParsedOrigin origin) {
+            return scheme.equals(origin.scheme) && (port == ANY_PORT || port == origin.port);
+        }
+    }
+
+    /**
+     * Scheme, host and effective port of an origin.
+     */
+    private static final class ParsedOrigin {
+        private final String scheme;
+        private final String host;
+        private final int port;
+
+        private ParsedOrigin(String scheme, String host, int port) {
+            this.scheme = scheme;
+            this.host = host;
+            this.port = port;
+        }
+
+        private static ParsedOrigin parse(String origin) {
+            int schemeEnd = origin.indexOf("://");
+            if (schemeEnd <= 0) {
+                return null;
+            }
+            String scheme = origin.substring(0, schemeEnd);
+            String authority = stripTrailingSlash(origin.substring(schemeEnd + 3));
+            int colon = authority.lastIndexOf(':');
+            int port = "https".equals(scheme) ? 443 : "http".equals(scheme) ? 80 : -1;
+            String host = authority;
+            if (colon >= 0 && authority.indexOf(']', colon) < 0) {
+                host = authority.substring(0, colon);
+                try {
+                    port = Integer.parseInt(authority.substring(colon + 1));
+                } catch (NumberFormatException ex) {
+                    return null;
+                }
+            }
+            return host.isEmpty() ? null : new ParsedOrigin(scheme, host, port);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,199 @@
+package com.bensamir.starter.web.cors;
+
+import com.bensamir.starter.exception.PrerenderedApiError;
+import com.bensamir.starter.properties.StarterKitProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * CORS filter answering from decisions and headers computed at startup.
+ * <p>
+ * Unlike Spring's {@code CorsFilter}, which resolves a {@code CorsConfiguration}
+ * and re-checks it for every request, this filter:
+ * <ul>
+ *   <li>Matches origins with an {@link OriginMatcher}, caching the decision per origin</li>
+ *   <li>Renders the {@code Access-Control-Allow-Methods}, {@code -Headers},
+ *       {@code -Max-Age} and {@code Expose-Headers} values once</li>
+ *   <li>Answers preflight requests directly, without running the rest of the filter
+ *       chain, so no MDC, logging or handler work is done for them</li>
+ *   <li>Rejects requests from disallowed origins with 403 Forbidden</li>
+ * </ul>
+ * Credentials can only be allowed for explicit origins and subdomain patterns: like
+ * Spring's {@code CorsConfiguration}, the filter refuses {@code *} together with
+ * credentials, which would let any website send credentialed requests and read the
+ * responses. Matched origins are echoed with {@code Vary: Origin}; with {@code *} and
+ * no credentials, a literal {@code *} is sent.
+ */
+public class PrecomputedCorsFilter extends OncePerRequestFilter {
+    private static final String VARY_PREFLIGHT = HttpHeaders.ORIGIN + ", "
+            + HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD + ", " + HttpHeaders.ACCESS_CONTROL_REQUEST_HEADERS;
+
+    private final OriginMatcher origins;
+    private final boolean allowCredentials;
+    private final boolean anyMethod;
+    private final Set<String> allowedMethods = new HashSet<>();
+    private final String allowMethodsValue;
+    private final boolean anyHeader;
+    private final Set<String> allowedHeaders = new HashSet<>();
+    private final String allowHeadersValue;
+    private final String exposeHeadersValue;
+    private final String maxAgeValue;
+    private final PrerenderedApiError rejected;
+
+    /**
+     * Creates a new PrecomputedCorsFilter.
+     *
+     * @param properties the starter kit properties
+     * @throws IllegalArgumentException if an origin pattern is malformed, or if credentials
+     *         are allowed together with {@code *}
+     */
+    public PrecomputedCorsFilter(StarterKitProperties properties) {
+        StarterKitProperties.WebConfigProperties.CorsProperties cors = properties.getWebConfig().getCors();
+        this.origins = new OriginMatcher(cors.getAllowedOrigins());
+        this.allowCredentials = cors.isAllowCredentials();
+        if (allowCredentials && origins.isAnyOrigin()) {
+            throw new IllegalArgumentException("When allow-credentials is true, allowed-origins cannot contain \"*\" "
+                    + "since that cannot be set on the Access-Control-Allow-Origin response header. "
+                    + "List the origins explicitly or use subdomain patterns such as https://*.example.com instead.");
+        }
+
+        String[] methods = cors.getAllowedMethods();
+        this.anyMethod = contains(methods, "*");
+        for (String method : methods) {
+            allowedMethods.add(method.trim().toUpperCase(Locale.ROOT));
+        }
+        this.allowMethodsValue = String.join(", ", allowedMethods);
+
+        String[] headers = cors.getAllowedHeaders();
+        this.anyHeader = contains(headers, "*");
+        for (String header : headers) {
+            allowedHeaders.add(header.trim().toLowerCase(Locale.ROOT));
+        }
+        this.allowHeadersValue = String.join(", ", headers);
+        this.exposeHeadersValue = cors.getExposedHeaders().length > 0 ? String.join(", ", cors.getExposedHeaders()) : null;
+        this.maxAgeValue = cors.getMaxAge() >= 0 ? String.valueOf(cors.getMaxAge()) : null;
+        this.rejected = PrerenderedApiError.of(HttpStatus.FORBIDDEN, "CORS_ORIGIN_REJECTED",
+                properties.getExceptionHandling().getDefaultMessages()
+                        .getOrDefault("cors.rejected", "The request origin is not allowed"));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String origin = request.getHeader(HttpHeaders.ORIGIN);
+        if (origin == null || isSameOrigin(request, origin)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        boolean preflight = "OPTIONS".equals(request.getMethod())
+                && request.getHeader(HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD) != null;
+        if (!origins.matches(origin)) {
+            response.setHeader(HttpHeaders.VARY, preflight ? VARY_PREFLIGHT : HttpHeaders.ORIGIN);
+            rejected.write(response, request.getRequestURI());
+            return;
+        }
+
+        if (preflight) {
+            handlePreflight(request, response, origin);
+            return;
+        }
+
+        setOriginHeaders(response, origin);
+        if (exposeHeadersValue != null) {
+            response.setHeader(HttpHeaders.ACCESS_CONTROL_EXPOSE_HEADERS, exposeHeadersValue);
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private void handlePreflight(HttpServletRequest request, HttpServletResponse response,
+                                 String origin) throws IOException {
+        response.setHeader(HttpHeaders.VARY, VARY_PREFLIGHT);
+        String requestMethod = request.getHeader(HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD);
+        String requestHeaders = request.getHeader(HttpHeaders.ACCESS_CONTROL_REQUEST_HEADERS);
+        if (!isMethodAllowed(requestMethod) || !areHeadersAllowed(requestHeaders)) {
+            rejected.write(response, request.getRequestURI());
+            return;
+        }
+
+        setOriginHeaders(response, origin);
+        response.setHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_METHODS, anyMethod ? requestMethod : allowMethodsValue);
+        if (requestHeaders != null && !requestHeaders.isBlank()) {
+            // Echo the requested headers for "*", which browsers ignore on credentialed requests
+            response.setHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_HEADERS, anyHeader ? requestHeaders : allowHeadersValue);
+        }
+        if (maxAgeValue != null) {
+            response.setHeader(HttpHeaders.ACCESS_CONTROL_MAX_AGE, maxAgeValue);
+        }
+        response.setStatus(HttpServletResponse.SC_OK);
+    }
+
+    private void setOriginHeaders(HttpServletResponse response, String origin) {
+        // Credentials are never combined with "*", see the constructor
+        if (origins.isAnyOrigin()) {
+            response.setHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN, "*");
+        } else {
+            response.setHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN, origin);
+            if (response.getHeader(HttpHeaders.VARY) == null) {
+                response.setHeader(HttpHeaders.VARY, HttpHeaders.ORIGIN);
+            }
+        }
+        if (allowCredentials) {
+            response.setHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_CREDENTIALS, "true");
+        }
+    }
+
+    private boolean isMethodAllowed(String method) {
+        return anyMethod || allowedMethods.contains(method.trim().toUpperCase(Locale.ROOT));
+    }
+
+    private boolean areHeadersAllowed(String headers) {
+        if (anyHeader || headers == null) {
+            return true;
+        }
+        for (String header : headers.split(",")) {
+            String name = header.trim();
+            if (!name.isEmpty() && !allowedHeaders.contains(name.toLowerCase(Locale.ROOT))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isSameOrigin(HttpServletRequest request, String origin) {
+        String scheme = request.getScheme();
+        String host = request.getServerName();
+        int port = request.getServerPort();
+        // Compare without building a string: scheme "://" host [":" port]
+        int schemeLength = scheme.length();
+        if (!origin.regionMatches(true, 0, scheme, 0, schemeLength)
+                || !origin.startsWith("://", schemeLength)
+                || !origin.regionMatches(true, schemeLength + 3, host, 0, host.length())) {
+            return false;
+        }
+        int hostEnd = schemeLength + 3 + host.length();
+        if (hostEnd == origin.length()) {
+            return ("http".equals(scheme) && port == 80) || ("https".equals(scheme) && port == 443);
+        }
+        return origin.charAt(hostEnd) == ':' && origin.substring(hostEnd + 1).equals(String.valueOf(port));
+    }
+
+    private static boolean contains(String[] values, String value) {
+        for (String candidate : values) {
+            if (value.equals(candidate.trim())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,114 @@
+package com.bensamir.starter.web.deadline;
+
+import com.bensamir.starter.exception.DeadlineExceededException;
+import com.bensamir.starter.exception.PrerenderedApiError;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.context.request.async.DeferredResultProcessingInterceptor;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Enforces the {@link RequestDeadline} around handler invocation.
+ * <p>
+ * This interceptor:
+ * <ul>
+ *   <li>Rejects requests whose deadline has already passed before the controller is invoked,
+ *       writing a pre-rendered 504 response without going through exception handling</li>
+ *   <li>Bounds async request processing ({@code Callable}, {@code DeferredResult}) by the
+ *       remaining time, so timeouts are enforced by the container instead of a blocked thread.
+ *       A shorter timeout of a {@code WebAsyncTask}, {@code DeferredResult} or
+ *       {@code spring.mvc.async.request-timeout} is kept</li>
+ *   <li>Reports async timeouts caused by the deadline as {@link DeadlineExceededException} (504)</li>
+ * </ul>
+ */
+public class DeadlineInterceptor implements AsyncHandlerInterceptor, CallableProcessingInterceptor,
+        DeferredResultProcessingInterceptor {
+
+    private final PrerenderedApiError deadlineExceeded;
+
+    /**
+     * Creates a new DeadlineInterceptor.
+     *
+     * @param deadlineExceeded the response written for expired requests
+     */
+    public DeadlineInterceptor(PrerenderedApiError deadlineExceeded) {
+        this.deadlineExceeded = deadlineExceeded;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws Exception {
+        RequestDeadline deadline = RequestDeadline.of(request);
+        if (deadline != null && deadline.isExpired()) {
+            deadlineExceeded.write(response, request.getRequestURI());
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Limits the async timeout to the time left until the deadline.
+     * <p>
+     * Runs once async processing has started, still on the request thread, when the
+     * async context carries the timeout Spring applied: the handler's, or the default.
+     *
+     * @param request the request whose async processing started
+     * @param response the response
+     * @param handler the handler
+     */
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        RequestDeadline deadline = RequestDeadline.of(request);
+        if (deadline == null || !request.isAsyncStarted()) {
+            return;
+        }
+        try {
+            AsyncContext asyncContext = request.getAsyncContext();
+            // A zero timeout means "no timeout" to the container, so expire expired requests immediately
+            long remaining = Math.max(1L, deadline.remainingMillis());
+            long timeout = asyncContext.getTimeout();
+            if (timeout <= 0 || remaining < timeout) {
+                asyncContext.setTimeout(remaining);
+            }
+        } catch (IllegalStateException ex) {
+            // Async processing already completed
+        }
+    }
+
+    @Override
+    public <T> Object handleTimeout(NativeWebRequest request, Callable<T> task) {
+        DeadlineExceededException exception = deadlineExceeded(request);
+        return exception != null ? exception : CallableProcessingInterceptor.RESULT_NONE;
+    }
+
+    @Override
+    public <T> boolean handleTimeout(NativeWebRequest request, DeferredResult<T> deferredResult) {
+        DeadlineExceededException exception = deadlineExceeded(request);
+        if (exception != null) {
+            deferredResult.setErrorResult(exception);
+        }
+        return true;
+    }
+
+    /**
+     * Creates the exception reported when async processing timed out because of the deadline.
+     *
+     * @param request the web request that timed out
+     * @return the exception, or null if the timeout was not caused by the deadline
+     */
+    private DeadlineExceededException deadlineExceeded(NativeWebRequest request) {
+        HttpServletRequest servletRequest = request.getNativeRequest(HttpServletRequest.class);
+        RequestDeadline deadline = servletRequest != null ? RequestDeadline.of(servletRequest) : null;
+        if (deadline == null || !deadline.isExpired()) {
+            return null;
+        }
+        return new DeadlineExceededException("Request deadline of " + deadline.getTimeout().toMillis() + "ms exceeded");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,122 @@
+package com.bensamir.starter.web.deadline;
+
+import com.bensamir.starter.exception.DeadlineExceededException;
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.time.Duration;
+
+/**
+ * The point in time by which a request must be completed.
+ * <p>
+ * A deadline is established by the {@link RequestDeadlineFilter} from configuration
+ * or from the {@code X-Request-Timeout} header. It is bound to the request thread and
+ * stored as a request attribute, so it is also available on async dispatches. Code
+ * further down the stack can use it to:
+ * <ul>
+ *   <li>Fail fast once the deadline has passed ({@link #checkCurrent()})</li>
+ *   <li>Bound downstream calls and queries by the remaining time ({@link #remaining()})</li>
+ * </ul>
+ */
+public final class RequestDeadline {
+    /**
+     * Request attribute under which the deadline is stored.
+     */
+    public static final String ATTRIBUTE = RequestDeadline.class.getName();
+
+    private static final ThreadLocal<RequestDeadline> CURRENT = new ThreadLocal<>();
+
+    private final Duration timeout;
+    private final long deadlineNanos;
+
+    private RequestDeadline(Duration timeout, long deadlineNanos) {
+        this.timeout = timeout;
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    /**
+     * Creates a deadline expiring after the given timeout, starting now.
+     *
+     * @param timeout the timeout
+     * @return the deadline
+     */
+    public static RequestDeadline after(Duration timeout) {
+        return new RequestDeadline(timeout, System.nanoTime() + timeout.toNanos());
+    }
+
+    /**
+     * Returns the deadline bound to the current thread.
+     *
+     * @return the current deadline, or null if the request has none
+     */
+    public static RequestDeadline current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Returns the deadline stored on the given request.
+     *
+     * @param request the HTTP request
+     * @return the request's deadline, or null if it has none
+     */
+    public static RequestDeadline of(HttpServletRequest request) {
+        Object deadline = request.getAttribute(ATTRIBUTE);
+        return deadline instanceof RequestDeadline ? (RequestDeadline) deadline : null;
+    }
+
+    /**
+     * Throws a {@link DeadlineExceededException} if the current deadline has passed.
+     *
+     * @throws DeadlineExceededException if the current request's deadline has passed
+     */
+    public static void checkCurrent() {
+        RequestDeadline deadline = CURRENT.get();
+        if (deadline != null && deadline.isExpired()) {
+            throw new DeadlineExceededException("Request deadline of " + deadline.timeout.toMillis() + "ms exceeded");
+        }
+    }
+
+    static void bind(HttpServletRequest request, RequestDeadline deadline) {
+        request.setAttribute(ATTRIBUTE, deadline);
+        CURRENT.set(deadline);
+    }
+
+    static void unbind() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Returns the timeout the deadline was created with.
+     *
+     * @return the timeout
+     */
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * Returns the time left until the deadline.
+     *
+     * @return the remaining time, or {@link Duration#ZERO} if the deadline has passed
+     */
+    public Duration remaining() {
+        return Duration.ofNanos(Math.max(0, deadlineNanos - System.nanoTime()));
+    }
+
+    /**
+     * Returns the time left until the deadline, in milliseconds.
+     *
+     * @return the remaining milliseconds, or 0 if the deadline has passed
+     */
+    public long remainingMillis() {
+        return remaining().toMillis();
+    }
+
+    /**
+     * Checks whether the deadline has passed.
+     *
+     * @return true if the deadline has passed
+     */
+    public boolean isExpired() {
+        return deadlineNanos - System.nanoTime() <= 0;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,90 @@
+package com.bensamir.starter.web.deadline;
+
+import com.bensamir.starter.properties.StarterKitProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Filter that establishes a {@link RequestDeadline} for each request.
+ * <p>
+ * The timeout is taken from the configured header (by default {@code X-Request-Timeout})
+ * when present, falling back to the configured default timeout. Header values accept
+ * the usual duration formats ({@code 1500}, {@code 1500ms}, {@code 2s}) and are capped
+ * at the configured maximum. The timeout is added to the MDC context next to the
+ * entries of the {@code MdcFilter}.
+ */
+public class RequestDeadlineFilter extends OncePerRequestFilter {
+    private static final Logger log = LoggerFactory.getLogger(RequestDeadlineFilter.class);
+    private static final String MDC_KEY = "requestTimeout";
+
+    private final StarterKitProperties.WebConfigProperties.DeadlineProperties properties;
+
+    /**
+     * Creates a new RequestDeadlineFilter.
+     *
+     * @param properties the starter kit properties
+     */
+    public RequestDeadlineFilter(StarterKitProperties properties) {
+        this.properties = properties.getWebConfig().getDeadline();
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+
+        Duration timeout = resolveTimeout(request);
+        if (timeout == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        RequestDeadline.bind(request, RequestDeadline.after(timeout));
+        MDC.put(MDC_KEY, String.valueOf(timeout.toMillis()));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestDeadline.unbind();
+            MDC.remove(MDC_KEY);
+        }
+    }
+
+    /**
+     * Resolves the timeout for the request.
+     *
+     * @param request the HTTP request
+     * @return the timeout, or null if the request has no deadline
+     */
+    private Duration resolveTimeout(HttpServletRequest request) {
+        Duration timeout = properties.getDefaultTimeout();
+
+        String header = request.getHeader(properties.getHeaderName());
+        if (header != null && !header.isBlank()) {
+            try {
+                timeout = DurationStyle.detectAndParse(header.trim());
+            } catch (IllegalArgumentException ex) {
+                log.debug("Ignoring invalid {} header: {}", properties.getHeaderName(), header);
+            }
+        }
+
+        if (timeout == null || timeout.isNegative()) {
+            return null;
+        }
+        Duration maxTimeout = properties.getMaxTimeout();
+        if (maxTimeout != null && timeout.compareTo(maxTimeout) > 0) {
+            return maxTimeout;
+        }
+        return timeout;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,98 @@
+package com.bensamir.starter.web.etag;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+
+/**
+ * Filter that adds strong ETags to GET responses and answers {@code If-None-Match} with 304.
+ * <p>
+ * This filter:
+ * <ul>
+ *   <li>Hashes the response body while the handler writes it</li>
+ *   <li>Adds an {@code ETag} header to successful responses</li>
+ *   <li>Replaces the body with a 304 Not Modified if the client's ETag matches</li>
+ *   <li>Leaves responses alone that already carry an ETag, e.g. from
+ *       {@code ResponseEntityBuilder.conditional}, or that are marked {@code no-store}</li>
+ *   <li>Streams bodies larger than the buffer limit without an ETag</li>
+ *   <li>Passes NDJSON, JSON text sequence and server-sent event responses through
+ *       from their first flush, without an ETag</li>
+ * </ul>
+ * The handler still runs for every request; the savings are bandwidth and
+ * client-side parsing. Use entity versions for ETags where the handler should
+ * be skipped as well.
+ */
+public class ETagFilter extends OncePerRequestFilter {
+
+    private final int maxBufferSize;
+
+    /**
+     * Creates a new ETagFilter.
+     *
+     * @param maxBufferSize the largest body, in bytes, that is buffered and hashed
+     */
+    public ETagFilter(int maxBufferSize) {
+        this.maxBufferSize = maxBufferSize;
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        if (!"GET".equals(request.getMethod())) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        HttpServletResponse responseToUse = response;
+        if (WebUtils.getNativeResponse(response, HashingResponseWrapper.class) == null) {
+            responseToUse = new HashingResponseWrapper(request, response, maxBufferSize);
+        }
+
+        try {
+            filterChain.doFilter(request, responseToUse);
+        } finally {
+            if (!isAsyncStarted(request)) {
+                HashingResponseWrapper wrapper = WebUtils.getNativeResponse(responseToUse, HashingResponseWrapper.class);
+                if (wrapper != null) {
+                    complete(request, wrapper);
+                }
+            }
+        }
+    }
+
+    private void complete(HttpServletRequest request, HashingResponseWrapper wrapper) throws IOException {
+        if (!wrapper.isBuffered()) {
+            return;
+        }
+
+        HttpServletResponse rawResponse = (HttpServletResponse) wrapper.getResponse();
+        if (isEligible(wrapper)) {
+            String eTag = wrapper.getETag();
+            if (new ServletWebRequest(request, rawResponse).checkNotModified(eTag)) {
+                // Status and ETag header are set by checkNotModified; the body is dropped
+                return;
+            }
+        }
+        wrapper.copyBodyToResponse();
+    }
+
+    private boolean isEligible(HttpServletResponse response) {
+        if (response.getStatus() != HttpServletResponse.SC_OK || response.getHeader(HttpHeaders.ETAG) != null) {
+            return false;
+        }
+        String cacheControl = response.getHeader(HttpHeaders.CACHE_CONTROL);
+        return cacheControl == null || !cacheControl.contains("no-store");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,256 @@
+package com.bensamir.starter.web.etag;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.util.FastByteArrayOutputStream;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+
+/**
+ * HttpServletResponse wrapper that hashes the response body while it is written.
+ * <p>
+ * The body is held in a single chunked buffer and fed to the digest as it arrives,
+ * so the ETag is available as soon as the handler completes, without a second
+ * pass over the content. Bodies growing beyond the buffer limit are streamed to the
+ * client unchanged and receive no ETag, which keeps large and streaming responses
+ * from being held in memory.
+ * <p>
+ * Flushes are ignored while the body is buffered, since message converters flush
+ * every response they write. Streaming responses, i.e. NDJSON, JSON text sequences,
+ * server-sent events and requests marked with
+ * {@link ShallowEtagHeaderFilter#disableContentCaching}, switch to pass-through on
+ * their first flush instead, so their output reaches the client as it is flushed.
+ */
+class HashingResponseWrapper extends HttpServletResponseWrapper {
+    // Attribute set by ShallowEtagHeaderFilter.disableContentCaching, e.g. for SseEmitter
+    private static final String STREAMING_ATTRIBUTE = ShallowEtagHeaderFilter.class.getName() + ".STREAMING";
+    private static final String[] STREAMING_MIME_TYPES = {
+            "application/x-ndjson", "application/json-seq", "text/event-stream"
+    };
+
+    private final HttpServletRequest request;
+    private final int maxBufferSize;
+    private final FastByteArrayOutputStream buffer = new FastByteArrayOutputStream(1024);
+    private final MessageDigest digest;
+    private ServletOutputStream outputStream;
+    private PrintWriter writer;
+    private boolean passThrough;
+
+    HashingResponseWrapper(HttpServletRequest request, HttpServletResponse response, int maxBufferSize) {
+        super(response);
+        this.request = request;
+        this.maxBufferSize = maxBufferSize;
+        try {
+            this.digest = MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("MD5 digest not available", ex);
+        }
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (outputStream == null) {
+            outputStream = new HashingServletOutputStream();
+        }
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), getCharacterEncoding()));
+        }
+        return writer;
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        // Flushing would commit the response before the ETag is known
+        if (!passThrough && isStreaming()) {
+            flushWriter();
+            switchToPassThrough();
+        }
+        if (passThrough) {
+            super.flushBuffer();
+        }
+    }
+
+    @Override
+    public void setContentLength(int len) {
+        if (passThrough) {
+            super.setContentLength(len);
+        }
+    }
+
+    @Override
+    public void setContentLengthLong(long len) {
+        if (passThrough) {
+            super.setContentLengthLong(len);
+        }
+    }
+
+    @Override
+    public boolean isCommitted() {
+        return passThrough && super.isCommitted();
+    }
+
+    @Override
+    public void resetBuffer() {
+        super.resetBuffer();
+        buffer.reset();
+        digest.reset();
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        buffer.reset();
+        digest.reset();
+    }
+
+    @Override
+    public void sendError(int sc) throws IOException {
+        switchToPassThrough();
+        super.sendError(sc);
+    }
+
+    @Override
+    public void sendError(int sc, String msg) throws IOException {
+        switchToPassThrough();
+        super.sendError(sc, msg);
+    }
+
+    @Override
+    public void sendRedirect(String location) throws IOException {
+        switchToPassThrough();
+        super.sendRedirect(location);
+    }
+
+    /**
+     * Checks whether the body was buffered completely and can be given an ETag.
+     *
+     * @return true if the whole body is buffered
+     */
+    boolean isBuffered() {
+        flushWriter();
+        return !passThrough;
+    }
+
+    /**
+     * Returns the strong ETag of the buffered body.
+     *
+     * @return the quoted ETag
+     */
+    String getETag() {
+        return "\"" + HexFormat.of().formatHex(digest.digest()) + "\"";
+    }
+
+    /**
+     * Writes the buffered body to the wrapped response.
+     */
+    void copyBodyToResponse() throws IOException {
+        HttpServletResponse response = (HttpServletResponse) getResponse();
+        if (!response.isCommitted()) {
+            response.setContentLength(buffer.size());
+        }
+        if (buffer.size() > 0) {
+            buffer.writeTo(response.getOutputStream());
+            buffer.reset();
+        }
+    }
+
+    private void flushWriter() {
+        if (writer != null) {
+            writer.flush();
+        }
+    }
+
+    private boolean isStreaming() {
+        if (request.getAttribute(STREAMING_ATTRIBUTE) != null) {
+            return true;
+        }
+        String contentType = getContentType();
+        if (contentType == null) {
+            return false;
+        }
+        String lowerCase = contentType.toLowerCase(Locale.ROOT);
+        for (String mimeType : STREAMING_MIME_TYPES) {
+            if (lowerCase.startsWith(mimeType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void switchToPassThrough() throws IOException {
+        if (!passThrough) {
+            passThrough = true;
+            if (buffer.size() > 0) {
+                buffer.writeTo(getResponse().getOutputStream());
+                buffer.reset();
+            }
+        }
+    }
+
+    /**
+     * Output stream that buffers and hashes until the buffer limit is reached.
+     */
+    private class HashingServletOutputStream extends ServletOutputStream {
+
+        @Override
+        public void write(int b) throws IOException {
+            if (!passThrough && buffer.size() + 1 > maxBufferSize) {
+                switchToPassThrough();
+            }
+            if (passThrough) {
+                getResponse().getOutputStream().write(b);
+            } else {
+                buffer.write(b);
+                digest.update((byte) b);
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (!passThrough && buffer.size() + len > maxBufferSize) {
+                switchToPassThrough();
+            }
+            if (passThrough) {
+                getResponse().getOutputStream().write(b, off, len);
+            } else {
+                buffer.write(b, off, len);
+                digest.update(b, off, len);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (!passThrough && isStreaming()) {
+                switchToPassThrough();
+            }
+            if (passThrough) {
+                getResponse().getOutputStream().flush();
+            }
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener listener) {
+            throw new UnsupportedOperationException("setWriteListener is not supported");
+        }
+    }
+}
\ No newline at end of file
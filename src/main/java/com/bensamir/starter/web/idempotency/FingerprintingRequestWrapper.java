@@ -0,0 +1,141 @@
+package com.bensamir.starter.web.idempotency;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Request wrapper computing a SHA-256 fingerprint of the request body.
+ * <p>
+ * The body is hashed while the handler reads it, so it is neither buffered nor read
+ * twice. {@link #fingerprint()} then hashes whatever the handler left unread, so the
+ * fingerprint always covers the whole body. Form bodies are parsed by the container
+ * without going through the wrapper; their parameters are hashed instead, and the
+ * contents of uploaded files are not part of the fingerprint.
+ */
+final class FingerprintingRequestWrapper extends HttpServletRequestWrapper {
+    private final MessageDigest digest;
+    private DigestingInputStream inputStream;
+    private BufferedReader reader;
+
+    /**
+     * Creates a new FingerprintingRequestWrapper.
+     *
+     * @param request the request to wrap
+     */
+    FingerprintingRequestWrapper(HttpServletRequest request) {
+        super(request);
+        try {
+            this.digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    @Override
+    public ServletInputStream getInputStream() throws IOException {
+        if (inputStream == null) {
+            inputStream = new DigestingInputStream(super.getInputStream());
+        }
+        return inputStream;
+    }
+
+    @Override
+    public BufferedReader getReader() throws IOException {
+        if (reader == null) {
+            String encoding = getCharacterEncoding();
+            reader = new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding != null ? Charset.forName(encoding) : StandardCharsets.ISO_8859_1));
+        }
+        return reader;
+    }
+
+    /**
+     * Completes the fingerprint of the body, reading what is left of it.
+     *
+     * @return the hex-encoded SHA-256 hash
+     * @throws IOException if the body cannot be read
+     */
+    String fingerprint() throws IOException {
+        if (inputStream == null && isForm()) {
+            for (Map.Entry<String, String[]> parameter : new TreeMap<>(getParameterMap()).entrySet()) {
+                for (String value : parameter.getValue()) {
+                    digest.update((parameter.getKey() + '=' + value + '\n').getBytes(StandardCharsets.UTF_8));
+                }
+            }
+        } else {
+            ServletInputStream in = getInputStream();
+            byte[] buffer = new byte[8192];
+            while (in.read(buffer, 0, buffer.length) != -1) {
+                // Hashed by the stream
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private boolean isForm() {
+        String contentType = getContentType();
+        if (contentType == null) {
+            return false;
+        }
+        String mimeType = contentType.toLowerCase(Locale.ROOT);
+        return mimeType.startsWith("application/x-www-form-urlencoded") || mimeType.startsWith("multipart/");
+    }
+
+    /**
+     * Input stream hashing the bytes read through it.
+     */
+    private final class DigestingInputStream extends ServletInputStream {
+        private final ServletInputStream delegate;
+
+        private DigestingInputStream(ServletInputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = delegate.read();
+            if (b != -1) {
+                digest.update((byte) b);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = delegate.read(b, off, len);
+            if (n > 0) {
+                digest.update(b, off, n);
+            }
+            return n;
+        }
+
+        @Override
+        public boolean isFinished() {
+            return delegate.isFinished();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            delegate.setReadListener(readListener);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,312 @@
+package com.bensamir.starter.web.idempotency;
+
+import com.bensamir.starter.exception.PrerenderedApiError;
+import com.bensamir.starter.metrics.StarterMetrics;
+import com.bensamir.starter.properties.StarterKitProperties;
+import com.bensamir.starter.web.support.CapturingResponseWrapper;
+import com.bensamir.starter.web.support.ClientIdentity;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Filter making retried writes safe with the {@code Idempotency-Key} header.
+ * <p>
+ * The first request with a key is executed and its response recorded in the
+ * {@link IdempotencyStore}; retries with the same key are answered with the recorded
+ * response and {@code Idempotent-Replayed: true} instead of executing the write again:
+ * <ul>
+ *   <li>Keys are scoped by authenticated user, method and path, and hashed, so users
+ *       cannot replay each other's responses. Anonymous requests are scoped by their
+ *       remote address instead; behind a proxy they share its address, so anonymous
+ *       clients must use unguessable keys such as random UUIDs</li>
+ *   <li>Concurrent duplicates are serialized by a lock per key: a duplicate waits for
+ *       the original and replays its response, while requests with other keys never
+ *       wait. A duplicate still waiting after the lock timeout gets a pre-rendered 409</li>
+ *   <li>Responses are recorded unless they failed with a server error or a status
+ *       inviting a retry, such as 409 or 429, so those can be retried with the same key</li>
+ *   <li>The request body is fingerprinted; reusing a key with a different body is
+ *       answered with a pre-rendered 422 instead of the response of the other request</li>
+ *   <li>Responses whose body exceeds the maximum size are recorded without it, so
+ *       retries still get the status, {@code Location} and {@code ETag} of the write
+ *       instead of executing it again</li>
+ *   <li>Executed, replayed, conflicting and mismatching requests are counted in
+ *       {@code starter.idempotency.requests}</li>
+ * </ul>
+ * Requests without the header are passed through unchanged.
+ */
+public class IdempotencyFilter extends OncePerRequestFilter {
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyFilter.class);
+
+    /**
+     * Header marking replayed responses.
+     */
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    private final IdempotencyStore store;
+    private final String headerName;
+    private final Set<String> methods = new HashSet<>();
+    private final Duration ttl;
+    private final long lockTimeoutNanos;
+    private final int maxKeyLength;
+    private final int maxBodySize;
+    private final Map<String, CompletableFuture<Void>> inFlight = new ConcurrentHashMap<>();
+    private final PrerenderedApiError invalidKey;
+    private final PrerenderedApiError keyInUse;
+    private final PrerenderedApiError keyReused;
+    private final Runnable executed;
+    private final Runnable replayed;
+    private final Runnable conflict;
+    private final Runnable mismatch;
+
+    /**
+     * Creates a new IdempotencyFilter.
+     *
+     * @param properties the starter kit properties
+     * @param store the store of recorded responses
+     * @param metrics the metrics facade
+     */
+    public IdempotencyFilter(StarterKitProperties properties, IdempotencyStore store, StarterMetrics metrics) {
+        StarterKitProperties.WebConfigProperties.IdempotencyProperties idempotency =
+                properties.getWebConfig().getIdempotency();
+        this.store = store;
+        this.headerName = idempotency.getHeaderName();
+        for (String method : idempotency.getMethods()) {
+            this.methods.add(method.trim().toUpperCase(Locale.ROOT));
+        }
+        this.ttl = idempotency.getTtl();
+        this.lockTimeoutNanos = idempotency.getLockTimeout().toNanos();
+        this.maxKeyLength = idempotency.getMaxKeyLength();
+        this.maxBodySize = idempotency.getMaxBodySize();
+
+        Map<String, String> messages = properties.getExceptionHandling().getDefaultMessages();
+        this.invalidKey = PrerenderedApiError.of(HttpStatus.BAD_REQUEST, "INVALID_IDEMPOTENCY_KEY",
+                messages.getOrDefault("idempotency.key.invalid", "The idempotency key is invalid"));
+        this.keyInUse = PrerenderedApiError.of(HttpStatus.CONFLICT, "IDEMPOTENCY_KEY_IN_USE",
+                messages.getOrDefault("idempotency.key.in.use",
+                        "A request with the same idempotency key is still being processed"));
+        this.keyReused = PrerenderedApiError.of(HttpStatus.UNPROCESSABLE_ENTITY, "IDEMPOTENCY_KEY_REUSED",
+                messages.getOrDefault("idempotency.key.reused",
+                        "The idempotency key was already used with a different request body"));
+        this.executed = metrics.counter("starter.idempotency.requests", "result", "executed");
+        this.replayed = metrics.counter("starter.idempotency.requests", "result", "replayed");
+        this.conflict = metrics.counter("starter.idempotency.requests", "result", "conflict");
+        this.mismatch = metrics.counter("starter.idempotency.requests", "result", "mismatch");
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !methods.contains(request.getMethod()) || request.getHeader(headerName) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String idempotencyKey = request.getHeader(headerName);
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > maxKeyLength) {
+            invalidKey.write(response, request.getRequestURI());
+            return;
+        }
+
+        String key = scopedKey(request, idempotencyKey);
+        CompletableFuture<Void> lock = new CompletableFuture<>();
+        long deadline = System.nanoTime() + lockTimeoutNanos;
+        CompletableFuture<Void> holder;
+        while ((holder = inFlight.putIfAbsent(key, lock)) != null) {
+            if (!await(holder, deadline)) {
+                conflict.run();
+                response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+                keyInUse.write(response, request.getRequestURI());
+                return;
+            }
+        }
+
+        Completion completion = new Completion(key, lock);
+        IdempotentResponse recorded;
+        try {
+            recorded = store.find(key);
+        } catch (RuntimeException ex) {
+            completion.unlock();
+            throw ex;
+        }
+        if (recorded != null) {
+            completion.unlock();
+            if (recorded.getRequestHash() != null
+                    && !recorded.getRequestHash().equals(new FingerprintingRequestWrapper(request).fingerprint())) {
+                mismatch.run();
+                keyReused.write(response, request.getRequestURI());
+                return;
+            }
+            replayed.run();
+            replay(recorded, response);
+            return;
+        }
+
+        executed.run();
+        FingerprintingRequestWrapper fingerprinting = new FingerprintingRequestWrapper(request);
+        CapturingResponseWrapper wrapper = new CapturingResponseWrapper(response);
+        wrapper.startCapture(maxBodySize);
+        completion.request = fingerprinting;
+        completion.wrapper = wrapper;
+        boolean failed = true;
+        try {
+            filterChain.doFilter(fingerprinting, wrapper);
+            failed = false;
+        } finally {
+            if (isAsyncStarted(request)) {
+                request.getAsyncContext().addListener(completion);
+            } else {
+                completion.complete(failed);
+            }
+        }
+    }
+
+    private static String scopedKey(HttpServletRequest request, String idempotencyKey) {
+        String userId = ClientIdentity.userId();
+        // Prefixed, so a user name cannot collide with an address
+        String client = userId != null ? "user:" + userId : "address:" + request.getRemoteAddr();
+        String scope = client + '\n' + request.getMethod() + '\n'
+                + request.getRequestURI() + '\n' + idempotencyKey;
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(scope.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    private static boolean await(CompletableFuture<Void> holder, long deadline) {
+        try {
+            holder.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            return true;
+        } catch (TimeoutException ex) {
+            return false;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException ex) {
+            // Locks are always completed normally
+            return true;
+        }
+    }
+
+    private static void replay(IdempotentResponse recorded, HttpServletResponse response) throws IOException {
+        response.setStatus(recorded.getStatus());
+        if (recorded.getContentType() != null) {
+            response.setContentType(recorded.getContentType());
+        }
+        if (recorded.getLocation() != null) {
+            response.setHeader(HttpHeaders.LOCATION, recorded.getLocation());
+        }
+        if (recorded.getETag() != null) {
+            response.setHeader(HttpHeaders.ETAG, recorded.getETag());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(recorded.getBody().length);
+        response.getOutputStream().write(recorded.getBody());
+    }
+
+    private static boolean isRecordable(int status) {
+        if (status >= 500) {
+            return false;
+        }
+        switch (status) {
+            case HttpServletResponse.SC_REQUEST_TIMEOUT:
+            case HttpServletResponse.SC_CONFLICT:
+            case 425: // Too Early
+            case 429: // Too Many Requests
+                return false;
+            default:
+                return true;
+        }
+    }
+
+    /**
+     * Records the response of an executed request and releases its key exactly once.
+     */
+    private final class Completion implements AsyncListener {
+        private final String key;
+        private final CompletableFuture<Void> lock;
+        private final AtomicBoolean completed = new AtomicBoolean();
+        private FingerprintingRequestWrapper request;
+        private CapturingResponseWrapper wrapper;
+
+        private Completion(String key, CompletableFuture<Void> lock) {
+            this.key = key;
+            this.lock = lock;
+        }
+
+        private void complete(boolean failed) {
+            if (!completed.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                if (!failed && isRecordable(wrapper.getStatus())) {
+                    // An oversized body is dropped, but the write must still not be repeated
+                    byte[] body = wrapper.getCapturedBody();
+                    String contentType = body != null ? wrapper.getContentType() : null;
+                    store.save(key, new IdempotentResponse(wrapper.getStatus(), contentType,
+                            wrapper.getHeader(HttpHeaders.LOCATION), wrapper.getHeader(HttpHeaders.ETAG), body,
+                            request.fingerprint()), ttl);
+                }
+            } catch (IOException | RuntimeException ex) {
+                // The write succeeded, failing to record it must not fail the response
+                log.warn("Failed to record idempotent response: {}", ex.getMessage());
+            } finally {
+                unlock();
+            }
+        }
+
+        private void unlock() {
+            inFlight.remove(key, lock);
+            lock.complete(null);
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            complete(false);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            complete(true);
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            complete(true);
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
\ No newline at end of file
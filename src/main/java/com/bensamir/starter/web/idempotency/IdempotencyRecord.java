@@ -0,0 +1,197 @@
+package com.bensamir.starter.web.idempotency;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Id;
+import jakarta.persistence.Lob;
+import jakarta.persistence.MappedSuperclass;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * Base class for entities storing idempotent responses in the database.
+ * <p>
+ * Used with a {@link RepositoryIdempotencyStore} to share recorded responses between
+ * instances. The key is the hashed, scoped idempotency key, so it has a fixed length
+ * and reveals nothing about the client. Expired rows are ignored by lookups and can
+ * be deleted with {@link RepositoryIdempotencyStore#purgeExpired()}.
+ * <p>
+ * Usage example:
+ * <pre>
+ * &#64;Entity
+ * &#64;Table(name = "idempotency_records", indexes = &#64;Index(columnList = "expiresAt"))
+ * public class IdempotencyEntry extends IdempotencyRecord {
+ * }
+ * </pre>
+ */
+@MappedSuperclass
+public abstract class IdempotencyRecord implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column(name = "idempotency_key", length = 64)
+    private String key;
+
+    @Column(nullable = false)
+    private int status;
+
+    private String contentType;
+
+    @Column(length = 2048)
+    private String location;
+
+    private String eTag;
+
+    @Lob
+    private byte[] body;
+
+    @Column(length = 64)
+    private String requestHash;
+
+    @Column(nullable = false)
+    private Instant expiresAt;
+
+    /**
+     * Gets the hashed idempotency key.
+     *
+     * @return the key
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Sets the hashed idempotency key.
+     *
+     * @param key the key
+     */
+    public void setKey(String key) {
+        this.key = key;
+    }
+
+    /**
+     * Gets the HTTP status of the response.
+     *
+     * @return the status
+     */
+    public int getStatus() {
+        return status;
+    }
+
+    /**
+     * Sets the HTTP status of the response.
+     *
+     * @param status the status
+     */
+    public void setStatus(int status) {
+        this.status = status;
+    }
+
+    /**
+     * Gets the content type of the response.
+     *
+     * @return the content type, may be null
+     */
+    public String getContentType() {
+        return contentType;
+    }
+
+    /**
+     * Sets the content type of the response.
+     *
+     * @param contentType the content type
+     */
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    /**
+     * Gets the {@code Location} header of the response.
+     *
+     * @return the location, may be null
+     */
+    public String getLocation() {
+        return location;
+    }
+
+    /**
+     * Sets the {@code Location} header of the response.
+     *
+     * @param location the location
+     */
+    public void setLocation(String location) {
+        this.location = location;
+    }
+
+    /**
+     * Gets the {@code ETag} header of the response.
+     *
+     * @return the ETag, may be null
+     */
+    public String getETag() {
+        return eTag;
+    }
+
+    /**
+     * Sets the {@code ETag} header of the response.
+     *
+     * @param eTag the ETag
+     */
+    public void setETag(String eTag) {
+        this.eTag = eTag;
+    }
+
+    /**
+     * Gets the serialized response body.
+     *
+     * @return the body
+     */
+    public byte[] getBody() {
+        return body;
+    }
+
+    /**
+     * Sets the serialized response body.
+     *
+     * @param body the body
+     */
+    public void setBody(byte[] body) {
+        this.body = body;
+    }
+
+    /**
+     * Gets the SHA-256 fingerprint of the request body.
+     *
+     * @return the fingerprint, may be null
+     */
+    public String getRequestHash() {
+        return requestHash;
+    }
+
+    /**
+     * Sets the SHA-256 fingerprint of the request body.
+     *
+     * @param requestHash the fingerprint
+     */
+    public void setRequestHash(String requestHash) {
+        this.requestHash = requestHash;
+    }
+
+    /**
+     * Gets the time after which the response is no longer replayed.
+     *
+     * @return the expiry time
+     */
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    /**
+     * Sets the time after which the response is no longer replayed.
+     *
+     * @param expiresAt the expiry time
+     */
+    public void setExpiresAt(Instant expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,34 @@
+package com.bensamir.starter.web.idempotency;
+
+import java.time.Duration;
+
+/**
+ * Stores the responses of requests carrying an idempotency key.
+ * <p>
+ * The {@link IdempotencyFilter} looks up every keyed request before executing it and
+ * saves the response afterwards. Concurrent duplicates are serialized by the filter
+ * itself, so a store only has to be safe for concurrent use, not to lock keys.
+ * <p>
+ * The default {@link InMemoryIdempotencyStore} is bounded and local to the instance.
+ * Services running several instances behind a load balancer can define a bean of
+ * this type backed by shared storage, e.g. a {@link RepositoryIdempotencyStore}.
+ */
+public interface IdempotencyStore {
+
+    /**
+     * Returns the response recorded for a key.
+     *
+     * @param key the scoped idempotency key
+     * @return the response, or null if none is recorded or it expired
+     */
+    IdempotentResponse find(String key);
+
+    /**
+     * Records the response for a key.
+     *
+     * @param key the scoped idempotency key
+     * @param response the response to replay to retries
+     * @param ttl how long retries are answered with the response
+     */
+    void save(String key, IdempotentResponse response, Duration ttl);
+}
\ No newline at end of file
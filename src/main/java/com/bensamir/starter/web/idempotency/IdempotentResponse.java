@@ -0,0 +1,68 @@
+package com.bensamir.starter.web.idempotency;
+
+import java.io.Serializable;
+
+/**
+ * Response recorded for an idempotency key, replayed to retries of the request.
+ * <p>
+ * Only what a client needs to treat a retry like the original response is kept:
+ * the status, the body and its content type, and the {@code Location} and
+ * {@code ETag} headers of created or updated resources. A body larger than the
+ * recorded maximum is left out, and replayed as an empty body without content type.
+ * The fingerprint of the request body tells retries apart from other requests
+ * reusing the key.
+ */
+public final class IdempotentResponse implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final int status;
+    private final String contentType;
+    private final String location;
+    private final String eTag;
+    private final byte[] body;
+    private final String requestHash;
+
+    /**
+     * Creates a new IdempotentResponse.
+     *
+     * @param status the HTTP status
+     * @param contentType the content type, may be null
+     * @param location the {@code Location} header, may be null
+     * @param eTag the {@code ETag} header, may be null
+     * @param body the serialized body, or null if it was too large to record
+     * @param requestHash the SHA-256 fingerprint of the request body, may be null
+     */
+    public IdempotentResponse(int status, String contentType, String location, String eTag, byte[] body,
+                              String requestHash) {
+        this.status = status;
+        this.contentType = contentType;
+        this.location = location;
+        this.eTag = eTag;
+        this.body = body != null ? body : new byte[0];
+        this.requestHash = requestHash;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public String getETag() {
+        return eTag;
+    }
+
+    public byte[] getBody() {
+        return body;
+    }
+
+    public String getRequestHash() {
+        return requestHash;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,96 @@
+package com.bensamir.starter.web.idempotency;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Bounded in-memory {@link IdempotencyStore}, local to the instance.
+ * <p>
+ * Responses are kept in a concurrent map, so lookups and saves for different keys
+ * never contend. Keys are also queued in the order they were saved:
+ * <ul>
+ *   <li>Expired responses are dropped from the head of the queue as new ones are saved</li>
+ *   <li>Once more than {@code maxEntries} responses are stored, the oldest ones are
+ *       evicted first, even if they have not expired yet</li>
+ * </ul>
+ * Memory use is therefore bounded by the number of entries times the maximum
+ * body size the {@link IdempotencyFilter} records.
+ */
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+    private final int maxEntries;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Queue<String> insertionOrder = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Creates a new InMemoryIdempotencyStore.
+     *
+     * @param maxEntries the maximum number of stored responses
+     */
+    public InMemoryIdempotencyStore(int maxEntries) {
+        this.maxEntries = Math.max(1, maxEntries);
+    }
+
+    @Override
+    public IdempotentResponse find(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.isExpired(System.nanoTime())) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.response;
+    }
+
+    @Override
+    public void save(String key, IdempotentResponse response, Duration ttl) {
+        long now = System.nanoTime();
+        if (entries.put(key, new Entry(response, now + ttl.toNanos())) == null) {
+            insertionOrder.add(key);
+        }
+        evict(now);
+    }
+
+    /**
+     * Returns the number of stored responses, including expired ones not yet evicted.
+     *
+     * @return the number of entries
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    private void evict(long now) {
+        String head;
+        while ((head = insertionOrder.peek()) != null) {
+            Entry entry = entries.get(head);
+            if (entry != null && !entry.isExpired(now) && entries.size() <= maxEntries) {
+                return;
+            }
+            if (insertionOrder.remove(head) && entry != null) {
+                entries.remove(head, entry);
+            }
+        }
+    }
+
+    /**
+     * A stored response and its expiry.
+     */
+    private static final class Entry {
+        private final IdempotentResponse response;
+        private final long expiresAt;
+
+        private Entry(IdempotentResponse response, long expiresAt) {
+            this.response = response;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired(long now) {
+            return now - expiresAt > 0;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,87 @@
+package com.bensamir.starter.web.idempotency;
+
+import com.bensamir.starter.persistence.BaseRepository;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * {@link IdempotencyStore} keeping responses in the database through a {@link BaseRepository}.
+ * <p>
+ * Recorded responses are shared by all instances of a service, so a retry routed to
+ * another instance is replayed as well. Concurrent duplicates are serialized per
+ * instance only: a duplicate reaching another instance while the original is still
+ * running is executed again, and the response saved last is the one replayed.
+ * <p>
+ * Subclasses only create the entity:
+ * <pre>
+ * &#64;Component
+ * public class JpaIdempotencyStore extends RepositoryIdempotencyStore&lt;IdempotencyEntry&gt; {
+ *     public JpaIdempotencyStore(IdempotencyEntryRepository repository) {
+ *         super(repository);
+ *     }
+ *
+ *     &#64;Override
+ *     protected IdempotencyEntry newRecord() {
+ *         return new IdempotencyEntry();
+ *     }
+ * }
+ * </pre>
+ *
+ * @param <T> the entity type
+ */
+public abstract class RepositoryIdempotencyStore<T extends IdempotencyRecord> implements IdempotencyStore {
+
+    private final BaseRepository<T, String> repository;
+
+    /**
+     * Creates a new RepositoryIdempotencyStore.
+     *
+     * @param repository the repository of recorded responses
+     */
+    protected RepositoryIdempotencyStore(BaseRepository<T, String> repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * Creates an empty entity to record a response in.
+     *
+     * @return the new entity
+     */
+    protected abstract T newRecord();
+
+    @Override
+    public IdempotentResponse find(String key) {
+        return repository.findById(key)
+                .filter(record -> record.getExpiresAt().isAfter(Instant.now()))
+                .map(record -> new IdempotentResponse(record.getStatus(), record.getContentType(),
+                        record.getLocation(), record.getETag(), record.getBody(), record.getRequestHash()))
+                .orElse(null);
+    }
+
+    @Override
+    public void save(String key, IdempotentResponse response, Duration ttl) {
+        T record = newRecord();
+        record.setKey(key);
+        record.setStatus(response.getStatus());
+        record.setContentType(response.getContentType());
+        record.setLocation(response.getLocation());
+        record.setETag(response.getETag());
+        record.setBody(response.getBody());
+        record.setRequestHash(response.getRequestHash());
+        record.setExpiresAt(Instant.now().plus(ttl));
+        repository.save(record);
+    }
+
+    /**
+     * Deletes expired responses, e.g. from a scheduled job.
+     *
+     * @return the number of deleted responses
+     */
+    public long purgeExpired() {
+        Instant now = Instant.now();
+        Specification<T> expired = (root, query, cb) -> cb.lessThan(root.<Instant>get("expiresAt"), now);
+        return repository.delete(expired);
+    }
+}
\ No newline at end of file
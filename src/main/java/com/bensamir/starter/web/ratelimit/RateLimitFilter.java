@@ -0,0 +1,163 @@
+package com.bensamir.starter.web.ratelimit;
+
+import com.bensamir.starter.exception.PrerenderedApiError;
+import com.bensamir.starter.metrics.StarterMetrics;
+import com.bensamir.starter.properties.StarterKitProperties;
+import com.bensamir.starter.web.support.ClientIdentity;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filter limiting the request rate per client, as a last line of defense behind the gateway.
+ * <p>
+ * This filter:
+ * <ul>
+ *   <li>Applies the first configured rule whose path pattern matches the path within
+ *       the application, decoded and without the context path or path parameters</li>
+ *   <li>Keys buckets by client IP address, authenticated user or API key. API keys are
+ *       not validated here, so requests carrying one are keyed by the principal Spring
+ *       Security authenticated them as, and by the client IP otherwise. Client IP
+ *       addresses are only taken from {@code X-Forwarded-For} if configured, from the
+ *       entries appended by trusted proxies</li>
+ *   <li>Admits requests through a lock-free {@link RateLimiter} per rule</li>
+ *   <li>Rejects excess requests with a pre-rendered 429 error and {@code Retry-After}</li>
+ *   <li>Counts admitted and throttled requests in {@code starter.ratelimit.requests}</li>
+ * </ul>
+ * The rule of each path is cached, so admitting a request from a known client
+ * allocates nothing beyond what the container does to read its headers.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+    private static final UrlPathHelper PATH_HELPER = new UrlPathHelper();
+    private static final Integer NO_RULE = -1;
+    private static final int MAX_CACHED_PATHS = 4096;
+
+    private final Rule[] rules;
+    private final Map<String, Integer> ruleByPath = new ConcurrentHashMap<>();
+    private final int trustedProxies;
+    private final String apiKeyHeader;
+    private final PrerenderedApiError tooManyRequests;
+
+    /**
+     * Creates a new RateLimitFilter.
+     *
+     * @param properties the starter kit properties
+     * @param metrics the metrics facade
+     */
+    public RateLimitFilter(StarterKitProperties properties, StarterMetrics metrics) {
+        StarterKitProperties.WebConfigProperties.RateLimitProperties rateLimit =
+                properties.getWebConfig().getRateLimit();
+        List<StarterKitProperties.WebConfigProperties.RateLimitProperties.RuleProperties> ruleProperties =
+                rateLimit.getRules();
+        this.rules = new Rule[ruleProperties.size()];
+        for (int i = 0; i < rules.length; i++) {
+            rules[i] = new Rule(ruleProperties.get(i), rateLimit.getStripes(), metrics);
+        }
+        this.trustedProxies = rateLimit.isTrustForwardedHeaders() ? rateLimit.getTrustedProxies() : 0;
+        this.apiKeyHeader = rateLimit.getApiKeyHeader();
+        this.tooManyRequests = PrerenderedApiError.of(HttpStatus.TOO_MANY_REQUESTS, "RATE_LIMIT_EXCEEDED",
+                properties.getExceptionHandling().getDefaultMessages()
+                        .getOrDefault("rate.limit.exceeded", "Too many requests, please retry later"));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        Rule rule = resolveRule(PATH_HELPER.getPathWithinApplication(request));
+        if (rule == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String key = resolveKey(rule.keyType, request);
+        long wait = key != null ? rule.limiter.tryAcquire(key, System.nanoTime()) : 0;
+        if (wait == 0) {
+            rule.allowed.run();
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        rule.throttled.run();
+        long seconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(wait + TimeUnit.SECONDS.toNanos(1) - 1));
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(seconds));
+        tooManyRequests.write(response, request.getRequestURI());
+    }
+
+    private Rule resolveRule(String path) {
+        Integer index = ruleByPath.get(path);
+        if (index == null) {
+            index = NO_RULE;
+            for (int i = 0; i < rules.length; i++) {
+                if (PATH_MATCHER.match(rules[i].path, path)) {
+                    index = i;
+                    break;
+                }
+            }
+            // Paths contain identifiers, keep the cache bounded
+            if (ruleByPath.size() >= MAX_CACHED_PATHS) {
+                ruleByPath.clear();
+            }
+            ruleByPath.put(path, index);
+        }
+        return index >= 0 ? rules[index] : null;
+    }
+
+    private String resolveKey(StarterKitProperties.WebConfigProperties.RateLimitProperties.KeyType keyType,
+                              HttpServletRequest request) {
+        switch (keyType) {
+            case USER:
+                String userId = ClientIdentity.userId();
+                if (userId != null) {
+                    return userId;
+                }
+                break;
+            case API_KEY:
+                // Any header value would mint a new bucket, key by the identity security verified it as
+                String apiKey = request.getHeader(apiKeyHeader);
+                if (apiKey != null && !apiKey.isEmpty()) {
+                    String keyOwner = ClientIdentity.userId();
+                    if (keyOwner != null) {
+                        return keyOwner;
+                    }
+                }
+                break;
+            default:
+                break;
+        }
+        return ClientIdentity.clientIp(request, trustedProxies);
+    }
+
+    /**
+     * A compiled rate limit rule.
+     */
+    private static final class Rule {
+        private final String path;
+        private final StarterKitProperties.WebConfigProperties.RateLimitProperties.KeyType keyType;
+        private final RateLimiter limiter;
+        private final Runnable allowed;
+        private final Runnable throttled;
+
+        private Rule(StarterKitProperties.WebConfigProperties.RateLimitProperties.RuleProperties properties,
+                     int stripes, StarterMetrics metrics) {
+            this.path = properties.getPath();
+            this.keyType = properties.getKey();
+            int burst = properties.getBurst() > 0 ? properties.getBurst() : properties.getLimit();
+            this.limiter = new RateLimiter(properties.getLimit(), properties.getPeriod(), burst, stripes);
+            this.allowed = metrics.counter("starter.ratelimit.requests", "rule", path, "result", "allowed");
+            this.throttled = metrics.counter("starter.ratelimit.requests", "rule", path, "result", "throttled");
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,111 @@
+package com.bensamir.starter.web.ratelimit;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free rate limiter implementing the generic cell rate algorithm (GCRA).
+ * <p>
+ * GCRA is equivalent to a token bucket, but the state of a bucket is a single
+ * number: the theoretical arrival time of the next request. Each key therefore
+ * costs one {@link AtomicLong}, updated with a compare-and-set loop:
+ * <ul>
+ *   <li>Keys are spread over striped maps to reduce contention on map resizes</li>
+ *   <li>Checking a known key neither locks nor allocates</li>
+ *   <li>Buckets that have refilled completely are indistinguishable from new ones
+ *       and are swept from their stripe when new keys are added</li>
+ * </ul>
+ */
+public final class RateLimiter {
+    private static final long UNSET = Long.MIN_VALUE;
+
+    private final long interval;
+    private final long tolerance;
+    private final long sweepInterval;
+    private final Stripe[] stripes;
+
+    /**
+     * Creates a new RateLimiter.
+     *
+     * @param limit the number of requests allowed per period
+     * @param period the period
+     * @param burst the number of requests allowed at once, at least 1
+     * @param stripes the number of map stripes, rounded up to a power of two
+     */
+    public RateLimiter(int limit, Duration period, int burst, int stripes) {
+        if (limit <= 0 || period.isNegative() || period.isZero()) {
+            throw new IllegalArgumentException("Rate limit must allow at least one request per positive period");
+        }
+        this.interval = Math.max(1, period.toNanos() / limit);
+        this.tolerance = interval * Math.max(1, burst);
+        this.sweepInterval = Math.max(period.toNanos(), tolerance);
+        int count = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+        this.stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            this.stripes[i] = new Stripe();
+        }
+    }
+
+    /**
+     * Tries to admit a request.
+     *
+     * @param key the bucket key, e.g. a client IP address
+     * @param now the current {@link System#nanoTime()}
+     * @return 0 if the request is admitted, otherwise the nanoseconds until it would be
+     */
+    public long tryAcquire(String key, long now) {
+        Stripe stripe = stripes[index(key)];
+        AtomicLong bucket = stripe.buckets.get(key);
+        if (bucket == null) {
+            stripe.sweepIfDue(now, sweepInterval);
+            bucket = stripe.buckets.computeIfAbsent(key, k -> new AtomicLong(UNSET));
+        }
+
+        while (true) {
+            long arrival = bucket.get();
+            long next = Math.max(arrival, now) + interval;
+            long wait = next - now - tolerance;
+            if (wait > 0) {
+                return wait;
+            }
+            if (bucket.compareAndSet(arrival, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of tracked keys.
+     *
+     * @return the number of buckets across all stripes
+     */
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            size += stripe.buckets.size();
+        }
+        return size;
+    }
+
+    private int index(String key) {
+        int h = key.hashCode();
+        return (h ^ (h >>> 16)) & (stripes.length - 1);
+    }
+
+    /**
+     * One stripe of buckets with its own sweep schedule.
+     */
+    private static final class Stripe {
+        private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+        private final AtomicLong nextSweep = new AtomicLong(System.nanoTime());
+
+        private void sweepIfDue(long now, long sweepInterval) {
+            long due = nextSweep.get();
+            if (now - due >= 0 && nextSweep.compareAndSet(due, now + sweepInterval)) {
+                // A bucket whose arrival time has passed is full again, dropping it changes nothing
+                buckets.values().removeIf(bucket -> bucket.get() <= now);
+            }
+        }
+    }
+}
\ No newline at end of file
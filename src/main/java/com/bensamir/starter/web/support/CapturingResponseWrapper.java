@@ -0,0 +1,225 @@
+package com.bensamir.starter.web.support;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.util.FastByteArrayOutputStream;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Response wrapper that can keep a copy of the body while it is written.
+ * <p>
+ * Unlike Spring's {@code ContentCachingResponseWrapper}, the body is not held back:
+ * every write goes straight through to the response, and only once capturing has been
+ * started is it also copied into a buffer. This lets a component that decides per
+ * handler, such as an interceptor, reuse the bytes of a response without delaying it:
+ * <ul>
+ *   <li>Capturing stops, and the copy is discarded, once it exceeds the size limit</li>
+ *   <li>Resetting the response buffer resets the copy</li>
+ *   <li>Callbacks registered with {@link #onFinish(Runnable)} run once the response
+ *       is complete, when the installing filter calls {@link #finish()}</li>
+ * </ul>
+ */
+public class CapturingResponseWrapper extends HttpServletResponseWrapper {
+    private FastByteArrayOutputStream capture;
+    private int maxCaptureSize;
+    private boolean overflowed;
+    private boolean discarded;
+    private ServletOutputStream outputStream;
+    private PrintWriter writer;
+    private List<Runnable> finishCallbacks;
+    private boolean finished;
+
+    /**
+     * Creates a new CapturingResponseWrapper.
+     *
+     * @param response the response to wrap
+     */
+    public CapturingResponseWrapper(HttpServletResponse response) {
+        super(response);
+    }
+
+    /**
+     * Starts copying the body written from now on.
+     *
+     * @param maxSize the largest body captured, in bytes
+     */
+    public void startCapture(int maxSize) {
+        if (capture == null) {
+            capture = new FastByteArrayOutputStream(Math.min(maxSize, 4096));
+            maxCaptureSize = maxSize;
+        }
+    }
+
+    /**
+     * Discards the captured body, for example because the response failed part way.
+     */
+    public void discardCapture() {
+        if (capture != null) {
+            discarded = true;
+            overflowed = true;
+            capture.reset();
+        }
+    }
+
+    /**
+     * Returns the captured body.
+     *
+     * @return the bytes written since capturing started, or null if nothing was
+     *         captured or the body exceeded the size limit
+     */
+    public byte[] getCapturedBody() {
+        if (capture == null || overflowed) {
+            return null;
+        }
+        flushWriter();
+        return capture.toByteArray();
+    }
+
+    /**
+     * Registers a callback to run once the response is complete.
+     *
+     * @param callback the callback
+     */
+    public void onFinish(Runnable callback) {
+        if (finishCallbacks == null) {
+            finishCallbacks = new ArrayList<>(1);
+        }
+        finishCallbacks.add(callback);
+    }
+
+    /**
+     * Completes the response, running the registered callbacks once.
+     */
+    public void finish() {
+        if (finished) {
+            return;
+        }
+        finished = true;
+        flushWriter();
+        if (finishCallbacks != null) {
+            for (Runnable callback : finishCallbacks) {
+                callback.run();
+            }
+        }
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (writer != null) {
+            throw new IllegalStateException("getWriter() has already been called for this response");
+        }
+        if (outputStream == null) {
+            outputStream = new CapturingOutputStream(super.getOutputStream());
+        }
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            if (outputStream != null) {
+                throw new IllegalStateException("getOutputStream() has already been called for this response");
+            }
+            String encoding = getCharacterEncoding();
+            outputStream = new CapturingOutputStream(super.getOutputStream());
+            writer = new PrintWriter(new OutputStreamWriter(outputStream,
+                    encoding != null ? encoding : WebUtils.DEFAULT_CHARACTER_ENCODING));
+        }
+        return writer;
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        flushWriter();
+        super.flushBuffer();
+    }
+
+    @Override
+    public void resetBuffer() {
+        super.resetBuffer();
+        resetCapture();
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        resetCapture();
+    }
+
+    private void resetCapture() {
+        if (capture != null && !discarded) {
+            capture.reset();
+            overflowed = false;
+        }
+    }
+
+    private void flushWriter() {
+        if (writer != null) {
+            writer.flush();
+        }
+    }
+
+    private void copy(byte[] b, int off, int len) {
+        if (capture == null || overflowed) {
+            return;
+        }
+        if (capture.size() + len > maxCaptureSize) {
+            overflowed = true;
+            capture.reset();
+            return;
+        }
+        capture.write(b, off, len);
+    }
+
+    /**
+     * Output stream writing through to the response while copying into the capture buffer.
+     */
+    private final class CapturingOutputStream extends ServletOutputStream {
+        private final ServletOutputStream target;
+        private final byte[] single = new byte[1];
+
+        private CapturingOutputStream(ServletOutputStream target) {
+            this.target = target;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            single[0] = (byte) b;
+            write(single, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            target.write(b, off, len);
+            copy(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            target.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            target.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return target.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            target.setWriteListener(writeListener);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,130 @@
+package com.bensamir.starter.web.support;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.ClassUtils;
+
+import java.util.Enumeration;
+
+/**
+ * Resolves who sent a request: the client IP address and the authenticated user.
+ * <p>
+ * Shared by the MDC filter, which logs the identity, and the rate limiter, which
+ * keys its buckets by it. Spring Security is optional; without it no user is resolved.
+ */
+public final class ClientIdentity {
+    private static final boolean SECURITY_PRESENT = ClassUtils.isPresent(
+            "org.springframework.security.core.context.SecurityContextHolder", ClientIdentity.class.getClassLoader());
+
+    private static final String X_FORWARDED_FOR = "X-Forwarded-For";
+
+    // Proxy headers carrying the original client address, in order of preference
+    private static final String[] FORWARDED_HEADERS = {
+            X_FORWARDED_FOR, "Proxy-Client-IP", "WL-Proxy-Client-IP", "HTTP_CLIENT_IP", "HTTP_X_FORWARDED_FOR"
+    };
+
+    private ClientIdentity() {
+        // Utility class, no instantiation
+    }
+
+    /**
+     * Resolves the client IP address, respecting proxy headers such as {@code X-Forwarded-For}.
+     * <p>
+     * The first address of the header is taken, which the client can set freely. This is
+     * fine for logging, but must not be used to enforce anything.
+     *
+     * @param request the HTTP request
+     * @return the client IP address
+     */
+    public static String clientIp(HttpServletRequest request) {
+        String ip = null;
+        for (String header : FORWARDED_HEADERS) {
+            ip = request.getHeader(header);
+            if (ip != null && !ip.isEmpty() && !"unknown".equalsIgnoreCase(ip)) {
+                break;
+            }
+            ip = null;
+        }
+        if (ip == null) {
+            ip = request.getRemoteAddr();
+        }
+
+        // If multiple IPs, take the first one (client IP)
+        int comma = ip != null ? ip.indexOf(',') : -1;
+        if (comma >= 0) {
+            ip = ip.substring(0, comma).trim();
+        }
+        return ip;
+    }
+
+    /**
+     * Resolves the client IP address from the entries trusted proxies appended to
+     * {@code X-Forwarded-For}.
+     * <p>
+     * Each proxy appends the address it received the request from, so only the last
+     * {@code trustedProxies} entries are known to be genuine; the ones before are set
+     * by the client and are ignored. The client address is the entry appended by the
+     * outermost trusted proxy, or the first entry if the request passed through fewer
+     * proxies. Without the header, or with no trusted proxies, the remote address is
+     * returned.
+     *
+     * @param request the HTTP request
+     * @param trustedProxies the number of proxies in front of the service
+     * @return the client IP address
+     */
+    public static String clientIp(HttpServletRequest request, int trustedProxies) {
+        String forwardedFor = trustedProxies > 0 ? forwardedFor(request) : null;
+        if (forwardedFor != null) {
+            int end = forwardedFor.length();
+            for (int i = 1; i < trustedProxies; i++) {
+                int comma = forwardedFor.lastIndexOf(',', end - 1);
+                if (comma < 0) {
+                    break;
+                }
+                end = comma;
+            }
+            String ip = forwardedFor.substring(forwardedFor.lastIndexOf(',', end - 1) + 1, end).trim();
+            if (!ip.isEmpty()) {
+                return ip;
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    /**
+     * Resolves the name of the authenticated user of the current thread.
+     *
+     * @return the user name, or null if the request is anonymous or Spring Security is absent
+     */
+    public static String userId() {
+        return SECURITY_PRESENT ? Security.userId() : null;
+    }
+
+    private static String forwardedFor(HttpServletRequest request) {
+        Enumeration<String> values = request.getHeaders(X_FORWARDED_FOR);
+        if (values == null || !values.hasMoreElements()) {
+            return null;
+        }
+        String forwardedFor = values.nextElement();
+        // Proxies may add a header line instead of appending to the existing one
+        while (values.hasMoreElements()) {
+            forwardedFor = forwardedFor + ',' + values.nextElement();
+        }
+        return forwardedFor;
+    }
+
+    /**
+     * Isolates the reference to the optional Spring Security library.
+     */
+    private static final class Security {
+        private static String userId() {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication != null && authentication.isAuthenticated()
+                    && !"anonymousUser".equals(authentication.getPrincipal())) {
+                return authentication.getName();
+            }
+            return null;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,49 @@
+package com.bensamir.starter.web.support;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Resolves the route pattern of a request for use as a low-cardinality metric tag.
+ * <p>
+ * The matched pattern (e.g. {@code /api/users/{id}}) is used rather than the
+ * request URI so that path variables do not create a tag value per resource.
+ */
+public final class RouteResolver {
+
+    /**
+     * Route reported when no handler matched the request.
+     */
+    public static final String UNKNOWN = "UNKNOWN";
+
+    private RouteResolver() {
+        // Utility class, no instantiation
+    }
+
+    /**
+     * Resolves the route pattern matched for the request.
+     *
+     * @param request the HTTP request
+     * @return the matched route pattern, or {@link #UNKNOWN} if no handler matched
+     */
+    public static String resolve(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : UNKNOWN;
+    }
+
+    /**
+     * Resolves the route pattern of the request bound to the current thread.
+     *
+     * @return the matched route pattern, or {@link #UNKNOWN} outside of a request
+     */
+    public static String current() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes) {
+            return resolve(((ServletRequestAttributes) attributes).getRequest());
+        }
+        return UNKNOWN;
+    }
+}